@@ -1,22 +1,22 @@
-package misc.exceptions;
-
-/**
- * A placeholder exception used in stubs that have not yet been implemented.
- */
-public class NotYetImplementedException extends RuntimeException {
-    public NotYetImplementedException() {
-        super();
-    }
-
-    public NotYetImplementedException(String message) {
-        super(message);
-    }
-
-    public NotYetImplementedException(String message, Throwable cause) {
-        super(message, cause);
-    }
-
-    public NotYetImplementedException(Throwable cause) {
-        super(cause);
-    }
-}
+package misc.exceptions;
+
+/**
+ * A placeholder exception used in stubs that have not yet been implemented.
+ */
+public class NotYetImplementedException extends RuntimeException {
+    public NotYetImplementedException() {
+        super();
+    }
+
+    public NotYetImplementedException(String message) {
+        super(message);
+    }
+
+    public NotYetImplementedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public NotYetImplementedException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -1,29 +1,29 @@
-package misc.sanity;
-
-import java.util.ArrayList;
-import java.util.function.Function;
-
-// Checkstyle will report an error with this line:
-import java.util.List;
-
-public class SanityCheck {
-    public static void main(String[] args) {
-        // The following two lines should compile only if you correctly installed Java 8 or higher.
-        Function<String, String> test = (a) -> a;
-        System.out.println(test.apply("Java 8 or above is correctly installed!"));
-
-        // The following line should compile only if you correctly imported this project as a Gradle project.
-        System.out.println(new org.jsoup.nodes.TextNode("foo", "").text());
-
-        // The following four lines should run, but checkstyle should complain about style errors in each line.
-        // TODO: checkstyle will flag all todos as errors
-        ArrayList<String> a = new ArrayList<>();
-        a.add("test"); // Deliberately long line: ............................................................................................... end
-        System.out.println( !a.isEmpty());
-
-        // The following line should produce an error when not commented.
-        // List l = new ArrayList();
-
-        System.out.println("Sanity check complete: everything seems to have been configured correctly!");
-    }
-}
+package misc.sanity;
+
+import java.util.ArrayList;
+import java.util.function.Function;
+
+// Checkstyle will report an error with this line:
+import java.util.List;
+
+public class SanityCheck {
+    public static void main(String[] args) {
+        // The following two lines should compile only if you correctly installed Java 8 or higher.
+        Function<String, String> test = (a) -> a;
+        System.out.println(test.apply("Java 8 or above is correctly installed!"));
+
+        // The following line should compile only if you correctly imported this project as a Gradle project.
+        System.out.println(new org.jsoup.nodes.TextNode("foo", "").text());
+
+        // The following four lines should run, but checkstyle should complain about style errors in each line.
+        // TODO: checkstyle will flag all todos as errors
+        ArrayList<String> a = new ArrayList<>();
+        a.add("test"); // Deliberately long line: ............................................................................................... end
+        System.out.println( !a.isEmpty());
+
+        // The following line should produce an error when not commented.
+        // List l = new ArrayList();
+
+        System.out.println("Sanity check complete: everything seems to have been configured correctly!");
+    }
+}
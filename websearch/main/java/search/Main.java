@@ -1,28 +1,43 @@
-package search;
-
-public class Main {
-    // The dataset to index and search.
-    // MUST be the name of one of the folders in the 'data' folder.
-    public static final String DATA_FOLDER_NAME = "wikipedia-with-spam";
-
-    // The name of your search engine (feel free to change this).
-    public static final String SITE_TITLE = "Noodle";
-
-    // The port to serve your web server on.
-    // You can ignore this constant. If you're familiar with web development
-    // and know what ports are, feel free to change this if it's convenient.
-    public static final int PORT = 8080;
-
-    public static void main(String[] args) {
-        System.out.println("Indexing web pages");
-        SearchEngine engine = new SearchEngine(DATA_FOLDER_NAME);
-
-        System.out.println("Setting up web server");
-        Webapp app = new Webapp(engine, SITE_TITLE, PORT);
-
-        System.out.println(String.format(
-                "Ready! Open 'http://localhost:%d' in your web browser to access the search engine.",
-                PORT));
-        app.launch();
-    }
-}
+package search;
+
+import search.misc.AnalysisChain;
+
+public class Main {
+    // The dataset to index and search.
+    // MUST be the name of one of the folders in the 'data' folder.
+    public static final String DATA_FOLDER_NAME = "wikipedia-with-spam";
+
+    // The name of your search engine (feel free to change this).
+    public static final String SITE_TITLE = "Noodle";
+
+    // Whether to index the position of every word, which lets users search for exact
+    // phrases ("new york") at the cost of a larger index.
+    public static final boolean INDEX_POSITIONS = true;
+
+    // How words are normalized before being indexed or searched for: with stemming,
+    // a search for "running" also finds pages about "runs". Use AnalysisChain.NONE
+    // to index words exactly as they appear.
+    public static final AnalysisChain ANALYSIS = AnalysisChain.english();
+
+    // How page ranks are computed when the index is built from scratch. Use
+    // PageRankMode.OUT_OF_CORE for crawls whose links do not fit in memory.
+    public static final SearchEngine.PageRankMode PAGE_RANK_MODE = SearchEngine.DEFAULT_PAGE_RANK_MODE;
+
+    // The port to serve your web server on.
+    // You can ignore this constant. If you're familiar with web development
+    // and know what ports are, feel free to change this if it's convenient.
+    public static final int PORT = 8080;
+
+    public static void main(String[] args) {
+        System.out.println("Indexing web pages");
+        SearchEngine engine = new SearchEngine(DATA_FOLDER_NAME, INDEX_POSITIONS, ANALYSIS, PAGE_RANK_MODE);
+
+        System.out.println("Setting up web server");
+        Webapp app = new Webapp(engine, SITE_TITLE, PORT);
+
+        System.out.println(String.format(
+                "Ready! Open 'http://localhost:%d' in your web browser to access the search engine.",
+                PORT));
+        app.launch();
+    }
+}
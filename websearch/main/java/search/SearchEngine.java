@@ -1,127 +1,981 @@
-package search;
-
-import datastructures.concrete.ChainedHashSet;
-import datastructures.concrete.DoubleLinkedList;
-import datastructures.interfaces.IList;
-import datastructures.interfaces.ISet;
-import misc.Sorter;
-import search.analyzers.PageRankAnalyzer;
-import search.analyzers.TfIdfAnalyzer;
-import search.misc.Bridge;
-import search.misc.exceptions.DataExtractionException;
-import search.models.Result;
-import search.models.Webpage;
-import search.models.WebpageSummary;
-
-import java.io.IOException;
-import java.net.URI;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
-public class SearchEngine {
-    public static final double PAGE_RANK_DECAY = 0.85;
-    public static final double PAGE_RANK_EPSILON = 0.0001;
-    public static final int PAGE_RANK_ITERATION_LIMIT = 200;
-
-    private ISet<WebpageSummary> pages;
-    private TfIdfAnalyzer tfIdfAnalyzer;
-    private PageRankAnalyzer pageRankAnalyzer;
-
-    public SearchEngine(String dataFolderName) {
-        long start = System.currentTimeMillis();
-
-        System.out.print("  Loading pages...");
-        ISet<Webpage> webpages = this.collectWebpages(Paths.get("data", dataFolderName));
-        this.pages = this.extractWebpageSummaries(webpages);
-        long endLoading = System.currentTimeMillis();
-        System.out.println(" finished in " + (endLoading - start) / 1000.0 + " sec");
-
-        System.out.print("  Computing TF-IDF vectors...");
-        this.tfIdfAnalyzer = new TfIdfAnalyzer(webpages);
-        long endTfIdf = System.currentTimeMillis();
-        System.out.println(" finished in " + (endTfIdf - endLoading) / 1000.0 + " sec");
-
-        System.out.print("  Computing page ranks...");
-        this.pageRankAnalyzer = new PageRankAnalyzer(
-                webpages,
-                PAGE_RANK_DECAY,
-                PAGE_RANK_EPSILON,
-                PAGE_RANK_ITERATION_LIMIT);
-        long endPageRank = System.currentTimeMillis();
-        System.out.println(" finished in " + (endPageRank - endTfIdf) / 1000.0 + " sec");
-    }
-
-    public double computeScore(IList<String> query, URI uri) {
-        double tfIdf = this.tfIdfAnalyzer.computeRelevance(query, uri);
-        double pageRank = this.pageRankAnalyzer.computePageRank(uri);
-
-        if (pageRank <= 0.0) {
-            throw new IllegalStateException(String.format(
-                    "Page '%s' had a page rank of '%f'; all page ranks should be positive.",
-                    uri, pageRank));
-        }
-
-        // We are combining these two scores in a fairly arbitrary way.
-        // The correct thing to do is to apply machine learning and develop
-        // a classifier that combines these two scores.
-        //
-        // Figuring out the best way to do this is something of a black art
-        // and is a part of the "secret sauce" of commercial web engines.
-        //
-        // However, in the interests of simplicity, we opted not to do that
-        // and just experimented with formulas until we found that seemed to
-        // work well.
-        //
-        // The intuition here is that the pageRank for any given page tends
-        // to be skewed -- popular pages tend to have abnormally high
-        // ranks, other pages have very small ones. So, we take the square
-        // root to "normalize" these extremes, then multiply it against
-        // the tfIdf score to scale it accordingly.
-        //
-        // That's the underlying justification for why we chose this formula,
-        // but it's still a pretty ad-hoc approach. Feel free to adjust or
-        // change this formula: we will be grading your TfIdfAnalyzer and
-        // PageRankAnalyzer classes separately, but not this method.
-        return tfIdf * Math.sqrt(pageRank);
-    }
-
-    public IList<Result> getTopKResults(IList<String> query, int k) {
-        IList<Result> results = new DoubleLinkedList<>();
-
-        for (WebpageSummary summary: this.pages) {
-            double score = this.computeScore(query, summary.getUri());
-            results.add(new Result(summary, score));
-        }
-
-        IList<Result> topK = Sorter.topKSort(k, results);
-
-        IList<Result> reversed = new DoubleLinkedList<>();
-        for (Result res : topK) {
-            reversed.insert(0, res);
-        }
-
-        return reversed;
-    }
-
-    private ISet<Webpage> collectWebpages(Path root) {
-        try {
-            return Files.walk(root)
-                    .filter(Files::isRegularFile)
-                    .filter(path -> path.toString().endsWith(".htm") || path.toString().endsWith(".html"))
-                    .map(Path::toUri)
-                    .map(Webpage::load)
-                    .collect(Bridge.toISet());
-        } catch (IOException ex) {
-            throw new DataExtractionException("Could not find given root folder.", ex);
-        }
-    }
-
-    private ISet<WebpageSummary> extractWebpageSummaries(ISet<Webpage> webpages) {
-        ISet<WebpageSummary> output = new ChainedHashSet<>();
-        for (Webpage page : webpages) {
-            output.add(page.getSummary());
-        }
-        return output;
-    }
-}
+package search;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import search.analyzers.ExternalLinkGraph;
+import search.analyzers.PageRankAnalyzer;
+import search.analyzers.TfIdfAnalyzer;
+import search.index.BooleanQuery;
+import search.index.CompletionTrie;
+import search.index.DocStore;
+import search.index.FileFingerprint;
+import search.index.IndexDelta;
+import search.index.IndexSnapshot;
+import search.index.IndexSegment;
+import search.index.IndexView;
+import search.index.IndexWriter;
+import search.index.IndexingPipeline;
+import search.index.InvertedIndex;
+import search.index.PageStore;
+import search.index.ParallelEvaluator;
+import search.index.PositionalIndex;
+import search.index.PostingSource;
+import search.index.SourceManifest;
+import search.index.SpellingCorrector;
+import search.index.SurfaceForms;
+import search.index.TermDictionary;
+import search.index.TopKCollector;
+import search.misc.AnalysisChain;
+import search.misc.WordTokenizer;
+import search.misc.exceptions.DataExtractionException;
+import search.models.Result;
+import search.models.Webpage;
+import search.models.WebpageSummary;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class SearchEngine {
+    public static final double PAGE_RANK_DECAY = 0.85;
+    public static final double PAGE_RANK_EPSILON = 0.0001;
+    public static final int PAGE_RANK_ITERATION_LIMIT = 200;
+    public static final int PAGE_RANK_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    // How many links may be sorted in memory at once when page ranks are computed out
+    // of core (see PageRankMode). Each one takes 8 bytes.
+    public static final int PAGE_RANK_LINKS_IN_MEMORY = 1 << 22;
+
+    // How many webpages are parsed at the same time while indexing a data folder.
+    public static final int LOADING_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    // How many pages 'addOrUpdate' buffers before flushing them on its own.
+    public static final int MAX_BUFFERED_PAGES = 1000;
+
+    // Above this fraction of changed or removed pages, counting those of the saved
+    // delta (see IndexDelta), the index of a data folder is rebuilt from scratch rather
+    // than updated one page at a time.
+    public static final double MAX_CHANGED_FRACTION = 0.1;
+
+    // Computed indexes and their postings are saved next to their data folder, using
+    // these extensions.
+    public static final String SNAPSHOT_EXTENSION = ".index";
+    public static final String SEGMENT_EXTENSION = ".postings";
+    public static final String POSITIONS_EXTENSION = ".positions";
+    public static final String PAGES_EXTENSION = ".pages";
+    public static final String DOCS_EXTENSION = ".docs";
+    public static final String DELTA_EXTENSION = ".delta";
+
+    /**
+     * The different ways 'getTopKResults' can find the best pages. Every mode
+     * returns identical results.
+     */
+    public enum RetrievalMode {
+        // Score every page containing at least one query term, keeping the k best.
+        EXHAUSTIVE,
+
+        // Skip pages that provably cannot make it into the top k (see MaxScoreEvaluator).
+        MAX_SCORE,
+
+        // Same as EXHAUSTIVE, but queries with many candidates are scored on several
+        // threads (see ParallelEvaluator).
+        PARALLEL
+    }
+
+    public static final RetrievalMode DEFAULT_RETRIEVAL_MODE = RetrievalMode.MAX_SCORE;
+
+    /**
+     * The different ways the page ranks of a data folder can be computed when its
+     * index is built from scratch.
+     */
+    public enum PageRankMode {
+        // Build the link graph in memory and run the power iterations on several threads.
+        IN_MEMORY,
+
+        // Sort the links into a file next to the data folder and stream it once per
+        // iteration, on a single thread (see ExternalLinkGraph). Slower, but only the
+        // page ranks are held in memory, so it works on crawls with far more links
+        // than fit in the heap.
+        OUT_OF_CORE
+    }
+
+    public static final PageRankMode DEFAULT_PAGE_RANK_MODE = PageRankMode.IN_MEMORY;
+
+    // The index this engine was loaded or built from. These are only used while the
+    // engine is constructed: queries go through the views of the writer, which starts
+    // out from this index.
+    private DocStore summaries;
+    private TfIdfAnalyzer tfIdfAnalyzer;
+    private PageRankAnalyzer pageRankAnalyzer;
+    private PositionalIndex positions;
+    private SurfaceForms surfaceForms;
+
+    private IndexWriter writer;
+    private ParallelEvaluator parallelEvaluator = new ParallelEvaluator();
+    private AnalysisChain analysis = AnalysisChain.NONE;
+    private PageRankMode pageRankMode = PageRankMode.IN_MEMORY;
+
+    // Counts the words of the pages added since this engine was constructed.
+    private SurfaceForms.Builder addedSurfaceForms;
+
+    // The completions and spelling corrections of the latest view they were built for,
+    // which queries use while the suggestion thread builds those of newer views.
+    private volatile Suggestions suggestions;
+
+    // The latest view published since the suggestions were last built, if any, and the
+    // last failure of the suggestion thread. Both are guarded by suggestionLock.
+    private final Object suggestionLock = new Object();
+    private IndexView pendingView;
+    private Throwable suggestionFailure;
+    private final ExecutorService suggestionExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "suggestions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SearchEngine(String dataFolderName) {
+        this(dataFolderName, false);
+    }
+
+    /**
+     * Constructs a search engine over the pages of the given data folder. If
+     * 'indexPositions' is true, the position of every word is indexed as well, which
+     * makes the index larger but phrase and proximity queries possible.
+     */
+    public SearchEngine(String dataFolderName, boolean indexPositions) {
+        this(dataFolderName, indexPositions, AnalysisChain.NONE);
+    }
+
+    /**
+     * Same as the other constructors, but runs the words of every page and of every
+     * query through the given analysis chain.
+     */
+    public SearchEngine(String dataFolderName, boolean indexPositions, AnalysisChain analysis) {
+        this(dataFolderName, indexPositions, analysis, DEFAULT_PAGE_RANK_MODE);
+    }
+
+    /**
+     * Same as the other constructors, but computes the page ranks the given way
+     * whenever the index of the data folder has to be built from scratch.
+     */
+    public SearchEngine(String dataFolderName, boolean indexPositions, AnalysisChain analysis,
+                        PageRankMode pageRankMode) {
+        this.analysis = analysis;
+        this.pageRankMode = pageRankMode;
+        long start = System.currentTimeMillis();
+        Path root = Paths.get("data", dataFolderName);
+        Path snapshotFile = Paths.get("data", dataFolderName + SNAPSHOT_EXTENSION);
+        Path segmentFile = Paths.get("data", dataFolderName + SEGMENT_EXTENSION);
+        Path positionsFile = Paths.get("data", dataFolderName + POSITIONS_EXTENSION);
+        Path pagesFile = Paths.get("data", dataFolderName + PAGES_EXTENSION);
+        Path docsFile = Paths.get("data", dataFolderName + DOCS_EXTENSION);
+        Path deltaFile = Paths.get("data", dataFolderName + DELTA_EXTENSION);
+
+        // Find out which pages changed since the previous run, if any.
+        System.out.print("  Checking source files...");
+        PageStore store = PageStore.open(pagesFile);
+        SourceManifest manifest = SourceManifest.scan(root, store);
+        long endScan = System.currentTimeMillis();
+        System.out.println(String.format(
+                " %d of %d changed, %d removed, finished in %s sec",
+                manifest.getChangedCount(),
+                manifest.size(),
+                manifest.getRemovedCount(),
+                (endScan - start) / 1000.0));
+
+        // Reuse the index computed by a previous run. It was computed from the pages of
+        // the store, possibly followed by a delta of the pages which changed since (see
+        // IndexDelta). The delta is tagged with the fingerprint of the store, and holds
+        // the fingerprint of the index it applies to. When only a few pages changed
+        // since, the index and its delta are loaded as they are, and only the changed
+        // pages are indexed, into a new segment (see IndexWriter). Those changes are then
+        // saved as the new delta, and the store gets their pages, so the next run loads
+        // them instead of indexing them again. Once the delta gets too large, everything
+        // is rebuilt. Positions can only be recomputed from the pages, so a snapshot
+        // without them is no use when they are needed. Indexes computed with another
+        // analysis chain are out of date as well.
+        long fingerprint = manifest.getFingerprint() ^ analysis.getSignature();
+        int numChanges = manifest.getChangedCount() + manifest.getRemovedCount();
+        System.out.print("  Loading index snapshot...");
+        if (store != null) {
+            long storeFingerprint = store.getFingerprint() ^ analysis.getSignature();
+            IndexDelta delta = IndexDelta.load(deltaFile, storeFingerprint);
+            long baseFingerprint = delta != null ? delta.getBaseFingerprint() : storeFingerprint;
+            int drift = numChanges + (delta != null ? delta.getChangeCount() : 0);
+            IndexSnapshot snapshot = drift <= store.size() * MAX_CHANGED_FRACTION
+                    ? IndexSnapshot.load(snapshotFile, baseFingerprint)
+                    : null;
+            PositionalIndex positions = snapshot != null && indexPositions
+                    ? PositionalIndex.open(positionsFile, baseFingerprint)
+                    : null;
+            DocStore summaries = snapshot != null ? DocStore.open(docsFile, baseFingerprint) : null;
+            if (snapshot != null && summaries != null && (positions != null || !indexPositions)) {
+                long endSnapshot = System.currentTimeMillis();
+                System.out.println(" finished in " + (endSnapshot - endScan) / 1000.0 + " sec");
+                this.summaries = summaries;
+                this.tfIdfAnalyzer = snapshot.getTfIdfAnalyzer();
+                // The links of every page are only loaded once a page is added or deleted.
+                // The store holds the pages the delta brought the index up to.
+                PageRankAnalyzer pageRanks = delta != null
+                        ? delta.getPageRankAnalyzer(this.tfIdfAnalyzer)
+                        : snapshot.getPageRankAnalyzer();
+                this.pageRankAnalyzer = pageRanks.makeUpdatable(
+                        () -> loadStoredLinks(store),
+                        PAGE_RANK_DECAY,
+                        PAGE_RANK_EPSILON,
+                        PAGE_RANK_ITERATION_LIMIT,
+                        PAGE_RANK_PARALLELISM);
+                this.positions = positions;
+                this.surfaceForms = delta != null
+                        ? delta.getSurfaceForms(snapshot.getSurfaceForms())
+                        : snapshot.getSurfaceForms();
+                this.openWriter(this.loadSegment(segmentFile, baseFingerprint), fingerprint, delta);
+
+                // Files written again with the same content only need the store to get
+                // their new modification time, so they are not hashed on every run.
+                if (manifest.isStoreOutOfDate()) {
+                    PageStore.Builder newStore = PageStore.Builder.from(store);
+                    this.indexChanges(root, manifest, store, newStore);
+                    if (numChanges > 0) {
+                        this.saveDelta(deltaFile, fingerprint, baseFingerprint);
+                    }
+                    System.out.print("  Saving changed pages...");
+                    long startStore = System.currentTimeMillis();
+                    newStore.write(pagesFile);
+                    long endStore = System.currentTimeMillis();
+                    System.out.println(" finished in " + (endStore - startStore) / 1000.0 + " sec");
+                }
+                return;
+            }
+        }
+        System.out.println(" missing or out of date");
+        long endSnapshot = System.currentTimeMillis();
+
+        // A delta only applies to the index it was computed from, which gets replaced.
+        try {
+            Files.deleteIfExists(deltaFile);
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not delete index delta " + deltaFile, ex);
+        }
+
+        // Only the pages which changed are parsed from their HTML: the others are loaded
+        // from the store. Stored pages are from before analysis, so any chain can use them.
+        PageStore.Builder newStore = manifest.isStoreOutOfDate() ? new PageStore.Builder() : null;
+        SurfaceForms.Builder surfaceForms = new SurfaceForms.Builder(analysis);
+        System.out.print("  Loading pages and computing TF-IDF vectors...");
+        IndexingPipeline pipeline = new IndexingPipeline(
+                root,
+                file -> this.analyze(loadPage(root, file, manifest, store, newStore), surfaceForms),
+                LOADING_PARALLELISM,
+                IndexingPipeline.DEFAULT_QUEUE_CAPACITY,
+                indexPositions);
+        pipeline.run();
+        long endLoading = System.currentTimeMillis();
+        System.out.println(" finished in " + (endLoading - endSnapshot) / 1000.0 + " sec");
+
+        if (newStore != null) {
+            System.out.print("  Saving parsed pages...");
+            long startStore = System.currentTimeMillis();
+            newStore.write(pagesFile);
+            long endStore = System.currentTimeMillis();
+            System.out.println(" finished in " + (endStore - startStore) / 1000.0 + " sec");
+        }
+
+        this.surfaceForms = surfaceForms.build(pipeline.getTfIdfAnalyzer().getTermDictionary());
+        this.buildIndex(pipeline.getPages(), pipeline.getTfIdfAnalyzer());
+        this.summaries.write(docsFile, fingerprint);
+        this.summaries = DocStore.open(docsFile, fingerprint);
+        if (indexPositions) {
+            System.out.print("  Writing positions...");
+            long startPositions = System.currentTimeMillis();
+            pipeline.getPositionalIndex().write(positionsFile, fingerprint);
+            this.positions = PositionalIndex.open(positionsFile, fingerprint);
+            long endPositions = System.currentTimeMillis();
+            System.out.println(" finished in " + (endPositions - startPositions) / 1000.0 + " sec");
+        }
+
+        // The segment must be written first: a snapshot is only ever loaded along with
+        // the segment and summaries written right before it, whose document ids match
+        // its own.
+        this.writeSegment(segmentFile, fingerprint);
+        this.openWriter(this.loadSegment(segmentFile, fingerprint), fingerprint, null);
+
+        System.out.print("  Saving index snapshot...");
+        long startSaving = System.currentTimeMillis();
+        new IndexSnapshot(this.tfIdfAnalyzer, this.pageRankAnalyzer, this.surfaceForms).write(snapshotFile, fingerprint);
+        long endSaving = System.currentTimeMillis();
+        System.out.println(" finished in " + (endSaving - startSaving) / 1000.0 + " sec");
+    }
+
+    /**
+     * Constructs a search engine over the given, already loaded, webpages.
+     */
+    public SearchEngine(ISet<Webpage> webpages) {
+        this(webpages, false);
+    }
+
+    /**
+     * Same as the other constructor, but also indexes the position of every word if
+     * 'indexPositions' is true.
+     */
+    public SearchEngine(ISet<Webpage> webpages, boolean indexPositions) {
+        this(webpages, indexPositions, AnalysisChain.NONE);
+    }
+
+    /**
+     * Same as the other constructors, but runs the words of every page and of every
+     * query through the given analysis chain.
+     */
+    public SearchEngine(ISet<Webpage> webpages, boolean indexPositions, AnalysisChain analysis) {
+        this.analysis = analysis;
+        SurfaceForms.Builder surfaceForms = new SurfaceForms.Builder(analysis);
+        if (!analysis.isIdentity()) {
+            ISet<Webpage> analyzed = new ChainedHashSet<>();
+            for (Webpage page : webpages) {
+                analyzed.add(this.analyze(page, surfaceForms));
+            }
+            webpages = analyzed;
+        }
+        this.buildIndex(webpages);
+        this.surfaceForms = surfaceForms.build(this.tfIdfAnalyzer.getTermDictionary());
+        if (indexPositions) {
+            this.positions = this.buildPositions(webpages);
+        }
+        this.openWriter(new InvertedIndex(this.tfIdfAnalyzer), 0, null);
+    }
+
+    /**
+     * Returns the page parsed from the given file, loading it from the given store if
+     * the manifest says it did not change, and parsing it otherwise. The page is also
+     * added to 'newStore', unless that is null.
+     */
+    private static Webpage loadPage(Path root, Path file, SourceManifest manifest, PageStore store,
+                                    PageStore.Builder newStore) {
+        String path = root.relativize(file).toString();
+        int index = manifest.find(path);
+        Webpage page;
+        if (index >= 0 && manifest.getStoredPage(index) >= 0) {
+            page = store.getPage(manifest.getStoredPage(index));
+        } else {
+            page = Webpage.loadOriginal(file.toUri());
+        }
+        if (newStore != null) {
+            // A file created after the scan has no fingerprint yet.
+            newStore.add(path, index >= 0 ? manifest.getFileFingerprint(index) : FileFingerprint.of(file), page);
+        }
+        return page;
+    }
+
+    /**
+     * Returns the URI and links of every page of the given store, without their words
+     * (see 'PageStore.getLinkPage').
+     */
+    private static ISet<Webpage> loadStoredLinks(PageStore store) {
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        for (int index = 0; index < store.size(); index++) {
+            pages.add(store.getLinkPage(index));
+        }
+        return pages;
+    }
+
+    /**
+     * Updates the index of the pages of the given store to match the folder the given
+     * manifest was scanned from: the pages of removed or changed files are deleted, and
+     * the pages of new or changed files are parsed and added. The pages of every file
+     * of the folder are added to 'newStore', which must have been created from the store.
+     */
+    private void indexChanges(Path root, SourceManifest manifest, PageStore store, PageStore.Builder newStore) {
+        System.out.print("  Indexing changed pages...");
+        long start = System.currentTimeMillis();
+        boolean[] unchanged = new boolean[store.size()];
+        for (int i = 0; i < manifest.size(); i++) {
+            if (manifest.getStoredPage(i) >= 0) {
+                unchanged[manifest.getStoredPage(i)] = true;
+            }
+        }
+        for (int index = 0; index < unchanged.length; index++) {
+            if (!unchanged[index]) {
+                this.delete(store.getLinkPage(index).getUri());
+            }
+        }
+        for (int i = 0; i < manifest.size(); i++) {
+            if (manifest.getStoredPage(i) < 0) {
+                Webpage page = Webpage.loadOriginal(root.resolve(manifest.getPath(i)).toUri());
+                newStore.add(manifest.getPath(i), manifest.getFileFingerprint(i), page);
+                this.addOrUpdate(page);
+            } else {
+                newStore.copy(store, manifest.getStoredPage(i), manifest.getFileFingerprint(i));
+            }
+        }
+        this.flush();
+        long end = System.currentTimeMillis();
+        System.out.println(" finished in " + (end - start) / 1000.0 + " sec");
+    }
+
+    /**
+     * Saves every change made to the index this engine started from to the given file,
+     * once the page ranks reflect them, tagged with the given fingerprint.
+     *
+     * @param baseFingerprint  the fingerprint of the index this engine started from
+     */
+    private void saveDelta(Path deltaFile, long fingerprint, long baseFingerprint) {
+        System.out.print("  Saving index delta...");
+        long start = System.currentTimeMillis();
+        try {
+            this.waitForRefresh();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DataExtractionException("Saving the index delta was interrupted", ex);
+        }
+        SurfaceForms forms = this.surfaceForms.extendedWith(
+                this.addedSurfaceForms.build(this.writer.getView().getTermDictionary()));
+        this.writer.getDelta(baseFingerprint, forms).write(deltaFile, fingerprint);
+        long end = System.currentTimeMillis();
+        System.out.println(" finished in " + (end - start) / 1000.0 + " sec");
+    }
+
+    /**
+     * Returns the given page with its words analyzed, counting its words before
+     * analysis into the given surface forms.
+     */
+    private Webpage analyze(Webpage page, SurfaceForms.Builder surfaceForms) {
+        if (this.analysis.isIdentity()) {
+            return page;
+        }
+        surfaceForms.add(page.getWords());
+        WebpageSummary summary = page.getSummary();
+        return new Webpage(
+                page.getUri(),
+                page.getLinks(),
+                this.analysis.analyze(page.getWords()),
+                summary.getTitle(),
+                summary.getBlurb());
+    }
+
+    /**
+     * Maps the postings segment stored in the given file, writing it first if it is
+     * missing or out of date.
+     */
+    private IndexSegment loadSegment(Path segmentFile, long fingerprint) {
+        IndexSegment segment = IndexSegment.open(segmentFile, fingerprint);
+        if (segment == null) {
+            this.writeSegment(segmentFile, fingerprint);
+            segment = IndexSegment.open(segmentFile, fingerprint);
+        }
+        return segment;
+    }
+
+    private void writeSegment(Path segmentFile, long fingerprint) {
+        System.out.print("  Writing postings segment...");
+        long start = System.currentTimeMillis();
+        IndexSegment.write(
+                new InvertedIndex(this.tfIdfAnalyzer),
+                this.tfIdfAnalyzer.getDocumentCount(),
+                segmentFile,
+                fingerprint);
+        long end = System.currentTimeMillis();
+        System.out.println(" finished in " + (end - start) / 1000.0 + " sec");
+    }
+
+    private void buildIndex(ISet<Webpage> webpages) {
+        long start = System.currentTimeMillis();
+        System.out.print("  Computing TF-IDF vectors...");
+        TfIdfAnalyzer analyzer = new TfIdfAnalyzer(webpages);
+        long endTfIdf = System.currentTimeMillis();
+        System.out.println(" finished in " + (endTfIdf - start) / 1000.0 + " sec");
+
+        this.buildIndex(webpages, analyzer);
+    }
+
+    /**
+     * Builds everything else out of the given pages and their TF-IDF analyzer. Only
+     * the summaries and links of the pages are used, not their words.
+     */
+    private void buildIndex(ISet<Webpage> webpages, TfIdfAnalyzer analyzer) {
+        this.tfIdfAnalyzer = analyzer;
+        this.summaries = this.buildSummaries(webpages);
+
+        long start = System.currentTimeMillis();
+        System.out.print("  Computing page ranks...");
+        int threads;
+        if (this.pageRankMode == PageRankMode.OUT_OF_CORE) {
+            this.pageRankAnalyzer = this.computePageRanksOutOfCore(webpages);
+            threads = 1;
+        } else {
+            this.pageRankAnalyzer = new PageRankAnalyzer(
+                    webpages,
+                    PAGE_RANK_DECAY,
+                    PAGE_RANK_EPSILON,
+                    PAGE_RANK_ITERATION_LIMIT,
+                    PAGE_RANK_PARALLELISM,
+                    true);
+            threads = PAGE_RANK_PARALLELISM;
+        }
+        long endPageRank = System.currentTimeMillis();
+        System.out.println(" finished in " + (endPageRank - start) / 1000.0 + " sec");
+        double[] iterationTimes = this.pageRankAnalyzer.getIterationTimes();
+        double totalIterationTime = 0.0;
+        for (double time : iterationTimes) {
+            totalIterationTime += time;
+        }
+        System.out.println(String.format(
+                "    %d iterations on %d threads, %.3f ms per iteration",
+                iterationTimes.length,
+                threads,
+                iterationTimes.length == 0 ? 0.0 : totalIterationTime / iterationTimes.length));
+    }
+
+    /**
+     * Computes the page ranks of the given pages out of a link graph sorted on disk,
+     * in the 'data' folder. Later updates still build the link graph in memory.
+     */
+    private PageRankAnalyzer computePageRanksOutOfCore(ISet<Webpage> webpages) {
+        try (ExternalLinkGraph graph = new ExternalLinkGraph(Paths.get("data"), PAGE_RANK_LINKS_IN_MEMORY)) {
+            for (Webpage page : webpages) {
+                graph.addPage(page.getUri(), page.getLinks());
+            }
+            graph.finish();
+            return new PageRankAnalyzer(graph, PAGE_RANK_DECAY, PAGE_RANK_EPSILON, PAGE_RANK_ITERATION_LIMIT)
+                    .makeUpdatable(
+                            () -> webpages,
+                            PAGE_RANK_DECAY,
+                            PAGE_RANK_EPSILON,
+                            PAGE_RANK_ITERATION_LIMIT,
+                            PAGE_RANK_PARALLELISM);
+        }
+    }
+
+    /**
+     * Opens the writer every query goes through, starting from the analyzers and the
+     * postings of every term, then builds the completions and spelling corrections.
+     * Those of later views are built in the background as they get published.
+     *
+     * @param generation  the generation of the first view of the writer
+     * @param delta       the changes to apply to the index first, or null
+     */
+    private void openWriter(PostingSource postings, long generation, IndexDelta delta) {
+        this.writer = new IndexWriter(this.tfIdfAnalyzer, postings, this.positions, this.summaries,
+                this.pageRankAnalyzer, generation, MAX_BUFFERED_PAGES);
+        if (delta != null) {
+            this.writer.apply(delta);
+        }
+        this.addedSurfaceForms = new SurfaceForms.Builder(this.analysis);
+        this.suggestions = this.makeSuggestions(this.writer.getView());
+        this.writer.setViewListener(this::schedulePendingSuggestions);
+    }
+
+    /**
+     * Adds the given page, before analysis, replacing any page with the same URI. The
+     * page only shows up in results once flushed (see 'flush'), which happens on its own
+     * every MAX_BUFFERED_PAGES pages.
+     */
+    public void addOrUpdate(Webpage page) {
+        this.writer.addOrUpdate(this.analyze(page, this.addedSurfaceForms));
+    }
+
+    /**
+     * Deletes the page with the given URI, if there is one. The page keeps showing up
+     * in results until the next flush (see 'flush').
+     */
+    public void delete(URI uri) {
+        this.writer.delete(uri);
+    }
+
+    /**
+     * Makes every page added or deleted so far visible to queries, and changes the
+     * generation of this engine if there were any.
+     */
+    public void flush() {
+        this.writer.flush();
+    }
+
+    /**
+     * Blocks until the page ranks, the norms used to score pages, and the completions
+     * and spelling corrections reflect every flushed change. They are brought up to date
+     * in the background after each flush, which changes the generation of this engine
+     * once more.
+     *
+     * @throws IllegalStateException  if building them failed
+     */
+    public void waitForRefresh() throws InterruptedException {
+        this.writer.waitForRefresh();
+        synchronized (this.suggestionLock) {
+            while (this.pendingView != null) {
+                this.suggestionLock.wait();
+            }
+            if (this.suggestionFailure != null) {
+                throw new IllegalStateException("Building the suggestions failed", this.suggestionFailure);
+            }
+        }
+    }
+
+    /**
+     * Makes the suggestion thread build the suggestions of the given view, which was
+     * just published, unless it is already busy with an older one: it then moves on
+     * to the latest view once done. Called while the writer is locked.
+     */
+    private void schedulePendingSuggestions(IndexView view) {
+        synchronized (this.suggestionLock) {
+            boolean scheduled = this.pendingView != null;
+            this.pendingView = view;
+            if (!scheduled) {
+                this.suggestionExecutor.execute(this::buildPendingSuggestions);
+            }
+        }
+    }
+
+    /**
+     * Builds the suggestions of the latest published view, then swaps them in. Runs on
+     * the suggestion thread.
+     */
+    private void buildPendingSuggestions() {
+        IndexView view;
+        synchronized (this.suggestionLock) {
+            view = this.pendingView;
+        }
+
+        // Only flushes change the terms and their document frequencies, and every flush
+        // publishes a new snapshot of the terms: views of merges and page rank refreshes
+        // keep the suggestions they have.
+        Suggestions built = this.suggestions;
+        try {
+            if (built.terms != view.getTermDictionary()) {
+                built = this.makeSuggestions(view);
+            }
+        } catch (Throwable ex) {
+            synchronized (this.suggestionLock) {
+                this.suggestionFailure = ex;
+            }
+        }
+
+        synchronized (this.suggestionLock) {
+            this.suggestions = built;
+            if (this.pendingView == view) {
+                this.pendingView = null;
+                this.suggestionLock.notifyAll();
+            } else {
+                this.suggestionExecutor.execute(this::buildPendingSuggestions);
+            }
+        }
+    }
+
+    /**
+     * Builds the completions and spelling corrections of the given view.
+     */
+    private Suggestions makeSuggestions(IndexView view) {
+        SurfaceForms forms = this.surfaceForms.extendedWith(
+                this.addedSurfaceForms.build(view.getTermDictionary()));
+        return new Suggestions(
+                view.getTermDictionary(),
+                CompletionTrie.of(view, forms, CompletionTrie.DEFAULT_MAX_COMPLETIONS),
+                SpellingCorrector.of(view, forms, SpellingCorrector.DEFAULT_MAX_DISTANCE));
+    }
+
+    /**
+     * Returns the given query with every word no page contains replaced by the closest
+     * word some page contains, if there is one within SpellingCorrector.DEFAULT_MAX_DISTANCE
+     * edits. Other words, and words the analysis chain drops, are kept as they are.
+     *
+     * A word counts as contained in a page if it has the same analysis as one of its
+     * words. Corrections are surface forms (see SurfaceForms): words as they appear
+     * in pages, never stems. Words of newly flushed pages only become corrections once
+     * the background refresh is done (see 'waitForRefresh').
+     */
+    public IList<String> correctQuery(IList<String> query) {
+        IndexView view = this.writer.getView();
+        TermDictionary terms = view.getTermDictionary();
+        IList<String> output = new DoubleLinkedList<>();
+        for (String word : query) {
+            String analyzed = this.analysis.analyze(word);
+            int termId = analyzed == null ? -1 : terms.getId(analyzed);
+            String correction = null;
+            // Words only deleted pages contained are not contained in any page anymore.
+            if (analyzed != null && (termId < 0 || view.getDocumentFrequency(termId) == 0)) {
+                correction = this.suggestions.spellingCorrector.correct(word);
+            }
+            output.add(correction != null ? correction : word);
+        }
+        return output;
+    }
+
+    /**
+     * Returns the words starting with the given prefix which appear in the most pages,
+     * most common first. Returns at most 'limit' words, and never more than
+     * CompletionTrie.DEFAULT_MAX_COMPLETIONS.
+     *
+     * Completions are surface forms (see SurfaceForms), so the prefix is matched
+     * against words as they appear in pages, and is not analyzed: the stem of a
+     * prefix is not a prefix of the stem of its completions. Like corrections,
+     * completions only reflect a flush once the background refresh is done.
+     */
+    public IList<String> getCompletions(String prefix, int limit) {
+        // Normalize the prefix the same way WordTokenizer normalizes words.
+        String normalized = WordTokenizer.normalize(prefix);
+        return this.suggestions.completions.complete(normalized, limit);
+    }
+
+    /**
+     * Returns a number identifying the pages this engine indexed: an engine built from
+     * other pages, or from a data folder whose pages have changed, returns another one,
+     * and every flush changing something changes it as well, as does the refresh which
+     * follows it (see 'waitForRefresh'). Anything caching query results should be
+     * cleared when it changes.
+     */
+    public long getGeneration() {
+        return this.writer.getView().getGeneration();
+    }
+
+    /**
+     * Changes when queries are scored on several threads in the PARALLEL retrieval mode.
+     *
+     * @param threshold  the smallest number of candidate pages worth scoring in parallel;
+     *                   queries with fewer candidates are scored on the calling thread
+     * @param chunkSize  the largest number of candidate pages scored by a single task
+     * @throws IllegalArgumentException  if threshold < 0 or chunkSize < 1
+     */
+    public void setParallelScoring(int threshold, int chunkSize) {
+        this.parallelEvaluator = new ParallelEvaluator(threshold, chunkSize);
+    }
+
+    public double computeScore(IList<String> query, URI uri) {
+        IndexView view = this.writer.getView();
+        return this.computeScore(view.computeRelevance(this.analysis.analyze(query), uri), view,
+                view.getDocumentId(uri));
+    }
+
+    /**
+     * Combines the given TF-IDF relevance of the page with the given id with its page
+     * rank in the given view.
+     */
+    private double computeScore(double tfIdf, IndexView view, int docId) {
+        double pageRank = view.getPageRank(docId);
+
+        if (pageRank <= 0.0) {
+            throw new IllegalStateException(String.format(
+                    "Page '%s' had a page rank of '%f'; all page ranks should be positive.",
+                    view.getUri(docId), pageRank));
+        }
+
+        // We are combining these two scores in a fairly arbitrary way.
+        // The correct thing to do is to apply machine learning and develop
+        // a classifier that combines these two scores.
+        //
+        // Figuring out the best way to do this is something of a black art
+        // and is a part of the "secret sauce" of commercial web engines.
+        //
+        // However, in the interests of simplicity, we opted not to do that
+        // and just experimented with formulas until we found that seemed to
+        // work well.
+        //
+        // The intuition here is that the pageRank for any given page tends
+        // to be skewed -- popular pages tend to have abnormally high
+        // ranks, other pages have very small ones. So, we take the square
+        // root to "normalize" these extremes, then multiply it against
+        // the tfIdf score to scale it accordingly.
+        //
+        // That's the underlying justification for why we chose this formula,
+        // but it's still a pretty ad-hoc approach. Feel free to adjust or
+        // change this formula: we will be grading your TfIdfAnalyzer and
+        // PageRankAnalyzer classes separately, but not this method.
+        return tfIdf * Math.sqrt(pageRank);
+    }
+
+    /**
+     * Returns the k most relevant pages for the given query, most relevant first.
+     *
+     * Only pages containing at least one of the query terms, leaving out the terms every
+     * page contains, are scored: every other page has a relevance, and therefore a score,
+     * of zero. As a consequence, fewer than k results are returned when fewer than k
+     * pages match the query.
+     */
+    public IList<Result> getTopKResults(IList<String> query, int k) {
+        return this.getTopKResults(query, k, DEFAULT_RETRIEVAL_MODE);
+    }
+
+    /**
+     * Same as 'getTopKResults(query, k)', but uses the given retrieval mode.
+     */
+    public IList<Result> getTopKResults(IList<String> query, int k, RetrievalMode mode) {
+        query = this.analysis.analyze(query);
+
+        // Every step of the query uses the same view, however many flushes happen meanwhile.
+        IndexView view = this.writer.getView();
+
+        // The query vector is only computed once, however many pages get scored.
+        IndexView.PreparedQuery prepared = view.prepare(query);
+
+        TopKCollector topK;
+        if (mode == RetrievalMode.MAX_SCORE) {
+            topK = view.getMaxScoreEvaluator().topK(
+                    prepared.getQueryWeights(),
+                    k,
+                    docId -> this.computeScore(prepared.computeRelevance(docId), view, docId));
+        } else if (mode == RetrievalMode.PARALLEL) {
+            topK = this.parallelEvaluator.topK(
+                    view.getPostings().getCandidates(prepared.getScoringTermIds()),
+                    k,
+                    (docIds, from, to, scores) -> {
+                        prepared.computeRelevance(docIds, from, to, scores);
+                        for (int i = from; i < to; i++) {
+                            scores[i] = this.computeScore(scores[i], view, docIds[i]);
+                        }
+                    });
+        } else {
+            topK = this.collectTopK(view, prepared, view.getPostings().getCandidates(prepared.getScoringTermIds()), k);
+        }
+
+        return view.toResults(topK);
+    }
+
+    /**
+     * Returns the k most relevant pages matching the given boolean query, most relevant
+     * first. Pages are scored as if the words of the query which are not negated were
+     * a regular query.
+     */
+    public IList<Result> getTopKResults(BooleanQuery query, int k) {
+        if (!this.analysis.isIdentity()) {
+            query = query.mapTerms(this.analysis::analyze);
+        }
+        IndexView view = this.writer.getView();
+        int[] candidates = view.evaluate(query);
+        return view.toResults(this.collectTopK(view, view.prepare(query.getPositiveTerms()), candidates, k));
+    }
+
+    /**
+     * Returns true if this engine indexed the position of every word, so that
+     * 'getTopKPhraseResults' and 'getTopKNearResults' can be used.
+     */
+    public boolean hasPositions() {
+        return this.writer.getView().hasPositions();
+    }
+
+    /**
+     * Returns the k most relevant pages containing the words of the given phrase one
+     * right after the other, in order, most relevant first. Pages are scored as if
+     * the phrase was a regular query.
+     *
+     * @throws IllegalStateException  if this engine did not index positions
+     */
+    public IList<Result> getTopKPhraseResults(IList<String> phrase, int k) {
+        this.checkPositions();
+        phrase = this.analysis.analyze(phrase);
+        IndexView view = this.writer.getView();
+        int[] candidates = view.findPhrase(this.toTermIds(view, phrase));
+        return view.toResults(this.collectTopK(view, view.prepare(phrase), candidates, k));
+    }
+
+    /**
+     * Returns the k most relevant pages containing every given word, in any order,
+     * with at most 'slop' other words between the first and the last of them, most
+     * relevant first. Pages are scored as if the words were a regular query.
+     *
+     * @throws IllegalStateException  if this engine did not index positions
+     * @throws IllegalArgumentException  if slop < 0
+     */
+    public IList<Result> getTopKNearResults(IList<String> words, int slop, int k) {
+        this.checkPositions();
+        words = this.analysis.analyze(words);
+        IndexView view = this.writer.getView();
+        int[] candidates = view.findNear(this.toTermIds(view, words), slop);
+        return view.toResults(this.collectTopK(view, view.prepare(words), candidates, k));
+    }
+
+    private void checkPositions() {
+        if (!this.hasPositions()) {
+            throw new IllegalStateException("This search engine did not index positions");
+        }
+    }
+
+    /**
+     * Scores every given candidate page of the given view for the given query, keeping
+     * the k best.
+     */
+    private TopKCollector collectTopK(IndexView view, IndexView.PreparedQuery prepared, int[] candidates, int k) {
+        double[] relevance = new double[candidates.length];
+        prepared.computeRelevance(candidates, 0, candidates.length, relevance);
+
+        TopKCollector topK = new TopKCollector(k);
+        for (int i = 0; i < candidates.length; i++) {
+            topK.collect(candidates[i], this.computeScore(relevance[i], view, candidates[i]));
+        }
+        return topK;
+    }
+
+    /**
+     * Returns the term id of every word in the query in the given view, or -1 for
+     * unknown words.
+     */
+    private int[] toTermIds(IndexView view, IList<String> query) {
+        return toTermIds(view.getTermDictionary(), query);
+    }
+
+    /**
+     * Returns the term id of every word in the query, or -1 for unknown words.
+     */
+    private static int[] toTermIds(TermDictionary terms, IList<String> query) {
+        int[] termIds = new int[query.size()];
+        int i = 0;
+        for (String word : query) {
+            termIds[i] = terms.getId(word);
+            i++;
+        }
+        return termIds;
+    }
+
+    /**
+     * Indexes the position of every word of the given pages, which must be the pages
+     * the TF-IDF analyzer was built from.
+     */
+    private PositionalIndex buildPositions(ISet<Webpage> webpages) {
+        // Pages must be added in the order of their document ids.
+        TermDictionary terms = this.tfIdfAnalyzer.getTermDictionary();
+        int[][] documentWords = new int[this.tfIdfAnalyzer.getDocumentCount()][];
+        for (Webpage page : webpages) {
+            documentWords[this.tfIdfAnalyzer.getDocumentId(page.getUri())] = toTermIds(terms, page.getWords());
+        }
+        PositionalIndex.Builder builder = new PositionalIndex.Builder();
+        for (int docId = 0; docId < documentWords.length; docId++) {
+            builder.add(docId, documentWords[docId]);
+        }
+        return builder.build(terms.size(), documentWords.length);
+    }
+
+    /**
+     * Stores the summaries of the given pages, which must be the pages the TF-IDF
+     * analyzer was built from, outside of the heap.
+     */
+    private DocStore buildSummaries(ISet<Webpage> webpages) {
+        // Summaries must be added in the order of their document ids.
+        WebpageSummary[] summaries = new WebpageSummary[this.tfIdfAnalyzer.getDocumentCount()];
+        for (Webpage page : webpages) {
+            summaries[this.tfIdfAnalyzer.getDocumentId(page.getUri())] = page.getSummary();
+        }
+        DocStore.Builder builder = new DocStore.Builder();
+        for (WebpageSummary summary : summaries) {
+            builder.add(summary);
+        }
+        return builder.build();
+    }
+
+    /**
+     * The completions and spelling corrections of a view of the index, and the terms of
+     * that view.
+     */
+    private static class Suggestions {
+        private final TermDictionary terms;
+        private final CompletionTrie completions;
+        private final SpellingCorrector spellingCorrector;
+
+        Suggestions(TermDictionary terms, CompletionTrie completions, SpellingCorrector spellingCorrector) {
+            this.terms = terms;
+            this.completions = completions;
+            this.spellingCorrector = spellingCorrector;
+        }
+    }
+}
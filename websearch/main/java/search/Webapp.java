@@ -1,152 +1,293 @@
-package search;
-
-import datastructures.interfaces.IList;
-import search.misc.WordTokenizer;
-import search.models.Result;
-import spark.ModelAndView;
-import spark.Request;
-import spark.Response;
-import spark.Service;
-import spark.template.mustache.MustacheTemplateEngine;
-
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.util.HashMap;
-import java.util.Map;
-
-/**
- * Contains all code to manage and serve our website.
- */
-public class Webapp {
-    /**
-     * The path to all static, non-changing files we will serve.
-     * (See 'src/main/resources')
-     */
-    private static final String STATIC_FILES = "webapp/static";
-
-    /**
-     * The path to all template HTML files. (See 'hw2/main/resources')
-     */
-    private static final String TEMPLATE_FILES = "webapp/templates";
-
-    private final String siteName;
-    private final SearchEngine engine;
-    private final Service http;
-    private final int port;
-
-    /**
-     * Creates a new instance of this class.
-     *
-     * @param engine    The SearchEngine we will be using to answer user queries
-     * @param siteName  The name of our website
-     * @param port      The port to serve our website on.
-     */
-    public Webapp(SearchEngine engine, String siteName, int port) {
-        this.engine = engine;
-        this.siteName = siteName;
-        this.port = port;
-
-        this.http = Service.ignite()
-                .staticFileLocation(STATIC_FILES)
-                .port(port);
-        this.http.initExceptionHandler(this::handleFatalError);
-        this.http.get("/", this::handleMain);
-        this.http.get("/search", this::handleSearch);
-        this.http.exception(Exception.class, this::handleError);
-    }
-
-    /**
-     * Starts running this website.
-     */
-    public void launch() {
-        this.http.init();
-    }
-
-    /**
-     * Handles all incoming requests for our home page.
-     */
-    private String handleMain(Request req, Response res) {
-        Map<String, Object> model = new HashMap<>();
-        model.put("siteTitle", this.siteName);
-
-        return this.render("main.mustache", model);
-    }
-
-    /**
-     * Handles all incoming user queries.
-     */
-    private String handleSearch(Request req, Response res) {
-        // Get search query
-        String query = req.queryParams("query");
-        int numResults = Integer.parseInt(req.queryParamOrDefault("num_results", "20"));
-
-        // Perform core search
-        IList<String> queryTerms = WordTokenizer.extract(query);
-        IList<Result> results = this.engine.getTopKResults(queryTerms, numResults);
-
-        // Render results
-        Map<String, Object> model = new HashMap<>();
-        model.put("siteTitle", this.siteName);
-        model.put("results", results);
-        model.put("initialQuery", query);
-
-        return this.render("search.mustache", model);
-    }
-
-    /**
-     * Handles fatal errors that causes the webapp to crash before
-     * it even has a chance to run.
-     */
-    private void handleFatalError(Exception ex) {
-        System.err.println("ERROR: Encountered fatal exception");
-        System.err.println();
-        System.err.println("If you are seeing this error message, it means that");
-        System.err.println("the webapp was unable to launch.");
-        System.err.println();
-        System.err.println("The most common reason you might see this is if you are");
-        System.err.println("attempting to run the webserver twice (or more specifically,");
-        System.err.println("if two services are attempting to use the same port).");
-        System.err.println();
-        System.err.println("You should:");
-        System.err.println();
-        System.err.println("a. Make sure you've shut down any other running instances.");
-        System.err.println("   If you're not sure how to do this, talk to the course staff.");
-        System.err.println("   As a last resort, try restarting Eclipse.");
-        System.err.println();
-        System.err.println("b. If you're running some other service on port " + this.port + ",");
-        System.err.println("   change the PORT constant in Main.java.");
-        System.err.println();
-        System.err.println("If you are not able to resolve this issue, contact the course");
-        System.err.println("staff ASAP.");
-        System.err.println();
-        System.err.println("The full stack trace:");
-        System.err.println();
-        ex.printStackTrace();
-    }
-
-    /**
-     * Handles exceptions raised while the webapp is running.
-     */
-    private void handleError(Exception ex, Request req, Response res) {
-        // Get exception as string
-        StringWriter sw = new StringWriter();
-        ex.printStackTrace(new PrintWriter(sw));
-        String stackTrace = sw.toString();
-
-        // Print out console output
-        ex.printStackTrace();
-
-        // Render results
-        Map<String, Object> model = new HashMap<>();
-        model.put("siteTitle", this.siteName);
-        model.put("exception", stackTrace);
-
-        res.status(500);
-        res.body(this.render("error.mustache", model));
-    }
-
-    private String render(String templateName, Map<String, Object> params) {
-        return new MustacheTemplateEngine(TEMPLATE_FILES).render(
-                new ModelAndView(params, templateName));
-    }
-}
+package search;
+
+import datastructures.interfaces.IList;
+import search.index.BooleanQuery;
+import search.misc.QueryResultCache;
+import search.misc.WordTokenizer;
+import search.models.Result;
+import spark.ModelAndView;
+import spark.Request;
+import spark.Response;
+import spark.Service;
+import spark.template.mustache.MustacheTemplateEngine;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Contains all code to manage and serve our website.
+ */
+public class Webapp {
+    /**
+     * The path to all static, non-changing files we will serve.
+     * (See 'src/main/resources')
+     */
+    private static final String STATIC_FILES = "webapp/static";
+
+    /**
+     * The path to all template HTML files. (See 'hw2/main/resources')
+     */
+    private static final String TEMPLATE_FILES = "webapp/templates";
+
+    /**
+     * The maximum number of queries whose results we keep around.
+     */
+    private static final int RESULT_CACHE_SIZE = 10000;
+
+    /**
+     * Matches a query made of a phrase in double quotes, optionally followed by '~'
+     * and the number of other words allowed between the words of the phrase, in any
+     * order: '"new york"' or '"york new"~2'.
+     */
+    private static final Pattern PHRASE_QUERY = Pattern.compile("^\\s*\"([^\"]*)\"\\s*(?:~\\s*(\\d+))?\\s*$");
+
+    private final String siteName;
+    private final SearchEngine engine;
+    private final QueryResultCache resultCache;
+    private final Service http;
+    private final int port;
+
+    /**
+     * Creates a new instance of this class.
+     *
+     * @param engine    The SearchEngine we will be using to answer user queries
+     * @param siteName  The name of our website
+     * @param port      The port to serve our website on.
+     */
+    public Webapp(SearchEngine engine, String siteName, int port) {
+        this.engine = engine;
+        this.resultCache = new QueryResultCache(RESULT_CACHE_SIZE);
+        this.siteName = siteName;
+        this.port = port;
+
+        this.http = Service.ignite()
+                .staticFileLocation(STATIC_FILES)
+                .port(port);
+        this.http.initExceptionHandler(this::handleFatalError);
+        this.http.get("/", this::handleMain);
+        this.http.get("/search", this::handleSearch);
+        this.http.get("/suggest", this::handleSuggest);
+        this.http.exception(Exception.class, this::handleError);
+    }
+
+    /**
+     * Starts running this website.
+     */
+    public void launch() {
+        this.http.init();
+    }
+
+    /**
+     * Handles all incoming requests for our home page.
+     */
+    private String handleMain(Request req, Response res) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("siteTitle", this.siteName);
+
+        return this.render("main.mustache", model);
+    }
+
+    /**
+     * Handles all incoming user queries.
+     */
+    private String handleSearch(Request req, Response res) {
+        // Get search query
+        String query = req.queryParams("query");
+        int numResults = Integer.parseInt(req.queryParamOrDefault("num_results", "20"));
+
+        // Perform core search, unless the same query was answered recently
+        Matcher phrase = PHRASE_QUERY.matcher(query);
+        BooleanQuery booleanQuery = this.parseBooleanQuery(query);
+        IList<Result> results;
+        String correctedQuery = null;
+        if (phrase.matches() && this.engine.hasPositions()) {
+            IList<String> phraseTerms = WordTokenizer.extract(phrase.group(1));
+            IList<String> corrected = this.engine.correctQuery(phraseTerms);
+            int slop = phrase.group(2) == null ? -1 : Integer.parseInt(phrase.group(2));
+            results = this.searchPhrase(corrected, slop, numResults);
+            if (!join(corrected).equals(join(phraseTerms))) {
+                correctedQuery = "\"" + join(corrected) + "\"" + (slop < 0 ? "" : "~" + slop);
+            }
+        } else if (booleanQuery != null) {
+            // The parsed query spells out every operator and grouping, so it makes a key
+            // that can't be mistaken for any other query.
+            String key = "boolean " + numResults + " " + booleanQuery;
+            long generation = this.engine.getGeneration();
+            results = this.resultCache.get(key, generation);
+            if (results == null) {
+                results = this.engine.getTopKResults(booleanQuery, numResults);
+                this.resultCache.put(key, generation, results);
+            }
+        } else {
+            // Misspelled words would match nothing, so they are corrected right away.
+            IList<String> originalTerms = WordTokenizer.extract(query);
+            IList<String> queryTerms = this.engine.correctQuery(originalTerms);
+            if (!join(queryTerms).equals(join(originalTerms))) {
+                correctedQuery = join(queryTerms);
+            }
+            long generation = this.engine.getGeneration();
+            results = this.resultCache.get(queryTerms, numResults, generation);
+            if (results == null) {
+                results = this.engine.getTopKResults(queryTerms, numResults);
+                this.resultCache.put(queryTerms, numResults, generation, results);
+            }
+        }
+
+        // Render results
+        Map<String, Object> model = new HashMap<>();
+        model.put("siteTitle", this.siteName);
+        model.put("results", results);
+        model.put("initialQuery", query);
+        model.put("correctedQuery", correctedQuery);
+
+        return this.render("search.mustache", model);
+    }
+
+    private static String join(IList<String> words) {
+        return String.join(" ", words);
+    }
+
+    /**
+     * Handles requests for the completions of the word being typed in the search box,
+     * answering with a JSON array of words.
+     */
+    private String handleSuggest(Request req, Response res) {
+        String prefix = req.queryParamOrDefault("prefix", "");
+        // The box sends a fixed limit, so anything else just gets no completions.
+        int limit;
+        try {
+            limit = Math.max(0, Integer.parseInt(req.queryParamOrDefault("limit", "8")));
+        } catch (NumberFormatException ex) {
+            limit = 0;
+        }
+
+        StringBuilder json = new StringBuilder("[");
+        if (!prefix.isEmpty() && limit > 0) {
+            for (String word : this.engine.getCompletions(prefix, limit)) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                // Words never contain quotes or backslashes, but may contain control characters.
+                appendJsonString(json, word);
+            }
+        }
+        res.type("application/json");
+        return json.append(']').toString();
+    }
+
+    /**
+     * Appends the given text to the given JSON as a string literal.
+     */
+    private static void appendJsonString(StringBuilder json, String text) {
+        json.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Returns the given query parsed as a boolean query, or null if it is a regular
+     * one. Malformed boolean queries, such as 'cat AND', are treated as regular ones.
+     */
+    private BooleanQuery parseBooleanQuery(String query) {
+        try {
+            return BooleanQuery.parse(query);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the best pages containing the given phrase, or its words with at most
+     * 'slop' other words between them if slop is not negative.
+     */
+    private IList<Result> searchPhrase(IList<String> phraseTerms, int slop, int numResults) {
+        // Unlike regular queries, the order of the words matters here.
+        StringBuilder key = new StringBuilder(slop < 0 ? "phrase" : "near " + slop);
+        key.append(' ').append(numResults);
+        for (String term : phraseTerms) {
+            key.append(' ').append(term);
+        }
+
+        long generation = this.engine.getGeneration();
+        IList<Result> results = this.resultCache.get(key.toString(), generation);
+        if (results == null) {
+            if (slop < 0) {
+                results = this.engine.getTopKPhraseResults(phraseTerms, numResults);
+            } else {
+                results = this.engine.getTopKNearResults(phraseTerms, slop, numResults);
+            }
+            this.resultCache.put(key.toString(), generation, results);
+        }
+        return results;
+    }
+
+    /**
+     * Handles fatal errors that causes the webapp to crash before
+     * it even has a chance to run.
+     */
+    private void handleFatalError(Exception ex) {
+        System.err.println("ERROR: Encountered fatal exception");
+        System.err.println();
+        System.err.println("If you are seeing this error message, it means that");
+        System.err.println("the webapp was unable to launch.");
+        System.err.println();
+        System.err.println("The most common reason you might see this is if you are");
+        System.err.println("attempting to run the webserver twice (or more specifically,");
+        System.err.println("if two services are attempting to use the same port).");
+        System.err.println();
+        System.err.println("You should:");
+        System.err.println();
+        System.err.println("a. Make sure you've shut down any other running instances.");
+        System.err.println("   If you're not sure how to do this, talk to the course staff.");
+        System.err.println("   As a last resort, try restarting Eclipse.");
+        System.err.println();
+        System.err.println("b. If you're running some other service on port " + this.port + ",");
+        System.err.println("   change the PORT constant in Main.java.");
+        System.err.println();
+        System.err.println("If you are not able to resolve this issue, contact the course");
+        System.err.println("staff ASAP.");
+        System.err.println();
+        System.err.println("The full stack trace:");
+        System.err.println();
+        ex.printStackTrace();
+    }
+
+    /**
+     * Handles exceptions raised while the webapp is running.
+     */
+    private void handleError(Exception ex, Request req, Response res) {
+        // Get exception as string
+        StringWriter sw = new StringWriter();
+        ex.printStackTrace(new PrintWriter(sw));
+        String stackTrace = sw.toString();
+
+        // Print out console output
+        ex.printStackTrace();
+
+        // Render results
+        Map<String, Object> model = new HashMap<>();
+        model.put("siteTitle", this.siteName);
+        model.put("exception", stackTrace);
+
+        res.status(500);
+        res.body(this.render("error.mustache", model));
+    }
+
+    private String render(String templateName, Map<String, Object> params) {
+        return new MustacheTemplateEngine(TEMPLATE_FILES).render(
+                new ModelAndView(params, templateName));
+    }
+}
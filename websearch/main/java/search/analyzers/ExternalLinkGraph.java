@@ -0,0 +1,408 @@
+package search.analyzers;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import search.misc.exceptions.DataExtractionException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A link graph whose links live on disk rather than in memory, so we can rank
+ * crawls with far more links than fit in the heap.
+ *
+ * Links are added one page at a time, then 'finish' resolves them to page ids
+ * and sorts them by source page using an external merge sort, writing the final
+ * graph as a file of link targets grouped by source page (the 'targets' array of
+ * a compressed sparse row graph). Each page rank iteration then reads that file
+ * sequentially using 'forEachLink'.
+ *
+ * Until 'finish' is called, a dictionary from page URIs to their ids is kept in
+ * memory to resolve links. Afterwards, only the page URIs and one int per page are.
+ *
+ * Like LinkGraph, links to unknown pages, duplicate links and self-loops are dropped.
+ */
+public class ExternalLinkGraph implements AutoCloseable {
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    // How many sorted runs of links are merged at once, each with its own open file.
+    private static final int MERGE_FAN_IN = 64;
+
+    /**
+     * Receives every link of the graph, grouped by source page in ascending order.
+     */
+    @FunctionalInterface
+    public interface LinkVisitor {
+        void visit(int source, int target);
+    }
+
+    private final Path directory;
+    private final int maxLinksInMemory;
+
+    // Only kept until 'finish' has resolved every link.
+    private IDictionary<URI, Integer> pageIds;
+    private URI[] pages;
+    private int size;
+
+    private Path rawLinksFile;
+    private DataOutputStream rawLinks;
+
+    private Path targetsFile;
+    private int[] outDegrees;
+
+    /**
+     * Creates an empty graph storing its temporary files in the given directory.
+     *
+     * @param directory         an existing directory to store the link files in
+     * @param maxLinksInMemory  how many links we may hold in memory at once while
+     *                          sorting; each one takes 8 bytes
+     */
+    public ExternalLinkGraph(Path directory, int maxLinksInMemory) {
+        if (maxLinksInMemory < 1) {
+            throw new IllegalArgumentException("Must be able to sort at least one link in memory");
+        }
+        this.directory = directory;
+        this.maxLinksInMemory = maxLinksInMemory;
+        this.pageIds = new ChainedHashDictionary<>();
+        this.pages = new URI[16];
+        this.size = 0;
+        try {
+            this.rawLinksFile = Files.createTempFile(directory, "links", ".raw");
+            this.rawLinks = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.rawLinksFile)));
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not create link file", ex);
+        }
+    }
+
+    /**
+     * Adds a page and its outgoing links to this graph.
+     *
+     * @throws IllegalStateException     if 'finish' has already been called
+     * @throws IllegalArgumentException  if the page was already added
+     */
+    public void addPage(URI page, IList<URI> links) {
+        if (this.rawLinks == null) {
+            throw new IllegalStateException("Cannot add pages to a finished graph");
+        }
+        if (this.pageIds.containsKey(page)) {
+            throw new IllegalArgumentException("Page was already added: " + page);
+        }
+        if (this.size == this.pages.length) {
+            this.pages = Arrays.copyOf(this.pages, this.size * 2);
+        }
+        int id = this.size;
+        this.pages[id] = page;
+        this.pageIds.put(page, id);
+        this.size++;
+
+        // We can't tell which links point to known pages until every page has been
+        // added, so for now we just write them out as strings.
+        try {
+            for (URI link : links) {
+                byte[] bytes = link.toString().getBytes(StandardCharsets.UTF_8);
+                this.rawLinks.writeInt(id);
+                this.rawLinks.writeInt(bytes.length);
+                this.rawLinks.write(bytes);
+            }
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not write link file", ex);
+        }
+    }
+
+    /**
+     * Resolves and sorts every link added so far. No pages can be added afterwards.
+     */
+    public void finish() {
+        if (this.rawLinks == null) {
+            return;
+        }
+        IList<Path> runs = new DoubleLinkedList<>();
+        try {
+            this.rawLinks.close();
+            this.rawLinks = null;
+
+            // Step 1: resolve links to page ids, writing them out in sorted runs of at
+            // most 'maxLinksInMemory' links. Each link is packed as (source << 32 | target).
+            long[] buffer = new long[Math.min(this.maxLinksInMemory, 1 << 16)];
+            int buffered = 0;
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(this.rawLinksFile)))) {
+                while (true) {
+                    int source;
+                    try {
+                        source = in.readInt();
+                    } catch (EOFException ex) {
+                        break;
+                    }
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    URI link = URI.create(new String(bytes, StandardCharsets.UTF_8));
+                    int target = this.pageIds.getOrDefault(link, -1);
+                    if (target < 0 || target == source) {
+                        continue;
+                    }
+
+                    if (buffered == buffer.length) {
+                        if (buffered == this.maxLinksInMemory) {
+                            runs.add(this.writeRun(buffer, buffered));
+                            buffered = 0;
+                        } else {
+                            buffer = Arrays.copyOf(buffer, Math.min(this.maxLinksInMemory, buffer.length * 2));
+                        }
+                    }
+                    buffer[buffered] = ((long) source << 32) | target;
+                    buffered++;
+                }
+            }
+            Files.delete(this.rawLinksFile);
+            runs.add(this.writeRun(buffer, buffered));
+            this.pageIds = null;
+
+            // Step 2: merge the runs, dropping duplicate links.
+            this.outDegrees = new int[this.size];
+            this.targetsFile = Files.createTempFile(this.directory, "links", ".targets");
+            this.mergeRuns(runs);
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not sort link file", ex);
+        } finally {
+            for (Path run : runs) {
+                try {
+                    Files.deleteIfExists(run);
+                } catch (IOException ex) {
+                    // Best effort: a leftover run only wastes some disk space.
+                }
+            }
+        }
+    }
+
+    private Path writeRun(long[] buffer, int size) throws IOException {
+        Arrays.sort(buffer, 0, size);
+        Path run = Files.createTempFile(this.directory, "links", ".run");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+            for (int i = 0; i < size; i++) {
+                out.writeLong(buffer[i]);
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Merges the given runs into the targets file, dropping duplicate links. Runs are
+     * merged at most MERGE_FAN_IN at a time: while there are more, groups of that many
+     * are first merged into longer runs, which are added to 'runs' so they get deleted
+     * along with the others.
+     */
+    private void mergeRuns(IList<Path> runs) throws IOException {
+        IList<Path> pending = new DoubleLinkedList<>();
+        for (Path run : runs) {
+            pending.add(run);
+        }
+        while (pending.size() > MERGE_FAN_IN) {
+            IList<Path> merged = new DoubleLinkedList<>();
+            IList<Path> group = new DoubleLinkedList<>();
+            for (Path run : pending) {
+                group.add(run);
+                if (group.size() == MERGE_FAN_IN) {
+                    merged.add(this.mergeIntoRun(group, runs));
+                    group = new DoubleLinkedList<>();
+                }
+            }
+            // The last few runs are left for the next pass.
+            for (Path run : group) {
+                merged.add(run);
+            }
+            pending = merged;
+        }
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(this.targetsFile)))) {
+            merge(pending, link -> {
+                this.outDegrees[(int) (link >>> 32)]++;
+                out.writeInt((int) link);
+            });
+        }
+    }
+
+    /**
+     * Merges the given runs into a new run, and deletes them.
+     */
+    private Path mergeIntoRun(IList<Path> group, IList<Path> runs) throws IOException {
+        Path run = Files.createTempFile(this.directory, "links", ".run");
+        runs.add(run);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+            merge(group, out::writeLong);
+        }
+        for (Path merged : group) {
+            Files.delete(merged);
+        }
+        return run;
+    }
+
+    @FunctionalInterface
+    private interface LinkSink {
+        void accept(long link) throws IOException;
+    }
+
+    /**
+     * Hands every link of the given runs to the given sink in ascending order, without
+     * duplicates. Every run is open at the same time.
+     */
+    private static void merge(IList<Path> runs, LinkSink sink) throws IOException {
+        DataInputStream[] inputs = new DataInputStream[runs.size()];
+        try {
+            // A min-heap of the runs which still have links, by their next link.
+            long[] heads = new long[inputs.length];
+            int[] heap = new int[inputs.length];
+            int heapSize = 0;
+            int i = 0;
+            for (Path run : runs) {
+                inputs[i] = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+                if (advance(inputs[i], heads, i)) {
+                    heap[heapSize] = i;
+                    heapSize++;
+                }
+                i++;
+            }
+            for (int index = heapSize / 2 - 1; index >= 0; index--) {
+                siftDown(heap, heapSize, heads, index);
+            }
+
+            long previous = -1;
+            while (heapSize > 0) {
+                int run = heap[0];
+                long link = heads[run];
+                if (link != previous) {
+                    sink.accept(link);
+                    previous = link;
+                }
+                if (!advance(inputs[run], heads, run)) {
+                    heapSize--;
+                    heap[0] = heap[heapSize];
+                }
+                siftDown(heap, heapSize, heads, 0);
+            }
+        } finally {
+            for (DataInputStream input : inputs) {
+                if (input != null) {
+                    input.close();
+                }
+            }
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, long[] heads, int index) {
+        int run = heap[index];
+        while (2 * index + 1 < size) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heads[heap[child + 1]] < heads[heap[child]]) {
+                child++;
+            }
+            if (heads[heap[child]] >= heads[run]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = run;
+    }
+
+    private static boolean advance(DataInputStream input, long[] heads, int run) throws IOException {
+        try {
+            heads[run] = input.readLong();
+            return true;
+        } catch (EOFException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of pages in this graph.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the URI of the page with the given id.
+     */
+    public URI getUri(int id) {
+        return this.pages[id];
+    }
+
+    /**
+     * Returns the number of distinct pages the given page links to.
+     *
+     * @throws IllegalStateException  if 'finish' has not been called yet
+     */
+    public int getOutDegree(int id) {
+        this.checkFinished();
+        return this.outDegrees[id];
+    }
+
+    /**
+     * Streams every link of this graph, in ascending order of source page, to the visitor.
+     *
+     * @throws IllegalStateException  if 'finish' has not been called yet
+     */
+    public void forEachLink(LinkVisitor visitor) {
+        this.checkFinished();
+        try (FileChannel channel = FileChannel.open(this.targetsFile, StandardOpenOption.READ)) {
+            ByteBuffer bytes = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+            int source = 0;
+            int remaining = this.size > 0 ? this.outDegrees[0] : 0;
+            while (channel.read(bytes) > 0) {
+                bytes.flip();
+                while (bytes.remaining() >= Integer.BYTES) {
+                    while (remaining == 0) {
+                        source++;
+                        remaining = this.outDegrees[source];
+                    }
+                    visitor.visit(source, bytes.getInt());
+                    remaining--;
+                }
+                bytes.compact();
+            }
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not read link file", ex);
+        }
+    }
+
+    private void checkFinished() {
+        if (this.outDegrees == null) {
+            throw new IllegalStateException("The graph must be finished first");
+        }
+    }
+
+    /**
+     * Deletes the files backing this graph.
+     */
+    @Override
+    public void close() {
+        try {
+            if (this.rawLinks != null) {
+                this.rawLinks.close();
+                this.rawLinks = null;
+            }
+            Files.deleteIfExists(this.rawLinksFile);
+            if (this.targetsFile != null) {
+                Files.deleteIfExists(this.targetsFile);
+            }
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not delete link files", ex);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package search.analyzers;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import search.models.Webpage;
+
+import java.net.URI;
+import java.util.Arrays;
+
+/**
+ * An unweighted, directed graph of webpages stored in compressed sparse row form.
+ *
+ * Every page gets a dense integer id. The outgoing links of page u are the targets
+ * 'targets[offsets[u]]' through 'targets[offsets[u + 1] - 1]', sorted by id and
+ * without duplicates or self-loops.
+ *
+ * A graph can optionally remember the links pointing to pages it does not contain,
+ * so that they can be restored if those pages are added by 'withChanges' later on.
+ */
+public class LinkGraph {
+    private URI[] pages;
+    private IDictionary<URI, Integer> pageIds;
+    private int[] offsets;
+    private int[] targets;
+
+    // Maps every page we don't know about to the ids of the pages linking to it,
+    // or null if we don't keep track of those links.
+    private IDictionary<URI, IList<Integer>> unresolvedLinks;
+
+    /**
+     * Builds the graph of the given webpages.
+     *
+     * Links pointing to pages outside the given set are dropped, so the graph is
+     * entirely "self-contained".
+     */
+    public LinkGraph(ISet<Webpage> webpages) {
+        this(webpages, false);
+    }
+
+    /**
+     * Same as 'LinkGraph(webpages)'; if 'keepUnresolvedLinks' is true, the links to
+     * pages outside the given set are remembered so 'withChanges' can be used.
+     */
+    public LinkGraph(ISet<Webpage> webpages, boolean keepUnresolvedLinks) {
+        this.pages = new URI[webpages.size()];
+        this.pageIds = new ChainedHashDictionary<>();
+        this.unresolvedLinks = keepUnresolvedLinks ? new ChainedHashDictionary<>() : null;
+        int id = 0;
+        for (Webpage page : webpages) {
+            this.pages[id] = page.getUri();
+            this.pageIds.put(page.getUri(), id);
+            id++;
+        }
+
+        int[][] adjacency = new int[this.pages.length][];
+        for (Webpage page : webpages) {
+            int source = this.pageIds.get(page.getUri());
+            adjacency[source] = this.toTargets(source, page.getLinks());
+        }
+        this.setAdjacency(adjacency);
+    }
+
+    private LinkGraph(URI[] pages, IDictionary<URI, Integer> pageIds, int[] offsets, int[] targets) {
+        this.pages = pages;
+        this.pageIds = pageIds;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Stores the given adjacency lists in compressed sparse row form.
+     */
+    private void setAdjacency(int[][] adjacency) {
+        int numEdges = 0;
+        for (int[] links : adjacency) {
+            numEdges += links.length;
+        }
+        this.offsets = new int[this.pages.length + 1];
+        this.targets = new int[numEdges];
+        for (int source = 0; source < this.pages.length; source++) {
+            System.arraycopy(adjacency[source], 0, this.targets, this.offsets[source], adjacency[source].length);
+            this.offsets[source + 1] = this.offsets[source] + adjacency[source].length;
+        }
+    }
+
+    /**
+     * Returns a new graph where the given pages have been added (or replaced, if a page
+     * with the same URI already exists) and the pages with the given URIs removed.
+     *
+     * Links from unchanged pages to removed pages become unresolved, and unresolved links
+     * to added pages are restored, so the result is the same graph we would get by
+     * building it from scratch. The ids of the pages may change.
+     *
+     * @throws IllegalStateException  if this graph does not keep track of unresolved links
+     */
+    public LinkGraph withChanges(ISet<Webpage> upserted, ISet<URI> removed) {
+        if (this.unresolvedLinks == null) {
+            throw new IllegalStateException("This graph does not keep track of unresolved links");
+        }
+
+        // Step 1: give ids to the pages of the new graph. Unchanged pages keep their
+        // relative order, and the added or replaced pages come last.
+        ISet<URI> changed = new ChainedHashSet<>();
+        for (Webpage page : upserted) {
+            changed.add(page.getUri());
+        }
+        for (URI uri : removed) {
+            changed.add(uri);
+        }
+
+        int[] remap = new int[this.pages.length];
+        int size = 0;
+        for (int id = 0; id < this.pages.length; id++) {
+            remap[id] = changed.contains(this.pages[id]) ? -1 : size++;
+        }
+        URI[] newPages = new URI[size + upserted.size()];
+        IDictionary<URI, Integer> newIds = new ChainedHashDictionary<>();
+        for (int id = 0; id < this.pages.length; id++) {
+            if (remap[id] >= 0) {
+                newPages[remap[id]] = this.pages[id];
+                newIds.put(this.pages[id], remap[id]);
+            }
+        }
+        for (Webpage page : upserted) {
+            newPages[size] = page.getUri();
+            newIds.put(page.getUri(), size);
+            size++;
+        }
+
+        LinkGraph graph = new LinkGraph(newPages, newIds, null, null);
+        graph.unresolvedLinks = new ChainedHashDictionary<>();
+        IList<Integer>[] extraTargets = makeArrayOfLists(newPages.length);
+
+        // Step 2: carry the links of unchanged pages over. Links to removed pages become
+        // unresolved; links to replaced pages point to their new id.
+        int[][] adjacency = new int[newPages.length][];
+        for (int id = 0; id < this.pages.length; id++) {
+            if (remap[id] < 0) {
+                continue;
+            }
+            int[] links = new int[this.getOutDegree(id)];
+            int numLinks = 0;
+            for (int edge = this.offsets[id]; edge < this.offsets[id + 1]; edge++) {
+                URI target = this.pages[this.targets[edge]];
+                int newTarget = newIds.getOrDefault(target, -1);
+                if (newTarget >= 0) {
+                    links[numLinks] = newTarget;
+                    numLinks++;
+                } else {
+                    graph.addUnresolvedLink(target, remap[id]);
+                }
+            }
+            adjacency[remap[id]] = Arrays.copyOf(links, numLinks);
+        }
+
+        // Step 3: resolve the links of unchanged pages that point to added pages.
+        for (KVPair<URI, IList<Integer>> pair : this.unresolvedLinks) {
+            int newTarget = newIds.getOrDefault(pair.getKey(), -1);
+            for (int source : pair.getValue()) {
+                if (remap[source] < 0) {
+                    continue;
+                }
+                if (newTarget >= 0) {
+                    if (extraTargets[remap[source]] == null) {
+                        extraTargets[remap[source]] = new DoubleLinkedList<>();
+                    }
+                    extraTargets[remap[source]].add(newTarget);
+                } else {
+                    graph.addUnresolvedLink(pair.getKey(), remap[source]);
+                }
+            }
+        }
+        for (int id = 0; id < newPages.length; id++) {
+            if (extraTargets[id] != null) {
+                int[] links = Arrays.copyOf(adjacency[id], adjacency[id].length + extraTargets[id].size());
+                int numLinks = adjacency[id].length;
+                for (int target : extraTargets[id]) {
+                    links[numLinks] = target;
+                    numLinks++;
+                }
+                adjacency[id] = sortedDistinct(links, links.length);
+            }
+        }
+
+        // Step 4: add the links of the added and replaced pages.
+        for (Webpage page : upserted) {
+            int source = newIds.get(page.getUri());
+            adjacency[source] = graph.toTargets(source, page.getLinks());
+        }
+
+        graph.setAdjacency(adjacency);
+        return graph;
+    }
+
+    private void addUnresolvedLink(URI target, int source) {
+        if (!this.unresolvedLinks.containsKey(target)) {
+            this.unresolvedLinks.put(target, new DoubleLinkedList<>());
+        }
+        this.unresolvedLinks.get(target).add(source);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static IList<Integer>[] makeArrayOfLists(int size) {
+        return (IList<Integer>[]) new IList[size];
+    }
+
+    /**
+     * Returns the graph with every link reversed: the "targets" of a page in the
+     * returned graph are the pages linking to it, sorted by id.
+     */
+    public LinkGraph transpose() {
+        int[] newOffsets = new int[this.pages.length + 1];
+        for (int target : this.targets) {
+            newOffsets[target + 1]++;
+        }
+        for (int id = 0; id < this.pages.length; id++) {
+            newOffsets[id + 1] += newOffsets[id];
+        }
+
+        // Visiting sources in increasing order keeps every list of sources sorted.
+        int[] next = Arrays.copyOf(newOffsets, this.pages.length);
+        int[] sources = new int[this.targets.length];
+        for (int source = 0; source < this.pages.length; source++) {
+            for (int edge = this.offsets[source]; edge < this.offsets[source + 1]; edge++) {
+                sources[next[this.targets[edge]]] = source;
+                next[this.targets[edge]]++;
+            }
+        }
+        return new LinkGraph(this.pages, this.pageIds, newOffsets, sources);
+    }
+
+    /**
+     * Returns the ids of the pages the given links point to, sorted, without
+     * duplicates, without the source page itself and without unknown pages.
+     */
+    private int[] toTargets(int source, IList<URI> links) {
+        int[] ids = new int[links.size()];
+        int size = 0;
+        for (URI link : links) {
+            int target = this.pageIds.getOrDefault(link, -1);
+            if (target >= 0 && target != source) {
+                ids[size] = target;
+                size++;
+            } else if (target < 0 && this.unresolvedLinks != null) {
+                this.addUnresolvedLink(link, source);
+            }
+        }
+        return sortedDistinct(ids, size);
+    }
+
+    /**
+     * Returns the distinct values among the first 'size' entries of the given array,
+     * in ascending order. The array is sorted in place.
+     */
+    private static int[] sortedDistinct(int[] ids, int size) {
+        Arrays.sort(ids, 0, size);
+
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[distinct] = ids[i];
+                distinct++;
+            }
+        }
+        return Arrays.copyOf(ids, distinct);
+    }
+
+    /**
+     * Returns the number of pages in this graph.
+     */
+    public int size() {
+        return this.pages.length;
+    }
+
+    /**
+     * Returns the URI of the page with the given id.
+     */
+    public URI getUri(int id) {
+        return this.pages[id];
+    }
+
+    /**
+     * Returns the id of the page with the given URI, or -1 if it is not in this graph.
+     */
+    public int getId(URI uri) {
+        return this.pageIds.getOrDefault(uri, -1);
+    }
+
+    /**
+     * Returns the index into 'getTargets()' where the links of each page start; the
+     * array has one extra trailing entry holding the total number of links.
+     */
+    public int[] getOffsets() {
+        return this.offsets;
+    }
+
+    /**
+     * Returns the destinations of every link, grouped by source page.
+     */
+    public int[] getTargets() {
+        return this.targets;
+    }
+
+    /**
+     * Returns the number of distinct pages the given page links to.
+     */
+    public int getOutDegree(int id) {
+        return this.offsets[id + 1] - this.offsets[id];
+    }
+}
@@ -1,165 +1,519 @@
-package search.analyzers;
-
-import datastructures.concrete.ChainedHashSet;
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
-import datastructures.concrete.dictionaries.KVPair;
-import datastructures.interfaces.IDictionary;
-import datastructures.interfaces.IList;
-import datastructures.interfaces.ISet;
-import search.models.Webpage;
-
-import java.net.URI;
-
-/**
- * This class is responsible for computing the 'page rank' of all available webpages.
- * If a webpage has many different links to it, it should have a higher page rank.
- * See the spec for more details.
- */
-public class PageRankAnalyzer {
-    private IDictionary<URI, Double> pageRanks;
-
-    /**
-     * Computes a graph representing the internet and computes the page rank of all
-     * available webpages.
-     *
-     * @param webpages  A set of all webpages we have parsed. Must be non-null and must not contain
-     *                  nulls.
-     * @param decay     Represents the "decay" factor when computing page rank (see spec). Must be a
-     *                  number between 0 and 1, inclusive.
-     * @param epsilon   When the difference in page ranks is less than or equal to this number,
-     *                  stop iterating. Must be a non-negative number.
-     * @param limit     The maximum number of iterations we spend computing page rank. This value
-     *                  is meant as a safety valve to prevent us from infinite looping in case our
-     *                  page rank never converges. Must be a non-negative number. (A limit of 0 should
-     *                  simply return the initial page rank values from 'computePageRank'.)
-     */
-    public PageRankAnalyzer(ISet<Webpage> webpages, double decay, double epsilon, int limit) {
-        // Implementation note: We have commented these method calls out so your
-        // search engine doesn't immediately crash when you try running it for the
-        // first time.
-
-        // Step 1: Make a graph representing the 'internet'
-        IDictionary<URI, ISet<URI>> graph = this.makeGraph(webpages);
-
-        // Step 2: Use this graph to compute the page rank for each webpage
-        this.pageRanks = this.makePageRanks(graph, decay, limit, epsilon);
-
-        // Note: we don't store the graph as a field: once we've computed the
-        // page ranks, we no longer need it!
-    }
-
-    /**
-     * This method converts a set of webpages into an unweighted, directed graph,
-     * in adjacency list form.
-     *
-     * You may assume that each webpage can be uniquely identified by its URI.
-     *
-     * Note that a webpage may contain links to other webpages that are *not*
-     * included within set of webpages you were given. You should omit these
-     * links from your graph: we want the final graph we build to be
-     * entirely "self-contained".
-     */
-    private IDictionary<URI, ISet<URI>> makeGraph(ISet<Webpage> webpages) {
-        IDictionary<URI, ISet<URI>> pageGraph = new ChainedHashDictionary<>();
-        ISet<URI> allUniquePage = new ChainedHashSet<>();
-
-        for (Webpage page : webpages) {
-            allUniquePage.add(page.getUri());
-        }
-
-        for (Webpage page : webpages) {
-            IList<URI> pageLinks = page.getLinks();
-            ISet<URI> linkPages = new ChainedHashSet<>();
-            for (URI link : pageLinks) {
-                if (allUniquePage.contains(link)) {
-                    linkPages.add(link);
-                }
-            }
-            if (linkPages.contains(page.getUri())) {
-                linkPages.remove(page.getUri());
-            }
-            pageGraph.put(page.getUri(), linkPages);
-        }
-
-        return pageGraph;
-    }
-
-    /**
-     * Computes the page ranks for all webpages in the graph.
-     *
-     * Precondition: assumes 'this.graphs' has previously been initialized.
-     *
-     * @param decay     Represents the "decay" factor when computing page rank (see spec).
-     * @param epsilon   When the difference in page ranks is less than or equal to this number,
-     *                  stop iterating.
-     * @param limit     The maximum number of iterations we spend computing page rank. This value
-     *                  is meant as a safety valve to prevent us from infinite looping in case our
-     *                  page rank never converges.
-     */
-    private IDictionary<URI, Double> makePageRanks(IDictionary<URI, ISet<URI>> graph,
-                                                   double decay,
-                                                   int limit,
-                                                   double epsilon) {
-        // Step 1: The initialize step should go here
-        IDictionary<URI, Double> oldPageRank = new ChainedHashDictionary<>();
-
-        for (KVPair<URI, ISet<URI>> pair : graph) {
-            oldPageRank.put(pair.getKey(), 1.0 / graph.size());
-        }
-
-        for (int i = 0; i < limit; i++) {
-            // Step 2: The update step should go here
-            IDictionary<URI, Double> newPageRank = new ChainedHashDictionary<>();
-
-            for (KVPair<URI, ISet<URI>> pageLinks : graph) {
-                if (pageLinks.getValue().isEmpty()) {
-                    double newScore = decay * oldPageRank.get(pageLinks.getKey()) / graph.size();
-                    for (KVPair<URI, Double> pageValue : oldPageRank) {
-                        newPageRank.put(pageValue.getKey(),
-                                newPageRank.getOrDefault(pageValue.getKey(), 0.0) + newScore);
-                    }
-                }
-                else {
-                    ISet<URI> links = pageLinks.getValue();
-                    double oldScore = oldPageRank.get(pageLinks.getKey());
-                    for (URI link : links) {
-                        newPageRank.put(link,
-                                newPageRank.getOrDefault(link, 0.0) + decay * oldScore / links.size());
-                    }
-                }
-
-                newPageRank.put(pageLinks.getKey(),
-                        newPageRank.getOrDefault(pageLinks.getKey(), 0.0) + (1 - decay) / graph.size());
-            }
-
-            // Step 3: the convergence step should go here.
-            // Return early if we've converged.
-            boolean converge = true;
-
-            for (KVPair<URI, Double> pageValue : newPageRank) {
-                if (Math.abs(oldPageRank.get(pageValue.getKey()) - newPageRank.get(pageValue.getKey())) >= epsilon) {
-                    converge = false;
-                }
-            }
-
-            if (converge) {
-                return newPageRank;
-            }
-            else {
-                oldPageRank = newPageRank;
-            }
-        }
-        return oldPageRank;
-    }
-
-    /**
-     * Returns the page rank of the given URI.
-     *
-     * Precondition: the given uri must have been one of the uris within the list of
-     *               webpages given to the constructor.
-     */
-    public double computePageRank(URI pageUri) {
-        // Implementation note: this method should be very simple: just one line!
-        return pageRanks.get(pageUri);
-    }
-}
+package search.analyzers;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.ISet;
+import search.models.Webpage;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * This class is responsible for computing the 'page rank' of all available webpages.
+ * If a webpage has many different links to it, it should have a higher page rank.
+ * See the spec for more details.
+ */
+public class PageRankAnalyzer {
+    // When computing page ranks in parallel, chunks of pages smaller than this
+    // are not worth handing to another thread.
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    // Maps every page to its index in 'pageRanks'.
+    private IDictionary<URI, Integer> pageIds;
+    private double[] pageRanks;
+
+    // How long each power iteration took, in milliseconds.
+    private double[] iterationTimes;
+
+    // Only kept by updatable analyzers, so 'update' can recompute the page ranks. An
+    // analyzer made updatable by 'makeUpdatable' only gets its graph out of 'webpages'
+    // when it is first updated.
+    private LinkGraph graph;
+    private Supplier<ISet<Webpage>> webpages;
+    private double decay;
+    private double epsilon;
+    private int limit;
+    private int parallelism;
+
+    /**
+     * Computes a graph representing the internet and computes the page rank of all
+     * available webpages.
+     *
+     * @param webpages  A set of all webpages we have parsed. Must be non-null and must not contain
+     *                  nulls.
+     * @param decay     Represents the "decay" factor when computing page rank (see spec). Must be a
+     *                  number between 0 and 1, inclusive.
+     * @param epsilon   When the difference in page ranks is less than or equal to this number,
+     *                  stop iterating. Must be a non-negative number.
+     * @param limit     The maximum number of iterations we spend computing page rank. This value
+     *                  is meant as a safety valve to prevent us from infinite looping in case our
+     *                  page rank never converges. Must be a non-negative number. (A limit of 0 should
+     *                  simply return the initial page rank values from 'computePageRank'.)
+     */
+    public PageRankAnalyzer(ISet<Webpage> webpages, double decay, double epsilon, int limit) {
+        this(webpages, decay, epsilon, limit, 1);
+    }
+
+    /**
+     * Same as the other constructor, but spreads each power iteration over the given
+     * number of threads. The decay, epsilon and limit parameters have exactly the same
+     * meaning; the resulting page ranks only differ by rounding errors.
+     *
+     * @param parallelism  The number of threads to use. Must be positive; a value of 1
+     *                     computes the page ranks on the calling thread.
+     */
+    public PageRankAnalyzer(ISet<Webpage> webpages, double decay, double epsilon, int limit, int parallelism) {
+        this(webpages, decay, epsilon, limit, parallelism, false);
+    }
+
+    /**
+     * Same as the other constructors; if 'updatable' is true, the analyzer also keeps
+     * its link graph and parameters around so 'update' can be called later on.
+     */
+    public PageRankAnalyzer(ISet<Webpage> webpages, double decay, double epsilon, int limit,
+                            int parallelism, boolean updatable) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+
+        // Step 1: Make a graph representing the 'internet'
+        LinkGraph graph = new LinkGraph(webpages, updatable);
+
+        // Step 2: Use this graph to compute the page rank for each webpage
+        double[] initialRanks = new double[graph.size()];
+        Arrays.fill(initialRanks, 1.0 / graph.size());
+        this.computePageRanks(graph, initialRanks, decay, epsilon, limit, parallelism);
+
+        // Note: unless asked to, we don't store the graph as a field: once we've
+        // computed the page ranks, we no longer need it! We only keep the mapping
+        // from URIs to the ids used to index the page ranks.
+        if (updatable) {
+            this.graph = graph;
+            this.decay = decay;
+            this.epsilon = epsilon;
+            this.limit = limit;
+            this.parallelism = parallelism;
+        }
+    }
+
+    /**
+     * Builds an updated copy of the given analyzer over the given graph, starting the
+     * power iterations from the given page ranks.
+     */
+    private PageRankAnalyzer(PageRankAnalyzer previous, LinkGraph graph, double[] initialRanks) {
+        this.graph = graph;
+        this.decay = previous.decay;
+        this.epsilon = previous.epsilon;
+        this.limit = previous.limit;
+        this.parallelism = previous.parallelism;
+        this.computePageRanks(graph, initialRanks, this.decay, this.epsilon, this.limit, this.parallelism);
+    }
+
+    /**
+     * Builds an updatable copy of the given analyzer, whose graph is built out of the
+     * given pages when it is first updated.
+     */
+    private PageRankAnalyzer(PageRankAnalyzer ranks, Supplier<ISet<Webpage>> webpages, double decay,
+                             double epsilon, int limit, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.pageIds = ranks.pageIds;
+        this.pageRanks = ranks.pageRanks;
+        this.iterationTimes = ranks.iterationTimes;
+        this.webpages = webpages;
+        this.decay = decay;
+        this.epsilon = epsilon;
+        this.limit = limit;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs the power iterations over the given graph and stores the resulting page ranks.
+     */
+    private void computePageRanks(LinkGraph graph, double[] initialRanks, double decay,
+                                  double epsilon, int limit, int parallelism) {
+        if (parallelism == 1) {
+            this.pageRanks = this.makePageRanks(graph, initialRanks, decay, limit, epsilon);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                this.pageRanks = this.makePageRanksInParallel(graph, initialRanks, decay, limit, epsilon, pool);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        this.pageIds = new ChainedHashDictionary<>();
+        for (int id = 0; id < graph.size(); id++) {
+            this.pageIds.put(graph.getUri(id), id);
+        }
+    }
+
+    /**
+     * Returns a new analyzer holding the page ranks of the web after the given pages
+     * were added (or replaced, if a page with the same URI already exists) and the pages
+     * with the given URIs were removed. This analyzer is left unchanged.
+     *
+     * Rather than starting over from uniform page ranks, the power iterations start from
+     * the ranks computed by this analyzer: new pages start at 1 / N, and the vector is
+     * rescaled to add up to 1. When only a small part of the web changed, the ranks are
+     * already close to the answer and far fewer iterations are needed to converge. The
+     * result only differs from a full recomputation by about epsilon.
+     *
+     * @throws IllegalStateException  if this analyzer was neither constructed as updatable
+     *                                nor made updatable
+     */
+    public PageRankAnalyzer update(ISet<Webpage> upserted, ISet<URI> removed) {
+        LinkGraph graph = this.graph;
+        if (graph == null && this.webpages != null) {
+            graph = new LinkGraph(this.webpages.get(), true);
+        }
+        if (graph == null) {
+            throw new IllegalStateException("This analyzer was not constructed as updatable");
+        }
+        LinkGraph newGraph = graph.withChanges(upserted, removed);
+
+        int size = newGraph.size();
+        double[] initialRanks = new double[size];
+        double total = 0.0;
+        for (int id = 0; id < size; id++) {
+            int oldId = this.pageIds.getOrDefault(newGraph.getUri(id), -1);
+            initialRanks[id] = oldId >= 0 ? this.pageRanks[oldId] : 1.0 / size;
+            total += initialRanks[id];
+        }
+        for (int id = 0; id < size; id++) {
+            initialRanks[id] /= total;
+        }
+        return new PageRankAnalyzer(this, newGraph, initialRanks);
+    }
+
+    /**
+     * Returns a copy of this analyzer which can be updated (see 'update'), for analyzers
+     * constructed out of previously computed page ranks. Updating takes the links of
+     * every page, so 'webpages', which must return the pages these page ranks were
+     * computed over, is only called when the copy is first updated.
+     *
+     * The decay, epsilon and limit parameters, used by every update, have the same
+     * meaning as in the other constructors.
+     *
+     * @throws IllegalArgumentException  if parallelism < 1
+     */
+    public PageRankAnalyzer makeUpdatable(Supplier<ISet<Webpage>> webpages, double decay, double epsilon,
+                                          int limit, int parallelism) {
+        return new PageRankAnalyzer(this, webpages, decay, epsilon, limit, parallelism);
+    }
+
+    /**
+     * Computes the page ranks of every page in a graph stored on disk, streaming its
+     * links once per iteration. Only the page rank vectors are kept in memory, so this
+     * works on graphs with far more links than fit in the heap.
+     *
+     * The decay, epsilon and limit parameters have the same meaning as in the other
+     * constructors.
+     *
+     * @param graph  a finished graph; see ExternalLinkGraph
+     */
+    public PageRankAnalyzer(ExternalLinkGraph graph, double decay, double epsilon, int limit) {
+        int size = graph.size();
+        double[] oldPageRank = new double[size];
+        Arrays.fill(oldPageRank, 1.0 / size);
+        double[] newPageRank = new double[size];
+        double[] inverseOutDegrees = new double[size];
+        for (int page = 0; page < size; page++) {
+            int outDegree = graph.getOutDegree(page);
+            inverseOutDegrees[page] = outDegree == 0 ? 0.0 : 1.0 / outDegree;
+        }
+        this.iterationTimes = new double[limit];
+
+        for (int i = 0; i < limit; i++) {
+            long start = System.nanoTime();
+
+            double danglingRank = 0.0;
+            for (int page = 0; page < size; page++) {
+                if (inverseOutDegrees[page] == 0.0) {
+                    danglingRank += oldPageRank[page];
+                }
+            }
+            Arrays.fill(newPageRank, (1 - decay) / size + decay * danglingRank / size);
+
+            double[] oldRanks = oldPageRank;
+            double[] newRanks = newPageRank;
+            graph.forEachLink((source, target) ->
+                    newRanks[target] += decay * oldRanks[source] * inverseOutDegrees[source]);
+
+            boolean converge = true;
+            for (int page = 0; page < size && converge; page++) {
+                if (Math.abs(oldPageRank[page] - newPageRank[page]) >= epsilon) {
+                    converge = false;
+                }
+            }
+
+            oldPageRank = newRanks;
+            newPageRank = oldRanks;
+            this.iterationTimes[i] = (System.nanoTime() - start) / 1e6;
+            if (converge) {
+                this.iterationTimes = Arrays.copyOf(this.iterationTimes, i + 1);
+                break;
+            }
+        }
+
+        this.pageRanks = oldPageRank;
+        this.pageIds = new ChainedHashDictionary<>();
+        for (int id = 0; id < size; id++) {
+            this.pageIds.put(graph.getUri(id), id);
+        }
+    }
+
+    /**
+     * Constructs an analyzer out of previously computed page ranks, such as
+     * those stored in an index snapshot.
+     *
+     * @param pages      the URI of every page
+     * @param pageRanks  the page rank of every page, in the same order
+     */
+    public PageRankAnalyzer(URI[] pages, double[] pageRanks) {
+        this.pageRanks = pageRanks;
+        this.iterationTimes = new double[0];
+        this.pageIds = new ChainedHashDictionary<>();
+        for (int id = 0; id < pages.length; id++) {
+            this.pageIds.put(pages[id], id);
+        }
+    }
+
+    /**
+     * Computes the page ranks for all webpages in the graph, indexed by page id,
+     * starting from the given initial page ranks.
+     *
+     * Every page with no outgoing links spreads its rank evenly over every page in
+     * the graph. Rather than looping over every page for each such "dangling" page,
+     * we add up their ranks once per iteration and hand each page an equal share.
+     *
+     * @param decay     Represents the "decay" factor when computing page rank (see spec).
+     * @param epsilon   When the difference in page ranks is less than or equal to this number,
+     *                  stop iterating.
+     * @param limit     The maximum number of iterations we spend computing page rank. This value
+     *                  is meant as a safety valve to prevent us from infinite looping in case our
+     *                  page rank never converges.
+     */
+    private double[] makePageRanks(LinkGraph graph, double[] initialRanks, double decay, int limit, double epsilon) {
+        int size = graph.size();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        // Step 1: The initialize step should go here
+        double[] oldPageRank = Arrays.copyOf(initialRanks, size);
+        double[] newPageRank = new double[size];
+        this.iterationTimes = new double[limit];
+
+        for (int i = 0; i < limit; i++) {
+            long start = System.nanoTime();
+
+            // Step 2: The update step should go here
+            double danglingRank = 0.0;
+            for (int page = 0; page < size; page++) {
+                if (offsets[page] == offsets[page + 1]) {
+                    danglingRank += oldPageRank[page];
+                }
+            }
+            Arrays.fill(newPageRank, (1 - decay) / size + decay * danglingRank / size);
+
+            for (int page = 0; page < size; page++) {
+                int outDegree = offsets[page + 1] - offsets[page];
+                if (outDegree > 0) {
+                    double share = decay * oldPageRank[page] / outDegree;
+                    for (int edge = offsets[page]; edge < offsets[page + 1]; edge++) {
+                        newPageRank[targets[edge]] += share;
+                    }
+                }
+            }
+
+            // Step 3: the convergence step should go here.
+            // Return early if we've converged.
+            boolean converge = true;
+            for (int page = 0; page < size && converge; page++) {
+                if (Math.abs(oldPageRank[page] - newPageRank[page]) >= epsilon) {
+                    converge = false;
+                }
+            }
+
+            double[] swap = oldPageRank;
+            oldPageRank = newPageRank;
+            newPageRank = swap;
+            this.iterationTimes[i] = (System.nanoTime() - start) / 1e6;
+            if (converge) {
+                this.iterationTimes = Arrays.copyOf(this.iterationTimes, i + 1);
+                break;
+            }
+        }
+        return oldPageRank;
+    }
+
+    /**
+     * Computes the same page ranks as 'makePageRanks', using every thread of the given pool.
+     *
+     * Instead of having every page push its rank to the pages it links to, every page
+     * pulls the rank of the pages linking to it. Pages can then be split into chunks
+     * that are updated independently, without any synchronization. Each chunk also
+     * reports the largest change in rank and the total rank of its dangling pages,
+     * which we combine to test for convergence and to prepare the next iteration.
+     */
+    private double[] makePageRanksInParallel(LinkGraph graph, double[] initialRanks, double decay,
+                                             int limit, double epsilon, ForkJoinPool pool) {
+        int size = graph.size();
+        this.iterationTimes = new double[0];
+        if (size == 0) {
+            return new double[0];
+        }
+        LinkGraph incoming = graph.transpose();
+        double[] inverseOutDegrees = new double[size];
+        for (int page = 0; page < size; page++) {
+            int outDegree = graph.getOutDegree(page);
+            inverseOutDegrees[page] = outDegree == 0 ? 0.0 : 1.0 / outDegree;
+        }
+
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * 4) + 1);
+        int numChunks = (size + chunkSize - 1) / chunkSize;
+        IterationState state = new IterationState(
+                incoming, inverseOutDegrees, decay, chunkSize, numChunks);
+
+        System.arraycopy(initialRanks, 0, state.oldPageRank, 0, size);
+        double danglingRank = 0.0;
+        for (int page = 0; page < size; page++) {
+            if (inverseOutDegrees[page] == 0.0) {
+                danglingRank += state.oldPageRank[page];
+            }
+        }
+        this.iterationTimes = new double[limit];
+
+        for (int i = 0; i < limit; i++) {
+            long start = System.nanoTime();
+            state.base = (1 - decay) / size + decay * danglingRank / size;
+            pool.invoke(new IterationTask(state, 0, numChunks));
+
+            double maxDelta = 0.0;
+            danglingRank = 0.0;
+            for (int chunk = 0; chunk < numChunks; chunk++) {
+                maxDelta = Math.max(maxDelta, state.chunkDeltas[chunk]);
+                danglingRank += state.chunkDanglingRanks[chunk];
+            }
+
+            double[] swap = state.oldPageRank;
+            state.oldPageRank = state.newPageRank;
+            state.newPageRank = swap;
+            this.iterationTimes[i] = (System.nanoTime() - start) / 1e6;
+            if (maxDelta < epsilon) {
+                this.iterationTimes = Arrays.copyOf(this.iterationTimes, i + 1);
+                break;
+            }
+        }
+        return state.oldPageRank;
+    }
+
+    /**
+     * Everything the chunks of one parallel power iteration read from and write to.
+     */
+    private static class IterationState {
+        private final LinkGraph incoming;
+        private final double[] inverseOutDegrees;
+        private final double decay;
+        private final int chunkSize;
+        private final double[] chunkDeltas;
+        private final double[] chunkDanglingRanks;
+
+        private double[] oldPageRank;
+        private double[] newPageRank;
+        private double base;
+
+        IterationState(LinkGraph incoming, double[] inverseOutDegrees, double decay,
+                       int chunkSize, int numChunks) {
+            this.incoming = incoming;
+            this.inverseOutDegrees = inverseOutDegrees;
+            this.decay = decay;
+            this.chunkSize = chunkSize;
+            this.chunkDeltas = new double[numChunks];
+            this.chunkDanglingRanks = new double[numChunks];
+            this.oldPageRank = new double[incoming.size()];
+            this.newPageRank = new double[incoming.size()];
+        }
+    }
+
+    /**
+     * Updates the page ranks of every page in a range of chunks, splitting the range
+     * in half until a single chunk remains. Tasks are never serialized.
+     */
+    @SuppressWarnings("serial")
+    private static class IterationTask extends RecursiveAction {
+        private final IterationState state;
+        private final int fromChunk;
+        private final int toChunk;
+
+        IterationTask(IterationState state, int fromChunk, int toChunk) {
+            this.state = state;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.toChunk - this.fromChunk > 1) {
+                int middle = (this.fromChunk + this.toChunk) >>> 1;
+                invokeAll(new IterationTask(this.state, this.fromChunk, middle),
+                          new IterationTask(this.state, middle, this.toChunk));
+                return;
+            }
+
+            IterationState s = this.state;
+            int[] offsets = s.incoming.getOffsets();
+            int[] sources = s.incoming.getTargets();
+            int from = this.fromChunk * s.chunkSize;
+            int to = Math.min(from + s.chunkSize, s.incoming.size());
+            double maxDelta = 0.0;
+            double danglingRank = 0.0;
+            for (int page = from; page < to; page++) {
+                double incomingRank = 0.0;
+                for (int edge = offsets[page]; edge < offsets[page + 1]; edge++) {
+                    incomingRank += s.oldPageRank[sources[edge]] * s.inverseOutDegrees[sources[edge]];
+                }
+                double rank = s.base + s.decay * incomingRank;
+                s.newPageRank[page] = rank;
+                maxDelta = Math.max(maxDelta, Math.abs(rank - s.oldPageRank[page]));
+                if (s.inverseOutDegrees[page] == 0.0) {
+                    danglingRank += rank;
+                }
+            }
+            s.chunkDeltas[this.fromChunk] = maxDelta;
+            s.chunkDanglingRanks[this.fromChunk] = danglingRank;
+        }
+    }
+
+    /**
+     * Returns how long each power iteration took to run, in milliseconds. The length of
+     * the array is the number of iterations that were run.
+     */
+    public double[] getIterationTimes() {
+        return this.iterationTimes;
+    }
+
+    /**
+     * Returns the page rank of the given URI.
+     *
+     * Precondition: the given uri must have been one of the uris within the list of
+     *               webpages given to the constructor.
+     */
+    public double computePageRank(URI pageUri) {
+        return this.pageRanks[this.pageIds.get(pageUri)];
+    }
+
+    /**
+     * Returns the page rank of the given URI, or the given default rank if it was not
+     * one of the uris given to the constructor.
+     */
+    public double computePageRank(URI pageUri, double defaultRank) {
+        int id = this.pageIds.getOrDefault(pageUri, -1);
+        return id < 0 ? defaultRank : this.pageRanks[id];
+    }
+}
@@ -1,178 +1,460 @@
-package search.analyzers;
-
-import datastructures.concrete.ChainedHashSet;
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
-import datastructures.concrete.dictionaries.KVPair;
-import datastructures.interfaces.IDictionary;
-import datastructures.interfaces.IList;
-import datastructures.interfaces.ISet;
-import search.models.Webpage;
-
-import java.net.URI;
-
-/**
- * This class is responsible for computing how "relevant" any given document is
- * to a given search query.
- *
- * See the spec for more details.
- */
-public class TfIdfAnalyzer {
-    // This field must contain the IDF score for every single word in all
-    // the documents.
-    private IDictionary<String, Double> idfScores;
-
-    // This field must contain the TF-IDF vector for each webpage you were given
-    // in the constructor.
-    //
-    // We will use each webpage's page URI as a unique key.
-    private IDictionary<URI, IDictionary<String, Double>> documentTfIdfVectors;
-
-    // Feel free to add extra fields and helper methods.
-    private IDictionary<URI, Double>  normVectors;
-
-    /**
-     * @param webpages  A set of all webpages we have parsed. Must be non-null and
-     *                  must not contain nulls.
-     */
-    public TfIdfAnalyzer(ISet<Webpage> webpages) {
-        // Implementation note: We have commented these method calls out so your
-        // search engine doesn't immediately crash when you try running it for the
-        // first time.
-
-        this.idfScores = this.computeIdfScores(webpages);
-        this.documentTfIdfVectors = this.computeAllDocumentTfIdfVectors(webpages);
-
-        this.normVectors = new ChainedHashDictionary<>();
-        for (KVPair<URI, IDictionary<String, Double>> pageURI : documentTfIdfVectors) {
-            double output = getNorm(pageURI.getValue());
-            normVectors.put(pageURI.getKey(), output);
-        }
-    }
-
-    // Note: this method, strictly speaking, doesn't need to exist. However,
-    // we've included it so we can add some unit tests to help verify that your
-    // constructor correctly initializes your fields.
-    public IDictionary<URI, IDictionary<String, Double>> getDocumentTfIdfVectors() {
-        return this.documentTfIdfVectors;
-    }
-
-    // Note: these private methods are suggestions or hints on how to structure your
-    // code. However, since they're private, you're not obligated to implement exactly
-    // these methods: feel free to change or modify these methods however you want. The
-    // important thing is that your 'computeRelevance' method ultimately returns the
-    // correct answer in an efficient manner.
-
-    /**
-     * Return a dictionary mapping every single unique word found
-     * in every single document to their IDF score.
-     */
-    private IDictionary<String, Double> computeIdfScores(ISet<Webpage> pages) {
-        IDictionary<String, Double> wordAppearance = new ChainedHashDictionary<>();
-
-        for (Webpage page : pages) {
-            IList<String> words = page.getWords();
-            ISet<String> uniqueWords = new ChainedHashSet<>();
-
-            for (String word : words) {
-                if (!uniqueWords.contains(word)) {
-                    wordAppearance.put(word, wordAppearance.getOrDefault(word, 0.0) + 1.0);
-                    uniqueWords.add(word);
-                }
-            }
-        }
-
-        for (KVPair<String, Double> word : wordAppearance) {
-            double idfScore = Math.log(pages.size() / word.getValue());
-            wordAppearance.put(word.getKey(), idfScore);
-        }
-
-        return wordAppearance;
-    }
-
-    /**
-     * Returns a dictionary mapping every unique word found in the given list
-     * to their term frequency (TF) score.
-     *
-     * The input list represents the words contained within a single document.
-     */
-    private IDictionary<String, Double> computeTfScores(IList<String> words) {
-        IDictionary<String, Double> uniqueWord = new ChainedHashDictionary<>();
-
-        for (String word : words) {
-            uniqueWord.put(word, uniqueWord.getOrDefault(word, 0.0) + 1.0 / words.size());
-        }
-
-        return uniqueWord;
-    }
-
-    /**
-     * See spec for more details on what this method should do.
-     */
-    private IDictionary<URI, IDictionary<String, Double>> computeAllDocumentTfIdfVectors(ISet<Webpage> pages) {
-        // Hint: this method should use the idfScores field and
-        // call the computeTfScores(...) method.
-        IDictionary<URI, IDictionary<String, Double>> result = new ChainedHashDictionary<>();
-
-        for (Webpage page : pages) {
-            IDictionary<String, Double> tfIdfVector = computeTfScores(page.getWords());
-            for (KVPair<String, Double> word: tfIdfVector) {
-                double combine = tfIdfVector.get(word.getKey()) * idfScores.get(word.getKey());
-                tfIdfVector.put(word.getKey(), combine);
-            }
-            result.put(page.getUri(), tfIdfVector);
-        }
-
-        return result;
-    }
-
-    /**
-     * Returns the cosine similarity between the TF-IDF vector for the given query and the
-     * URI's document.
-     *
-     * Precondition: the given uri must have been one of the uris within the list of
-     *               webpages given to the constructor.
-     */
-    public Double computeRelevance(IList<String> query, URI pageUri) {
-        // Note: The pseudocode we gave you is not very efficient. When implementing,
-        // this method, you should:
-        //
-        // 1. Figure out what information can be precomputed in your constructor.
-        //    Add a third field containing that information.
-        //
-        // 2. See if you can combine or merge one or more loops.
-
-        IDictionary<String, Double> documentVector = documentTfIdfVectors.get(pageUri);
-        IDictionary<String, Double> queryVector = new ChainedHashDictionary<>();
-        IDictionary<String, Double> queryTfScores = this.computeTfScores(query);
-        double numerator = 0.0;
-
-        for (KVPair<String, Double> pair : queryTfScores) {
-            double tfIdf = 0.0;
-            if (idfScores.containsKey(pair.getKey())) {
-                tfIdf = pair.getValue() * idfScores.get(pair.getKey());
-            }
-            queryVector.put(pair.getKey(), tfIdf);
-            if (documentVector.containsKey(pair.getKey())) {
-                numerator += documentVector.get(pair.getKey()) * queryVector.get(pair.getKey());
-            }
-        }
-
-        double denominator = normVectors.get(pageUri) * getNorm(queryVector);
-
-        if (denominator != 0) {
-            return numerator / denominator;
-        }
-        else {
-            return 0.0;
-        }
-    }
-
-    private double getNorm(IDictionary<String, Double> vector) {
-        double output = 0.0;
-        for (KVPair<String, Double> pair : vector) {
-            double score = pair.getValue();
-            output += score * score;
-        }
-        return Math.sqrt(output);
-    }
-}
+package search.analyzers;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import search.index.SparseVector;
+import search.index.TermDictionary;
+import search.models.Webpage;
+
+import java.net.URI;
+import java.util.Arrays;
+
+/**
+ * This class is responsible for computing how "relevant" any given document is
+ * to a given search query.
+ *
+ * See the spec for more details.
+ */
+public class TfIdfAnalyzer {
+    // Maps every single word in all the documents to a dense integer id. Every
+    // other structure in this class refers to words by their id.
+    private TermDictionary terms;
+
+    // This field must contain the IDF score for every single word in all
+    // the documents, indexed by term id.
+    private double[] idfScores;
+
+    // The number of documents containing every word, indexed by term id.
+    private int[] documentFrequencies;
+
+    // Every webpage we were given in the constructor gets a dense integer
+    // document id; these two fields map between ids and page URIs.
+    private URI[] documents;
+    private IDictionary<URI, Integer> documentIds;
+
+    // The term frequency vector of each webpage you were given in the constructor,
+    // indexed by document id. The TF-IDF weight of a term is its term frequency times
+    // its IDF, which is applied to the query instead (see PreparedQuery): that way, the
+    // vectors stay valid when the IDF changes, and terms appearing in every document,
+    // whose IDF is zero, are not lost.
+    private SparseVector[] documentTfVectors;
+
+    // The norm of every TF-IDF vector, indexed by document id.
+    private double[] normVectors;
+
+    /**
+     * @param webpages  A set of all webpages we have parsed. Must be non-null and
+     *                  must not contain nulls.
+     */
+    public TfIdfAnalyzer(ISet<Webpage> webpages) {
+        this.terms = new TermDictionary();
+        this.documents = new URI[webpages.size()];
+        this.documentIds = new ChainedHashDictionary<>();
+
+        // Step 1: convert every document to a sorted list of distinct term ids,
+        // along with how many times each term appears in it.
+        int[][] documentTerms = new int[webpages.size()][];
+        int[][] documentCounts = new int[webpages.size()][];
+        int[] documentLengths = new int[webpages.size()];
+        int docId = 0;
+        for (Webpage page : webpages) {
+            this.documents[docId] = page.getUri();
+            this.documentIds.put(page.getUri(), docId);
+
+            int[] ids = toSortedTermIds(page.getWords(), this.terms, true);
+            documentLengths[docId] = ids.length;
+            documentTerms[docId] = distinct(ids);
+            documentCounts[docId] = countRuns(ids, documentTerms[docId].length);
+            docId++;
+        }
+
+        this.computeVectors(documentTerms, documentCounts, documentLengths);
+    }
+
+    /**
+     * Constructs an analyzer out of the terms of every document, as computed by an
+     * indexing pipeline. The arrays are not copied.
+     *
+     * @param terms            the dictionary of every word in the documents
+     * @param documents        the URI of every document, indexed by document id
+     * @param documentTerms    the distinct term ids of every document, sorted
+     * @param documentCounts   how many times each of those terms appears in the document
+     * @param documentLengths  the total number of words in every document
+     */
+    public TfIdfAnalyzer(TermDictionary terms, URI[] documents, int[][] documentTerms,
+                         int[][] documentCounts, int[] documentLengths) {
+        this.terms = terms;
+        this.documents = documents;
+        this.documentIds = new ChainedHashDictionary<>();
+        for (int docId = 0; docId < documents.length; docId++) {
+            this.documentIds.put(documents[docId], docId);
+        }
+        this.computeVectors(documentTerms, documentCounts, documentLengths);
+    }
+
+    /**
+     * Computes the IDF of every term, then the term frequency vector of every document
+     * and the norm of its TF-IDF vector.
+     */
+    private void computeVectors(int[][] documentTerms, int[][] documentCounts, int[] documentLengths) {
+        this.documentFrequencies = this.countDocumentFrequencies(documentTerms);
+        this.idfScores = this.computeIdfScores(this.documentFrequencies);
+        this.documentTfVectors = new SparseVector[this.documents.length];
+        this.normVectors = new double[this.documents.length];
+        for (int i = 0; i < this.documents.length; i++) {
+            this.documentTfVectors[i] = computeTfVector(documentTerms[i], documentCounts[i], documentLengths[i]);
+            this.normVectors[i] = computeNorm(this.documentTfVectors[i], this.idfScores);
+        }
+    }
+
+    /**
+     * Reconstructs an analyzer out of previously computed values, as returned by
+     * the getters of this class. The arrays are not copied.
+     *
+     * @param terms                the dictionary of every word in the documents
+     * @param idfScores            the IDF score of every term, indexed by term id
+     * @param documentFrequencies  the number of documents containing every term, indexed by term id
+     * @param documents            the URI of every document, indexed by document id
+     * @param vectors              the term frequency vector of every document, indexed by document id
+     * @param norms                the norm of every TF-IDF vector, indexed by document id
+     */
+    public TfIdfAnalyzer(TermDictionary terms, double[] idfScores, int[] documentFrequencies, URI[] documents,
+                         SparseVector[] vectors, double[] norms) {
+        this.terms = terms;
+        this.idfScores = idfScores;
+        this.documentFrequencies = documentFrequencies;
+        this.documents = documents;
+        this.documentTfVectors = vectors;
+        this.normVectors = norms;
+        this.documentIds = new ChainedHashDictionary<>();
+        for (int docId = 0; docId < documents.length; docId++) {
+            this.documentIds.put(documents[docId], docId);
+        }
+    }
+
+    // Note: this method, strictly speaking, doesn't need to exist. However,
+    // we've included it so we can add some unit tests to help verify that your
+    // constructor correctly initializes your fields.
+    //
+    // The vectors are stored in a compact form internally, so this method builds
+    // a dictionary-based copy of all of them: it is only meant for testing.
+    public IDictionary<URI, IDictionary<String, Double>> getDocumentTfIdfVectors() {
+        IDictionary<URI, IDictionary<String, Double>> output = new ChainedHashDictionary<>();
+        for (int docId = 0; docId < this.documents.length; docId++) {
+            SparseVector vector = this.documentTfVectors[docId];
+            IDictionary<String, Double> words = new ChainedHashDictionary<>();
+            for (int i = 0; i < vector.size(); i++) {
+                int termId = vector.getTermId(i);
+                words.put(this.terms.getTerm(termId), vector.getWeight(i) * this.idfScores[termId]);
+            }
+            output.put(this.documents[docId], words);
+        }
+        return output;
+    }
+
+    /**
+     * Returns the dictionary mapping every word found in the documents to its term id.
+     */
+    public TermDictionary getTermDictionary() {
+        return this.terms;
+    }
+
+    /**
+     * Returns the IDF score of the term with the given id.
+     */
+    public double getIdfScore(int termId) {
+        return this.idfScores[termId];
+    }
+
+    /**
+     * Returns the number of documents containing the term with the given id.
+     */
+    public int getDocumentFrequency(int termId) {
+        return this.documentFrequencies[termId];
+    }
+
+    /**
+     * Returns the number of documents given to the constructor.
+     */
+    public int getDocumentCount() {
+        return this.documents.length;
+    }
+
+    /**
+     * Returns the URI of the document with the given id.
+     */
+    public URI getUri(int docId) {
+        return this.documents[docId];
+    }
+
+    /**
+     * Returns the id of the document with the given URI.
+     *
+     * Precondition: the given uri must have been one of the uris within the list of
+     *               webpages given to the constructor.
+     */
+    public int getDocumentId(URI pageUri) {
+        return this.documentIds.get(pageUri);
+    }
+
+    /**
+     * Returns the term frequency vector of the document with the given id: the weight
+     * of every term is the number of times it appears in the document, divided by the
+     * number of words in the document.
+     */
+    public SparseVector getTermFrequencyVector(int docId) {
+        return this.documentTfVectors[docId];
+    }
+
+    /**
+     * Returns the euclidean norm of the TF-IDF vector of the document with the given id.
+     */
+    public double computeDocumentNorm(int docId) {
+        return this.normVectors[docId];
+    }
+
+    /**
+     * Return an array mapping every term id to the number of documents containing it.
+     */
+    private int[] countDocumentFrequencies(int[][] documentTerms) {
+        int[] appearances = new int[this.terms.size()];
+        for (int[] ids : documentTerms) {
+            for (int id : ids) {
+                appearances[id]++;
+            }
+        }
+        return appearances;
+    }
+
+    /**
+     * Return an array mapping every term id to its IDF score.
+     */
+    private double[] computeIdfScores(int[] documentFrequencies) {
+        double[] idf = new double[this.terms.size()];
+        for (int id = 0; id < idf.length; id++) {
+            idf[id] = Math.log((double) this.documents.length / documentFrequencies[id]);
+        }
+        return idf;
+    }
+
+    /**
+     * Returns the term frequency vector of a document with the given distinct terms,
+     * their number of occurrences, and total number of words.
+     */
+    public static SparseVector computeTfVector(int[] ids, int[] counts, int length) {
+        float[] weights = new float[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            weights[i] = (float) ((double) counts[i] / length);
+        }
+        return new SparseVector(ids, weights);
+    }
+
+    /**
+     * Returns the norm of the TF-IDF vector whose term frequencies are given, using the
+     * given IDF of every term.
+     */
+    public static double computeNorm(SparseVector tfVector, double[] idfScores) {
+        double sum = 0.0;
+        for (int i = 0; i < tfVector.size(); i++) {
+            double weight = tfVector.getWeight(i) * idfScores[tfVector.getTermId(i)];
+            sum += weight * weight;
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * Returns the TF-IDF vector of a query with the given distinct terms, their
+     * number of occurrences, and total number of words.
+     */
+    private static SparseVector computeTfIdfVector(int[] ids, int[] counts, int length, double[] idfScores) {
+        float[] weights = new float[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            double tf = (double) counts[i] / length;
+            weights[i] = (float) (tf * idfScores[ids[i]]);
+        }
+        return new SparseVector(ids, weights);
+    }
+
+    /**
+     * Returns the cosine similarity between the TF-IDF vector for the given query and the
+     * URI's document.
+     *
+     * Precondition: the given uri must have been one of the uris within the list of
+     *               webpages given to the constructor.
+     */
+    public Double computeRelevance(IList<String> query, URI pageUri) {
+        return this.prepare(query).computeRelevance(this.documentIds.get(pageUri));
+    }
+
+    /**
+     * Computes the TF-IDF vector of the given query and its norm once, so the query can
+     * then be compared to any number of documents without redoing that work.
+     */
+    public PreparedQuery prepare(IList<String> query) {
+        return new PreparedQuery(this, this.computeQueryVector(query));
+    }
+
+    /**
+     * Returns the TF-IDF vector of the given query. Words that do not appear in any
+     * document have a weight of zero, so they are left out of the vector.
+     */
+    public SparseVector computeQueryVector(IList<String> query) {
+        return computeQueryVector(query, this.terms, this.idfScores);
+    }
+
+    /**
+     * Returns the TF-IDF vector of the given query, using the given dictionary and IDF
+     * of every term. Words that are not in the dictionary are left out of the vector.
+     */
+    public static SparseVector computeQueryVector(IList<String> query, TermDictionary terms, double[] idfScores) {
+        int[] ids = toSortedTermIds(query, terms, false);
+        int[] distinctIds = distinct(ids);
+        int[] counts = countRuns(ids, distinctIds.length);
+
+        // Only known words were converted to ids, but the term frequencies are
+        // relative to the full length of the query.
+        return computeTfIdfVector(distinctIds, counts, query.size(), idfScores);
+    }
+
+    /**
+     * Converts the given words to their term ids, sorted in ascending order. If 'add'
+     * is false, unknown words are skipped instead of being added to the dictionary.
+     */
+    private static int[] toSortedTermIds(IList<String> words, TermDictionary terms, boolean add) {
+        int[] ids = new int[words.size()];
+        int size = 0;
+        for (String word : words) {
+            int id = add ? terms.add(word) : terms.getId(word);
+            if (id >= 0) {
+                ids[size] = id;
+                size++;
+            }
+        }
+        if (size != ids.length) {
+            ids = Arrays.copyOf(ids, size);
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Returns the distinct values of the given sorted array.
+     */
+    private static int[] distinct(int[] sorted) {
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                size++;
+            }
+        }
+        int[] out = new int[size];
+        int j = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                out[j] = sorted[i];
+                j++;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Returns how many times each distinct value appears in the given sorted array.
+     */
+    private static int[] countRuns(int[] sorted, int numDistinct) {
+        int[] counts = new int[numDistinct];
+        int j = -1;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                j++;
+            }
+            counts[j]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the weight of every term of the given query vector such that the cosine
+     * similarity between the query and a document is the dot product of these weights
+     * and the term frequency vector of the document, divided by the norm of its TF-IDF
+     * vector: every TF-IDF weight of the query is multiplied by the IDF the document
+     * vector leaves out, and divided by the norm of the query.
+     */
+    public static SparseVector computeQueryWeights(SparseVector queryVector, double[] idfScores) {
+        double norm = queryVector.norm();
+        int[] termIds = new int[queryVector.size()];
+        float[] weights = new float[queryVector.size()];
+        for (int i = 0; i < termIds.length; i++) {
+            termIds[i] = queryVector.getTermId(i);
+            if (norm != 0.0) {
+                weights[i] = (float) (queryVector.getWeight(i) * idfScores[termIds[i]] / norm);
+            }
+        }
+        return new SparseVector(termIds, weights);
+    }
+
+    /**
+     * A query whose TF-IDF vector was computed ahead of time (see 'prepare').
+     */
+    public static class PreparedQuery {
+        private final TfIdfAnalyzer analyzer;
+        private final SparseVector vector;
+        private final SparseVector weights;
+
+        private PreparedQuery(TfIdfAnalyzer analyzer, SparseVector vector) {
+            this.analyzer = analyzer;
+            this.vector = vector;
+            this.weights = computeQueryWeights(vector, analyzer.idfScores);
+        }
+
+        /**
+         * Returns the TF-IDF vector of the query.
+         */
+        public SparseVector getQueryVector() {
+            return this.vector;
+        }
+
+        /**
+         * Returns the cosine similarity between the query and the document with the given id.
+         */
+        public double computeRelevance(int docId) {
+            // Both vectors are sorted by term id, so the dot product is a single merge.
+            double numerator = this.analyzer.documentTfVectors[docId].dot(this.weights);
+            double denominator = this.analyzer.normVectors[docId];
+
+            if (denominator != 0) {
+                return numerator / denominator;
+            }
+            else {
+                return 0.0;
+            }
+        }
+
+        /**
+         * Stores the relevance of the document 'docIds[i]' in 'scores[i]', for every i.
+         *
+         * @throws IllegalArgumentException  if 'scores' is shorter than 'docIds'
+         */
+        public void computeRelevance(int[] docIds, double[] scores) {
+            this.computeRelevance(docIds, 0, docIds.length, scores);
+        }
+
+        /**
+         * Same as 'computeRelevance(docIds, scores)', but only for the documents between
+         * the indexes 'from' (inclusive) and 'to' (exclusive), so a long list of documents
+         * can be scored one chunk at a time.
+         *
+         * @throws IllegalArgumentException  if 'scores' is shorter than 'to'
+         */
+        public void computeRelevance(int[] docIds, int from, int to, double[] scores) {
+            if (scores.length < to) {
+                throw new IllegalArgumentException("Not enough room for every score");
+            }
+            for (int i = from; i < to; i++) {
+                scores[i] = this.computeRelevance(docIds[i]);
+            }
+        }
+    }
+}
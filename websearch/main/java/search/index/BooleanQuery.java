@@ -0,0 +1,590 @@
+package search.index;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import search.misc.WordTokenizer;
+
+import java.util.Arrays;
+import java.util.function.UnaryOperator;
+
+/**
+ * A query combining words with the AND, OR and NOT operators, such as
+ * 'cat AND (dog OR mouse) AND NOT tiger'.
+ *
+ * The operators must be written in upper case, and bind from tightest to loosest
+ * as NOT, AND, OR. Parentheses group subqueries. Words written next to each other
+ * without an operator must all appear, as if joined by AND.
+ *
+ * A query is evaluated lazily over the postings of its words: every subquery is a
+ * cursor which can jump ahead to a given document id. An AND moves its cheapest
+ * operand forward and only asks the others to jump to the documents it lands on,
+ * while the postings themselves gallop or use their skip pointers to get there. So
+ * a restrictive query costs about as much as its shortest posting list, however
+ * long the other lists are.
+ */
+public class BooleanQuery {
+    private final Node root;
+
+    private BooleanQuery(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the given query string parsed as a boolean query, or null if it does not
+     * use any operator or parenthesis (in which case it is a regular query).
+     *
+     * @throws IllegalArgumentException  if the query is malformed, for example if an
+     *                                   operator is missing an operand
+     */
+    public static BooleanQuery parse(String query) {
+        String[] tokens = query.replace("(", " ( ").replace(")", " ) ").trim().split("\\s+");
+        boolean hasOperators = false;
+        for (String token : tokens) {
+            hasOperators |= isOperator(token) || token.equals("(") || token.equals(")");
+        }
+        if (!hasOperators) {
+            return null;
+        }
+
+        Parser parser = new Parser(tokens);
+        Node root = parser.parseOr();
+        if (parser.position != tokens.length) {
+            throw new IllegalArgumentException("Unexpected '" + tokens[parser.position] + "' in query");
+        }
+        return new BooleanQuery(root);
+    }
+
+    private static boolean isOperator(String token) {
+        return token.equals("AND") || token.equals("OR") || token.equals("NOT");
+    }
+
+    /**
+     * Returns this query with every word replaced by the given function, which returns
+     * null to remove a word: 'the AND cat' becomes 'cat' if 'the' is removed. Operators
+     * left without operands are removed as well, and a query left without any word
+     * matches no document.
+     */
+    public BooleanQuery mapTerms(UnaryOperator<String> mapper) {
+        Node root = this.root.map(mapper);
+        return new BooleanQuery(root != null ? root : new Or(new DoubleLinkedList<>()));
+    }
+
+    /**
+     * Returns the words of this query which are not negated: the ones a matching page
+     * may be relevant for.
+     */
+    public IList<String> getPositiveTerms() {
+        IList<String> output = new DoubleLinkedList<>();
+        this.root.addPositiveTerms(output);
+        return output;
+    }
+
+    /**
+     * Returns the ids of every document matching this query, in ascending order.
+     *
+     * @param postings      the postings of every term
+     * @param terms         the dictionary the term ids of the postings come from
+     * @param numDocuments  the number of documents, which NOT needs to know about
+     */
+    public int[] evaluate(PostingSource postings, TermDictionary terms, int numDocuments) {
+        DocIterator iterator = this.root.iterator(postings, terms, numDocuments);
+        int[] output = new int[16];
+        int size = 0;
+        for (int docId = iterator.docId(); docId != PostingCursor.NO_MORE_DOCS; docId = iterator.next()) {
+            if (size == output.length) {
+                output = Arrays.copyOf(output, size * 2);
+            }
+            output[size] = docId;
+            size++;
+        }
+        return Arrays.copyOf(output, size);
+    }
+
+    /**
+     * Returns this query with every operator and grouping made explicit, so that two
+     * queries with the same meaning as written have the same string.
+     */
+    @Override
+    public String toString() {
+        return this.root.toString();
+    }
+
+    /**
+     * A recursive descent parser over the tokens of a query:
+     *
+     *     or     := and ("OR" and)*
+     *     and    := unary ("AND"? unary)*
+     *     unary  := "NOT" unary | "(" or ")" | word
+     */
+    private static class Parser {
+        private final String[] tokens;
+        private int position;
+
+        Parser(String[] tokens) {
+            this.tokens = tokens;
+            this.position = 0;
+        }
+
+        private String peek() {
+            return this.position < this.tokens.length ? this.tokens[this.position] : null;
+        }
+
+        Node parseOr() {
+            IList<Node> operands = new DoubleLinkedList<>();
+            operands.add(this.parseAnd());
+            while ("OR".equals(this.peek())) {
+                this.position++;
+                operands.add(this.parseAnd());
+            }
+            return operands.size() == 1 ? operands.get(0) : new Or(operands);
+        }
+
+        Node parseAnd() {
+            IList<Node> operands = new DoubleLinkedList<>();
+            operands.add(this.parseUnary());
+            while (this.peek() != null && !this.peek().equals("OR") && !this.peek().equals(")")) {
+                if (this.peek().equals("AND")) {
+                    this.position++;
+                }
+                operands.add(this.parseUnary());
+            }
+            return operands.size() == 1 ? operands.get(0) : new And(operands);
+        }
+
+        Node parseUnary() {
+            String token = this.peek();
+            if (token == null || token.equals("AND") || token.equals("OR") || token.equals(")")) {
+                throw new IllegalArgumentException("Missing operand in query");
+            }
+            this.position++;
+            if (token.equals("NOT")) {
+                return new Not(this.parseUnary());
+            } else if (token.equals("(")) {
+                Node node = this.parseOr();
+                if (!")".equals(this.peek())) {
+                    throw new IllegalArgumentException("Missing ')' in query");
+                }
+                this.position++;
+                return node;
+            } else {
+                IList<String> words = WordTokenizer.extract(token);
+                if (words.isEmpty()) {
+                    throw new IllegalArgumentException("'" + token + "' is not a word");
+                }
+                return new Term(words.get(0));
+            }
+        }
+    }
+
+    /**
+     * Iterates over the documents matching a subquery, in ascending order. A new
+     * iterator is positioned on the first of them.
+     */
+    private interface DocIterator {
+        int docId();
+
+        int next();
+
+        /**
+         * Moves to the first matching document whose id is at least 'target', unless
+         * the current one already is, and returns its id.
+         */
+        int advance(int target);
+
+        /**
+         * Returns an upper bound on the number of documents this iterator may visit.
+         */
+        long cost();
+    }
+
+    private abstract static class Node {
+        abstract DocIterator iterator(PostingSource postings, TermDictionary terms, int numDocuments);
+
+        /**
+         * Returns this node with its words replaced, or null if none is left.
+         */
+        abstract Node map(UnaryOperator<String> mapper);
+
+        abstract void addPositiveTerms(IList<String> output);
+    }
+
+    private static class Term extends Node {
+        private final String word;
+
+        Term(String word) {
+            this.word = word;
+        }
+
+        @Override
+        DocIterator iterator(PostingSource postings, TermDictionary terms, int numDocuments) {
+            int termId = terms.getId(this.word);
+            if (termId < 0) {
+                return new RangeIterator(0);
+            }
+            PostingCursor cursor = postings.getCursor(termId);
+            if (cursor == null) {
+                // Every document containing the word was deleted.
+                return new RangeIterator(0);
+            }
+            return new DocIterator() {
+                @Override
+                public int docId() {
+                    return cursor.docId();
+                }
+
+                @Override
+                public int next() {
+                    return cursor.next();
+                }
+
+                @Override
+                public int advance(int target) {
+                    return cursor.advance(target);
+                }
+
+                @Override
+                public long cost() {
+                    return cursor.size();
+                }
+            };
+        }
+
+        @Override
+        Node map(UnaryOperator<String> mapper) {
+            String word = mapper.apply(this.word);
+            return word != null ? new Term(word) : null;
+        }
+
+        @Override
+        void addPositiveTerms(IList<String> output) {
+            output.add(this.word);
+        }
+
+        @Override
+        public String toString() {
+            return this.word;
+        }
+    }
+
+    private static class Not extends Node {
+        private final Node operand;
+
+        Not(Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        DocIterator iterator(PostingSource postings, TermDictionary terms, int numDocuments) {
+            // On its own, NOT matches every document but those of its operand.
+            return new AndIterator(
+                    new DocIterator[] {new RangeIterator(numDocuments)},
+                    new DocIterator[] {this.operand.iterator(postings, terms, numDocuments)});
+        }
+
+        @Override
+        Node map(UnaryOperator<String> mapper) {
+            Node operand = this.operand.map(mapper);
+            return operand != null ? new Not(operand) : null;
+        }
+
+        @Override
+        void addPositiveTerms(IList<String> output) {
+            // Nothing: pages matching the operand are the ones left out.
+        }
+
+        @Override
+        public String toString() {
+            return "(NOT " + this.operand + ")";
+        }
+    }
+
+    private static class And extends Node {
+        private final IList<Node> operands;
+
+        And(IList<Node> operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        DocIterator iterator(PostingSource postings, TermDictionary terms, int numDocuments) {
+            // Negated operands are only checked against the documents matching all the
+            // others, rather than turned into lists of almost every document.
+            IList<DocIterator> required = new DoubleLinkedList<>();
+            IList<DocIterator> excluded = new DoubleLinkedList<>();
+            for (Node operand : this.operands) {
+                if (operand instanceof Not) {
+                    excluded.add(((Not) operand).operand.iterator(postings, terms, numDocuments));
+                } else {
+                    required.add(operand.iterator(postings, terms, numDocuments));
+                }
+            }
+            if (required.isEmpty()) {
+                required.add(new RangeIterator(numDocuments));
+            }
+            return new AndIterator(toArray(required), toArray(excluded));
+        }
+
+        @Override
+        Node map(UnaryOperator<String> mapper) {
+            IList<Node> operands = mapAll(this.operands, mapper);
+            if (operands.isEmpty()) {
+                return null;
+            }
+            return operands.size() == 1 ? operands.get(0) : new And(operands);
+        }
+
+        @Override
+        void addPositiveTerms(IList<String> output) {
+            for (Node operand : this.operands) {
+                operand.addPositiveTerms(output);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return join(this.operands, " AND ");
+        }
+    }
+
+    private static class Or extends Node {
+        private final IList<Node> operands;
+
+        Or(IList<Node> operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        DocIterator iterator(PostingSource postings, TermDictionary terms, int numDocuments) {
+            IList<DocIterator> iterators = new DoubleLinkedList<>();
+            for (Node operand : this.operands) {
+                iterators.add(operand.iterator(postings, terms, numDocuments));
+            }
+            return new OrIterator(toArray(iterators));
+        }
+
+        @Override
+        Node map(UnaryOperator<String> mapper) {
+            IList<Node> operands = mapAll(this.operands, mapper);
+            if (operands.isEmpty()) {
+                return null;
+            }
+            return operands.size() == 1 ? operands.get(0) : new Or(operands);
+        }
+
+        @Override
+        void addPositiveTerms(IList<String> output) {
+            for (Node operand : this.operands) {
+                operand.addPositiveTerms(output);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return join(this.operands, " OR ");
+        }
+    }
+
+    private static IList<Node> mapAll(IList<Node> operands, UnaryOperator<String> mapper) {
+        IList<Node> output = new DoubleLinkedList<>();
+        for (Node operand : operands) {
+            Node mapped = operand.map(mapper);
+            if (mapped != null) {
+                output.add(mapped);
+            }
+        }
+        return output;
+    }
+
+    private static String join(IList<Node> operands, String operator) {
+        StringBuilder output = new StringBuilder("(");
+        for (Node operand : operands) {
+            if (output.length() > 1) {
+                output.append(operator);
+            }
+            output.append(operand);
+        }
+        return output.append(')').toString();
+    }
+
+    private static DocIterator[] toArray(IList<DocIterator> iterators) {
+        DocIterator[] output = new DocIterator[iterators.size()];
+        int i = 0;
+        for (DocIterator iterator : iterators) {
+            output[i] = iterator;
+            i++;
+        }
+        return output;
+    }
+
+    /**
+     * Iterates over every document id from 0 (inclusive) to 'end' (exclusive).
+     */
+    private static class RangeIterator implements DocIterator {
+        private final int end;
+        private int docId;
+
+        RangeIterator(int end) {
+            this.end = end;
+            this.docId = end > 0 ? 0 : PostingCursor.NO_MORE_DOCS;
+        }
+
+        @Override
+        public int docId() {
+            return this.docId;
+        }
+
+        @Override
+        public int next() {
+            if (this.docId != PostingCursor.NO_MORE_DOCS) {
+                this.advance(this.docId + 1);
+            }
+            return this.docId;
+        }
+
+        @Override
+        public int advance(int target) {
+            if (this.docId < target) {
+                this.docId = target < this.end ? target : PostingCursor.NO_MORE_DOCS;
+            }
+            return this.docId;
+        }
+
+        @Override
+        public long cost() {
+            return this.end;
+        }
+    }
+
+    /**
+     * Iterates over the documents matched by every required iterator and by none of
+     * the excluded ones.
+     */
+    private static class AndIterator implements DocIterator {
+        private final DocIterator[] required;
+        private final DocIterator[] excluded;
+        private int docId;
+
+        AndIterator(DocIterator[] required, DocIterator[] excluded) {
+            // The cheapest iterator leads, so the others are asked to jump as rarely
+            // as possible.
+            this.required = required;
+            Arrays.sort(this.required, (a, b) -> Long.compare(a.cost(), b.cost()));
+            this.excluded = excluded;
+            this.docId = this.findFrom(0);
+        }
+
+        /**
+         * Returns the first matching document whose id is at least 'target'.
+         */
+        private int findFrom(int target) {
+            while (true) {
+                int candidate = this.required[0].advance(target);
+                if (candidate == PostingCursor.NO_MORE_DOCS) {
+                    return candidate;
+                }
+
+                target = candidate;
+                for (int i = 1; i < this.required.length && target == candidate; i++) {
+                    target = this.required[i].advance(candidate);
+                }
+                if (target != candidate) {
+                    continue;
+                }
+
+                for (int i = 0; i < this.excluded.length && target == candidate; i++) {
+                    if (this.excluded[i].advance(candidate) == candidate) {
+                        target = candidate + 1;
+                    }
+                }
+                if (target == candidate) {
+                    return candidate;
+                }
+            }
+        }
+
+        @Override
+        public int docId() {
+            return this.docId;
+        }
+
+        @Override
+        public int next() {
+            if (this.docId != PostingCursor.NO_MORE_DOCS) {
+                this.docId = this.findFrom(this.docId + 1);
+            }
+            return this.docId;
+        }
+
+        @Override
+        public int advance(int target) {
+            if (this.docId < target) {
+                this.docId = this.findFrom(target);
+            }
+            return this.docId;
+        }
+
+        @Override
+        public long cost() {
+            return this.required[0].cost();
+        }
+    }
+
+    /**
+     * Iterates over the documents matched by at least one iterator.
+     */
+    private static class OrIterator implements DocIterator {
+        private final DocIterator[] operands;
+        private int docId;
+
+        OrIterator(DocIterator[] operands) {
+            this.operands = operands;
+            this.docId = this.findMin();
+        }
+
+        private int findMin() {
+            int min = PostingCursor.NO_MORE_DOCS;
+            for (DocIterator operand : this.operands) {
+                min = Math.min(min, operand.docId());
+            }
+            return min;
+        }
+
+        @Override
+        public int docId() {
+            return this.docId;
+        }
+
+        @Override
+        public int next() {
+            if (this.docId != PostingCursor.NO_MORE_DOCS) {
+                for (DocIterator operand : this.operands) {
+                    if (operand.docId() == this.docId) {
+                        operand.next();
+                    }
+                }
+                this.docId = this.findMin();
+            }
+            return this.docId;
+        }
+
+        @Override
+        public int advance(int target) {
+            if (this.docId < target) {
+                for (DocIterator operand : this.operands) {
+                    operand.advance(target);
+                }
+                this.docId = this.findMin();
+            }
+            return this.docId;
+        }
+
+        @Override
+        public long cost() {
+            long total = 0;
+            for (DocIterator operand : this.operands) {
+                total += operand.cost();
+            }
+            return total;
+        }
+    }
+}
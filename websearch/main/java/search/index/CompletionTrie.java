@@ -0,0 +1,238 @@
+package search.index;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+
+import java.util.Arrays;
+
+/**
+ * Suggests the most common words starting with a given prefix.
+ *
+ * This is a trie over the vocabulary, stored in a few flat arrays rather than as
+ * one object per node. Nodes are numbered in breadth-first order, so the children of
+ * every node are stored next to each other, sorted by character: finding a child is
+ * a binary search, and the children of node i end where the children of node i + 1
+ * start.
+ *
+ * The best completions of every node are computed once, when the trie is built, so
+ * completing a prefix only walks down one node per character and copies a short
+ * list: its cost does not depend on the number of words starting with the prefix.
+ * A node with a single child and no word of its own has the same completions as
+ * that child, and shares its list rather than storing a copy, which is the case of
+ * most nodes near the end of words.
+ */
+public class CompletionTrie {
+    public static final int DEFAULT_MAX_COMPLETIONS = 8;
+
+    private static final int ROOT = 0;
+
+    private final String[] words;
+
+    // Per node: the character leading to it, and where its children start. Children
+    // of node i are the nodes childStarts[i] (inclusive) to childStarts[i + 1] (exclusive).
+    private final char[] labels;
+    private final int[] childStarts;
+
+    // Per node: where its completions start in 'completions', and how many there are.
+    // Completions are indexes into 'words', best first.
+    private final int[] completionStarts;
+    private final byte[] completionCounts;
+    private final int[] completions;
+
+    /**
+     * Builds a trie over the given words, where each word is as good a completion as
+     * its weight is high. Ties are broken in alphabetical order.
+     *
+     * @param maxCompletions  the most completions returned for any prefix
+     * @throws IllegalArgumentException  if the arrays have different lengths, or if
+     *                                   maxCompletions is not between 1 and 127
+     */
+    public CompletionTrie(String[] words, int[] weights, int maxCompletions) {
+        if (words.length != weights.length || maxCompletions < 1 || maxCompletions > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException();
+        }
+
+        // Sort the words, keeping a single copy of duplicates with their highest weight.
+        Integer[] order = new Integer[words.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> words[a].compareTo(words[b]));
+        String[] sortedWords = new String[words.length];
+        int[] sortedWeights = new int[words.length];
+        int numWords = 0;
+        for (int index : order) {
+            if (numWords > 0 && sortedWords[numWords - 1].equals(words[index])) {
+                sortedWeights[numWords - 1] = Math.max(sortedWeights[numWords - 1], weights[index]);
+            } else {
+                sortedWords[numWords] = words[index];
+                sortedWeights[numWords] = weights[index];
+                numWords++;
+            }
+        }
+        this.words = Arrays.copyOf(sortedWords, numWords);
+
+        // Create the nodes in breadth-first order. Every node covers the range of
+        // sorted words starting with the characters leading to it.
+        int capacity = 16;
+        char[] labels = new char[capacity];
+        int[] firstWords = new int[capacity];
+        int[] lastWords = new int[capacity];
+        int[] depths = new int[capacity];
+        int[] childStarts = new int[capacity + 1];
+        int numNodes = 1;
+        lastWords[ROOT] = numWords;
+
+        for (int node = 0; node < numNodes; node++) {
+            childStarts[node] = numNodes;
+            int depth = depths[node];
+            int start = firstWords[node];
+            // A word ending here sorts before any longer word with the same prefix.
+            if (start < lastWords[node] && this.words[start].length() == depth) {
+                start++;
+            }
+            while (start < lastWords[node]) {
+                char label = this.words[start].charAt(depth);
+                int end = start + 1;
+                while (end < lastWords[node] && this.words[end].charAt(depth) == label) {
+                    end++;
+                }
+                if (numNodes == capacity) {
+                    capacity *= 2;
+                    labels = Arrays.copyOf(labels, capacity);
+                    firstWords = Arrays.copyOf(firstWords, capacity);
+                    lastWords = Arrays.copyOf(lastWords, capacity);
+                    depths = Arrays.copyOf(depths, capacity);
+                    childStarts = Arrays.copyOf(childStarts, capacity + 1);
+                }
+                labels[numNodes] = label;
+                firstWords[numNodes] = start;
+                lastWords[numNodes] = end;
+                depths[numNodes] = depth + 1;
+                numNodes++;
+                start = end;
+            }
+        }
+        childStarts[numNodes] = numNodes;
+        this.labels = Arrays.copyOf(labels, numNodes);
+        this.childStarts = Arrays.copyOf(childStarts, numNodes + 1);
+
+        // Compute the completions bottom-up: children always come after their parent.
+        this.completionStarts = new int[numNodes];
+        this.completionCounts = new byte[numNodes];
+        int[] completions = new int[16];
+        int numCompletions = 0;
+        for (int node = numNodes - 1; node >= 0; node--) {
+            int firstChild = this.childStarts[node];
+            int lastChild = this.childStarts[node + 1];
+            boolean endsWord = firstWords[node] < lastWords[node]
+                    && this.words[firstWords[node]].length() == depths[node];
+
+            if (!endsWord && lastChild - firstChild == 1) {
+                this.completionStarts[node] = this.completionStarts[firstChild];
+                this.completionCounts[node] = this.completionCounts[firstChild];
+                continue;
+            }
+
+            TopKCollector best = new TopKCollector(maxCompletions);
+            if (endsWord) {
+                best.collect(firstWords[node], sortedWeights[firstWords[node]]);
+            }
+            for (int child = firstChild; child < lastChild; child++) {
+                int from = this.completionStarts[child];
+                for (int i = from; i < from + this.completionCounts[child]; i++) {
+                    best.collect(completions[i], sortedWeights[completions[i]]);
+                }
+            }
+
+            int[] bestWords = best.getDocIds();
+            if (numCompletions + bestWords.length > completions.length) {
+                completions = Arrays.copyOf(completions, Math.max(completions.length * 2,
+                        numCompletions + bestWords.length));
+            }
+            System.arraycopy(bestWords, 0, completions, numCompletions, bestWords.length);
+            this.completionStarts[node] = numCompletions;
+            this.completionCounts[node] = (byte) bestWords.length;
+            numCompletions += bestWords.length;
+        }
+        this.completions = Arrays.copyOf(completions, numCompletions);
+    }
+
+    /**
+     * Builds a trie over the surface form of every term of the given view, ranked by
+     * the number of live documents containing the terms. Terms which only appear in
+     * deleted documents are left out.
+     */
+    public static CompletionTrie of(IndexView view, SurfaceForms surfaceForms, int maxCompletions) {
+        String[] words = new String[surfaceForms.size()];
+        int[] weights = new int[surfaceForms.size()];
+        int size = 0;
+        for (int termId = 0; termId < words.length; termId++) {
+            if (view.getDocumentFrequency(termId) > 0) {
+                words[size] = surfaceForms.getWord(termId);
+                weights[size] = view.getDocumentFrequency(termId);
+                size++;
+            }
+        }
+        return new CompletionTrie(Arrays.copyOf(words, size), Arrays.copyOf(weights, size), maxCompletions);
+    }
+
+    /**
+     * Returns the number of distinct words in this trie.
+     */
+    public int size() {
+        return this.words.length;
+    }
+
+    /**
+     * Returns the number of nodes of this trie.
+     */
+    public int getNodeCount() {
+        return this.labels.length;
+    }
+
+    /**
+     * Returns the best words starting with the given prefix (including the prefix
+     * itself, if it is a word), best first. Returns at most 'limit' words, and never
+     * more than the maximum number of completions given to the constructor.
+     *
+     * @throws IllegalArgumentException  if limit < 0
+     */
+    public IList<String> complete(String prefix, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException();
+        }
+        IList<String> output = new DoubleLinkedList<>();
+        int node = ROOT;
+        for (int i = 0; i < prefix.length() && node >= 0; i++) {
+            node = this.findChild(node, prefix.charAt(i));
+        }
+        if (node < 0 || this.words.length == 0) {
+            return output;
+        }
+        int count = Math.min(limit, this.completionCounts[node]);
+        for (int i = 0; i < count; i++) {
+            output.add(this.words[this.completions[this.completionStarts[node] + i]]);
+        }
+        return output;
+    }
+
+    /**
+     * Returns the child of the given node leading to the given character, or -1.
+     */
+    private int findChild(int node, char label) {
+        int low = this.childStarts[node];
+        int high = this.childStarts[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (this.labels[mid] < label) {
+                low = mid + 1;
+            } else if (this.labels[mid] > label) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,53 @@
+package search.index;
+
+import java.util.Arrays;
+
+/**
+ * The tombstones of a segment: which of its documents were deleted (or replaced by
+ * a newer version in another segment) since it was written.
+ *
+ * Instances are immutable, so a view of the index can keep using the tombstones it
+ * was created with while the writer deletes more documents.
+ */
+final class DeletedDocs {
+    private final boolean[] deleted;
+    private final int numDeleted;
+
+    /**
+     * Returns the tombstones of a segment in which nothing was deleted yet.
+     */
+    static DeletedDocs none(Segment segment) {
+        return new DeletedDocs(new boolean[segment.size()], 0);
+    }
+
+    private DeletedDocs(boolean[] deleted, int numDeleted) {
+        this.deleted = deleted;
+        this.numDeleted = numDeleted;
+    }
+
+    /**
+     * Returns a copy of these tombstones where the given documents are deleted as
+     * well. Documents that were already deleted are ignored.
+     *
+     * @param docIds  ids of documents of the segment; only the first 'size' are used
+     */
+    DeletedDocs withDeleted(int[] docIds, int size) {
+        boolean[] newDeleted = Arrays.copyOf(this.deleted, this.deleted.length);
+        int newNumDeleted = this.numDeleted;
+        for (int i = 0; i < size; i++) {
+            if (!newDeleted[docIds[i]]) {
+                newDeleted[docIds[i]] = true;
+                newNumDeleted++;
+            }
+        }
+        return new DeletedDocs(newDeleted, newNumDeleted);
+    }
+
+    boolean isDeleted(int docId) {
+        return this.deleted[docId];
+    }
+
+    int getDeletedCount() {
+        return this.numDeleted;
+    }
+}
@@ -0,0 +1,164 @@
+package search.index;
+
+import search.misc.BinaryFormat;
+import search.misc.exceptions.DataExtractionException;
+import search.models.WebpageSummary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The summary (URI, title and blurb) of every document, stored outside of the Java
+ * heap: summaries are only needed to display the few results of a query, so they
+ * are only turned into WebpageSummary objects then.
+ *
+ * Summaries are either memory-mapped from a file, or held in a direct buffer when
+ * they were just built. The layout is (all fixed-size numbers big-endian):
+ *
+ *     int     magic number ("WSDS")
+ *     int     format version
+ *     long    fingerprint of the pages it was computed from (see SearchEngine)
+ *     int     number of documents D
+ *     int     D + 1 offsets where the summary of each document starts
+ *
+ * followed by the summary of every document, in order of id: its URI, title and
+ * blurb, each as a length in variable-byte encoding followed by UTF-8 bytes.
+ */
+public class DocStore {
+    private static final int MAGIC = 0x57534453;
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 20;
+
+    private ByteBuffer buffer;
+
+    private DocStore(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps the store saved in the given file into memory.
+     *
+     * Returns null if the file does not exist, was written by a different version of
+     * this class, or was computed from a source folder with a different fingerprint.
+     */
+    public static DocStore open(Path file, long expectedFingerprint) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new DataExtractionException("Document store is too large to be mapped: " + file);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getLong(8) != expectedFingerprint) {
+                return null;
+            }
+            return new DocStore(buffer);
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not open document store " + file, ex);
+        }
+    }
+
+    /**
+     * Writes this store to the given file, tagged with the given source fingerprint.
+     * The file is replaced atomically.
+     *
+     * @throws DataExtractionException  if the file could not be written
+     */
+    public void write(Path file, long fingerprint) {
+        byte[] header = new byte[16];
+        ByteBuffer.wrap(header).putInt(MAGIC).putInt(VERSION).putLong(fingerprint);
+        BinaryFormat.writeAtomically(file, this.buffer, header);
+    }
+
+    /**
+     * Returns the number of documents in this store.
+     */
+    public int size() {
+        return this.buffer.getInt(16);
+    }
+
+    /**
+     * Returns the size of this store, in bytes.
+     */
+    public long getSizeInBytes() {
+        return this.buffer.capacity();
+    }
+
+    /**
+     * Decodes the summary of the document with the given id.
+     *
+     * @throws IndexOutOfBoundsException  if the id is not between 0 and size() - 1
+     */
+    public WebpageSummary get(int docId) {
+        if (docId < 0 || docId >= this.size()) {
+            throw new IndexOutOfBoundsException("No document " + docId + " in a store of " + this.size());
+        }
+        int[] position = {this.buffer.getInt(HEADER_SIZE + docId * Integer.BYTES)};
+        URI uri = URI.create(BinaryFormat.readString(this.buffer, position));
+        String title = BinaryFormat.readString(this.buffer, position);
+        String blurb = BinaryFormat.readString(this.buffer, position);
+        return new WebpageSummary(uri, title, blurb);
+    }
+
+    /**
+     * Collects the summaries of every document, then builds them into a store held in
+     * a direct buffer. Documents must be added in order of id, starting at 0.
+     */
+    public static class Builder {
+        private ByteArrayOutputStream data;
+        private int[] offsets;
+        private int numDocuments;
+
+        public Builder() {
+            this.data = new ByteArrayOutputStream();
+            this.offsets = new int[16];
+            this.numDocuments = 0;
+        }
+
+        /**
+         * Adds the summary of the next document.
+         */
+        public void add(WebpageSummary summary) {
+            if (this.numDocuments == this.offsets.length) {
+                int[] offsets = new int[this.numDocuments * 2];
+                System.arraycopy(this.offsets, 0, offsets, 0, this.numDocuments);
+                this.offsets = offsets;
+            }
+            this.offsets[this.numDocuments] = this.data.size();
+            this.numDocuments++;
+            BinaryFormat.writeString(this.data, summary.getUri().toString());
+            BinaryFormat.writeString(this.data, summary.getTitle());
+            BinaryFormat.writeString(this.data, summary.getBlurb());
+        }
+
+        /**
+         * Returns a store of every summary added so far.
+         */
+        public DocStore build() {
+            long total = HEADER_SIZE + (this.numDocuments + 1L) * Integer.BYTES + this.data.size();
+            if (total > Integer.MAX_VALUE) {
+                throw new DataExtractionException("Document store would be too large");
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) total);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(0).putInt(this.numDocuments);
+            int dataStart = HEADER_SIZE + (this.numDocuments + 1) * Integer.BYTES;
+            for (int docId = 0; docId < this.numDocuments; docId++) {
+                buffer.putInt(dataStart + this.offsets[docId]);
+            }
+            buffer.putInt(dataStart + this.data.size());
+            buffer.put(this.data.toByteArray());
+            buffer.flip();
+            return new DocStore(buffer);
+        }
+    }
+}
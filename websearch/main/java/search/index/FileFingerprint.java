@@ -0,0 +1,96 @@
+package search.index;
+
+import search.misc.BinaryFormat;
+import search.misc.exceptions.DataExtractionException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The size, last modification time and a hash of the content of a file, telling
+ * whether the file changed since it was last read.
+ *
+ * Hashing a file means reading all of it, so the hash of a file whose size and
+ * modification time did not change is taken from its previous fingerprint instead.
+ * A file whose modification time changed but whose content did not (a page crawled
+ * again without changes) keeps the same hash, and counts as unchanged.
+ */
+public class FileFingerprint {
+    private final long size;
+    private final long lastModified;
+    private final long contentHash;
+
+    public FileFingerprint(long size, long lastModified, long contentHash) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Returns the fingerprint of the given file, hashing all of its content.
+     *
+     * @throws DataExtractionException  if the file could not be read
+     */
+    public static FileFingerprint of(Path file) {
+        return of(file, null);
+    }
+
+    /**
+     * Returns the fingerprint of the given file, reusing the hash of the given previous
+     * fingerprint of the same file if its size and modification time did not change.
+     * The previous fingerprint may be null.
+     *
+     * @throws DataExtractionException  if the file could not be read
+     */
+    public static FileFingerprint of(Path file, FileFingerprint previous) {
+        try {
+            long size = Files.size(file);
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            if (previous != null && previous.size == size && previous.lastModified == lastModified) {
+                return previous;
+            }
+            return new FileFingerprint(size, lastModified, hash(file));
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not read " + file, ex);
+        }
+    }
+
+    /**
+     * Returns a 64-bit FNV-1a hash of the content of the given file.
+     */
+    private static long hash(Path file) throws IOException {
+        long hash = BinaryFormat.FNV_OFFSET_BASIS;
+        byte[] chunk = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int length = in.read(chunk); length >= 0; length = in.read(chunk)) {
+                hash = BinaryFormat.hash(hash, chunk, 0, length);
+            }
+        }
+        return hash;
+    }
+
+    public long getSize() {
+        return this.size;
+    }
+
+    /**
+     * Returns the last modification time of the file, in milliseconds since the epoch.
+     */
+    public long getLastModified() {
+        return this.lastModified;
+    }
+
+    public long getContentHash() {
+        return this.contentHash;
+    }
+
+    /**
+     * Returns true if the given fingerprint is of a file with the same content,
+     * whatever their modification times.
+     */
+    public boolean hasSameContent(FileFingerprint other) {
+        return this.size == other.size && this.contentHash == other.contentHash;
+    }
+}
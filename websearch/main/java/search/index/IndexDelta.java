@@ -0,0 +1,337 @@
+package search.index;
+
+import search.analyzers.PageRankAnalyzer;
+import search.analyzers.TfIdfAnalyzer;
+import search.misc.BinaryFormat;
+import search.misc.exceptions.DataExtractionException;
+import search.models.WebpageSummary;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The changes an IndexWriter made to the index it started from (see 'IndexWriter.getDelta'),
+ * so they can be saved next to that index and applied to it again on the next run
+ * (see 'IndexWriter.apply'), without indexing the changed pages again.
+ *
+ * A delta holds the ids of the deleted documents of the starting index, and every
+ * document added since, already indexed. It also holds the page rank of every live
+ * document, since changing a single page changes them all.
+ *
+ * The file layout is (all numbers big-endian, strings are an int byte length
+ * followed by that many UTF-8 bytes):
+ *
+ *     int     magic number ("WSDL")
+ *     int     format version
+ *     long    fingerprint of the pages the delta brings the index up to
+ *     long    fingerprint of the index it applies to
+ *     int     number of documents of that index, then its number of terms
+ *     int     number of deleted documents, followed by their ids
+ *     int     number of added terms T, followed by T strings, then the
+ *             surface form of each of them, as T strings (see SurfaceForms)
+ *     int     number of added documents D, followed by the URI, title and
+ *             blurb of each of them
+ *     int     D + 1 offsets into the vector entries below
+ *     int     term id of every vector entry, in document order
+ *     float   weight of every vector entry, in document order
+ *     byte    1 if the term ids of the words of every document follow, 0 if not
+ *     int     D + 1 offsets into the words below, then the term id of every
+ *             word, in document order, if they follow
+ *     double  page rank of every live document: the documents of the index
+ *             which were not deleted, in order, then the added documents
+ */
+public class IndexDelta {
+    private static final int MAGIC = 0x5753444c;
+    public static final int VERSION = 1;
+
+    private final long baseFingerprint;
+    private final int numBaseDocuments;
+    private final int numBaseTerms;
+    private final int[] deletedDocIds;
+    private final String[] addedTerms;
+    private final String[] addedSurfaceForms;
+    private final WebpageSummary[] summaries;
+    private final SparseVector[] vectors;
+    private final int[][] documentWords;
+    private final double[] pageRanks;
+
+    /**
+     * @param documentWords  the term ids of the words of every added document, or null
+     *                       if positions are not indexed
+     */
+    IndexDelta(long baseFingerprint, int numBaseDocuments, int numBaseTerms, int[] deletedDocIds,
+               String[] addedTerms, String[] addedSurfaceForms, WebpageSummary[] summaries,
+               SparseVector[] vectors, int[][] documentWords, double[] pageRanks) {
+        this.baseFingerprint = baseFingerprint;
+        this.numBaseDocuments = numBaseDocuments;
+        this.numBaseTerms = numBaseTerms;
+        this.deletedDocIds = deletedDocIds;
+        this.addedTerms = addedTerms;
+        this.addedSurfaceForms = addedSurfaceForms;
+        this.summaries = summaries;
+        this.vectors = vectors;
+        this.documentWords = documentWords;
+        this.pageRanks = pageRanks;
+    }
+
+    /**
+     * Returns the fingerprint of the index this delta applies to.
+     */
+    public long getBaseFingerprint() {
+        return this.baseFingerprint;
+    }
+
+    /**
+     * Returns how many documents of the starting index this delta deletes or adds. Once
+     * this gets large, rebuilding the index from scratch costs less than the delta.
+     */
+    public int getChangeCount() {
+        return this.deletedDocIds.length + this.summaries.length;
+    }
+
+    int getBaseDocumentCount() {
+        return this.numBaseDocuments;
+    }
+
+    int getBaseTermCount() {
+        return this.numBaseTerms;
+    }
+
+    int[] getDeletedDocIds() {
+        return this.deletedDocIds;
+    }
+
+    String[] getAddedTerms() {
+        return this.addedTerms;
+    }
+
+    int getAddedDocumentCount() {
+        return this.summaries.length;
+    }
+
+    WebpageSummary getSummary(int index) {
+        return this.summaries[index];
+    }
+
+    SparseVector getVector(int index) {
+        return this.vectors[index];
+    }
+
+    int[] getWords(int index) {
+        return this.documentWords == null ? null : this.documentWords[index];
+    }
+
+    /**
+     * Returns the given surface forms of the terms of the starting index, followed by
+     * those of the terms this delta adds.
+     */
+    public SurfaceForms getSurfaceForms(SurfaceForms base) {
+        String[] words = new String[this.numBaseTerms + this.addedSurfaceForms.length];
+        for (int termId = 0; termId < this.numBaseTerms; termId++) {
+            words[termId] = base.getWord(termId);
+        }
+        System.arraycopy(this.addedSurfaceForms, 0, words, this.numBaseTerms, this.addedSurfaceForms.length);
+        return new SurfaceForms(words);
+    }
+
+    /**
+     * Returns the page ranks of every live document, given the analyzer of the starting
+     * index. The analyzer is not updatable (see 'PageRankAnalyzer.makeUpdatable').
+     *
+     * @throws IllegalArgumentException  if the analyzer does not hold the starting index
+     */
+    public PageRankAnalyzer getPageRankAnalyzer(TfIdfAnalyzer base) {
+        if (base.getDocumentCount() != this.numBaseDocuments) {
+            throw new IllegalArgumentException("This delta does not apply to the given index");
+        }
+        boolean[] deleted = new boolean[this.numBaseDocuments];
+        for (int docId : this.deletedDocIds) {
+            deleted[docId] = true;
+        }
+        URI[] pages = new URI[this.pageRanks.length];
+        int i = 0;
+        for (int docId = 0; docId < this.numBaseDocuments; docId++) {
+            if (!deleted[docId]) {
+                pages[i] = base.getUri(docId);
+                i++;
+            }
+        }
+        for (WebpageSummary summary : this.summaries) {
+            pages[i] = summary.getUri();
+            i++;
+        }
+        return new PageRankAnalyzer(pages, this.pageRanks);
+    }
+
+    /**
+     * Writes this delta to the given file, tagged with the given source fingerprint.
+     * The file is replaced atomically.
+     *
+     * @throws DataExtractionException  if the file could not be written
+     */
+    public void write(Path file, long fingerprint) {
+        BinaryFormat.writeAtomically(file, out -> {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fingerprint);
+            out.writeLong(this.baseFingerprint);
+            out.writeInt(this.numBaseDocuments);
+            out.writeInt(this.numBaseTerms);
+
+            out.writeInt(this.deletedDocIds.length);
+            for (int docId : this.deletedDocIds) {
+                out.writeInt(docId);
+            }
+            out.writeInt(this.addedTerms.length);
+            for (String term : this.addedTerms) {
+                writeString(out, term);
+            }
+            for (String word : this.addedSurfaceForms) {
+                writeString(out, word);
+            }
+
+            out.writeInt(this.summaries.length);
+            for (WebpageSummary summary : this.summaries) {
+                writeString(out, summary.getUri().toString());
+                writeString(out, summary.getTitle());
+                writeString(out, summary.getBlurb());
+            }
+            int offset = 0;
+            out.writeInt(offset);
+            for (SparseVector vector : this.vectors) {
+                offset += vector.size();
+                out.writeInt(offset);
+            }
+            for (SparseVector vector : this.vectors) {
+                for (int i = 0; i < vector.size(); i++) {
+                    out.writeInt(vector.getTermId(i));
+                }
+            }
+            for (SparseVector vector : this.vectors) {
+                for (int i = 0; i < vector.size(); i++) {
+                    out.writeFloat(vector.getWeight(i));
+                }
+            }
+
+            out.writeByte(this.documentWords != null ? 1 : 0);
+            if (this.documentWords != null) {
+                offset = 0;
+                out.writeInt(offset);
+                for (int[] words : this.documentWords) {
+                    offset += words.length;
+                    out.writeInt(offset);
+                }
+                for (int[] words : this.documentWords) {
+                    for (int termId : words) {
+                        out.writeInt(termId);
+                    }
+                }
+            }
+
+            for (double pageRank : this.pageRanks) {
+                out.writeDouble(pageRank);
+            }
+        });
+    }
+
+    /**
+     * Loads the delta stored in the given file.
+     *
+     * Returns null if the file does not exist, was written by a different version of
+     * this class, or brings the index up to a source folder with a different fingerprint.
+     */
+    public static IndexDelta load(Path file, long expectedFingerprint) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new DataExtractionException("Index delta is too large to be mapped: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 16 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                    || buffer.getLong() != expectedFingerprint) {
+                return null;
+            }
+            long baseFingerprint = buffer.getLong();
+            int numBaseDocuments = buffer.getInt();
+            int numBaseTerms = buffer.getInt();
+
+            int[] deletedDocIds = new int[buffer.getInt()];
+            buffer.asIntBuffer().get(deletedDocIds);
+            buffer.position(buffer.position() + deletedDocIds.length * Integer.BYTES);
+            String[] addedTerms = new String[buffer.getInt()];
+            for (int i = 0; i < addedTerms.length; i++) {
+                addedTerms[i] = readString(buffer);
+            }
+            String[] addedSurfaceForms = new String[addedTerms.length];
+            for (int i = 0; i < addedSurfaceForms.length; i++) {
+                addedSurfaceForms[i] = readString(buffer);
+            }
+
+            int numDocuments = buffer.getInt();
+            WebpageSummary[] summaries = new WebpageSummary[numDocuments];
+            for (int i = 0; i < numDocuments; i++) {
+                summaries[i] = new WebpageSummary(URI.create(readString(buffer)), readString(buffer),
+                        readString(buffer));
+            }
+            int[] offsets = readInts(buffer, numDocuments + 1);
+            int[] termIds = readInts(buffer, offsets[numDocuments]);
+            float[] weights = new float[offsets[numDocuments]];
+            buffer.asFloatBuffer().get(weights);
+            buffer.position(buffer.position() + weights.length * Float.BYTES);
+            SparseVector[] vectors = new SparseVector[numDocuments];
+            for (int i = 0; i < numDocuments; i++) {
+                vectors[i] = new SparseVector(
+                        Arrays.copyOfRange(termIds, offsets[i], offsets[i + 1]),
+                        Arrays.copyOfRange(weights, offsets[i], offsets[i + 1]));
+            }
+
+            int[][] documentWords = null;
+            if (buffer.get() != 0) {
+                offsets = readInts(buffer, numDocuments + 1);
+                int[] words = readInts(buffer, offsets[numDocuments]);
+                documentWords = new int[numDocuments][];
+                for (int i = 0; i < numDocuments; i++) {
+                    documentWords[i] = Arrays.copyOfRange(words, offsets[i], offsets[i + 1]);
+                }
+            }
+
+            double[] pageRanks = new double[numBaseDocuments - deletedDocIds.length + numDocuments];
+            buffer.asDoubleBuffer().get(pageRanks);
+
+            return new IndexDelta(baseFingerprint, numBaseDocuments, numBaseTerms, deletedDocIds, addedTerms,
+                    addedSurfaceForms, summaries, vectors, documentWords, pageRanks);
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not load index delta " + file, ex);
+        }
+    }
+
+    private static int[] readInts(ByteBuffer buffer, int count) {
+        int[] output = new int[count];
+        buffer.asIntBuffer().get(output);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return output;
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,314 @@
+package search.index;
+
+import search.misc.BinaryFormat;
+import search.misc.exceptions.DataExtractionException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An inverted index stored in a compact binary file, which is memory-mapped and
+ * decoded lazily while queries walk through the postings.
+ *
+ * The file layout is (all numbers big-endian):
+ *
+ *     int     magic number ("WSPS")
+ *     int     format version
+ *     long    fingerprint of the pages it was computed from (see SearchEngine)
+ *     int     number of documents
+ *     int     number of terms T
+ *     int     T + 1 offsets into the file where the postings of each term start;
+ *             a term with no postings starts where the next one does
+ *
+ * followed by the postings of every term:
+ *
+ *     int     number of postings N
+ *     float   largest weight W of the term
+ *     int     number of blocks B, with BLOCK_SIZE postings per block (the last
+ *             one may be shorter)
+ *     B x     (int last document id of the block, int offset of the block
+ *             relative to the start of the term's postings): the skip pointers
+ *     B x     block: the gap between each document id and the previous one (the
+ *             first gap of a block is relative to the last id of the previous block),
+ *             in variable-byte encoding, followed by the weight of every posting,
+ *             quantized to an unsigned 16 bit fraction of W
+ *
+ * Document ids are usually close to each other, so most gaps fit in a single byte,
+ * and a posting takes about 3 bytes instead of 8. Weights are always rounded up
+ * when quantized, so they can still be used as upper bounds for pruning. Cursors
+ * use the skip pointers to jump straight to the block that may contain a target
+ * document, without decoding anything in between.
+ */
+public class IndexSegment implements PostingSource {
+    private static final int MAGIC = 0x57535053;
+    public static final int VERSION = 2;
+
+    // How many postings are stored between two skip pointers.
+    public static final int BLOCK_SIZE = 128;
+
+    private static final int MAX_QUANTIZED_WEIGHT = 0xFFFF;
+    private static final int HEADER_SIZE = 24;
+
+    private ByteBuffer buffer;
+    private int numDocuments;
+    private int numTerms;
+
+    private IndexSegment(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.numDocuments = buffer.getInt(16);
+        this.numTerms = buffer.getInt(20);
+    }
+
+    /**
+     * Writes the postings of the given source to the given file, tagged with the
+     * given source fingerprint. The file is replaced atomically.
+     *
+     * @param numDocuments  the number of documents the postings refer to
+     * @throws DataExtractionException  if the file could not be written
+     */
+    public static void write(PostingSource source, int numDocuments, Path file, long fingerprint) {
+        int numTerms = source.getTermCount();
+        int[] offsets = new int[numTerms + 1];
+        ByteArrayOutputStream postings = new ByteArrayOutputStream();
+        int dataStart = HEADER_SIZE + offsets.length * Integer.BYTES;
+
+        try {
+            for (int termId = 0; termId < numTerms; termId++) {
+                offsets[termId] = dataStart + postings.size();
+                PostingCursor cursor = source.getCursor(termId);
+                if (cursor != null) {
+                    writePostings(cursor, postings);
+                }
+            }
+            offsets[numTerms] = dataStart + postings.size();
+            if (offsets[numTerms] < dataStart) {
+                throw new DataExtractionException("Index segment would be too large: " + file);
+            }
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not encode index segment", ex);
+        }
+
+        BinaryFormat.writeAtomically(file, out -> {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fingerprint);
+            out.writeInt(numDocuments);
+            out.writeInt(numTerms);
+            for (int offset : offsets) {
+                out.writeInt(offset);
+            }
+            postings.writeTo(out);
+        });
+    }
+
+    private static void writePostings(PostingCursor cursor, ByteArrayOutputStream postings) throws IOException {
+        int size = cursor.size();
+        int[] docIds = new int[size];
+        float[] weights = new float[size];
+        float maxWeight = 0.0f;
+        for (int i = 0; i < size; i++) {
+            docIds[i] = cursor.docId();
+            weights[i] = cursor.weight();
+            maxWeight = Math.max(maxWeight, weights[i]);
+            cursor.next();
+        }
+
+        int numBlocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(postings);
+        out.writeInt(size);
+        out.writeFloat(maxWeight);
+        out.writeInt(numBlocks);
+
+        int blocksStart = 12 + numBlocks * 8;
+        int previous = -1;
+        for (int block = 0; block < numBlocks; block++) {
+            int from = block * BLOCK_SIZE;
+            int to = Math.min(from + BLOCK_SIZE, size);
+            out.writeInt(docIds[to - 1]);
+            out.writeInt(blocksStart + blocks.size());
+
+            for (int i = from; i < to; i++) {
+                BinaryFormat.writeVarInt(blocks, docIds[i] - previous);
+                previous = docIds[i];
+            }
+            for (int i = from; i < to; i++) {
+                int quantized = (int) Math.ceil((double) weights[i] / maxWeight * MAX_QUANTIZED_WEIGHT);
+                quantized = Math.max(1, Math.min(MAX_QUANTIZED_WEIGHT, quantized));
+                blocks.write(quantized >>> 8);
+                blocks.write(quantized);
+            }
+        }
+        blocks.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * Maps the segment stored in the given file into memory.
+     *
+     * Returns null if the file does not exist, was written by a different version of
+     * this class, or was computed from a source folder with a different fingerprint.
+     */
+    public static IndexSegment open(Path file, long expectedFingerprint) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new DataExtractionException("Index segment is too large to be mapped: " + file);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getLong(8) != expectedFingerprint) {
+                return null;
+            }
+            return new IndexSegment(buffer);
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not open index segment " + file, ex);
+        }
+    }
+
+    /**
+     * Returns the number of documents the postings of this segment refer to.
+     */
+    public int size() {
+        return this.numDocuments;
+    }
+
+    /**
+     * Returns the size of the segment file, in bytes.
+     */
+    public long getSizeInBytes() {
+        return this.buffer.capacity();
+    }
+
+    @Override
+    public int getTermCount() {
+        return this.numTerms;
+    }
+
+    @Override
+    public PostingCursor getCursor(int termId) {
+        int start = this.buffer.getInt(HEADER_SIZE + termId * Integer.BYTES);
+        int end = this.buffer.getInt(HEADER_SIZE + (termId + 1) * Integer.BYTES);
+        return start == end ? null : new SegmentCursor(this.buffer, start);
+    }
+
+    /**
+     * Walks through the postings of a term, decoding one block at a time.
+     */
+    private static class SegmentCursor implements PostingCursor {
+        private final ByteBuffer buffer;
+        private final int start;
+        private final int size;
+        private final double scale;
+        private final int numBlocks;
+
+        private final int[] docIds;
+        private final float[] weights;
+        private int block;
+        private int blockSize;
+        private int position;
+
+        SegmentCursor(ByteBuffer buffer, int start) {
+            this.buffer = buffer;
+            this.start = start;
+            this.size = buffer.getInt(start);
+            this.scale = (double) buffer.getFloat(start + 4) / MAX_QUANTIZED_WEIGHT;
+            this.numBlocks = buffer.getInt(start + 8);
+            this.docIds = new int[BLOCK_SIZE];
+            this.weights = new float[BLOCK_SIZE];
+            this.loadBlock(0);
+        }
+
+        private int getLastDocId(int block) {
+            return this.buffer.getInt(this.start + 12 + block * 8);
+        }
+
+        private void loadBlock(int block) {
+            this.block = block;
+            this.position = 0;
+            this.blockSize = Math.min(BLOCK_SIZE, this.size - block * BLOCK_SIZE);
+
+            int[] position = {this.start + this.buffer.getInt(this.start + 12 + block * 8 + 4)};
+            int docId = block == 0 ? -1 : this.getLastDocId(block - 1);
+            for (int i = 0; i < this.blockSize; i++) {
+                docId += BinaryFormat.readVarInt(this.buffer, position);
+                this.docIds[i] = docId;
+            }
+            int offset = position[0];
+            for (int i = 0; i < this.blockSize; i++) {
+                int quantized = ((this.buffer.get(offset) & 0xFF) << 8) | (this.buffer.get(offset + 1) & 0xFF);
+                offset += 2;
+
+                // Round up again, so the decoded weight is never below the original.
+                double weight = quantized * this.scale;
+                float rounded = (float) weight;
+                this.weights[i] = rounded < weight ? Math.nextUp(rounded) : rounded;
+            }
+        }
+
+        @Override
+        public int docId() {
+            return this.position < this.blockSize ? this.docIds[this.position] : NO_MORE_DOCS;
+        }
+
+        @Override
+        public float weight() {
+            return this.weights[this.position];
+        }
+
+        @Override
+        public int next() {
+            if (this.position < this.blockSize) {
+                this.position++;
+                if (this.position == this.blockSize && this.block + 1 < this.numBlocks) {
+                    this.loadBlock(this.block + 1);
+                }
+            }
+            return this.docId();
+        }
+
+        @Override
+        public int advance(int target) {
+            if (this.docId() >= target) {
+                return this.docId();
+            }
+
+            // Use the skip pointers to find the first block that may contain the target.
+            if (this.getLastDocId(this.block) < target) {
+                int low = this.block + 1;
+                int high = this.numBlocks;
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (this.getLastDocId(mid) < target) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                if (low == this.numBlocks) {
+                    this.position = this.blockSize;
+                    return NO_MORE_DOCS;
+                }
+                this.loadBlock(low);
+            }
+
+            while (this.docIds[this.position] < target) {
+                this.position++;
+            }
+            return this.docIds[this.position];
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+    }
+}
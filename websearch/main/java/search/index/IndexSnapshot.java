@@ -0,0 +1,231 @@
+package search.index;
+
+import search.analyzers.PageRankAnalyzer;
+import search.analyzers.TfIdfAnalyzer;
+import search.misc.BinaryFormat;
+import search.misc.exceptions.DataExtractionException;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Everything the search engine computes while indexing a data folder, so it can be
+ * saved to a single binary file and loaded back without recomputing anything.
+ *
+ * The file layout is (all numbers big-endian, strings are an int byte length
+ * followed by that many UTF-8 bytes):
+ *
+ *     int     magic number ("WSIX")
+ *     int     format version
+ *     long    fingerprint of the pages it was computed from (see SearchEngine)
+ *     int     number of terms T, followed by T strings
+ *     double  IDF of each term
+ *     int     number of documents containing each term
+ *     T strings: the surface form of each term (see SurfaceForms)
+ *     int     number of documents D, followed by the URI of each document
+ *     double  page rank of each document
+ *     double  TF-IDF norm of each document
+ *     int     D + 1 offsets into the vector entries below
+ *     int     term id of every vector entry, in document order
+ *     float   weight of every vector entry, in document order: the term
+ *             frequency vectors of the documents (see TfIdfAnalyzer)
+ *
+ * The numeric sections are read in bulk out of a memory-mapped buffer, so loading
+ * a snapshot costs about as much as reading the file. The summaries of the documents
+ * are kept apart, in a DocStore, since they are only needed to display results.
+ */
+public class IndexSnapshot {
+    private static final int MAGIC = 0x57534958;
+    public static final int VERSION = 5;
+
+    private TfIdfAnalyzer tfIdfAnalyzer;
+    private PageRankAnalyzer pageRankAnalyzer;
+    private SurfaceForms surfaceForms;
+
+    /**
+     * Constructs a snapshot of the given, fully computed, index, whose terms are
+     * shown as they are.
+     */
+    public IndexSnapshot(TfIdfAnalyzer tfIdfAnalyzer, PageRankAnalyzer pageRankAnalyzer) {
+        this(tfIdfAnalyzer, pageRankAnalyzer, SurfaceForms.of(tfIdfAnalyzer.getTermDictionary()));
+    }
+
+    /**
+     * Constructs a snapshot of the given, fully computed, index, along with the
+     * surface forms of its terms.
+     */
+    public IndexSnapshot(TfIdfAnalyzer tfIdfAnalyzer, PageRankAnalyzer pageRankAnalyzer,
+                         SurfaceForms surfaceForms) {
+        this.tfIdfAnalyzer = tfIdfAnalyzer;
+        this.pageRankAnalyzer = pageRankAnalyzer;
+        this.surfaceForms = surfaceForms;
+    }
+
+    public TfIdfAnalyzer getTfIdfAnalyzer() {
+        return this.tfIdfAnalyzer;
+    }
+
+    public PageRankAnalyzer getPageRankAnalyzer() {
+        return this.pageRankAnalyzer;
+    }
+
+    public SurfaceForms getSurfaceForms() {
+        return this.surfaceForms;
+    }
+
+    /**
+     * Writes this snapshot to the given file, tagged with the given source fingerprint.
+     * The file is replaced atomically, so a crash never leaves a partial snapshot behind.
+     *
+     * @throws DataExtractionException  if the file could not be written
+     */
+    public void write(Path file, long fingerprint) {
+        BinaryFormat.writeAtomically(file, out -> {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fingerprint);
+
+            TermDictionary terms = this.tfIdfAnalyzer.getTermDictionary();
+            out.writeInt(terms.size());
+            for (int termId = 0; termId < terms.size(); termId++) {
+                writeString(out, terms.getTerm(termId));
+            }
+            for (int termId = 0; termId < terms.size(); termId++) {
+                out.writeDouble(this.tfIdfAnalyzer.getIdfScore(termId));
+            }
+            for (int termId = 0; termId < terms.size(); termId++) {
+                out.writeInt(this.tfIdfAnalyzer.getDocumentFrequency(termId));
+            }
+            for (int termId = 0; termId < terms.size(); termId++) {
+                writeString(out, this.surfaceForms.getWord(termId));
+            }
+
+            int numDocuments = this.tfIdfAnalyzer.getDocumentCount();
+            out.writeInt(numDocuments);
+            for (int docId = 0; docId < numDocuments; docId++) {
+                writeString(out, this.tfIdfAnalyzer.getUri(docId).toString());
+            }
+            for (int docId = 0; docId < numDocuments; docId++) {
+                out.writeDouble(this.pageRankAnalyzer.computePageRank(this.tfIdfAnalyzer.getUri(docId)));
+            }
+            for (int docId = 0; docId < numDocuments; docId++) {
+                out.writeDouble(this.tfIdfAnalyzer.computeDocumentNorm(docId));
+            }
+
+            int offset = 0;
+            out.writeInt(offset);
+            for (int docId = 0; docId < numDocuments; docId++) {
+                offset += this.tfIdfAnalyzer.getTermFrequencyVector(docId).size();
+                out.writeInt(offset);
+            }
+            for (int docId = 0; docId < numDocuments; docId++) {
+                SparseVector vector = this.tfIdfAnalyzer.getTermFrequencyVector(docId);
+                for (int i = 0; i < vector.size(); i++) {
+                    out.writeInt(vector.getTermId(i));
+                }
+            }
+            for (int docId = 0; docId < numDocuments; docId++) {
+                SparseVector vector = this.tfIdfAnalyzer.getTermFrequencyVector(docId);
+                for (int i = 0; i < vector.size(); i++) {
+                    out.writeFloat(vector.getWeight(i));
+                }
+            }
+        });
+    }
+
+    /**
+     * Loads the snapshot stored in the given file.
+     *
+     * Returns null if the file does not exist, was written by a different version of
+     * this class, or was computed from a source folder with a different fingerprint:
+     * in all those cases, the caller should rebuild the index from scratch.
+     */
+    public static IndexSnapshot load(Path file, long expectedFingerprint) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new DataExtractionException("Index snapshot is too large to be mapped: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 16 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                    || buffer.getLong() != expectedFingerprint) {
+                return null;
+            }
+
+            TermDictionary terms = new TermDictionary();
+            int numTerms = buffer.getInt();
+            for (int termId = 0; termId < numTerms; termId++) {
+                terms.add(readString(buffer));
+            }
+            double[] idfScores = new double[numTerms];
+            buffer.asDoubleBuffer().get(idfScores);
+            buffer.position(buffer.position() + numTerms * Double.BYTES);
+            int[] documentFrequencies = new int[numTerms];
+            buffer.asIntBuffer().get(documentFrequencies);
+            buffer.position(buffer.position() + numTerms * Integer.BYTES);
+            String[] surfaceForms = new String[numTerms];
+            for (int termId = 0; termId < numTerms; termId++) {
+                surfaceForms[termId] = readString(buffer);
+            }
+
+            int numDocuments = buffer.getInt();
+            URI[] documents = new URI[numDocuments];
+            for (int docId = 0; docId < numDocuments; docId++) {
+                documents[docId] = URI.create(readString(buffer));
+            }
+
+            double[] pageRanks = new double[numDocuments];
+            buffer.asDoubleBuffer().get(pageRanks);
+            buffer.position(buffer.position() + numDocuments * Double.BYTES);
+            double[] norms = new double[numDocuments];
+            buffer.asDoubleBuffer().get(norms);
+            buffer.position(buffer.position() + numDocuments * Double.BYTES);
+
+            int[] offsets = new int[numDocuments + 1];
+            buffer.asIntBuffer().get(offsets);
+            buffer.position(buffer.position() + offsets.length * Integer.BYTES);
+            int[] termIds = new int[offsets[numDocuments]];
+            buffer.asIntBuffer().get(termIds);
+            buffer.position(buffer.position() + termIds.length * Integer.BYTES);
+            float[] weights = new float[offsets[numDocuments]];
+            buffer.asFloatBuffer().get(weights);
+
+            SparseVector[] vectors = new SparseVector[numDocuments];
+            for (int docId = 0; docId < numDocuments; docId++) {
+                vectors[docId] = new SparseVector(
+                        Arrays.copyOfRange(termIds, offsets[docId], offsets[docId + 1]),
+                        Arrays.copyOfRange(weights, offsets[docId], offsets[docId + 1]));
+            }
+
+            return new IndexSnapshot(
+                    new TfIdfAnalyzer(terms, idfScores, documentFrequencies, documents, vectors, norms),
+                    new PageRankAnalyzer(documents, pageRanks),
+                    new SurfaceForms(surfaceForms));
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not load index snapshot " + file, ex);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,586 @@
+package search.index;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.exceptions.NoSuchKeyException;
+import search.analyzers.TfIdfAnalyzer;
+import search.models.Result;
+import search.models.WebpageSummary;
+
+import java.net.URI;
+import java.util.Arrays;
+
+/**
+ * A consistent, read-only snapshot of the segments of an IndexWriter, as of a given
+ * flush. Writes made after the view was created are never visible through it.
+ *
+ * Documents get a view-wide id: their id in their segment, plus the number of
+ * documents (deleted or not) in the previous segments. Every method taking or
+ * returning document ids uses those, and never returns deleted documents.
+ *
+ * Scores are computed exactly like SearchEngine does: the cosine similarity between
+ * the TF-IDF vectors of the query and the page, multiplied by the square root of the
+ * page rank. The IDF of every term is computed over the live documents of every
+ * segment. The norm of the TF-IDF vector and the page rank of every document are
+ * kept per segment by the writer, and are only computed again in the background
+ * (see IndexWriter): the norms of older segments may have been computed with the
+ * IDF of an earlier view, and new pages may not have a page rank of their own yet.
+ * Once the writer caught up, results match a TfIdfAnalyzer built from the live pages.
+ */
+public class IndexView {
+    private final Segment[] segments;
+    private final DeletedDocs[] deleted;
+    private final long generation;
+    private final boolean hasPositions;
+
+    // The view-wide id of the first document of every segment, followed by the total
+    // number of documents.
+    private final int[] bases;
+    private final int numLiveDocuments;
+
+    // How many live documents contain every term, and its IDF, indexed by term id.
+    private final TermDictionary terms;
+    private final int[] documentFrequencies;
+    private final double[] idfScores;
+
+    // The norm of the TF-IDF vector and the page rank of every document, indexed by
+    // segment, then by id within the segment.
+    private final double[][] norms;
+    private final double[][] pageRanks;
+
+    private final PostingSource postings;
+    private final MaxScoreEvaluator maxScoreEvaluator;
+
+    /**
+     * @param segments             the current segments, oldest first
+     * @param deleted              the tombstones of every segment
+     * @param norms                the norm of the TF-IDF vector of every document of
+     *                             every segment (see 'computeNorms')
+     * @param pageRanks            the page rank of every document of every segment
+     * @param terms                the dictionary of every term of the segments, which
+     *                             must not change afterwards (see 'TermDictionary.snapshot')
+     * @param documentFrequencies  how many live documents contain every term
+     * @param idfScores            the IDF of every term (see 'computeIdfScores')
+     * @param hasPositions         whether every segment indexed the positions of words
+     */
+    IndexView(Segment[] segments, DeletedDocs[] deleted, double[][] norms, double[][] pageRanks,
+              TermDictionary terms, int[] documentFrequencies, double[] idfScores, long generation,
+              boolean hasPositions) {
+        this.segments = segments;
+        this.deleted = deleted;
+        this.norms = norms;
+        this.pageRanks = pageRanks;
+        this.terms = terms;
+        this.documentFrequencies = documentFrequencies;
+        this.idfScores = idfScores;
+        this.generation = generation;
+        this.hasPositions = hasPositions;
+
+        this.bases = new int[segments.length + 1];
+        for (int i = 0; i < segments.length; i++) {
+            this.bases[i + 1] = this.bases[i] + segments[i].size();
+        }
+        this.numLiveDocuments = countLiveDocuments(segments, deleted);
+
+        if (segments.length == 1 && deleted[0].getDeletedCount() == 0 && segments[0].coversTerms(terms.size())) {
+            this.postings = segments[0].getPostings();
+        } else {
+            this.postings = new ViewPostings();
+        }
+        // Each page's relevance gets multiplied by sqrt(pageRank) / norm when scoring.
+        this.maxScoreEvaluator = new MaxScoreEvaluator(this.postings, this::getDocumentFactor);
+    }
+
+    /**
+     * Returns the number of documents of the given segments which are not deleted.
+     */
+    static int countLiveDocuments(Segment[] segments, DeletedDocs[] deleted) {
+        int numLiveDocuments = 0;
+        for (int i = 0; i < segments.length; i++) {
+            numLiveDocuments += segments[i].size() - deleted[i].getDeletedCount();
+        }
+        return numLiveDocuments;
+    }
+
+    /**
+     * Returns the IDF of the first 'numTerms' terms, out of how many of the given
+     * number of live documents contain them. Terms no live document contains get an
+     * IDF of zero.
+     */
+    static double[] computeIdfScores(int[] documentFrequencies, int numTerms, int numLiveDocuments) {
+        double[] idfScores = new double[numTerms];
+        for (int termId = 0; termId < numTerms; termId++) {
+            if (documentFrequencies[termId] > 0) {
+                idfScores[termId] = Math.log((double) numLiveDocuments / documentFrequencies[termId]);
+            }
+        }
+        return idfScores;
+    }
+
+    /**
+     * Returns the norm of the TF-IDF vector of every document of the given segment,
+     * using the given IDF scores. Deleted documents get a norm of zero.
+     */
+    static double[] computeNorms(Segment segment, DeletedDocs deleted, double[] idfScores) {
+        double[] norms = new double[segment.size()];
+        for (int docId = 0; docId < norms.length; docId++) {
+            if (!deleted.isDeleted(docId)) {
+                norms[docId] = TfIdfAnalyzer.computeNorm(segment.getVector(docId), idfScores);
+            }
+        }
+        return norms;
+    }
+
+    /**
+     * Returns the number of live documents in this view.
+     */
+    public int size() {
+        return this.numLiveDocuments;
+    }
+
+    /**
+     * Returns the number of segments in this view.
+     */
+    public int getSegmentCount() {
+        return this.segments.length;
+    }
+
+    /**
+     * Returns the generation of the writer when this view was created, which it
+     * increments on every flush.
+     */
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * Returns true if the positions of the words of every document were indexed, so
+     * that 'findPhrase' and 'findNear' can be used.
+     */
+    public boolean hasPositions() {
+        return this.hasPositions;
+    }
+
+    /**
+     * Returns true if this view contains a live document with the given URI.
+     */
+    public boolean contains(URI uri) {
+        return this.locate(uri) >= 0;
+    }
+
+    /**
+     * Returns the dictionary of every term of this view, including terms that only
+     * appear in deleted documents.
+     */
+    public TermDictionary getTermDictionary() {
+        return this.terms;
+    }
+
+    /**
+     * Returns the number of live documents containing the term with the given id.
+     */
+    public int getDocumentFrequency(int termId) {
+        return this.documentFrequencies[termId];
+    }
+
+    /**
+     * Returns the page rank of the document with the given id in this view.
+     */
+    public double getPageRank(int docId) {
+        int i = this.findSegment(docId);
+        return this.pageRanks[i][docId - this.bases[i]];
+    }
+
+    /**
+     * Returns what the relevance of the document with the given id gets multiplied by
+     * to compute its score, divided by the norm of its TF-IDF vector.
+     */
+    private double getDocumentFactor(int docId) {
+        int i = this.findSegment(docId);
+        double norm = this.norms[i][docId - this.bases[i]];
+        return norm == 0.0 ? 0.0 : Math.sqrt(this.pageRanks[i][docId - this.bases[i]]) / norm;
+    }
+
+    /**
+     * Returns the postings of every term, without deleted documents. The weight of
+     * every posting is the term frequency of the term in the document.
+     *
+     * The size of a cursor may count deleted documents as well, so it is only an upper
+     * bound of the document frequency of its term.
+     */
+    public PostingSource getPostings() {
+        return this.postings;
+    }
+
+    public MaxScoreEvaluator getMaxScoreEvaluator() {
+        return this.maxScoreEvaluator;
+    }
+
+    public URI getUri(int docId) {
+        int i = this.findSegment(docId);
+        return this.segments[i].getUri(docId - this.bases[i]);
+    }
+
+    public WebpageSummary getSummary(int docId) {
+        int i = this.findSegment(docId);
+        return this.segments[i].getSummary(docId - this.bases[i]);
+    }
+
+    /**
+     * Computes the TF-IDF vector of the given query and its norm once, so the query can
+     * then be compared to any number of documents without redoing that work.
+     */
+    public PreparedQuery prepare(IList<String> query) {
+        return new PreparedQuery(this, TfIdfAnalyzer.computeQueryWeights(
+                TfIdfAnalyzer.computeQueryVector(query, this.terms, this.idfScores), this.idfScores));
+    }
+
+    /**
+     * Returns the ids of every live document matching the given boolean query, in
+     * ascending order.
+     */
+    public int[] evaluate(BooleanQuery query) {
+        int[] matches = query.evaluate(this.postings, this.terms, this.bases[this.segments.length]);
+        return this.removeDeleted(matches);
+    }
+
+    /**
+     * Returns the ids of the live documents containing the given terms one right after
+     * the other, in order (see 'PositionalIndex.findPhrase').
+     *
+     * @throws IllegalStateException  if positions were not indexed
+     */
+    public int[] findPhrase(int[] termIds) {
+        this.checkPositions();
+        IList<int[]> matches = new DoubleLinkedList<>();
+        for (Segment segment : this.segments) {
+            matches.add(segment.getPositions().findPhrase(termIds));
+        }
+        return this.toLiveDocuments(matches);
+    }
+
+    /**
+     * Returns the ids of the live documents containing every given term with at most
+     * 'slop' other words between them (see 'PositionalIndex.findNear').
+     *
+     * @throws IllegalStateException  if positions were not indexed
+     * @throws IllegalArgumentException  if slop < 0
+     */
+    public int[] findNear(int[] termIds, int slop) {
+        this.checkPositions();
+        IList<int[]> matches = new DoubleLinkedList<>();
+        for (Segment segment : this.segments) {
+            matches.add(segment.getPositions().findNear(termIds, slop));
+        }
+        return this.toLiveDocuments(matches);
+    }
+
+    private void checkPositions() {
+        if (!this.hasPositions) {
+            throw new IllegalStateException("Positions were not indexed");
+        }
+    }
+
+    /**
+     * Returns the cosine similarity between the TF-IDF vectors of the given query and
+     * of the document with the given URI.
+     *
+     * @throws NoSuchKeyException  if this view does not contain the given URI
+     */
+    public double computeRelevance(IList<String> query, URI uri) {
+        return this.prepare(query).computeRelevance(this.getDocumentId(uri));
+    }
+
+    /**
+     * Returns the score of the document with the given URI for the given query.
+     *
+     * @throws NoSuchKeyException  if this view does not contain the given URI
+     */
+    public double computeScore(IList<String> query, URI uri) {
+        int docId = this.getDocumentId(uri);
+        return this.prepare(query).computeRelevance(docId) * Math.sqrt(this.getPageRank(docId));
+    }
+
+    /**
+     * Returns the k best results for the given query, most relevant first.
+     *
+     * Like SearchEngine, only documents containing at least one query term with a
+     * non-zero weight are scored (see 'PreparedQuery.getScoringTermIds').
+     *
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public IList<Result> getTopKResults(IList<String> query, int k) {
+        PreparedQuery prepared = this.prepare(query);
+        int[] candidates = this.postings.getCandidates(prepared.getScoringTermIds());
+        double[] relevance = new double[candidates.length];
+        prepared.computeRelevance(candidates, 0, candidates.length, relevance);
+
+        TopKCollector topK = new TopKCollector(k);
+        for (int i = 0; i < candidates.length; i++) {
+            topK.collect(candidates[i], relevance[i] * Math.sqrt(this.getPageRank(candidates[i])));
+        }
+        return this.toResults(topK);
+    }
+
+    /**
+     * Turns the documents kept by the given collector into results, best first.
+     */
+    public IList<Result> toResults(TopKCollector topK) {
+        int[] docIds = topK.getDocIds();
+        double[] scores = topK.getScores();
+        IList<Result> results = new DoubleLinkedList<>();
+        for (int i = 0; i < docIds.length; i++) {
+            results.add(new Result(this.getSummary(docIds[i]), scores[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the view-wide id of the live document with the given URI.
+     *
+     * @throws NoSuchKeyException  if this view does not contain the given URI
+     */
+    public int getDocumentId(URI uri) {
+        int docId = this.locate(uri);
+        if (docId < 0) {
+            throw new NoSuchKeyException("Not in this view: " + uri);
+        }
+        return docId;
+    }
+
+    /**
+     * Returns the view-wide id of the live document with the given URI, or -1 if
+     * there is none.
+     */
+    private int locate(URI uri) {
+        for (int i = 0; i < this.segments.length; i++) {
+            int docId = this.segments[i].getDocumentId(uri);
+            if (docId >= 0 && !this.deleted[i].isDeleted(docId)) {
+                return this.bases[i] + docId;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the segment holding the document with the given view-wide id.
+     */
+    private int findSegment(int docId) {
+        // Segments are never empty, so every base is distinct.
+        int i = Arrays.binarySearch(this.bases, 0, this.segments.length, docId);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /**
+     * Returns the given sorted view-wide ids without the deleted documents.
+     */
+    private int[] removeDeleted(int[] docIds) {
+        int size = 0;
+        int i = 0;
+        for (int docId : docIds) {
+            while (docId >= this.bases[i + 1]) {
+                i++;
+            }
+            if (!this.deleted[i].isDeleted(docId - this.bases[i])) {
+                docIds[size] = docId;
+                size++;
+            }
+        }
+        return size == docIds.length ? docIds : Arrays.copyOf(docIds, size);
+    }
+
+    /**
+     * Converts the sorted ids of matching documents in every segment, in order, to
+     * sorted view-wide ids of live documents.
+     */
+    private int[] toLiveDocuments(IList<int[]> matches) {
+        int total = 0;
+        for (int[] docIds : matches) {
+            total += docIds.length;
+        }
+        int[] output = new int[total];
+        int size = 0;
+        int i = 0;
+        for (int[] docIds : matches) {
+            for (int docId : docIds) {
+                if (!this.deleted[i].isDeleted(docId)) {
+                    output[size] = this.bases[i] + docId;
+                    size++;
+                }
+            }
+            i++;
+        }
+        return Arrays.copyOf(output, size);
+    }
+
+    /**
+     * A query whose weights were computed ahead of time (see 'prepare').
+     */
+    public static class PreparedQuery {
+        private final IndexView view;
+        private final SparseVector weights;
+
+        private PreparedQuery(IndexView view, SparseVector weights) {
+            this.view = view;
+            this.weights = weights;
+        }
+
+        /**
+         * Returns the weight of every term of the query (see 'TfIdfAnalyzer.computeQueryWeights'),
+         * to be used along with the postings and the MaxScore evaluator of the view.
+         */
+        public SparseVector getQueryWeights() {
+            return this.weights;
+        }
+
+        /**
+         * Returns the ids of the query terms with a non-zero weight. Terms contained in
+         * every live document have an IDF, and therefore a weight, of zero: documents
+         * only containing those have a relevance of zero.
+         */
+        public int[] getScoringTermIds() {
+            int[] termIds = new int[this.weights.size()];
+            int size = 0;
+            for (int i = 0; i < termIds.length; i++) {
+                if (this.weights.getWeight(i) != 0.0f) {
+                    termIds[size] = this.weights.getTermId(i);
+                    size++;
+                }
+            }
+            return Arrays.copyOf(termIds, size);
+        }
+
+        /**
+         * Returns the cosine similarity between the query and the document with the given id.
+         */
+        public double computeRelevance(int docId) {
+            int i = this.view.findSegment(docId);
+            double norm = this.view.norms[i][docId - this.view.bases[i]];
+            if (norm == 0.0) {
+                return 0.0;
+            }
+            SparseVector vector = this.view.segments[i].getVector(docId - this.view.bases[i]);
+            return vector.dot(this.weights) / norm;
+        }
+
+        /**
+         * Stores the relevance of the document 'docIds[i]' in 'scores[i]', for every i
+         * between 'from' (inclusive) and 'to' (exclusive).
+         *
+         * @throws IllegalArgumentException  if 'scores' is shorter than 'to'
+         */
+        public void computeRelevance(int[] docIds, int from, int to, double[] scores) {
+            if (scores.length < to) {
+                throw new IllegalArgumentException("Not enough room for every score");
+            }
+            for (int i = from; i < to; i++) {
+                scores[i] = this.computeRelevance(docIds[i]);
+            }
+        }
+    }
+
+    /**
+     * The postings of every segment, one after the other, without deleted documents.
+     */
+    private class ViewPostings implements PostingSource {
+        @Override
+        public int getTermCount() {
+            return IndexView.this.terms.size();
+        }
+
+        @Override
+        public PostingCursor getCursor(int termId) {
+            Segment[] segments = IndexView.this.segments;
+            PostingCursor[] cursors = new PostingCursor[segments.length];
+            int size = 0;
+            for (int i = 0; i < segments.length; i++) {
+                cursors[i] = segments[i].getCursor(termId);
+                if (cursors[i] != null) {
+                    size += cursors[i].size();
+                }
+            }
+            return size == 0 ? null : new ViewCursor(cursors, size);
+        }
+    }
+
+    /**
+     * Walks through the postings of a term in every segment, in order, skipping deleted
+     * documents.
+     */
+    private class ViewCursor implements PostingCursor {
+        // The cursor of every segment, or null if it has no postings for the term.
+        private final PostingCursor[] cursors;
+        private final int size;
+        private int current;
+        private int docId;
+
+        ViewCursor(PostingCursor[] cursors, int size) {
+            this.cursors = cursors;
+            this.size = size;
+            this.current = 0;
+            this.docId = this.skipDeleted();
+        }
+
+        /**
+         * Moves past the deleted documents and the exhausted segments, and returns the
+         * view-wide id of the document the cursor stopped on.
+         */
+        private int skipDeleted() {
+            while (this.current < this.cursors.length) {
+                PostingCursor cursor = this.cursors[this.current];
+                if (cursor != null) {
+                    DeletedDocs deleted = IndexView.this.deleted[this.current];
+                    int docId = cursor.docId();
+                    while (docId != NO_MORE_DOCS && deleted.isDeleted(docId)) {
+                        docId = cursor.next();
+                    }
+                    if (docId != NO_MORE_DOCS) {
+                        return IndexView.this.bases[this.current] + docId;
+                    }
+                }
+                this.current++;
+            }
+            return NO_MORE_DOCS;
+        }
+
+        @Override
+        public int docId() {
+            return this.docId;
+        }
+
+        @Override
+        public float weight() {
+            return this.cursors[this.current].weight();
+        }
+
+        @Override
+        public int next() {
+            if (this.docId != NO_MORE_DOCS) {
+                this.cursors[this.current].next();
+                this.docId = this.skipDeleted();
+            }
+            return this.docId;
+        }
+
+        @Override
+        public int advance(int target) {
+            if (this.docId >= target) {
+                return this.docId;
+            }
+            int[] bases = IndexView.this.bases;
+            while (this.current < this.cursors.length && bases[this.current + 1] <= target) {
+                this.current++;
+            }
+            if (this.current < this.cursors.length && this.cursors[this.current] != null) {
+                this.cursors[this.current].advance(target - bases[this.current]);
+            }
+            this.docId = this.skipDeleted();
+            return this.docId;
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+    }
+}
@@ -0,0 +1,813 @@
+package search.index;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import search.analyzers.PageRankAnalyzer;
+import search.analyzers.TfIdfAnalyzer;
+import search.models.Webpage;
+import search.models.WebpageSummary;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Maintains an index of webpages that can be changed one page at a time, without
+ * reindexing everything.
+ *
+ * New and updated pages are buffered in memory, then flushed into a small immutable
+ * segment. Deleting or replacing a page never touches the segment holding the old
+ * version: the old version is marked as deleted by a tombstone instead. Since the
+ * number of segments keeps growing, segments of similar sizes are merged together
+ * in the background, which also drops the deleted pages for good.
+ *
+ * Searches go through an IndexView, a consistent snapshot of every segment and
+ * tombstone as of the last flush: buffered changes only become visible once flushed.
+ * Every flush increments the generation of the index.
+ *
+ * A flush only does work proportional to the pages it changes. The norm of the TF-IDF
+ * vector and the page rank of every document are kept per segment: a new segment gets
+ * norms computed with the IDF of the flush, and its pages keep their previous page rank,
+ * or 1 / N for new pages. Both depend on every other page, so a refresh then runs in the
+ * background: it updates the page ranks (see 'PageRankAnalyzer.update'), computes every
+ * norm again with the latest IDF, and publishes the result in a new generation. Several
+ * flushes in a row are caught up with by a single refresh.
+ *
+ * A writer either starts out empty, or from an existing index, such as the one a
+ * SearchEngine loaded, which becomes its first segment. That segment is never merged.
+ *
+ * This class is thread-safe.
+ */
+public class IndexWriter {
+    // How many segments of about the same size are merged together.
+    public static final int MERGE_FACTOR = 4;
+
+    private final int maxBufferedPages;
+    private final boolean indexPositions;
+
+    // Pages and deletions that were not flushed yet. A URI is never in both.
+    private IDictionary<URI, Webpage> bufferedPages;
+    private ISet<URI> pendingDeletes;
+
+    // The current segments, oldest first, with their tombstones.
+    private final IList<Segment> segments;
+    private final IDictionary<Segment, DeletedDocs> deletions;
+    private final ISet<Segment> merging;
+
+    // Every term of every segment, which new segments add their terms to, and a snapshot
+    // of it as of the last flush, shared by views and merges since it never changes.
+    private final TermDictionary terms;
+    private TermDictionary publishedTerms;
+
+    // The index this writer started from, as the segment holding its documents, or
+    // null if it had none, along with its number of documents and terms.
+    private Segment startingSegment;
+    private int startingDocumentCount;
+    private final int startingTermCount;
+
+    // The norm of the TF-IDF vector and the page rank of every document of every
+    // current segment, indexed by id within the segment.
+    private final IDictionary<Segment, double[]> norms;
+    private final IDictionary<Segment, double[]> pageRanks;
+
+    // How many live documents contain every term, indexed by term id. The array may be
+    // longer than the number of terms.
+    private int[] documentFrequencies;
+
+    // The page ranks as of the last refresh, and the pages added or deleted since.
+    // A URI is never in both.
+    private PageRankAnalyzer pageRankAnalyzer;
+    private IDictionary<URI, Webpage> unrankedPages;
+    private ISet<URI> unrankedDeletes;
+
+    private long generation;
+    private volatile IndexView view;
+    private Consumer<IndexView> viewListener;
+
+    private final ExecutorService mergeExecutor;
+    private int runningMerges;
+
+    // Whether a refresh is queued or running, and whether another one is needed after it.
+    private final ExecutorService refreshExecutor;
+    private boolean refreshScheduled;
+    private boolean refreshNeeded;
+
+    private Throwable backgroundFailure;
+    private boolean closed;
+
+    /**
+     * Constructs a writer for an empty index, whose views index the positions of words.
+     *
+     * @param maxBufferedPages  how many pages are buffered before being flushed into a segment
+     * @param decay             see 'PageRankAnalyzer'
+     * @param epsilon           see 'PageRankAnalyzer'
+     * @param limit             see 'PageRankAnalyzer'
+     * @throws IllegalArgumentException  if maxBufferedPages < 1
+     */
+    public IndexWriter(int maxBufferedPages, double decay, double epsilon, int limit) {
+        this(maxBufferedPages, true, new PageRankAnalyzer(new ChainedHashSet<>(), decay, epsilon, limit, 1, true),
+                new TermDictionary(), new int[0], 0);
+        this.publish();
+    }
+
+    /**
+     * Constructs a writer starting from the documents of the given analyzer, whose
+     * views keep the document ids of the analyzer until something is flushed.
+     *
+     * @param postings          the postings of the term frequency vectors of the analyzer
+     * @param positions         the positions of the words of every document of the
+     *                          analyzer, or null if new pages should not index them either
+     * @param summaries         the summaries of the documents of the analyzer
+     * @param pageRankAnalyzer  the page ranks of the documents of the analyzer, which
+     *                          must be updatable (see 'PageRankAnalyzer.update')
+     * @param generation        the generation of the first view of this writer
+     * @param maxBufferedPages  how many pages are buffered before being flushed into a segment
+     * @throws IllegalArgumentException  if maxBufferedPages < 1
+     */
+    public IndexWriter(TfIdfAnalyzer analyzer, PostingSource postings, PositionalIndex positions,
+                       DocStore summaries, PageRankAnalyzer pageRankAnalyzer, long generation,
+                       int maxBufferedPages) {
+        this(maxBufferedPages, positions != null, pageRankAnalyzer,
+                new TermDictionary(analyzer.getTermDictionary()), new int[analyzer.getTermDictionary().size()],
+                generation);
+        for (int termId = 0; termId < this.documentFrequencies.length; termId++) {
+            this.documentFrequencies[termId] = analyzer.getDocumentFrequency(termId);
+        }
+        this.startingDocumentCount = analyzer.getDocumentCount();
+        if (analyzer.getDocumentCount() > 0) {
+            Segment segment = Segment.of(analyzer, postings, positions, summaries);
+            this.segments.add(segment);
+            this.deletions.put(segment, DeletedDocs.none(segment));
+            this.norms.put(segment, segment.getNorms());
+            // The page ranks of a delta have none for the documents it deletes (see 'apply').
+            double[] ranks = new double[segment.size()];
+            for (int docId = 0; docId < ranks.length; docId++) {
+                ranks[docId] = pageRankAnalyzer.computePageRank(segment.getUri(docId), 0.0);
+            }
+            this.pageRanks.put(segment, ranks);
+            this.startingSegment = segment;
+        }
+        this.publish();
+    }
+
+    private IndexWriter(int maxBufferedPages, boolean indexPositions, PageRankAnalyzer pageRankAnalyzer,
+                        TermDictionary terms, int[] documentFrequencies, long generation) {
+        if (maxBufferedPages < 1) {
+            throw new IllegalArgumentException("Need to buffer at least one page");
+        }
+        this.maxBufferedPages = maxBufferedPages;
+        this.indexPositions = indexPositions;
+        this.bufferedPages = new ChainedHashDictionary<>();
+        this.pendingDeletes = new ChainedHashSet<>();
+        this.segments = new DoubleLinkedList<>();
+        this.deletions = new ChainedHashDictionary<>();
+        this.merging = new ChainedHashSet<>();
+        this.terms = terms;
+        this.publishedTerms = terms.snapshot();
+        this.startingTermCount = terms.size();
+        this.norms = new ChainedHashDictionary<>();
+        this.pageRanks = new ChainedHashDictionary<>();
+        this.documentFrequencies = documentFrequencies;
+        this.pageRankAnalyzer = pageRankAnalyzer;
+        this.unrankedPages = new ChainedHashDictionary<>();
+        this.unrankedDeletes = new ChainedHashSet<>();
+        this.generation = generation;
+        this.mergeExecutor = makeExecutor("index-merge");
+        this.refreshExecutor = makeExecutor("index-refresh");
+    }
+
+    private static ExecutorService makeExecutor(String name) {
+        return Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Adds the given page, replacing any page with the same URI. Flushes the buffered
+     * pages if the buffer is full.
+     *
+     * @throws IllegalStateException  if this writer was closed, or a background task failed
+     */
+    public synchronized void addOrUpdate(Webpage page) {
+        this.checkOpen();
+        URI uri = page.getUri();
+        if (this.pendingDeletes.contains(uri)) {
+            this.pendingDeletes.remove(uri);
+        }
+        this.bufferedPages.put(uri, page);
+        if (this.bufferedPages.size() >= this.maxBufferedPages) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Deletes the page with the given URI, if there is one.
+     *
+     * @throws IllegalStateException  if this writer was closed, or a background task failed
+     */
+    public synchronized void delete(URI uri) {
+        this.checkOpen();
+        if (this.bufferedPages.containsKey(uri)) {
+            this.bufferedPages.remove(uri);
+        }
+        // An older version may have been flushed already.
+        this.pendingDeletes.add(uri);
+    }
+
+    /**
+     * Writes the buffered pages to a new segment, applies the pending deletions, and
+     * makes both visible to new views. The page ranks and the norms of the other
+     * segments are brought up to date in the background afterwards.
+     *
+     * @throws IllegalStateException  if this writer was closed, or a background task failed
+     */
+    public synchronized void flush() {
+        this.checkOpen();
+        if (this.bufferedPages.isEmpty() && this.pendingDeletes.isEmpty()) {
+            return;
+        }
+
+        // Step 1: write the new segment, adding its terms to the dictionary.
+        ISet<Webpage> upserted = new ChainedHashSet<>();
+        Segment.Builder builder = new Segment.Builder(this.terms, this.indexPositions);
+        for (KVPair<URI, Webpage> pair : this.bufferedPages) {
+            upserted.add(pair.getValue());
+            builder.add(pair.getValue().getSummary(), pair.getValue().getWords());
+        }
+        Segment segment = builder.size() > 0 ? builder.build(this.terms) : null;
+        this.publishedTerms = this.terms.snapshot();
+        this.documentFrequencies = Arrays.copyOf(this.documentFrequencies,
+                Math.max(this.documentFrequencies.length, this.terms.size()));
+
+        // Step 2: add tombstones for every old version of the changed pages.
+        this.deleteFromSegments(upserted, this.pendingDeletes);
+
+        // Step 3: add the new segment.
+        if (segment != null) {
+            this.segments.add(segment);
+            this.deletions.put(segment, DeletedDocs.none(segment));
+            for (int docId = 0; docId < segment.size(); docId++) {
+                this.countTerms(segment.getVector(docId), 1);
+            }
+        }
+
+        // Step 4: remember the changes the page ranks do not reflect yet.
+        for (Webpage page : upserted) {
+            if (this.unrankedDeletes.contains(page.getUri())) {
+                this.unrankedDeletes.remove(page.getUri());
+            }
+            this.unrankedPages.put(page.getUri(), page);
+        }
+        for (URI uri : this.pendingDeletes) {
+            if (this.unrankedPages.containsKey(uri)) {
+                this.unrankedPages.remove(uri);
+            }
+            this.unrankedDeletes.add(uri);
+        }
+
+        this.bufferedPages = new ChainedHashDictionary<>();
+        this.pendingDeletes = new ChainedHashSet<>();
+        this.generation++;
+        this.publish();
+        this.maybeMerge();
+        this.scheduleRefresh();
+    }
+
+    /**
+     * Returns the changes flushed since this writer started, which can be applied to
+     * the index it started from to bring it up to date (see 'apply'). The page ranks
+     * are those of the current view, so 'waitForRefresh' should be called first.
+     *
+     * @param baseFingerprint  the fingerprint of the index this writer started from
+     * @param surfaceForms     the surface forms of the terms of the current view
+     * @throws IllegalStateException  if changes are buffered
+     */
+    public synchronized IndexDelta getDelta(long baseFingerprint, SurfaceForms surfaceForms) {
+        if (!this.bufferedPages.isEmpty() || !this.pendingDeletes.isEmpty()) {
+            throw new IllegalStateException("Changes must be flushed first");
+        }
+        // The starting segment is gone if all its documents were deleted.
+        boolean[] deleted = new boolean[this.startingDocumentCount];
+        if (this.startingSegment == null || !this.deletions.containsKey(this.startingSegment)) {
+            Arrays.fill(deleted, true);
+        } else {
+            DeletedDocs tombstones = this.deletions.get(this.startingSegment);
+            for (int docId = 0; docId < deleted.length; docId++) {
+                deleted[docId] = tombstones.isDeleted(docId);
+            }
+        }
+
+        int numDeleted = 0;
+        int numAdded = 0;
+        for (int docId = 0; docId < deleted.length; docId++) {
+            if (deleted[docId]) {
+                numDeleted++;
+            }
+        }
+        for (Segment segment : this.segments) {
+            if (segment != this.startingSegment) {
+                numAdded += segment.size() - this.deletions.get(segment).getDeletedCount();
+            }
+        }
+
+        int[] deletedDocIds = new int[numDeleted];
+        WebpageSummary[] summaries = new WebpageSummary[numAdded];
+        SparseVector[] vectors = new SparseVector[numAdded];
+        int[][] documentWords = this.indexPositions ? new int[numAdded][] : null;
+        double[] ranks = new double[deleted.length - numDeleted + numAdded];
+        int i = 0;
+        int rank = 0;
+        for (int docId = 0; docId < deleted.length; docId++) {
+            if (deleted[docId]) {
+                deletedDocIds[i] = docId;
+                i++;
+            } else {
+                ranks[rank] = this.pageRanks.get(this.startingSegment)[docId];
+                rank++;
+            }
+        }
+        i = 0;
+        for (Segment segment : this.segments) {
+            if (segment == this.startingSegment) {
+                continue;
+            }
+            DeletedDocs tombstones = this.deletions.get(segment);
+            for (int docId = 0; docId < segment.size(); docId++) {
+                if (!tombstones.isDeleted(docId)) {
+                    summaries[i] = segment.getSummary(docId);
+                    vectors[i] = segment.getVector(docId);
+                    if (documentWords != null) {
+                        documentWords[i] = segment.getWords(docId);
+                    }
+                    ranks[rank] = this.pageRanks.get(segment)[docId];
+                    i++;
+                    rank++;
+                }
+            }
+        }
+
+        String[] addedTerms = new String[this.publishedTerms.size() - this.startingTermCount];
+        String[] addedSurfaceForms = new String[addedTerms.length];
+        for (int j = 0; j < addedTerms.length; j++) {
+            int termId = this.startingTermCount + j;
+            addedTerms[j] = this.publishedTerms.getTerm(termId);
+            addedSurfaceForms[j] = termId < surfaceForms.size() ? surfaceForms.getWord(termId) : addedTerms[j];
+        }
+        return new IndexDelta(baseFingerprint, this.startingDocumentCount, this.startingTermCount, deletedDocIds,
+                addedTerms, addedSurfaceForms, summaries, vectors, documentWords, ranks);
+    }
+
+    /**
+     * Applies the given changes, taken from another writer which started from the same
+     * index as this one (see 'getDelta'), without changing the generation. The page
+     * ranks this writer started with should be those of the delta, and the norms are
+     * brought up to date in the background.
+     *
+     * @throws IllegalStateException     if anything changed since this writer started
+     * @throws IllegalArgumentException  if the delta does not apply to the index this
+     *                                   writer started from
+     */
+    public synchronized void apply(IndexDelta delta) {
+        this.checkOpen();
+        if (!this.bufferedPages.isEmpty() || !this.pendingDeletes.isEmpty()
+                || this.segments.size() != (this.startingSegment != null ? 1 : 0)
+                || this.terms.size() != this.startingTermCount) {
+            throw new IllegalStateException("Deltas only apply to the index a writer started from");
+        }
+        if (delta.getBaseDocumentCount() != this.startingDocumentCount
+                || delta.getBaseTermCount() != this.startingTermCount) {
+            throw new IllegalArgumentException("This delta does not apply to the index this writer started from");
+        }
+
+        for (String term : delta.getAddedTerms()) {
+            this.terms.add(term);
+        }
+        Segment.Builder builder = new Segment.Builder(this.terms, this.indexPositions);
+        for (int i = 0; i < delta.getAddedDocumentCount(); i++) {
+            builder.add(delta.getSummary(i), delta.getVector(i), delta.getWords(i));
+        }
+        Segment segment = builder.size() > 0 ? builder.build(this.terms) : null;
+        this.publishedTerms = this.terms.snapshot();
+        this.documentFrequencies = Arrays.copyOf(this.documentFrequencies, this.terms.size());
+
+        int[] deletedDocIds = delta.getDeletedDocIds();
+        if (deletedDocIds.length > 0) {
+            for (int docId : deletedDocIds) {
+                this.countTerms(this.startingSegment.getVector(docId), -1);
+            }
+            DeletedDocs deleted = this.deletions.get(this.startingSegment).withDeleted(deletedDocIds,
+                    deletedDocIds.length);
+            this.deletions.put(this.startingSegment, deleted);
+            if (deleted.getDeletedCount() == this.startingSegment.size()) {
+                this.removeSegment(this.startingSegment);
+            }
+        }
+        if (segment != null) {
+            this.segments.add(segment);
+            this.deletions.put(segment, DeletedDocs.none(segment));
+            for (int docId = 0; docId < segment.size(); docId++) {
+                this.countTerms(segment.getVector(docId), 1);
+            }
+        }
+
+        this.publish();
+        this.scheduleRefresh();
+    }
+
+    /**
+     * Returns a snapshot of the index as of the last flush.
+     */
+    public IndexView getView() {
+        return this.view;
+    }
+
+    /**
+     * Calls the given listener with every view published from now on, by flushes, merges
+     * and refreshes alike. The listener is called while this writer is locked, so it
+     * should hand the view over to another thread rather than do any work with it.
+     */
+    public synchronized void setViewListener(Consumer<IndexView> listener) {
+        this.viewListener = listener;
+    }
+
+    /**
+     * Blocks until every background merge is finished.
+     *
+     * @throws IllegalStateException  if a background task failed
+     */
+    public synchronized void waitForMerges() throws InterruptedException {
+        while (this.runningMerges > 0) {
+            this.wait();
+        }
+        this.checkBackgroundFailure();
+    }
+
+    /**
+     * Blocks until the page ranks and norms of the current view reflect every flushed
+     * change, publishing a new view if they did not already.
+     *
+     * @throws IllegalStateException  if a background task failed
+     */
+    public synchronized void waitForRefresh() throws InterruptedException {
+        while (this.refreshScheduled) {
+            this.wait();
+        }
+        this.checkBackgroundFailure();
+    }
+
+    /**
+     * Flushes the buffered changes, waits for the background merges and refreshes, and
+     * stops the background threads. The last view stays usable.
+     */
+    public synchronized void close() throws InterruptedException {
+        if (this.closed) {
+            return;
+        }
+        this.flush();
+        this.waitForMerges();
+        this.waitForRefresh();
+        this.closed = true;
+        this.mergeExecutor.shutdown();
+        this.refreshExecutor.shutdown();
+    }
+
+    private void checkOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("This writer was closed");
+        }
+        this.checkBackgroundFailure();
+    }
+
+    private void checkBackgroundFailure() {
+        if (this.backgroundFailure != null) {
+            throw new IllegalStateException("A background task failed", this.backgroundFailure);
+        }
+    }
+
+    /**
+     * Marks every live document with one of the given URIs as deleted, and drops the
+     * segments left without live documents.
+     */
+    private void deleteFromSegments(ISet<Webpage> upserted, ISet<URI> removed) {
+        IList<Segment> empty = new DoubleLinkedList<>();
+        for (Segment segment : this.segments) {
+            DeletedDocs deleted = this.deletions.get(segment);
+            int[] docIds = new int[upserted.size() + removed.size()];
+            int size = 0;
+            for (Webpage page : upserted) {
+                int docId = segment.getDocumentId(page.getUri());
+                if (docId >= 0 && !deleted.isDeleted(docId)) {
+                    docIds[size] = docId;
+                    size++;
+                }
+            }
+            for (URI uri : removed) {
+                int docId = segment.getDocumentId(uri);
+                if (docId >= 0 && !deleted.isDeleted(docId)) {
+                    docIds[size] = docId;
+                    size++;
+                }
+            }
+            if (size > 0) {
+                for (int i = 0; i < size; i++) {
+                    this.countTerms(segment.getVector(docIds[i]), -1);
+                }
+                deleted = deleted.withDeleted(docIds, size);
+                this.deletions.put(segment, deleted);
+                if (deleted.getDeletedCount() == segment.size() && !this.merging.contains(segment)) {
+                    empty.add(segment);
+                }
+            }
+        }
+        for (Segment segment : empty) {
+            this.removeSegment(segment);
+        }
+    }
+
+    /**
+     * Adds the given number to the document frequency of every term of the given vector.
+     */
+    private void countTerms(SparseVector vector, int delta) {
+        for (int i = 0; i < vector.size(); i++) {
+            this.documentFrequencies[vector.getTermId(i)] += delta;
+        }
+    }
+
+    private void removeSegment(Segment segment) {
+        this.segments.delete(this.segments.indexOf(segment));
+        this.deletions.remove(segment);
+        this.norms.remove(segment);
+        this.pageRanks.remove(segment);
+    }
+
+    /**
+     * Publishes a new view of the current segments and tombstones. Segments which were
+     * just flushed get their norms, using the current IDF, and their page ranks.
+     */
+    private void publish() {
+        Segment[] current = this.getSegments();
+        DeletedDocs[] deleted = this.getDeletions(current);
+        int numLiveDocuments = IndexView.countLiveDocuments(current, deleted);
+        int[] documentFrequencies = Arrays.copyOf(this.documentFrequencies, this.publishedTerms.size());
+        double[] idfScores = IndexView.computeIdfScores(documentFrequencies, documentFrequencies.length,
+                numLiveDocuments);
+
+        double[][] norms = new double[current.length][];
+        double[][] pageRanks = new double[current.length][];
+        for (int i = 0; i < current.length; i++) {
+            if (!this.norms.containsKey(current[i])) {
+                this.norms.put(current[i], IndexView.computeNorms(current[i], deleted[i], idfScores));
+                double[] ranks = new double[current[i].size()];
+                for (int docId = 0; docId < ranks.length; docId++) {
+                    ranks[docId] = this.pageRankAnalyzer.computePageRank(
+                            current[i].getUri(docId), 1.0 / numLiveDocuments);
+                }
+                this.pageRanks.put(current[i], ranks);
+            }
+            norms[i] = this.norms.get(current[i]);
+            pageRanks[i] = this.pageRanks.get(current[i]);
+        }
+
+        this.view = new IndexView(current, deleted, norms, pageRanks, this.publishedTerms,
+                documentFrequencies, idfScores, this.generation, this.indexPositions);
+        if (this.viewListener != null) {
+            this.viewListener.accept(this.view);
+        }
+    }
+
+    private Segment[] getSegments() {
+        Segment[] current = new Segment[this.segments.size()];
+        int i = 0;
+        for (Segment segment : this.segments) {
+            current[i] = segment;
+            i++;
+        }
+        return current;
+    }
+
+    private DeletedDocs[] getDeletions(Segment[] segments) {
+        DeletedDocs[] deleted = new DeletedDocs[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            deleted[i] = this.deletions.get(segments[i]);
+        }
+        return deleted;
+    }
+
+    /**
+     * Makes sure a refresh runs after the current changes, queueing one unless one is
+     * already queued.
+     */
+    private void scheduleRefresh() {
+        this.refreshNeeded = true;
+        if (!this.refreshScheduled) {
+            this.refreshScheduled = true;
+            this.refreshExecutor.execute(this::refresh);
+        }
+    }
+
+    /**
+     * Updates the page ranks with the changes flushed so far, computes the norm of every
+     * document again using the current IDF, then publishes both in a new generation.
+     * Runs on the refresh thread, and queues itself again if anything was flushed or
+     * merged meanwhile.
+     */
+    private void refresh() {
+        Segment[] current;
+        DeletedDocs[] deleted;
+        double[] idfScores;
+        PageRankAnalyzer previous;
+        ISet<Webpage> upserted = new ChainedHashSet<>();
+        ISet<URI> removed;
+        synchronized (this) {
+            this.refreshNeeded = false;
+            current = this.getSegments();
+            deleted = this.getDeletions(current);
+            idfScores = IndexView.computeIdfScores(this.documentFrequencies, this.publishedTerms.size(),
+                    IndexView.countLiveDocuments(current, deleted));
+            previous = this.pageRankAnalyzer;
+            for (KVPair<URI, Webpage> pair : this.unrankedPages) {
+                upserted.add(pair.getValue());
+            }
+            removed = this.unrankedDeletes;
+            this.unrankedPages = new ChainedHashDictionary<>();
+            this.unrankedDeletes = new ChainedHashSet<>();
+        }
+
+        PageRankAnalyzer updated;
+        double[][] norms = new double[current.length][];
+        double[][] pageRanks = new double[current.length][];
+        try {
+            updated = upserted.isEmpty() && removed.isEmpty() ? previous : previous.update(upserted, removed);
+            for (int i = 0; i < current.length; i++) {
+                norms[i] = IndexView.computeNorms(current[i], deleted[i], idfScores);
+                pageRanks[i] = new double[current[i].size()];
+                for (int docId = 0; docId < current[i].size(); docId++) {
+                    if (!deleted[i].isDeleted(docId)) {
+                        pageRanks[i][docId] = updated.computePageRank(current[i].getUri(docId));
+                    }
+                }
+            }
+        } catch (Throwable ex) {
+            synchronized (this) {
+                this.backgroundFailure = ex;
+                this.refreshScheduled = false;
+                this.notifyAll();
+            }
+            return;
+        }
+
+        synchronized (this) {
+            this.pageRankAnalyzer = updated;
+            for (int i = 0; i < current.length; i++) {
+                // Segments merged meanwhile keep the values they were merged with.
+                if (this.norms.containsKey(current[i])) {
+                    this.norms.put(current[i], norms[i]);
+                    this.pageRanks.put(current[i], pageRanks[i]);
+                } else {
+                    this.refreshNeeded = true;
+                }
+            }
+            this.generation++;
+            this.publish();
+            if (this.refreshNeeded && !this.closed) {
+                this.refreshExecutor.execute(this::refresh);
+            } else {
+                this.refreshScheduled = false;
+            }
+            this.notifyAll();
+        }
+    }
+
+    /**
+     * Schedules a merge for every level holding at least MERGE_FACTOR segments that are
+     * not already being merged. A segment with n live documents is on level l when
+     * n < maxBufferedPages * MERGE_FACTOR^(l + 1), so merged segments move up a level
+     * and every document only gets merged O(log(number of documents)) times. The segment
+     * a writer started from is never merged.
+     */
+    private void maybeMerge() {
+        IDictionary<Integer, IList<Segment>> levels = new ChainedHashDictionary<>();
+        for (Segment segment : this.segments) {
+            if (this.merging.contains(segment) || !segment.isMergeable()) {
+                continue;
+            }
+            long bound = (long) this.maxBufferedPages * MERGE_FACTOR;
+            int level = 0;
+            while (this.getLiveCount(segment) >= bound) {
+                bound *= MERGE_FACTOR;
+                level++;
+            }
+            if (!levels.containsKey(level)) {
+                levels.put(level, new DoubleLinkedList<>());
+            }
+            IList<Segment> candidates = levels.get(level);
+            candidates.add(segment);
+
+            if (candidates.size() == MERGE_FACTOR) {
+                Segment[] sources = new Segment[MERGE_FACTOR];
+                DeletedDocs[] deleted = new DeletedDocs[MERGE_FACTOR];
+                for (int i = 0; i < MERGE_FACTOR; i++) {
+                    sources[i] = candidates.get(i);
+                    deleted[i] = this.deletions.get(sources[i]);
+                    this.merging.add(sources[i]);
+                }
+                levels.remove(level);
+                TermDictionary terms = this.publishedTerms;
+                this.runningMerges++;
+                this.mergeExecutor.execute(() -> this.merge(sources, deleted, terms));
+            }
+        }
+    }
+
+    private int getLiveCount(Segment segment) {
+        return segment.size() - this.deletions.get(segment).getDeletedCount();
+    }
+
+    /**
+     * Merges the given segments, then replaces them by the merged segment. Runs on the
+     * merge thread.
+     *
+     * @param deleted  the tombstones of the segments when the merge was scheduled
+     * @param terms    the terms as of when the merge was scheduled
+     */
+    private void merge(Segment[] sources, DeletedDocs[] deleted, TermDictionary terms) {
+        Segment merged;
+        try {
+            merged = Segment.merge(sources, deleted, terms);
+        } catch (Throwable ex) {
+            synchronized (this) {
+                this.backgroundFailure = ex;
+                for (Segment source : sources) {
+                    this.merging.remove(source);
+                }
+                this.runningMerges--;
+                this.notifyAll();
+            }
+            return;
+        }
+
+        synchronized (this) {
+            // Pages may have been deleted while we were merging: carry their tombstones
+            // over. The merged segment holds the live documents of the sources, in order.
+            int[] docIds = new int[merged.size()];
+            int size = 0;
+            int mergedId = 0;
+            for (int i = 0; i < sources.length; i++) {
+                DeletedDocs current = this.deletions.get(sources[i]);
+                for (int docId = 0; docId < sources[i].size(); docId++) {
+                    if (!deleted[i].isDeleted(docId)) {
+                        if (current.isDeleted(docId)) {
+                            docIds[size] = mergedId;
+                            size++;
+                        }
+                        mergedId++;
+                    }
+                }
+            }
+
+            // The merged segment takes the place of the oldest source, and keeps the
+            // norms and page ranks its documents had.
+            double[] norms = new double[merged.size()];
+            double[] pageRanks = new double[merged.size()];
+            mergedId = 0;
+            for (int i = 0; i < sources.length; i++) {
+                double[] sourceNorms = this.norms.get(sources[i]);
+                double[] sourceRanks = this.pageRanks.get(sources[i]);
+                for (int docId = 0; docId < sources[i].size(); docId++) {
+                    if (!deleted[i].isDeleted(docId)) {
+                        norms[mergedId] = sourceNorms[docId];
+                        pageRanks[mergedId] = sourceRanks[docId];
+                        mergedId++;
+                    }
+                }
+            }
+            int position = this.segments.indexOf(sources[0]);
+            for (Segment source : sources) {
+                this.removeSegment(source);
+                this.merging.remove(source);
+            }
+            if (size < merged.size()) {
+                this.segments.insert(position, merged);
+                this.deletions.put(merged, DeletedDocs.none(merged).withDeleted(docIds, size));
+                this.norms.put(merged, norms);
+                this.pageRanks.put(merged, pageRanks);
+            }
+
+            this.publish();
+            this.runningMerges--;
+            if (!this.closed) {
+                this.maybeMerge();
+            }
+            this.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package search.index;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.ISet;
+import search.analyzers.TfIdfAnalyzer;
+import search.misc.exceptions.DataExtractionException;
+import search.models.Webpage;
+import search.models.WebpageSummary;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Indexes every webpage under a folder as a series of stages running on their own
+ * threads, connected by bounded queues:
+ *
+ *     read:        walks the folder and hands out the webpage files to parse,
+ *                  numbered in the order of their paths
+ *     parse:       loads and tokenizes each webpage, on several threads
+ *     term stats:  counts how many times each distinct word appears in each page
+ *     index:       assigns term ids and stores the counts for the TF-IDF analyzer,
+ *                  along with the position of every word if asked to
+ *
+ * Pages leave the parse threads in whatever order they finish, so the index stage
+ * holds back the pages that arrive early until every page numbered before them was
+ * indexed: term and document ids only depend on the contents of the folder, never
+ * on how the threads were scheduled.
+ *
+ * Since every queue is bounded, a fast stage blocks until the slower stages catch
+ * up, so only a few pages are ever in flight. The word list of each page is dropped
+ * as soon as its counts (and, if asked for, its positions) are recorded: what
+ * remains of each page afterwards is its summary and its links, which is all page
+ * rank needs.
+ *
+ * A pipeline is meant to be run once.
+ */
+public class IndexingPipeline {
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    // Markers telling the next stage that no more items will come.
+    private static final Numbered<Path> END_OF_FILES = new Numbered<>(-1, null);
+    private static final Numbered<Webpage> END_OF_PAGES = new Numbered<>(-1, null);
+    private static final DocumentStats END_OF_STATS = new DocumentStats(-1, null, null, null);
+
+    private final Path root;
+    private final Function<Path, Webpage> loader;
+    private final int parseThreads;
+    private final boolean indexPositions;
+
+    private final BlockingQueue<Numbered<Path>> files;
+    private final BlockingQueue<Numbered<Webpage>> parsedPages;
+    private final BlockingQueue<DocumentStats> documentStats;
+
+    private final AtomicReference<Throwable> failure;
+    private Thread[] threads;
+
+    // Filled in by the index stage.
+    private TermDictionary terms;
+    private URI[] documents;
+    private int[][] documentTerms;
+    private int[][] documentCounts;
+    private int[] documentLengths;
+    private int numDocuments;
+    private ISet<Webpage> pages;
+    private PositionalIndex.Builder positions;
+
+    private TfIdfAnalyzer tfIdfAnalyzer;
+    private PositionalIndex positionalIndex;
+
+    /**
+     * Creates a pipeline loading every .htm and .html file under the given folder
+     * using 'Webpage.load'.
+     *
+     * @param parseThreads   how many webpages may be parsed at the same time
+     * @param queueCapacity  how many items may wait between two stages
+     */
+    public IndexingPipeline(Path root, int parseThreads, int queueCapacity) {
+        this(root, parseThreads, queueCapacity, false);
+    }
+
+    /**
+     * Same as the other constructor, but also records the position of every word of
+     * every page if 'indexPositions' is true (see 'getPositionalIndex').
+     */
+    public IndexingPipeline(Path root, int parseThreads, int queueCapacity, boolean indexPositions) {
+        this(root, path -> Webpage.load(path.toUri()), parseThreads, queueCapacity, indexPositions);
+    }
+
+    /**
+     * Same as the other constructors, but loads webpages using the given function.
+     */
+    public IndexingPipeline(Path root, Function<Path, Webpage> loader, int parseThreads, int queueCapacity) {
+        this(root, loader, parseThreads, queueCapacity, false);
+    }
+
+    public IndexingPipeline(Path root, Function<Path, Webpage> loader, int parseThreads, int queueCapacity,
+                            boolean indexPositions) {
+        if (parseThreads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Need at least one parse thread and one slot per queue");
+        }
+        this.root = root;
+        this.loader = loader;
+        this.parseThreads = parseThreads;
+        this.indexPositions = indexPositions;
+        this.files = new ArrayBlockingQueue<>(queueCapacity);
+        this.parsedPages = new ArrayBlockingQueue<>(queueCapacity);
+        this.documentStats = new ArrayBlockingQueue<>(queueCapacity);
+        this.failure = new AtomicReference<>();
+    }
+
+    /**
+     * Runs every stage of the pipeline and waits for them to finish.
+     *
+     * @throws IllegalStateException  if this pipeline was already run
+     * @throws DataExtractionException  if the folder could not be read; any other
+     *                                  exception thrown by a stage is rethrown as is
+     */
+    public void run() {
+        if (this.threads != null) {
+            throw new IllegalStateException("A pipeline can only be run once");
+        }
+        this.threads = new Thread[this.parseThreads + 3];
+        this.threads[0] = this.makeStage("read", this::read);
+        for (int i = 0; i < this.parseThreads; i++) {
+            this.threads[i + 1] = this.makeStage("parse-" + i, this::parse);
+        }
+        this.threads[this.parseThreads + 1] = this.makeStage("term-stats", this::countTerms);
+        this.threads[this.parseThreads + 2] = this.makeStage("index", this::index);
+        for (Thread thread : this.threads) {
+            thread.start();
+        }
+
+        try {
+            for (Thread thread : this.threads) {
+                thread.join();
+            }
+        } catch (InterruptedException ex) {
+            this.abort(ex);
+            Thread.currentThread().interrupt();
+        }
+
+        Throwable cause = this.failure.get();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else if (cause != null) {
+            throw new DataExtractionException("Indexing was interrupted", cause);
+        }
+
+        this.tfIdfAnalyzer = new TfIdfAnalyzer(
+                this.terms,
+                Arrays.copyOf(this.documents, this.numDocuments),
+                Arrays.copyOf(this.documentTerms, this.numDocuments),
+                Arrays.copyOf(this.documentCounts, this.numDocuments),
+                Arrays.copyOf(this.documentLengths, this.numDocuments));
+        this.documentTerms = null;
+        this.documentCounts = null;
+        if (this.positions != null) {
+            this.positionalIndex = this.positions.build(this.terms.size(), this.numDocuments);
+            this.positions = null;
+        }
+    }
+
+    /**
+     * Returns the TF-IDF analyzer of every page that was indexed.
+     */
+    public TfIdfAnalyzer getTfIdfAnalyzer() {
+        this.checkFinished();
+        return this.tfIdfAnalyzer;
+    }
+
+    /**
+     * Returns every page that was indexed, with its summary and links but without its words.
+     */
+    public ISet<Webpage> getPages() {
+        this.checkFinished();
+        return this.pages;
+    }
+
+    /**
+     * Returns the positions of the words of every page that was indexed, using the
+     * same term and document ids as the TF-IDF analyzer, or null if this pipeline
+     * was not asked to index positions.
+     */
+    public PositionalIndex getPositionalIndex() {
+        this.checkFinished();
+        return this.positionalIndex;
+    }
+
+    private void checkFinished() {
+        if (this.tfIdfAnalyzer == null) {
+            throw new IllegalStateException("The pipeline must be run first");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws InterruptedException;
+    }
+
+    private Thread makeStage(String name, Stage stage) {
+        Thread thread = new Thread(() -> {
+            try {
+                stage.run();
+            } catch (Throwable ex) {
+                this.abort(ex);
+            }
+        }, "indexing-" + name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Records the first failure and interrupts every stage, so none of them stays
+     * blocked on a queue that will never move again.
+     */
+    private void abort(Throwable cause) {
+        if (this.failure.compareAndSet(null, cause)) {
+            for (Thread thread : this.threads) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    private void read() throws InterruptedException {
+        try (Stream<Path> paths = Files.walk(this.root)) {
+            // Sorted, since the order in which folders are listed depends on the file system.
+            Iterator<Path> iterator = paths
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith(".htm") || path.toString().endsWith(".html"))
+                    .sorted()
+                    .iterator();
+            int sequence = 0;
+            while (iterator.hasNext()) {
+                this.files.put(new Numbered<>(sequence, iterator.next()));
+                sequence++;
+            }
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not find given root folder.", ex);
+        }
+        for (int i = 0; i < this.parseThreads; i++) {
+            this.files.put(END_OF_FILES);
+        }
+    }
+
+    private void parse() throws InterruptedException {
+        Numbered<Path> file = this.files.take();
+        while (file != END_OF_FILES) {
+            this.parsedPages.put(new Numbered<>(file.sequence, this.loader.apply(file.item)));
+            file = this.files.take();
+        }
+        this.parsedPages.put(END_OF_PAGES);
+    }
+
+    private void countTerms() throws InterruptedException {
+        int remaining = this.parseThreads;
+        while (remaining > 0) {
+            Numbered<Webpage> parsed = this.parsedPages.take();
+            if (parsed == END_OF_PAGES) {
+                remaining--;
+                continue;
+            }
+            Webpage page = parsed.item;
+
+            TermCounts counts = TermCounts.of(page.getWords());
+            String[] words = null;
+            if (this.indexPositions) {
+                words = new String[page.getWords().size()];
+                int i = 0;
+                for (String word : page.getWords()) {
+                    words[i] = word;
+                    i++;
+                }
+            }
+
+            // From here on, we only keep the summary and the links of the page.
+            WebpageSummary summary = page.getSummary();
+            Webpage withoutWords = new Webpage(page.getUri(), page.getLinks(), new DoubleLinkedList<>(),
+                    summary.getTitle(), summary.getBlurb());
+            this.documentStats.put(new DocumentStats(parsed.sequence, withoutWords, counts, words));
+        }
+        this.documentStats.put(END_OF_STATS);
+    }
+
+    private void index() throws InterruptedException {
+        this.terms = new TermDictionary();
+        this.documents = new URI[16];
+        this.documentTerms = new int[16][];
+        this.documentCounts = new int[16][];
+        this.documentLengths = new int[16];
+        this.pages = new ChainedHashSet<>();
+        if (this.indexPositions) {
+            this.positions = new PositionalIndex.Builder();
+        }
+
+        // The pages which arrived before some page numbered before them, by number.
+        IDictionary<Integer, DocumentStats> waiting = new ChainedHashDictionary<>();
+        int nextSequence = 0;
+        DocumentStats stats = this.documentStats.take();
+        while (stats != END_OF_STATS) {
+            waiting.put(stats.sequence, stats);
+            while (waiting.containsKey(nextSequence)) {
+                this.index(waiting.remove(nextSequence));
+                nextSequence++;
+            }
+            stats = this.documentStats.take();
+        }
+    }
+
+    private void index(DocumentStats stats) {
+        // Like a set of webpages, we only keep the first page with any given URI.
+        if (this.pages.contains(stats.page)) {
+            return;
+        }
+        this.pages.add(stats.page);
+
+        int[] ids = new int[stats.counts.words.length];
+        int[] counts = new int[stats.counts.words.length];
+        stats.counts.resolve(this.terms, ids, counts);
+        if (this.positions != null) {
+            // Every word was added to the dictionary while resolving the counts.
+            int[] termIds = new int[stats.words.length];
+            for (int i = 0; i < termIds.length; i++) {
+                termIds[i] = this.terms.getId(stats.words[i]);
+            }
+            this.positions.add(this.numDocuments, termIds);
+        }
+
+        if (this.numDocuments == this.documents.length) {
+            int capacity = this.numDocuments * 2;
+            this.documents = Arrays.copyOf(this.documents, capacity);
+            this.documentTerms = Arrays.copyOf(this.documentTerms, capacity);
+            this.documentCounts = Arrays.copyOf(this.documentCounts, capacity);
+            this.documentLengths = Arrays.copyOf(this.documentLengths, capacity);
+        }
+        this.documents[this.numDocuments] = stats.page.getUri();
+        this.documentTerms[this.numDocuments] = ids;
+        this.documentCounts[this.numDocuments] = counts;
+        this.documentLengths[this.numDocuments] = stats.counts.length;
+        this.numDocuments++;
+    }
+
+    /**
+     * A page without its words, along with the counts of those words and, if positions
+     * are indexed, the words themselves in order.
+     */
+    private static class DocumentStats {
+        private final int sequence;
+        private final Webpage page;
+        private final TermCounts counts;
+        private final String[] words;
+
+        DocumentStats(int sequence, Webpage page, TermCounts counts, String[] words) {
+            this.sequence = sequence;
+            this.page = page;
+            this.counts = counts;
+            this.words = words;
+        }
+    }
+
+    /**
+     * An item along with the number of the file it came from.
+     */
+    private static class Numbered<T> {
+        private final int sequence;
+        private final T item;
+
+        Numbered(int sequence, T item) {
+            this.sequence = sequence;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package search.index;
+
+import datastructures.interfaces.IList;
+import search.analyzers.TfIdfAnalyzer;
+
+import java.net.URI;
+
+/**
+ * This class maps every term to the list of documents containing it, so that
+ * a query only needs to look at the pages sharing at least one word with it
+ * instead of every page we know about.
+ *
+ * Documents and terms are identified by the same dense integer ids as in the
+ * TfIdfAnalyzer the index was built from, and the weight of every posting is the
+ * term frequency of the term in the document: its IDF is applied to the query.
+ */
+public class InvertedIndex implements PostingSource {
+    private TermDictionary terms;
+    private URI[] documents;
+    private PostingList[] postings;
+
+    /**
+     * Builds an inverted index out of the term frequency vectors of the given analyzer.
+     */
+    public InvertedIndex(TfIdfAnalyzer analyzer) {
+        this(analyzer.getTermDictionary(), toDocuments(analyzer), toVectors(analyzer));
+    }
+
+    /**
+     * Builds an inverted index out of the given vectors, using their weights as the
+     * weights of the postings. Terms whose weight in a document is zero are left out
+     * of that document's postings. The postings cover the terms in the given dictionary
+     * when it is called: terms added to it later have none.
+     *
+     * @param documents  the URI of every document, indexed by document id
+     * @param vectors    the vector of every document, indexed by document id
+     */
+    public InvertedIndex(TermDictionary terms, URI[] documents, SparseVector[] vectors) {
+        this.terms = terms;
+        this.documents = documents;
+        this.postings = new PostingList[terms.size()];
+
+        for (int docId = 0; docId < vectors.length; docId++) {
+            SparseVector vector = vectors[docId];
+            for (int i = 0; i < vector.size(); i++) {
+                if (vector.getWeight(i) != 0.0f) {
+                    int termId = vector.getTermId(i);
+                    if (this.postings[termId] == null) {
+                        this.postings[termId] = new PostingList();
+                    }
+                    this.postings[termId].add(docId, vector.getWeight(i));
+                }
+            }
+        }
+    }
+
+    private static URI[] toDocuments(TfIdfAnalyzer analyzer) {
+        URI[] documents = new URI[analyzer.getDocumentCount()];
+        for (int docId = 0; docId < documents.length; docId++) {
+            documents[docId] = analyzer.getUri(docId);
+        }
+        return documents;
+    }
+
+    private static SparseVector[] toVectors(TfIdfAnalyzer analyzer) {
+        SparseVector[] vectors = new SparseVector[analyzer.getDocumentCount()];
+        for (int docId = 0; docId < vectors.length; docId++) {
+            vectors[docId] = analyzer.getTermFrequencyVector(docId);
+        }
+        return vectors;
+    }
+
+    /**
+     * Returns the number of documents in this index.
+     */
+    public int size() {
+        return this.documents.length;
+    }
+
+    /**
+     * Returns the URI of the document with the given id.
+     */
+    public URI getUri(int docId) {
+        return this.documents[docId];
+    }
+
+    @Override
+    public int getTermCount() {
+        return this.postings.length;
+    }
+
+    /**
+     * Returns the postings of the term with the given id, or null if no document
+     * contains it.
+     */
+    public PostingList getPostings(int termId) {
+        return this.postings[termId];
+    }
+
+    @Override
+    public PostingCursor getCursor(int termId) {
+        return this.postings[termId] == null ? null : this.postings[termId].cursor();
+    }
+
+    /**
+     * Returns the postings of the given term, or null if no document contains it.
+     */
+    public PostingList getPostings(String term) {
+        int termId = this.terms.getId(term);
+        return termId < 0 ? null : this.postings[termId];
+    }
+
+    /**
+     * Returns the ids of every document containing at least one of the given
+     * terms, in ascending order and without duplicates.
+     */
+    public int[] getCandidates(IList<String> query) {
+        int[] termIds = new int[query.size()];
+        int i = 0;
+        for (String term : query) {
+            termIds[i] = this.terms.getId(term);
+            i++;
+        }
+        return this.getCandidates(termIds);
+    }
+}
@@ -0,0 +1,183 @@
+package search.index;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Finds the top k documents for a query using the MaxScore dynamic pruning
+ * algorithm, without fully scoring documents that cannot make it into the top k.
+ *
+ * The score of a document d for a query q is assumed to be
+ *
+ *     sum over terms t of q_t * w_td * factor_d
+ *
+ * where q_t is the weight of the term in the query, w_td is the weight stored in the
+ * postings and factor_d is an arbitrary per-document non-negative factor. For our
+ * search engine, w_td is a term frequency, q_t carries the IDF of the term twice
+ * (see 'TfIdfAnalyzer.computeQueryWeights') and factor_d is sqrt(pageRank) / |d|.
+ * The postings may store rounded up weights, as IndexSegment does: they are only
+ * used to bound scores.
+ * For every term we compute the largest contribution w_td * factor_d it can make
+ * to any document, the first time a query needs it: an evaluator is created for
+ * every view of a changing index, and most terms are never queried. Once the top k
+ * heap is full, terms whose combined upper bounds cannot beat the lowest score in
+ * the heap are no longer used to find candidates, and candidates whose upper bound
+ * cannot beat it are skipped.
+ *
+ * Documents that survive pruning are scored using the given scorer, and are
+ * offered to a TopKCollector, so this class returns the same results as offering
+ * every candidate to a TopKCollector.
+ */
+public class MaxScoreEvaluator {
+    // Relative slack applied to every upper bound before pruning, so that rounding
+    // errors can never cause us to skip a document that belongs in the top k.
+    private static final double SLACK = 1e-9;
+
+    private PostingSource index;
+    private IntToDoubleFunction documentFactors;
+
+    // The upper bound of every term, rounded up to a float, or NaN if not computed
+    // yet. Threads may race to compute the same bound, but they all store the same
+    // value, and a float is always written at once.
+    private float[] upperBounds;
+
+    /**
+     * @param index            the postings to evaluate queries against
+     * @param documentFactors  the non-negative factor each document's relevance is
+     *                         multiplied by, indexed by document id
+     */
+    public MaxScoreEvaluator(PostingSource index, double[] documentFactors) {
+        this(index, docId -> documentFactors[docId]);
+    }
+
+    /**
+     * Same as the other constructor, but computes the factor of a document using the
+     * given function, which may be called from several threads at once.
+     */
+    public MaxScoreEvaluator(PostingSource index, IntToDoubleFunction documentFactors) {
+        this.index = index;
+        this.documentFactors = documentFactors;
+        this.upperBounds = new float[index.getTermCount()];
+        Arrays.fill(this.upperBounds, Float.NaN);
+    }
+
+    /**
+     * Returns the largest contribution the term with the given id can make to the
+     * score of any document, before multiplying it by the weight of the term in the query.
+     */
+    private double getUpperBound(int termId) {
+        float bound = this.upperBounds[termId];
+        if (Float.isNaN(bound)) {
+            PostingCursor postings = this.index.getCursor(termId);
+            double max = 0.0;
+            while (postings != null && postings.docId() != PostingCursor.NO_MORE_DOCS) {
+                max = Math.max(max, postings.weight() * this.documentFactors.applyAsDouble(postings.docId()));
+                postings.next();
+            }
+            bound = (float) max;
+            if (bound < max) {
+                bound = Math.nextUp(bound);
+            }
+            this.upperBounds[termId] = bound;
+        }
+        return bound;
+    }
+
+    /**
+     * Returns the k best documents for the given query.
+     *
+     * @param queryVector  the weight of every term in the query
+     * @param k            the number of documents to return
+     * @param scorer       computes the score of a given document id
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public TopKCollector topK(SparseVector queryVector, int k, IntToDoubleFunction scorer) {
+        TopKCollector collector = new TopKCollector(k);
+        if (k == 0) {
+            return collector;
+        }
+
+        // Step 1: gather every query term that can contribute to a score, sorted
+        // by ascending upper bound.
+        PostingCursor[] lists = new PostingCursor[queryVector.size()];
+        double[] weights = new double[queryVector.size()];
+        double[] bounds = new double[queryVector.size()];
+        int numTerms = 0;
+        for (int t = 0; t < queryVector.size(); t++) {
+            PostingCursor postings = this.index.getCursor(queryVector.getTermId(t));
+            if (postings != null && queryVector.getWeight(t) > 0.0f) {
+                double weight = queryVector.getWeight(t);
+                double bound = weight * this.getUpperBound(queryVector.getTermId(t));
+
+                int i = numTerms;
+                while (i > 0 && bounds[i - 1] > bound) {
+                    lists[i] = lists[i - 1];
+                    weights[i] = weights[i - 1];
+                    bounds[i] = bounds[i - 1];
+                    i--;
+                }
+                lists[i] = postings;
+                weights[i] = weight;
+                bounds[i] = bound;
+                numTerms++;
+            }
+        }
+
+        double[] prefixBounds = new double[numTerms];
+        for (int i = 0; i < numTerms; i++) {
+            prefixBounds[i] = bounds[i] + (i > 0 ? prefixBounds[i - 1] : 0.0);
+        }
+
+        // Step 2: walk the postings of the essential terms in document order.
+        int firstEssential = 0;
+        double threshold = Double.NEGATIVE_INFINITY;
+
+        while (true) {
+            int docId = PostingCursor.NO_MORE_DOCS;
+            for (int i = firstEssential; i < numTerms; i++) {
+                docId = Math.min(docId, lists[i].docId());
+            }
+            if (docId == PostingCursor.NO_MORE_DOCS) {
+                break;
+            }
+
+            double factor = this.documentFactors.applyAsDouble(docId);
+            double bound = firstEssential > 0 ? prefixBounds[firstEssential - 1] : 0.0;
+            for (int i = firstEssential; i < numTerms; i++) {
+                if (lists[i].docId() == docId) {
+                    bound += weights[i] * lists[i].weight() * factor;
+                    lists[i].next();
+                }
+            }
+
+            // Replace the upper bounds of the non-essential terms by their actual
+            // contribution, most promising first, until the document is ruled out.
+            for (int i = firstEssential - 1; i >= 0 && !canPrune(bound, threshold); i--) {
+                bound -= bounds[i];
+                if (lists[i].advance(docId) == docId) {
+                    bound += weights[i] * lists[i].weight() * factor;
+                }
+            }
+
+            if (!canPrune(bound, threshold)) {
+                collector.collect(docId, scorer.applyAsDouble(docId));
+                if (collector.isFull()) {
+                    threshold = collector.getThreshold();
+                    while (firstEssential < numTerms && canPrune(prefixBounds[firstEssential], threshold)) {
+                        firstEssential++;
+                    }
+                }
+            }
+        }
+
+        return collector;
+    }
+
+    /**
+     * Returns true if a document whose score is at most 'bound' can never be
+     * kept by a full collector whose lowest score is 'threshold'.
+     */
+    private static boolean canPrune(double bound, double threshold) {
+        return bound * (1 + SLACK) <= threshold;
+    }
+}
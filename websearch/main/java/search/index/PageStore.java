@@ -0,0 +1,531 @@
+package search.index;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import search.misc.BinaryFormat;
+import search.misc.exceptions.DataExtractionException;
+import search.models.Webpage;
+import search.models.WebpageSummary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Every parsed webpage of a data folder, stored in a single binary file, so the
+ * pages can be loaded again without parsing their HTML.
+ *
+ * Each page is stored along with the fingerprint of the file it was parsed from,
+ * so a page only needs to be parsed again if its file changed (see SourceManifest).
+ *
+ * The file is memory-mapped, and a page is only decoded when it is asked for. Words
+ * are stored as term ids and links as URI ids, so every distinct word and URI is
+ * stored (and, once decoded, held in memory) only once however many pages use it.
+ * Links are stored before words, so the link graph of the pages can be loaded
+ * without reading a single word (see 'getLinkPage').
+ *
+ * The layout is (all fixed-size numbers big-endian):
+ *
+ *     int     magic number ("WSPG")
+ *     int     format version
+ *     int     number of pages P
+ *     int     number of terms T
+ *     int     number of URIs U
+ *     int     offset of the term table
+ *     int     offset of the URI table
+ *     int     offset of the page table
+ *
+ * A table of N strings is N + 1 offsets where each string starts, followed by the
+ * strings themselves in UTF-8. The page table is P + 1 offsets where each page
+ * starts, followed by the pages, sorted by path. A page is:
+ *
+ *     the path of its file relative to the data folder, as a length followed by
+ *     UTF-8 bytes; the size, modification time and content hash of the file, as
+ *     three longs; its title and its blurb, like its path; the id of its URI; the
+ *     number of its links, then the URI id of each of them; the number of its
+ *     words, then the term id of each of them
+ *
+ * all of them in variable-byte encoding, except the longs.
+ */
+public class PageStore {
+    private static final int MAGIC = 0x57535047;
+    public static final int VERSION = 3;
+
+    private static final int HEADER_SIZE = 32;
+
+    private final ByteBuffer buffer;
+    private final int numPages;
+    private final int termTable;
+    private final int uriTable;
+    private final int pageTable;
+
+    // Decoded terms and URIs, filled in as the pages using them get loaded. Pages may
+    // be loaded from several threads at once.
+    private final AtomicReferenceArray<String> terms;
+    private final AtomicReferenceArray<URI> uris;
+
+    private PageStore(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.numPages = buffer.getInt(8);
+        this.terms = new AtomicReferenceArray<>(buffer.getInt(12));
+        this.uris = new AtomicReferenceArray<>(buffer.getInt(16));
+        this.termTable = buffer.getInt(20);
+        this.uriTable = buffer.getInt(24);
+        this.pageTable = buffer.getInt(28);
+    }
+
+    /**
+     * Maps the store saved in the given file into memory.
+     *
+     * Returns null if the file does not exist or was written by a different version
+     * of this class.
+     */
+    public static PageStore open(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new DataExtractionException("Page store is too large to be mapped: " + file);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                return null;
+            }
+            return new PageStore(buffer);
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not open page store " + file, ex);
+        }
+    }
+
+    /**
+     * Returns the number of pages in this store.
+     */
+    public int size() {
+        return this.numPages;
+    }
+
+    /**
+     * Returns the size of this store, in bytes.
+     */
+    public long getSizeInBytes() {
+        return this.buffer.capacity();
+    }
+
+    /**
+     * Returns the page stored for the file with the given path, relative to the data
+     * folder, or null if there is none.
+     */
+    public Webpage load(String path) {
+        int index = this.find(path);
+        return index >= 0 ? this.getPage(index) : null;
+    }
+
+    /**
+     * Returns the index of the page stored for the file with the given path, relative
+     * to the data folder, or -1 if there is none.
+     */
+    public int find(String path) {
+        int low = 0;
+        int high = this.numPages - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = this.getPath(mid).compareTo(path);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the path of the file the page with the given index was parsed from,
+     * relative to the data folder. Pages are sorted by path.
+     *
+     * @throws IndexOutOfBoundsException  if the index is not between 0 and size() - 1
+     */
+    public String getPath(int index) {
+        return new RecordReader(this.buffer, this.getPageOffset(index)).readString();
+    }
+
+    /**
+     * Returns the fingerprint the file the page with the given index was parsed from
+     * had at the time.
+     *
+     * @throws IndexOutOfBoundsException  if the index is not between 0 and size() - 1
+     */
+    public FileFingerprint getFileFingerprint(int index) {
+        RecordReader reader = new RecordReader(this.buffer, this.getPageOffset(index));
+        reader.skipString();
+        return reader.readFingerprint();
+    }
+
+    /**
+     * Returns a fingerprint of the content of the files the pages of this store were
+     * parsed from, which is the fingerprint of the folder they were in at the time
+     * (see 'SourceManifest.getFingerprint').
+     */
+    public long getFingerprint() {
+        long hash = BinaryFormat.FNV_OFFSET_BASIS;
+        for (int index = 0; index < this.numPages; index++) {
+            hash = SourceManifest.addToFingerprint(hash, this.getPath(index), this.getFileFingerprint(index));
+        }
+        return hash;
+    }
+
+    /**
+     * Decodes the page with the given index.
+     *
+     * @throws IndexOutOfBoundsException  if the index is not between 0 and size() - 1
+     */
+    public Webpage getPage(int index) {
+        RecordReader reader = new RecordReader(this.buffer, this.getPageOffset(index));
+        reader.skipString();
+        reader.skipFingerprint();
+        String title = reader.readString();
+        String blurb = reader.readString();
+        URI uri = this.getUri(reader.readVarInt());
+        IList<URI> links = this.readLinks(reader);
+
+        IList<String> words = new DoubleLinkedList<>();
+        int numWords = reader.readVarInt();
+        for (int i = 0; i < numWords; i++) {
+            words.add(this.getTerm(reader.readVarInt()));
+        }
+        return new Webpage(uri, links, words, title, blurb);
+    }
+
+    /**
+     * Decodes the URI and the links of the page with the given index, which is all a
+     * link graph needs, into a page without words, title or blurb. Its words are not
+     * even read.
+     *
+     * @throws IndexOutOfBoundsException  if the index is not between 0 and size() - 1
+     */
+    public Webpage getLinkPage(int index) {
+        RecordReader reader = new RecordReader(this.buffer, this.getPageOffset(index));
+        reader.skipString();
+        reader.skipFingerprint();
+        reader.skipString();
+        reader.skipString();
+        URI uri = this.getUri(reader.readVarInt());
+        return new Webpage(uri, this.readLinks(reader), new DoubleLinkedList<>(), "", "");
+    }
+
+    private IList<URI> readLinks(RecordReader reader) {
+        IList<URI> links = new DoubleLinkedList<>();
+        int numLinks = reader.readVarInt();
+        for (int i = 0; i < numLinks; i++) {
+            links.add(this.getUri(reader.readVarInt()));
+        }
+        return links;
+    }
+
+    /**
+     * Returns the encoded page with the given index, from right after its fingerprint
+     * to its end. The term and URI ids it holds are those of this store.
+     */
+    private byte[] getRecordTail(int index) {
+        RecordReader reader = new RecordReader(this.buffer, this.getPageOffset(index));
+        reader.skipString();
+        reader.skipFingerprint();
+        int start = reader.position[0];
+        int end = this.buffer.getInt(this.pageTable + (index + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = this.buffer.get(start + i);
+        }
+        return bytes;
+    }
+
+    private int getPageOffset(int index) {
+        if (index < 0 || index >= this.numPages) {
+            throw new IndexOutOfBoundsException("No page " + index + " in a store of " + this.numPages);
+        }
+        return this.buffer.getInt(this.pageTable + index * Integer.BYTES);
+    }
+
+    private String getTerm(int termId) {
+        String term = this.terms.get(termId);
+        if (term == null) {
+            term = this.readTableString(this.termTable, termId);
+            this.terms.set(termId, term);
+        }
+        return term;
+    }
+
+    private URI getUri(int uriId) {
+        URI uri = this.uris.get(uriId);
+        if (uri == null) {
+            uri = URI.create(this.readTableString(this.uriTable, uriId));
+            this.uris.set(uriId, uri);
+        }
+        return uri;
+    }
+
+    private String readTableString(int table, int id) {
+        int start = this.buffer.getInt(table + id * Integer.BYTES);
+        int end = this.buffer.getInt(table + (id + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = this.buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the fields of a page, starting at a given offset. Only absolute reads are
+     * used, so several readers can share the same buffer.
+     */
+    private static class RecordReader {
+        private final ByteBuffer buffer;
+        private final int[] position;
+
+        RecordReader(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = new int[] {position};
+        }
+
+        int readVarInt() {
+            return BinaryFormat.readVarInt(this.buffer, this.position);
+        }
+
+        String readString() {
+            return BinaryFormat.readString(this.buffer, this.position);
+        }
+
+        void skipString() {
+            BinaryFormat.skipString(this.buffer, this.position);
+        }
+
+        FileFingerprint readFingerprint() {
+            FileFingerprint fingerprint = new FileFingerprint(
+                    this.buffer.getLong(this.position[0]),
+                    this.buffer.getLong(this.position[0] + Long.BYTES),
+                    this.buffer.getLong(this.position[0] + 2 * Long.BYTES));
+            this.skipFingerprint();
+            return fingerprint;
+        }
+
+        void skipFingerprint() {
+            this.position[0] += 3 * Long.BYTES;
+        }
+    }
+
+    /**
+     * Collects parsed pages, then writes them to a store. Pages may be added from
+     * several threads at once.
+     */
+    public static class Builder {
+        private final TermDictionary terms;
+        private final IDictionary<URI, Integer> uriIds;
+        private String[] uris;
+        private final IDictionary<String, byte[]> records;
+
+        // The store whose term and URI ids this builder starts with, or null.
+        private final PageStore source;
+
+        public Builder() {
+            this(null);
+        }
+
+        private Builder(PageStore source) {
+            this.terms = new TermDictionary();
+            this.uriIds = new ChainedHashDictionary<>();
+            this.uris = new String[16];
+            this.records = new ChainedHashDictionary<>();
+            this.source = source;
+        }
+
+        /**
+         * Returns an empty builder which gives the terms and URIs of the given store the
+         * same ids, so pages of the store can be copied into it without decoding them
+         * (see 'copy'). Only the terms and URIs themselves are decoded.
+         */
+        public static Builder from(PageStore store) {
+            Builder builder = new Builder(store);
+            for (int termId = 0; termId < store.terms.length(); termId++) {
+                builder.terms.add(store.getTerm(termId));
+            }
+            for (int uriId = 0; uriId < store.uris.length(); uriId++) {
+                builder.getUriId(store.getUri(uriId));
+            }
+            return builder;
+        }
+
+        /**
+         * Adds the given page, parsed from the file with the given path relative to the
+         * data folder and the given fingerprint. A page added for the same path before
+         * is replaced.
+         */
+        public synchronized void add(String path, FileFingerprint fingerprint, Webpage page) {
+            // Pages are encoded right away, which takes far less memory than the page.
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            WebpageSummary summary = page.getSummary();
+            BinaryFormat.writeString(out, path);
+            writeLong(out, fingerprint.getSize());
+            writeLong(out, fingerprint.getLastModified());
+            writeLong(out, fingerprint.getContentHash());
+            BinaryFormat.writeString(out, summary.getTitle());
+            BinaryFormat.writeString(out, summary.getBlurb());
+            BinaryFormat.writeVarInt(out, this.getUriId(page.getUri()));
+            BinaryFormat.writeVarInt(out, page.getLinks().size());
+            for (URI link : page.getLinks()) {
+                BinaryFormat.writeVarInt(out, this.getUriId(link));
+            }
+            BinaryFormat.writeVarInt(out, page.getWords().size());
+            for (String word : page.getWords()) {
+                BinaryFormat.writeVarInt(out, this.terms.add(word));
+            }
+            this.records.put(path, out.toByteArray());
+        }
+
+        /**
+         * Adds the page with the given index of the given store, which must be the store
+         * this builder was created from (see 'from'), with the given fingerprint for its
+         * file. The page is copied as it is, without decoding it.
+         *
+         * @throws IllegalArgumentException  if this builder was not created from the given store
+         */
+        public synchronized void copy(PageStore store, int index, FileFingerprint fingerprint) {
+            if (store != this.source) {
+                throw new IllegalArgumentException("Pages can only be copied from the store this builder was created from");
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            String path = store.getPath(index);
+            BinaryFormat.writeString(out, path);
+            writeLong(out, fingerprint.getSize());
+            writeLong(out, fingerprint.getLastModified());
+            writeLong(out, fingerprint.getContentHash());
+            byte[] tail = store.getRecordTail(index);
+            out.write(tail, 0, tail.length);
+            this.records.put(path, out.toByteArray());
+        }
+
+        /**
+         * Returns the number of pages added so far.
+         */
+        public synchronized int size() {
+            return this.records.size();
+        }
+
+        private int getUriId(URI uri) {
+            if (this.uriIds.containsKey(uri)) {
+                return this.uriIds.get(uri);
+            }
+            int id = this.uriIds.size();
+            if (id == this.uris.length) {
+                this.uris = Arrays.copyOf(this.uris, id * 2);
+            }
+            this.uris[id] = uri.toString();
+            this.uriIds.put(uri, id);
+            return id;
+        }
+
+        /**
+         * Writes every page added so far to the given file. The file is replaced atomically.
+         *
+         * @throws DataExtractionException  if the file could not be written
+         */
+        public synchronized void write(Path file) {
+            String[] paths = new String[this.records.size()];
+            int i = 0;
+            for (KVPair<String, byte[]> pair : this.records) {
+                paths[i] = pair.getKey();
+                i++;
+            }
+            Arrays.sort(paths);
+
+            String[] termStrings = new String[this.terms.size()];
+            for (int termId = 0; termId < termStrings.length; termId++) {
+                termStrings[termId] = this.terms.getTerm(termId);
+            }
+            byte[][] termBytes = toBytes(termStrings, termStrings.length);
+            byte[][] uriBytes = toBytes(this.uris, this.uriIds.size());
+
+            long termTable = HEADER_SIZE;
+            long uriTable = termTable + tableSize(termBytes);
+            long pageTable = uriTable + tableSize(uriBytes);
+            long total = pageTable + (paths.length + 1L) * Integer.BYTES;
+            for (String path : paths) {
+                total += this.records.get(path).length;
+            }
+            if (total > Integer.MAX_VALUE) {
+                throw new DataExtractionException("Page store would be too large: " + file);
+            }
+
+            BinaryFormat.writeAtomically(file, out -> {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(paths.length);
+                out.writeInt(termBytes.length);
+                out.writeInt(uriBytes.length);
+                out.writeInt((int) termTable);
+                out.writeInt((int) uriTable);
+                out.writeInt((int) pageTable);
+                writeTable(out, termBytes, (int) termTable);
+                writeTable(out, uriBytes, (int) uriTable);
+
+                int offset = (int) pageTable + (paths.length + 1) * Integer.BYTES;
+                for (String path : paths) {
+                    out.writeInt(offset);
+                    offset += this.records.get(path).length;
+                }
+                out.writeInt(offset);
+                for (String path : paths) {
+                    out.write(this.records.get(path));
+                }
+            });
+        }
+
+        private static byte[][] toBytes(String[] strings, int count) {
+            byte[][] output = new byte[count][];
+            for (int i = 0; i < count; i++) {
+                output[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+            }
+            return output;
+        }
+
+        private static long tableSize(byte[][] strings) {
+            long size = (strings.length + 1L) * Integer.BYTES;
+            for (byte[] string : strings) {
+                size += string.length;
+            }
+            return size;
+        }
+
+        private static void writeTable(DataOutputStream out, byte[][] strings, int start) throws IOException {
+            int offset = start + (strings.length + 1) * Integer.BYTES;
+            for (byte[] string : strings) {
+                out.writeInt(offset);
+                offset += string.length;
+            }
+            out.writeInt(offset);
+            for (byte[] string : strings) {
+                out.write(string);
+            }
+        }
+
+        private static void writeLong(ByteArrayOutputStream out, long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (value >>> shift));
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package search.index;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Scores every candidate document of a query and keeps the k best, spreading the
+ * work over the common fork-join pool when there are enough candidates.
+ *
+ * The candidates are split in half until each part holds at most 'chunkSize' of
+ * them. Every part is scored into its own TopKCollector, without any locking, and
+ * the collectors are merged as the parts are joined. Since merging collectors
+ * gives the same top k as collecting everything in a single one, the results do
+ * not depend on how the work was split.
+ *
+ * Queries with fewer than 'threshold' candidates are scored on the calling thread:
+ * for them, handing the work to other threads costs more than it saves.
+ */
+public class ParallelEvaluator {
+    public static final int DEFAULT_THRESHOLD = 20000;
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private final int threshold;
+    private final int chunkSize;
+
+    /**
+     * Scores the documents between the indexes 'from' (inclusive) and 'to' (exclusive)
+     * of 'docIds', storing the score of 'docIds[i]' in 'scores[i]'. Must be thread-safe:
+     * different ranges get scored at the same time.
+     */
+    @FunctionalInterface
+    public interface ChunkScorer {
+        void score(int[] docIds, int from, int to, double[] scores);
+    }
+
+    public ParallelEvaluator() {
+        this(DEFAULT_THRESHOLD, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param threshold  the smallest number of candidates worth scoring in parallel
+     * @param chunkSize  the largest number of candidates scored by a single task
+     * @throws IllegalArgumentException  if threshold < 0 or chunkSize < 1
+     */
+    public ParallelEvaluator(int threshold, int chunkSize) {
+        if (threshold < 0 || chunkSize < 1) {
+            throw new IllegalArgumentException("Invalid threshold or chunk size");
+        }
+        this.threshold = threshold;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns the k best of the given candidates.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public TopKCollector topK(int[] candidates, int k, ChunkScorer scorer) {
+        if (k < 0) {
+            throw new IllegalArgumentException();
+        }
+        double[] scores = new double[candidates.length];
+        if (candidates.length < this.threshold) {
+            return score(candidates, 0, candidates.length, k, scorer, scores);
+        }
+        return ForkJoinPool.commonPool().invoke(new ScoringTask(
+                candidates, 0, candidates.length, k, scorer, scores, this.chunkSize));
+    }
+
+    private static TopKCollector score(int[] candidates, int from, int to, int k,
+                                       ChunkScorer scorer, double[] scores) {
+        scorer.score(candidates, from, to, scores);
+        TopKCollector collector = new TopKCollector(k);
+        for (int i = from; i < to; i++) {
+            collector.collect(candidates[i], scores[i]);
+        }
+        return collector;
+    }
+
+    // Tasks are never serialized.
+    @SuppressWarnings("serial")
+    private static class ScoringTask extends RecursiveTask<TopKCollector> {
+        private final int[] candidates;
+        private final int from;
+        private final int to;
+        private final int k;
+        private final ChunkScorer scorer;
+        private final double[] scores;
+        private final int chunkSize;
+
+        ScoringTask(int[] candidates, int from, int to, int k, ChunkScorer scorer, double[] scores,
+                    int chunkSize) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.scorer = scorer;
+            this.scores = scores;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected TopKCollector compute() {
+            if (this.to - this.from <= this.chunkSize) {
+                return score(this.candidates, this.from, this.to, this.k, this.scorer, this.scores);
+            }
+            int middle = (this.from + this.to) >>> 1;
+            ScoringTask left = new ScoringTask(
+                    this.candidates, this.from, middle, this.k, this.scorer, this.scores, this.chunkSize);
+            ScoringTask right = new ScoringTask(
+                    this.candidates, middle, this.to, this.k, this.scorer, this.scores, this.chunkSize);
+            left.fork();
+            TopKCollector collector = right.compute();
+            collector.merge(left.join());
+            return collector;
+        }
+    }
+}
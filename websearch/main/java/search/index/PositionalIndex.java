@@ -0,0 +1,481 @@
+package search.index;
+
+import search.misc.BinaryFormat;
+import search.misc.exceptions.DataExtractionException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Stores, for every term, the documents containing it along with the position of
+ * every occurrence of the term in them, so that phrase and proximity queries can be
+ * answered without rescanning the words of any document.
+ *
+ * Positions are what makes an index large, so they are kept apart from the postings
+ * used for scoring: an index without positions simply has no PositionalIndex.
+ *
+ * The layout is (all fixed-size numbers big-endian):
+ *
+ *     int     magic number ("WSPP")
+ *     int     format version
+ *     long    fingerprint of the pages it was computed from (see SearchEngine)
+ *     int     number of documents
+ *     int     number of terms T
+ *     int     T + 1 offsets where the postings of each term start
+ *
+ * followed by the postings of every term:
+ *
+ *     int     number of documents N containing the term
+ *     N x     the gap between the document id and the previous one, the number of
+ *             occurrences C of the term in the document, then the gap between each
+ *             position and the previous one (the first one relative to -1); all of
+ *             them in variable-byte encoding
+ *
+ * Positions are word indexes in the document, so consecutive occurrences are usually
+ * a few words apart and most gaps fit in a single byte.
+ */
+public class PositionalIndex {
+    private static final int MAGIC = 0x57535050;
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 24;
+
+    private ByteBuffer buffer;
+
+    private PositionalIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps the index stored in the given file into memory.
+     *
+     * Returns null if the file does not exist, was written by a different version of
+     * this class, or was computed from a source folder with a different fingerprint.
+     */
+    public static PositionalIndex open(Path file, long expectedFingerprint) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new DataExtractionException("Positional index is too large to be mapped: " + file);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getLong(8) != expectedFingerprint) {
+                return null;
+            }
+            return new PositionalIndex(buffer);
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not open positional index " + file, ex);
+        }
+    }
+
+    /**
+     * Writes this index to the given file, tagged with the given source fingerprint.
+     * The file is replaced atomically.
+     *
+     * @throws DataExtractionException  if the file could not be written
+     */
+    public void write(Path file, long fingerprint) {
+        byte[] header = new byte[HEADER_SIZE];
+        ByteBuffer.wrap(header).putInt(MAGIC).putInt(VERSION).putLong(fingerprint)
+                .putInt(this.size()).putInt(this.getTermCount());
+        BinaryFormat.writeAtomically(file, this.buffer, header);
+    }
+
+    /**
+     * Returns the number of documents the positions of this index refer to.
+     */
+    public int size() {
+        return this.buffer.getInt(16);
+    }
+
+    public int getTermCount() {
+        return this.buffer.getInt(20);
+    }
+
+    /**
+     * Returns the size of this index, in bytes.
+     */
+    public long getSizeInBytes() {
+        return this.buffer.capacity();
+    }
+
+    /**
+     * Returns the ids of the documents containing the given terms one right after the
+     * other, in order, sorted in ascending order. Negative term ids (unknown words) match
+     * no document.
+     */
+    public int[] findPhrase(int[] termIds) {
+        PositionCursor[] cursors = this.getCursors(termIds);
+        if (cursors == null) {
+            return new int[0];
+        }
+        return intersect(cursors, docId -> {
+            int[] first = cursors[0].positions();
+            for (int i = 0; i < cursors[0].count; i++) {
+                boolean matches = true;
+                for (int j = 1; j < cursors.length && matches; j++) {
+                    int[] positions = cursors[j].positions();
+                    matches = Arrays.binarySearch(positions, 0, cursors[j].count, first[i] + j) >= 0;
+                }
+                if (matches) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Returns the ids of the documents containing every given term, in any order, with
+     * at most 'slop' other words between the first and the last of them, sorted in
+     * ascending order. A term given several times must appear that many times. With a
+     * slop of 0, the terms must be right next to each other.
+     *
+     * @throws IllegalArgumentException  if slop < 0
+     */
+    public int[] findNear(int[] termIds, int slop) {
+        if (slop < 0) {
+            throw new IllegalArgumentException("The slop must be non-negative");
+        }
+        // Every distinct term, along with how many times it must appear.
+        int[] sorted = termIds.clone();
+        Arrays.sort(sorted);
+        int numDistinct = 0;
+        int[] required = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[numDistinct] = sorted[i];
+                numDistinct++;
+            }
+            required[numDistinct - 1]++;
+        }
+        int[] distinct = Arrays.copyOf(sorted, numDistinct);
+
+        PositionCursor[] cursors = this.getCursors(distinct);
+        if (cursors == null) {
+            return new int[0];
+        }
+        int maxSpan = termIds.length - 1 + slop;
+        return intersect(cursors, docId -> hasWindow(cursors, required, maxSpan));
+    }
+
+    /**
+     * Returns true if some window of at most 'maxSpan + 1' consecutive positions holds
+     * required[i] occurrences of the term of every cursors[i].
+     */
+    private static boolean hasWindow(PositionCursor[] cursors, int[] required, int maxSpan) {
+        // Merge the occurrences of every term, packed as (position, term index).
+        int total = 0;
+        for (PositionCursor cursor : cursors) {
+            total += cursor.count;
+        }
+        long[] occurrences = new long[total];
+        int size = 0;
+        for (int i = 0; i < cursors.length; i++) {
+            int[] positions = cursors[i].positions();
+            for (int j = 0; j < cursors[i].count; j++) {
+                occurrences[size] = ((long) positions[j] << 32) | i;
+                size++;
+            }
+        }
+        Arrays.sort(occurrences);
+
+        // Slide a window over them, shrinking it from the left whenever it holds enough
+        // occurrences of every term.
+        int[] counts = new int[cursors.length];
+        int missing = cursors.length;
+        int left = 0;
+        for (int right = 0; right < total; right++) {
+            int term = (int) occurrences[right];
+            counts[term]++;
+            if (counts[term] == required[term]) {
+                missing--;
+            }
+            while (missing == 0) {
+                int span = (int) (occurrences[right] >>> 32) - (int) (occurrences[left] >>> 32);
+                if (span <= maxSpan) {
+                    return true;
+                }
+                int leftTerm = (int) occurrences[left];
+                if (counts[leftTerm] == required[leftTerm]) {
+                    missing++;
+                }
+                counts[leftTerm]--;
+                left++;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface DocumentFilter {
+        boolean matches(int docId);
+    }
+
+    /**
+     * Returns the ids of the documents found by every cursor and accepted by the filter,
+     * which is called while every cursor is positioned on the document.
+     */
+    private static int[] intersect(PositionCursor[] cursors, DocumentFilter filter) {
+        int[] output = new int[16];
+        int size = 0;
+        int target = cursors[0].docId;
+        while (target != PostingCursor.NO_MORE_DOCS) {
+            boolean aligned = true;
+            for (PositionCursor cursor : cursors) {
+                int docId = cursor.advance(target);
+                if (docId != target) {
+                    target = docId;
+                    aligned = false;
+                    break;
+                }
+            }
+            if (!aligned) {
+                continue;
+            }
+            if (filter.matches(target)) {
+                if (size == output.length) {
+                    output = Arrays.copyOf(output, size * 2);
+                }
+                output[size] = target;
+                size++;
+            }
+            target = cursors[0].next();
+        }
+        return Arrays.copyOf(output, size);
+    }
+
+    /**
+     * Returns a cursor for every given term, or null if one of them appears nowhere.
+     */
+    private PositionCursor[] getCursors(int[] termIds) {
+        if (termIds.length == 0) {
+            return null;
+        }
+        PositionCursor[] cursors = new PositionCursor[termIds.length];
+        for (int i = 0; i < termIds.length; i++) {
+            if (termIds[i] < 0 || termIds[i] >= this.getTermCount()) {
+                return null;
+            }
+            int start = this.buffer.getInt(HEADER_SIZE + termIds[i] * Integer.BYTES);
+            int end = this.buffer.getInt(HEADER_SIZE + (termIds[i] + 1) * Integer.BYTES);
+            if (start == end) {
+                return null;
+            }
+            cursors[i] = new PositionCursor(this.buffer, start);
+        }
+        return cursors;
+    }
+
+    /**
+     * Walks through the documents containing a term, decoding their positions only
+     * when asked for.
+     */
+    private static class PositionCursor {
+        private final ByteBuffer buffer;
+        private int remaining;
+        private final int[] offset;
+
+        private int docId;
+        private int count;
+        private int[] positions;
+        private boolean decoded;
+
+        PositionCursor(ByteBuffer buffer, int start) {
+            this.buffer = buffer;
+            this.remaining = buffer.getInt(start);
+            this.offset = new int[] {start + 4};
+            this.docId = -1;
+            this.positions = new int[16];
+            this.decoded = true;
+            this.next();
+        }
+
+        private int readVarInt() {
+            return BinaryFormat.readVarInt(this.buffer, this.offset);
+        }
+
+        int next() {
+            if (!this.decoded) {
+                // Skip over the positions of the current document.
+                for (int i = 0; i < this.count; i++) {
+                    this.readVarInt();
+                }
+            }
+            if (this.remaining == 0) {
+                this.docId = PostingCursor.NO_MORE_DOCS;
+                this.decoded = true;
+                return this.docId;
+            }
+            this.remaining--;
+            this.docId += this.readVarInt();
+            this.count = this.readVarInt();
+            this.decoded = false;
+            return this.docId;
+        }
+
+        int advance(int target) {
+            while (this.docId < target) {
+                this.next();
+            }
+            return this.docId;
+        }
+
+        /**
+         * Returns the positions of the term in the current document, in ascending order.
+         * Only the first 'count' entries of the array are used.
+         */
+        int[] positions() {
+            if (!this.decoded) {
+                if (this.positions.length < this.count) {
+                    this.positions = new int[Math.max(this.count, this.positions.length * 2)];
+                }
+                int position = -1;
+                for (int i = 0; i < this.count; i++) {
+                    position += this.readVarInt();
+                    this.positions[i] = position;
+                }
+                this.decoded = true;
+            }
+            return this.positions;
+        }
+    }
+
+    /**
+     * Collects the positions of the terms of every document, then builds them into an
+     * index held in memory. Documents must be added in ascending order of id.
+     */
+    public static class Builder {
+        // The encoded postings of every term so far, indexed by term id.
+        private byte[][] data;
+        private int[] dataSizes;
+        private int[] documentFrequencies;
+        private int[] lastDocIds;
+        private int numDocuments;
+        private int lastDocId;
+
+        public Builder() {
+            this.data = new byte[16][];
+            this.dataSizes = new int[16];
+            this.documentFrequencies = new int[16];
+            this.lastDocIds = new int[16];
+            this.numDocuments = 0;
+            this.lastDocId = -1;
+        }
+
+        /**
+         * Adds a document, given the term id of each of its words, in order.
+         *
+         * @throws IllegalArgumentException  if the document id is not greater than the
+         *                                   id of every document added before
+         */
+        public void add(int docId, int[] termIds) {
+            if (docId <= this.lastDocId) {
+                throw new IllegalArgumentException("Documents must be added in ascending order of id");
+            }
+            this.lastDocId = docId;
+            this.numDocuments = docId + 1;
+
+            // Group the positions by term, by sorting (term id, position) pairs.
+            long[] entries = new long[termIds.length];
+            for (int position = 0; position < termIds.length; position++) {
+                entries[position] = ((long) termIds[position] << 32) | position;
+            }
+            Arrays.sort(entries);
+
+            int start = 0;
+            while (start < entries.length) {
+                int termId = (int) (entries[start] >>> 32);
+                int end = start;
+                while (end < entries.length && (int) (entries[end] >>> 32) == termId) {
+                    end++;
+                }
+                this.ensureTerm(termId);
+                this.append(termId, docId - this.lastDocIds[termId]);
+                this.append(termId, end - start);
+                int previous = -1;
+                for (int i = start; i < end; i++) {
+                    int position = (int) entries[i];
+                    this.append(termId, position - previous);
+                    previous = position;
+                }
+                this.lastDocIds[termId] = docId;
+                this.documentFrequencies[termId]++;
+                start = end;
+            }
+        }
+
+        private void ensureTerm(int termId) {
+            if (termId >= this.data.length) {
+                int capacity = Math.max(termId + 1, this.data.length * 2);
+                int oldCapacity = this.data.length;
+                this.data = Arrays.copyOf(this.data, capacity);
+                this.dataSizes = Arrays.copyOf(this.dataSizes, capacity);
+                this.documentFrequencies = Arrays.copyOf(this.documentFrequencies, capacity);
+                this.lastDocIds = Arrays.copyOf(this.lastDocIds, capacity);
+                Arrays.fill(this.lastDocIds, oldCapacity, capacity, -1);
+            }
+            if (this.data[termId] == null) {
+                this.data[termId] = new byte[8];
+                this.lastDocIds[termId] = -1;
+            }
+        }
+
+        /**
+         * Appends the given non-negative number to the postings of the given term, in
+         * variable-byte encoding.
+         */
+        private void append(int termId, int value) {
+            if (this.dataSizes[termId] + 5 > this.data[termId].length) {
+                this.data[termId] = Arrays.copyOf(this.data[termId], this.data[termId].length * 2);
+            }
+            this.dataSizes[termId] = BinaryFormat.writeVarInt(this.data[termId], this.dataSizes[termId], value);
+        }
+
+        /**
+         * Returns an index of every document added so far.
+         *
+         * @param numTerms  the number of terms of the dictionary the term ids come from
+         * @param numDocuments  the number of documents the ids come from, which may be
+         *                      more than the number of documents added
+         */
+        public PositionalIndex build(int numTerms, int numDocuments) {
+            long total = HEADER_SIZE + (numTerms + 1L) * Integer.BYTES;
+            for (int termId = 0; termId < numTerms && termId < this.data.length; termId++) {
+                if (this.data[termId] != null) {
+                    total += Integer.BYTES + this.dataSizes[termId];
+                }
+            }
+            if (total > Integer.MAX_VALUE) {
+                throw new DataExtractionException("Positional index would be too large");
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) total);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(0).putInt(Math.max(numDocuments, this.numDocuments))
+                    .putInt(numTerms);
+            int offset = HEADER_SIZE + (numTerms + 1) * Integer.BYTES;
+            for (int termId = 0; termId <= numTerms; termId++) {
+                buffer.putInt(offset);
+                if (termId < numTerms && termId < this.data.length && this.data[termId] != null) {
+                    offset += Integer.BYTES + this.dataSizes[termId];
+                }
+            }
+            for (int termId = 0; termId < numTerms && termId < this.data.length; termId++) {
+                if (this.data[termId] != null) {
+                    buffer.putInt(this.documentFrequencies[termId]);
+                    buffer.put(this.data[termId], 0, this.dataSizes[termId]);
+                }
+            }
+            buffer.flip();
+            return new PositionalIndex(buffer);
+        }
+    }
+}
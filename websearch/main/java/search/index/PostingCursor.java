@@ -0,0 +1,42 @@
+package search.index;
+
+/**
+ * Iterates over the postings of a single term, in ascending document id order.
+ *
+ * A new cursor is positioned on the first posting of the term. Once every posting
+ * has been visited, 'docId' returns NO_MORE_DOCS.
+ */
+public interface PostingCursor {
+    int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+    /**
+     * Returns the document id of the current posting, or NO_MORE_DOCS if the
+     * cursor went past the last one.
+     */
+    int docId();
+
+    /**
+     * Returns the weight of the term in the current document.
+     *
+     * Precondition: 'docId()' is not NO_MORE_DOCS.
+     */
+    float weight();
+
+    /**
+     * Moves to the next posting and returns its document id, or NO_MORE_DOCS if
+     * there is none.
+     */
+    int next();
+
+    /**
+     * Moves to the first posting whose document id is at least 'target', and returns
+     * that id, or NO_MORE_DOCS if there is none. Does nothing if the current document
+     * id is already at least 'target'.
+     */
+    int advance(int target);
+
+    /**
+     * Returns the total number of postings of the term (its document frequency).
+     */
+    int size();
+}
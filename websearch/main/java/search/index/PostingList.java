@@ -0,0 +1,148 @@
+package search.index;
+
+/**
+ * Represents the list of documents that contain a single term, sorted by
+ * ascending document id, along with the weight of the term in each of those
+ * documents (its term frequency, in an InvertedIndex).
+ */
+public class PostingList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] docIds;
+    private float[] weights;
+    private int size;
+
+    /**
+     * Constructs a new, empty posting list.
+     */
+    public PostingList() {
+        this.docIds = new int[INITIAL_CAPACITY];
+        this.weights = new float[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Appends the given document and the term's weight within it to the end of this list.
+     *
+     * Precondition: the document id must be larger than every id already in this list.
+     */
+    void add(int docId, float weight) {
+        if (this.size == this.docIds.length) {
+            int[] biggerIds = new int[this.docIds.length * 2];
+            float[] biggerWeights = new float[this.docIds.length * 2];
+            System.arraycopy(this.docIds, 0, biggerIds, 0, this.size);
+            System.arraycopy(this.weights, 0, biggerWeights, 0, this.size);
+            this.docIds = biggerIds;
+            this.weights = biggerWeights;
+        }
+        this.docIds[this.size] = docId;
+        this.weights[this.size] = weight;
+        this.size++;
+    }
+
+    /**
+     * Returns the number of documents in this list (the document frequency of the term).
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the document id stored at the given position.
+     */
+    public int getDocId(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return this.docIds[index];
+    }
+
+    /**
+     * Returns the weight of the term in the document stored at the given position.
+     */
+    public float getWeight(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return this.weights[index];
+    }
+
+    /**
+     * Returns the first position at or after 'from' whose document id is at least
+     * 'target', or 'size()' if there is no such position.
+     *
+     * This gallops ahead of 'from' in steps of 1, 2, 4... before binary searching the
+     * last step, so jumping a short distance only costs a few comparisons, however
+     * long the list is.
+     */
+    public int seek(int from, int target) {
+        if (from >= this.size || this.docIds[from] >= target) {
+            return from;
+        }
+        int low = from;
+        int step = 1;
+        while (low + step < this.size && this.docIds[low + step] < target) {
+            low += step;
+            step *= 2;
+        }
+
+        // The document id at 'low' is below the target, and the one at 'high' isn't.
+        int high = Math.min(low + step, this.size);
+        low++;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.docIds[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns a new cursor over this list.
+     */
+    public PostingCursor cursor() {
+        return new ArrayCursor(this);
+    }
+
+    private static class ArrayCursor implements PostingCursor {
+        private final PostingList list;
+        private int position;
+
+        ArrayCursor(PostingList list) {
+            this.list = list;
+            this.position = 0;
+        }
+
+        @Override
+        public int docId() {
+            return this.position < this.list.size ? this.list.docIds[this.position] : NO_MORE_DOCS;
+        }
+
+        @Override
+        public float weight() {
+            return this.list.weights[this.position];
+        }
+
+        @Override
+        public int next() {
+            if (this.position < this.list.size) {
+                this.position++;
+            }
+            return this.docId();
+        }
+
+        @Override
+        public int advance(int target) {
+            this.position = this.list.seek(this.position, target);
+            return this.docId();
+        }
+
+        @Override
+        public int size() {
+            return this.list.size;
+        }
+    }
+}
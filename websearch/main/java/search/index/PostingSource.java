@@ -0,0 +1,133 @@
+package search.index;
+
+/**
+ * Anything that can hand out the postings of every term, such as an in-memory
+ * InvertedIndex or a memory-mapped IndexSegment.
+ *
+ * Terms and documents are identified by the same dense integer ids as in the
+ * TfIdfAnalyzer the postings were built from.
+ */
+public interface PostingSource {
+    int[] EMPTY = new int[0];
+
+    /**
+     * Returns the number of distinct terms, including those with no postings.
+     */
+    int getTermCount();
+
+    /**
+     * Returns a new cursor over the postings of the term with the given id, or null
+     * if no document contains it.
+     */
+    PostingCursor getCursor(int termId);
+
+    /**
+     * Returns the ids of every document containing at least one of the given
+     * terms, in ascending order and without duplicates. Negative term ids, such
+     * as those of unknown words, are ignored.
+     */
+    default int[] getCandidates(int[] termIds) {
+        // Open a cursor for every distinct known term.
+        int[] distinct = new int[termIds.length];
+        PostingCursor[] cursors = new PostingCursor[termIds.length];
+        int numCursors = 0;
+        int total = 0;
+        for (int termId : termIds) {
+            boolean seen = termId < 0;
+            for (int i = 0; i < numCursors && !seen; i++) {
+                seen = distinct[i] == termId;
+            }
+            PostingCursor cursor = seen ? null : this.getCursor(termId);
+            if (cursor != null) {
+                distinct[numCursors] = termId;
+                cursors[numCursors] = cursor;
+                numCursors++;
+                total += cursor.size();
+            }
+        }
+        if (numCursors == 0) {
+            return EMPTY;
+        }
+
+        // Merge the sorted lists, emitting each document id once.
+        int[] merged = new int[total];
+        int size = 0;
+        while (true) {
+            int next = PostingCursor.NO_MORE_DOCS;
+            for (int i = 0; i < numCursors; i++) {
+                next = Math.min(next, cursors[i].docId());
+            }
+            if (next == PostingCursor.NO_MORE_DOCS) {
+                break;
+            }
+            for (int i = 0; i < numCursors; i++) {
+                if (cursors[i].docId() == next) {
+                    cursors[i].next();
+                }
+            }
+            merged[size] = next;
+            size++;
+        }
+
+        int[] out = new int[size];
+        System.arraycopy(merged, 0, out, 0, size);
+        return out;
+    }
+
+    /**
+     * Returns the ids of every document containing all of the given terms, in
+     * ascending order. Returns an empty array if any term is unknown.
+     *
+     * The postings of the rarest term drive the intersection: every other cursor
+     * only ever jumps ahead to the next document that could match, so long lists
+     * are mostly skipped over rather than read.
+     */
+    default int[] getIntersection(int[] termIds) {
+        PostingCursor[] cursors = new PostingCursor[termIds.length];
+        for (int i = 0; i < termIds.length; i++) {
+            cursors[i] = termIds[i] < 0 ? null : this.getCursor(termIds[i]);
+            if (cursors[i] == null) {
+                return EMPTY;
+            }
+        }
+        if (cursors.length == 0) {
+            return EMPTY;
+        }
+
+        // Sort the cursors by ascending size.
+        for (int i = 1; i < cursors.length; i++) {
+            PostingCursor cursor = cursors[i];
+            int j = i;
+            while (j > 0 && cursors[j - 1].size() > cursor.size()) {
+                cursors[j] = cursors[j - 1];
+                j--;
+            }
+            cursors[j] = cursor;
+        }
+
+        int[] matches = new int[cursors[0].size()];
+        int size = 0;
+        int docId = cursors[0].docId();
+        while (docId != PostingCursor.NO_MORE_DOCS) {
+            int i = 1;
+            while (i < cursors.length) {
+                int found = cursors[i].advance(docId);
+                if (found != docId) {
+                    break;
+                }
+                i++;
+            }
+            if (i == cursors.length) {
+                matches[size] = docId;
+                size++;
+                docId = cursors[0].next();
+            } else {
+                docId = cursors[0].advance(cursors[i].docId());
+            }
+        }
+
+        int[] out = new int[size];
+        System.arraycopy(matches, 0, out, 0, size);
+        return out;
+    }
+}
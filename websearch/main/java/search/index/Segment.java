@@ -0,0 +1,266 @@
+package search.index;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import search.analyzers.TfIdfAnalyzer;
+import search.models.WebpageSummary;
+
+import java.net.URI;
+import java.util.Arrays;
+
+/**
+ * An immutable batch of indexed documents, as flushed or merged by an IndexWriter,
+ * or the index the writer started from.
+ *
+ * Every segment has its own document ids, but the segments of a writer share its
+ * term ids. Since the IDF of a term depends on every segment, segments only store
+ * term frequencies: TF-IDF weights are computed at search time by an IndexView.
+ */
+final class Segment {
+    private final URI[] documents;
+    private final IDictionary<URI, Integer> documentIds;
+    private final SparseVector[] vectors;
+    private final PostingSource postings;
+    private final DocStore summaries;
+
+    // The positions of the words of every document, or null if they are not indexed.
+    // Segments built by a writer also keep the term ids of the words of every
+    // document, in order, so their positions can be merged.
+    private final PositionalIndex positions;
+    private final int[][] documentWords;
+
+    // The norms of the TF-IDF vectors of the index a writer started from, as computed
+    // when it was built, or null for segments built by the writer. They are only valid
+    // as long as nothing else changed. The starting segment is never merged.
+    private final double[] norms;
+
+    private Segment(URI[] documents, SparseVector[] vectors, PostingSource postings, DocStore summaries,
+                    PositionalIndex positions, int[][] documentWords, double[] norms) {
+        this.documents = documents;
+        this.vectors = vectors;
+        this.postings = postings;
+        this.summaries = summaries;
+        this.positions = positions;
+        this.documentWords = documentWords;
+        this.norms = norms;
+
+        this.documentIds = new ChainedHashDictionary<>();
+        for (int docId = 0; docId < documents.length; docId++) {
+            this.documentIds.put(documents[docId], docId);
+        }
+    }
+
+    /**
+     * Returns a segment holding the documents of the given analyzer, with the same
+     * document and term ids.
+     *
+     * @param postings   the postings of the analyzer's term frequency vectors
+     * @param positions  the positions of the analyzer's documents, or null
+     * @param summaries  the summaries of the analyzer's documents
+     */
+    static Segment of(TfIdfAnalyzer analyzer, PostingSource postings, PositionalIndex positions,
+                      DocStore summaries) {
+        URI[] documents = new URI[analyzer.getDocumentCount()];
+        SparseVector[] vectors = new SparseVector[documents.length];
+        double[] norms = new double[documents.length];
+        for (int docId = 0; docId < documents.length; docId++) {
+            documents[docId] = analyzer.getUri(docId);
+            vectors[docId] = analyzer.getTermFrequencyVector(docId);
+            norms[docId] = analyzer.computeDocumentNorm(docId);
+        }
+        return new Segment(documents, vectors, postings, summaries, positions, null, norms);
+    }
+
+    /**
+     * Returns a new segment holding the documents of the given segments that are
+     * not deleted, in order.
+     *
+     * @param terms  a dictionary holding every term of the segments, which is not
+     *               changed while merging
+     */
+    static Segment merge(Segment[] segments, DeletedDocs[] deleted, TermDictionary terms) {
+        Builder builder = new Builder(terms, segments[0].positions != null);
+        for (int i = 0; i < segments.length; i++) {
+            Segment segment = segments[i];
+            for (int docId = 0; docId < segment.size(); docId++) {
+                if (!deleted[i].isDeleted(docId)) {
+                    builder.add(segment.getSummary(docId), segment.vectors[docId],
+                            segment.documentWords == null ? null : segment.documentWords[docId]);
+                }
+            }
+        }
+        return builder.build(terms);
+    }
+
+    /**
+     * Returns the number of documents in this segment, including deleted ones.
+     */
+    int size() {
+        return this.documents.length;
+    }
+
+    URI getUri(int docId) {
+        return this.documents[docId];
+    }
+
+    WebpageSummary getSummary(int docId) {
+        return this.summaries.get(docId);
+    }
+
+    /**
+     * Returns the id of the document with the given URI, or -1 if it is not in this segment.
+     */
+    int getDocumentId(URI uri) {
+        return this.documentIds.getOrDefault(uri, -1);
+    }
+
+    /**
+     * Returns the term frequency vector of the given document.
+     */
+    SparseVector getVector(int docId) {
+        return this.vectors[docId];
+    }
+
+    /**
+     * Returns the term id of every word of the given document, in order, or null if
+     * this segment was not built by a writer or does not index positions.
+     */
+    int[] getWords(int docId) {
+        return this.documentWords == null ? null : this.documentWords[docId];
+    }
+
+    /**
+     * Returns a cursor over the postings of the given term in this segment, or null
+     * if no document of this segment contains it.
+     */
+    PostingCursor getCursor(int termId) {
+        return termId < this.postings.getTermCount() ? this.postings.getCursor(termId) : null;
+    }
+
+    /**
+     * Returns true if every term id below the given one may have postings in this
+     * segment, so its postings can be used as they are for that many terms.
+     */
+    boolean coversTerms(int numTerms) {
+        return this.postings.getTermCount() == numTerms;
+    }
+
+    PostingSource getPostings() {
+        return this.postings;
+    }
+
+    /**
+     * Returns the positions of the words of every document, or null if they are not indexed.
+     */
+    PositionalIndex getPositions() {
+        return this.positions;
+    }
+
+    /**
+     * Returns the norms this segment was built with (see 'norms'), or null.
+     */
+    double[] getNorms() {
+        return this.norms;
+    }
+
+    /**
+     * Returns true if this segment was built by a writer, and may therefore be merged.
+     */
+    boolean isMergeable() {
+        return this.norms == null;
+    }
+
+    /**
+     * Collects documents, then builds them into a segment.
+     */
+    static final class Builder {
+        private final TermDictionary terms;
+        private final boolean indexPositions;
+        private URI[] documents = new URI[16];
+        private SparseVector[] vectors = new SparseVector[16];
+        private int[][] documentWords = new int[16][];
+        private DocStore.Builder summaries = new DocStore.Builder();
+        private int size = 0;
+
+        /**
+         * @param terms           the dictionary the words of every document are added to
+         * @param indexPositions  whether to index the positions of the words
+         */
+        Builder(TermDictionary terms, boolean indexPositions) {
+            this.terms = terms;
+            this.indexPositions = indexPositions;
+        }
+
+        /**
+         * Adds a document with the given summary and words, adding its words to the
+         * dictionary of this builder.
+         */
+        void add(WebpageSummary summary, IList<String> words) {
+            TermCounts counts = TermCounts.of(words);
+            int[] ids = new int[counts.words.length];
+            int[] termCounts = new int[counts.words.length];
+            counts.resolve(this.terms, ids, termCounts);
+
+            int[] wordIds = null;
+            if (this.indexPositions) {
+                // Every word was added to the dictionary while resolving the counts.
+                wordIds = new int[words.size()];
+                int i = 0;
+                for (String word : words) {
+                    wordIds[i] = this.terms.getId(word);
+                    i++;
+                }
+            }
+            this.add(summary, TfIdfAnalyzer.computeTfVector(ids, termCounts, counts.length), wordIds);
+        }
+
+        /**
+         * Adds a document with the given summary, term frequency vector and term ids
+         * of its words, which must all be in the dictionary of this builder already.
+         *
+         * @param wordIds  the term id of every word of the document, in order, or null
+         *                 if positions are not indexed
+         */
+        void add(WebpageSummary summary, SparseVector vector, int[] wordIds) {
+            if (this.size == this.documents.length) {
+                int capacity = this.size * 2;
+                this.documents = Arrays.copyOf(this.documents, capacity);
+                this.vectors = Arrays.copyOf(this.vectors, capacity);
+                this.documentWords = Arrays.copyOf(this.documentWords, capacity);
+            }
+            this.documents[this.size] = summary.getUri();
+            this.vectors[this.size] = vector;
+            this.documentWords[this.size] = wordIds;
+            this.summaries.add(summary);
+            this.size++;
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        /**
+         * Builds the documents added so far into a segment.
+         *
+         * @param terms  a dictionary holding every term of the documents, which must not
+         *               change afterwards; the builder's own dictionary may keep growing
+         */
+        Segment build(TermDictionary terms) {
+            URI[] documents = Arrays.copyOf(this.documents, this.size);
+            SparseVector[] vectors = Arrays.copyOf(this.vectors, this.size);
+            PositionalIndex positions = null;
+            int[][] documentWords = null;
+            if (this.indexPositions) {
+                documentWords = Arrays.copyOf(this.documentWords, this.size);
+                PositionalIndex.Builder builder = new PositionalIndex.Builder();
+                for (int docId = 0; docId < this.size; docId++) {
+                    builder.add(docId, documentWords[docId]);
+                }
+                positions = builder.build(terms.size(), this.size);
+            }
+            return new Segment(documents, vectors, new InvertedIndex(terms, documents, vectors),
+                    this.summaries.build(), positions, documentWords, null);
+        }
+    }
+}
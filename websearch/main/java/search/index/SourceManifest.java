@@ -0,0 +1,170 @@
+package search.index;
+
+import search.misc.BinaryFormat;
+import search.misc.exceptions.DataExtractionException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * The webpage files of a data folder, each with its fingerprint, compared with the
+ * pages stored by a previous run: this tells which files need to be parsed again.
+ *
+ * Only files whose size or modification time changed since they were stored are
+ * read, to hash their content. Everything else costs a single lookup in the store,
+ * so scanning a folder after a partial recrawl takes time proportional to the number
+ * of files that were crawled again.
+ */
+public class SourceManifest {
+    // Every file, sorted by path relative to the data folder.
+    private final String[] paths;
+    private final FileFingerprint[] fingerprints;
+
+    // Per file: the index of the page stored for it if it did not change, or -1.
+    private final int[] storedPages;
+
+    private final int numChanged;
+    private final int numRemoved;
+    private final boolean storeOutOfDate;
+
+    private SourceManifest(String[] paths, FileFingerprint[] fingerprints, int[] storedPages,
+                           int numChanged, int numRemoved, boolean storeOutOfDate) {
+        this.paths = paths;
+        this.fingerprints = fingerprints;
+        this.storedPages = storedPages;
+        this.numChanged = numChanged;
+        this.numRemoved = numRemoved;
+        this.storeOutOfDate = storeOutOfDate;
+    }
+
+    /**
+     * Fingerprints every .htm and .html file under the given folder, comparing them with
+     * the files the pages of the given store were parsed from. The store may be null,
+     * in which case every file counts as changed.
+     *
+     * @throws DataExtractionException  if the folder or one of its files could not be read
+     */
+    public static SourceManifest scan(Path root, PageStore store) {
+        String[] paths;
+        try (Stream<Path> files = Files.walk(root)) {
+            paths = files
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith(".htm") || path.toString().endsWith(".html"))
+                    .map(path -> root.relativize(path).toString())
+                    .toArray(String[]::new);
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not find given root folder.", ex);
+        }
+        Arrays.sort(paths);
+
+        FileFingerprint[] fingerprints = new FileFingerprint[paths.length];
+        int[] storedPages = new int[paths.length];
+        int numChanged = 0;
+        int numStored = 0;
+        boolean storeOutOfDate = store == null;
+        for (int i = 0; i < paths.length; i++) {
+            int index = store != null ? store.find(paths[i]) : -1;
+            FileFingerprint previous = index >= 0 ? store.getFileFingerprint(index) : null;
+            fingerprints[i] = FileFingerprint.of(root.resolve(paths[i]), previous);
+            storedPages[i] = previous != null && previous.hasSameContent(fingerprints[i]) ? index : -1;
+            if (index >= 0) {
+                numStored++;
+            }
+            if (storedPages[i] < 0) {
+                numChanged++;
+            }
+            // A file touched without changes keeps its page, but the store should get its
+            // new modification time to avoid hashing it every time.
+            if (fingerprints[i] != previous) {
+                storeOutOfDate = true;
+            }
+        }
+        int numRemoved = store != null ? store.size() - numStored : 0;
+        storeOutOfDate |= numRemoved > 0;
+
+        return new SourceManifest(paths, fingerprints, storedPages, numChanged, numRemoved, storeOutOfDate);
+    }
+
+    /**
+     * Returns the number of files in the folder.
+     */
+    public int size() {
+        return this.paths.length;
+    }
+
+    /**
+     * Returns the index of the file with the given path relative to the data folder,
+     * or -1 if it was not in the folder when it was scanned.
+     */
+    public int find(String path) {
+        return Math.max(-1, Arrays.binarySearch(this.paths, path));
+    }
+
+    /**
+     * Returns the path of the file with the given index, relative to the data folder.
+     * Files are sorted by path.
+     */
+    public String getPath(int index) {
+        return this.paths[index];
+    }
+
+    public FileFingerprint getFileFingerprint(int index) {
+        return this.fingerprints[index];
+    }
+
+    /**
+     * Returns the index, in the store given to 'scan', of the page parsed from the file
+     * with the given index, or -1 if the file is new or changed since.
+     */
+    public int getStoredPage(int index) {
+        return this.storedPages[index];
+    }
+
+    /**
+     * Returns the number of files which are new or changed since they were stored.
+     */
+    public int getChangedCount() {
+        return this.numChanged;
+    }
+
+    /**
+     * Returns the number of stored pages whose file is no longer in the folder.
+     */
+    public int getRemovedCount() {
+        return this.numRemoved;
+    }
+
+    /**
+     * Returns true if the store given to 'scan' does not match the folder anymore, and
+     * should be written again.
+     */
+    public boolean isStoreOutOfDate() {
+        return this.storeOutOfDate;
+    }
+
+    /**
+     * Returns a fingerprint of the content of the whole folder. It only changes when
+     * some file is added, removed, or has its content changed, not when a file is
+     * merely written again. A store holding the pages of every file of the folder as
+     * they are now has the same fingerprint (see 'PageStore.getFingerprint').
+     */
+    public long getFingerprint() {
+        long hash = BinaryFormat.FNV_OFFSET_BASIS;
+        for (int i = 0; i < this.paths.length; i++) {
+            hash = addToFingerprint(hash, this.paths[i], this.fingerprints[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the given fingerprint, updated with the path, size and content hash of
+     * the next file. Files must be added in the order of their paths.
+     */
+    static long addToFingerprint(long hash, String path, FileFingerprint fingerprint) {
+        String entry = path + "|" + fingerprint.getSize() + "|" + fingerprint.getContentHash();
+        return BinaryFormat.hash(BinaryFormat.hash(hash, entry), '\n');
+    }
+}
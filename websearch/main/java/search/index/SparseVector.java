@@ -0,0 +1,95 @@
+package search.index;
+
+/**
+ * An immutable sparse vector of term weights, stored as two parallel arrays
+ * sorted by ascending term id.
+ */
+public class SparseVector {
+    private static final SparseVector EMPTY = new SparseVector(new int[0], new float[0]);
+
+    private int[] termIds;
+    private float[] weights;
+
+    /**
+     * Constructs a new vector out of the given arrays. The arrays are not copied,
+     * so the caller must not modify them afterwards.
+     *
+     * @throws IllegalArgumentException  if the arrays have different lengths or if
+     *                                   the term ids are not strictly increasing
+     */
+    public SparseVector(int[] termIds, float[] weights) {
+        if (termIds.length != weights.length) {
+            throw new IllegalArgumentException("Term ids and weights must have the same length");
+        }
+        for (int i = 1; i < termIds.length; i++) {
+            if (termIds[i - 1] >= termIds[i]) {
+                throw new IllegalArgumentException("Term ids must be strictly increasing");
+            }
+        }
+        this.termIds = termIds;
+        this.weights = weights;
+    }
+
+    /**
+     * Returns a vector with no entries.
+     */
+    public static SparseVector empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the number of entries in this vector.
+     */
+    public int size() {
+        return this.termIds.length;
+    }
+
+    /**
+     * Returns the term id of the entry at the given position.
+     */
+    public int getTermId(int index) {
+        return this.termIds[index];
+    }
+
+    /**
+     * Returns the weight of the entry at the given position.
+     */
+    public float getWeight(int index) {
+        return this.weights[index];
+    }
+
+    /**
+     * Returns the dot product of this vector and the other one, computed by
+     * merging the two sorted lists of term ids.
+     */
+    public double dot(SparseVector other) {
+        double sum = 0.0;
+        int i = 0;
+        int j = 0;
+        while (i < this.termIds.length && j < other.termIds.length) {
+            int a = this.termIds[i];
+            int b = other.termIds[j];
+            if (a == b) {
+                sum += (double) this.weights[i] * other.weights[j];
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the euclidean norm of this vector.
+     */
+    public double norm() {
+        double sum = 0.0;
+        for (float weight : this.weights) {
+            sum += (double) weight * weight;
+        }
+        return Math.sqrt(sum);
+    }
+}
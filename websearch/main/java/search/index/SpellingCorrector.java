@@ -0,0 +1,258 @@
+package search.index;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.interfaces.ISet;
+import search.misc.BinaryFormat;
+
+import java.util.Arrays;
+
+/**
+ * Finds the known word closest to a misspelled one.
+ *
+ * This uses symmetric deletes: two words are at most d edits apart only if deleting
+ * at most d characters from each of them gives the same string. So every known word
+ * is indexed under every string obtained by deleting up to d of its characters, and
+ * a misspelled word is looked up under its own deletes. The few words found that
+ * way are then checked with an actual edit distance. Looking a word up costs a
+ * number of hash lookups depending only on its length, however large the
+ * vocabulary.
+ *
+ * Only the first PREFIX_LENGTH characters of words are used for deletes, which keeps
+ * the index small: long words mostly differ in their beginning anyway, and their full
+ * edit distance is still checked.
+ *
+ * Distances count insertions, deletions, substitutions, and swaps of two adjacent
+ * characters as one edit each.
+ */
+public class SpellingCorrector {
+    public static final int DEFAULT_MAX_DISTANCE = 2;
+    public static final int PREFIX_LENGTH = 7;
+
+    private static final int NO_ENTRY = -1;
+
+    private final String[] words;
+    private final int[] weights;
+    private final int maxDistance;
+
+    // An open-addressing table mapping the hash of every delete to the first entry of a
+    // chain of word ids. A hash with no entry is 0, and the hash of any string is odd.
+    private long[] hashes;
+    private int[] heads;
+    private int numKeys;
+
+    // The chains: entry i holds the word id entryWords[i] and continues at entry nextEntries[i].
+    private int[] entryWords;
+    private int[] nextEntries;
+    private int numEntries;
+
+    /**
+     * Indexes the given words, where a word is a better correction the higher its
+     * weight is, among words at the same distance.
+     *
+     * @throws IllegalArgumentException  if the arrays have different lengths or maxDistance < 0
+     */
+    public SpellingCorrector(String[] words, int[] weights, int maxDistance) {
+        if (words.length != weights.length || maxDistance < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.words = words.clone();
+        this.weights = weights.clone();
+        this.maxDistance = maxDistance;
+
+        this.hashes = new long[64];
+        this.heads = new int[64];
+        this.entryWords = new int[64];
+        this.nextEntries = new int[64];
+        for (int wordId = 0; wordId < words.length; wordId++) {
+            String prefix = words[wordId].substring(0, Math.min(PREFIX_LENGTH, words[wordId].length()));
+            this.addDeletes(prefix, wordId, maxDistance);
+        }
+    }
+
+    /**
+     * Indexes the surface form of every term of the given view, preferring the terms
+     * contained in the most live documents. Terms which only appear in deleted
+     * documents are left out.
+     */
+    public static SpellingCorrector of(IndexView view, SurfaceForms surfaceForms, int maxDistance) {
+        String[] words = new String[surfaceForms.size()];
+        int[] weights = new int[surfaceForms.size()];
+        int size = 0;
+        for (int termId = 0; termId < words.length; termId++) {
+            if (view.getDocumentFrequency(termId) > 0) {
+                words[size] = surfaceForms.getWord(termId);
+                weights[size] = view.getDocumentFrequency(termId);
+                size++;
+            }
+        }
+        return new SpellingCorrector(Arrays.copyOf(words, size), Arrays.copyOf(weights, size), maxDistance);
+    }
+
+    /**
+     * Returns the given word if it is known. Otherwise, returns the closest known word
+     * within the maximum distance, preferring heavier words then alphabetical order
+     * among words at the same distance, or null if there is none.
+     */
+    public String correct(String word) {
+        String prefix = word.substring(0, Math.min(PREFIX_LENGTH, word.length()));
+        ISet<String> deletes = new ChainedHashSet<>();
+        collectDeletes(prefix, this.maxDistance, deletes);
+
+        String best = null;
+        int bestDistance = this.maxDistance + 1;
+        int bestWeight = 0;
+        for (String delete : deletes) {
+            for (int entry = this.find(delete); entry != NO_ENTRY; entry = this.nextEntries[entry]) {
+                String candidate = this.words[this.entryWords[entry]];
+                int weight = this.weights[this.entryWords[entry]];
+                if (Math.abs(candidate.length() - word.length()) > Math.min(bestDistance, this.maxDistance)) {
+                    continue;
+                }
+                int distance = distance(word, candidate, Math.min(bestDistance, this.maxDistance));
+                if (distance > this.maxDistance) {
+                    continue;
+                }
+                boolean better = distance < bestDistance
+                        || (distance == bestDistance && (weight > bestWeight
+                            || (weight == bestWeight && candidate.compareTo(best) < 0)));
+                if (better) {
+                    best = candidate;
+                    bestDistance = distance;
+                    bestWeight = weight;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the edit distance between the given words, or any number greater than
+     * 'limit' if it is greater than 'limit'.
+     */
+    static int distance(String a, String b, int limit) {
+        // Only three rows of the usual dynamic programming table are needed.
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Adds the given word, and every string obtained by deleting up to 'depth'
+     * characters from it, to the deletes of the given word id.
+     */
+    private void addDeletes(String word, int wordId, int depth) {
+        int entry = this.find(word);
+        if (entry != NO_ENTRY && this.entryWords[entry] == wordId) {
+            // Reached through another order of deletions: its deletes were added too.
+            return;
+        }
+        this.addEntry(word, wordId);
+        if (depth > 0) {
+            for (int i = 0; i < word.length(); i++) {
+                this.addDeletes(word.substring(0, i) + word.substring(i + 1), wordId, depth - 1);
+            }
+        }
+    }
+
+    private static void collectDeletes(String word, int depth, ISet<String> output) {
+        if (output.contains(word)) {
+            return;
+        }
+        output.add(word);
+        if (depth > 0) {
+            for (int i = 0; i < word.length(); i++) {
+                collectDeletes(word.substring(0, i) + word.substring(i + 1), depth - 1, output);
+            }
+        }
+    }
+
+    /**
+     * Returns the first entry of the chain of the given delete, or NO_ENTRY. Since only
+     * hashes are stored, the chain may contain words of other deletes with the same
+     * hash, which 'correct' rules out when checking distances.
+     */
+    private int find(String delete) {
+        long hash = hash(delete);
+        int slot = this.slotOf(hash);
+        return this.hashes[slot] == hash ? this.heads[slot] : NO_ENTRY;
+    }
+
+    private void addEntry(String delete, int wordId) {
+        if (this.numEntries == this.entryWords.length) {
+            this.entryWords = Arrays.copyOf(this.entryWords, this.numEntries * 2);
+            this.nextEntries = Arrays.copyOf(this.nextEntries, this.numEntries * 2);
+        }
+        if ((this.numKeys + 1) * 2 > this.hashes.length) {
+            this.resize();
+        }
+
+        long hash = hash(delete);
+        int slot = this.slotOf(hash);
+        if (this.hashes[slot] == 0) {
+            this.hashes[slot] = hash;
+            this.heads[slot] = NO_ENTRY;
+            this.numKeys++;
+        }
+        this.entryWords[this.numEntries] = wordId;
+        this.nextEntries[this.numEntries] = this.heads[slot];
+        this.heads[slot] = this.numEntries;
+        this.numEntries++;
+    }
+
+    /**
+     * Returns the slot holding the given hash, or the empty slot where it would go.
+     */
+    private int slotOf(long hash) {
+        int mask = this.hashes.length - 1;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (this.hashes[slot] != 0 && this.hashes[slot] != hash) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldHashes = this.hashes;
+        int[] oldHeads = this.heads;
+        this.hashes = new long[oldHashes.length * 2];
+        this.heads = new int[oldHashes.length * 2];
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != 0) {
+                int slot = this.slotOf(oldHashes[i]);
+                this.hashes[slot] = oldHashes[i];
+                this.heads[slot] = oldHeads[i];
+            }
+        }
+    }
+
+    /**
+     * Returns a 64-bit FNV-1a hash of the given string, made odd so it is never 0.
+     */
+    private static long hash(String value) {
+        return BinaryFormat.hash(BinaryFormat.FNV_OFFSET_BASIS, value) | 1;
+    }
+}
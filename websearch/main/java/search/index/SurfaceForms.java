@@ -0,0 +1,131 @@
+package search.index;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import search.misc.AnalysisChain;
+
+/**
+ * The word shown to users for every term of an index: with an analysis chain which
+ * stems words, terms are stems such as 'connect', which nobody types, so completions
+ * and spelling corrections use the word each term most often came from in the pages
+ * instead ('connection').
+ */
+public class SurfaceForms {
+    private final String[] words;
+
+    /**
+     * Constructs the surface forms of the terms 0 to words.length - 1, where words[i]
+     * is the word shown for the term with id i.
+     */
+    public SurfaceForms(String[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Returns the surface forms of an index built without analysis, where every term
+     * is shown as it is.
+     */
+    public static SurfaceForms of(TermDictionary terms) {
+        String[] words = new String[terms.size()];
+        for (int termId = 0; termId < words.length; termId++) {
+            words[termId] = terms.getTerm(termId);
+        }
+        return new SurfaceForms(words);
+    }
+
+    /**
+     * Returns the number of terms.
+     */
+    public int size() {
+        return this.words.length;
+    }
+
+    /**
+     * Returns the word shown for the term with the given id.
+     */
+    public String getWord(int termId) {
+        return this.words[termId];
+    }
+
+    /**
+     * Returns the surface forms of the terms of these surface forms, followed by the
+     * surface forms of the terms added since, taken from the given ones.
+     */
+    public SurfaceForms extendedWith(SurfaceForms newer) {
+        if (newer.size() <= this.size()) {
+            return this;
+        }
+        String[] words = new String[newer.size()];
+        System.arraycopy(this.words, 0, words, 0, this.words.length);
+        System.arraycopy(newer.words, this.words.length, words, this.words.length,
+                words.length - this.words.length);
+        return new SurfaceForms(words);
+    }
+
+    /**
+     * Counts the words of pages before they are analyzed. Pages may be added from
+     * several threads at the same time.
+     */
+    public static class Builder {
+        private final AnalysisChain analysis;
+        private final IDictionary<String, Integer> counts;
+
+        public Builder(AnalysisChain analysis) {
+            this.analysis = analysis;
+            this.counts = new ChainedHashDictionary<>();
+        }
+
+        /**
+         * Counts the given words, which must be the words of a page before analysis.
+         * Nothing is counted if the analysis chain keeps every word as it is.
+         */
+        public void add(IList<String> words) {
+            if (this.analysis.isIdentity()) {
+                return;
+            }
+            // Counted apart first, so other threads only wait for the distinct words.
+            IDictionary<String, Integer> pageCounts = new ChainedHashDictionary<>();
+            for (String word : words) {
+                pageCounts.put(word, pageCounts.getOrDefault(word, 0) + 1);
+            }
+            synchronized (this.counts) {
+                for (KVPair<String, Integer> pair : pageCounts) {
+                    this.counts.put(pair.getKey(), this.counts.getOrDefault(pair.getKey(), 0) + pair.getValue());
+                }
+            }
+        }
+
+        /**
+         * Returns the surface form of every term of the given dictionary: the word
+         * analyzed into it the most times, or the alphabetically first of those words
+         * in case of a tie. Terms no counted word is analyzed into are shown as they are.
+         */
+        public SurfaceForms build(TermDictionary terms) {
+            String[] words = new String[terms.size()];
+            int[] bestCounts = new int[terms.size()];
+            synchronized (this.counts) {
+                for (KVPair<String, Integer> pair : this.counts) {
+                    String term = this.analysis.analyze(pair.getKey());
+                    int termId = term == null ? -1 : terms.getId(term);
+                    if (termId < 0) {
+                        continue;
+                    }
+                    int count = pair.getValue();
+                    if (count > bestCounts[termId]
+                            || (count == bestCounts[termId] && pair.getKey().compareTo(words[termId]) < 0)) {
+                        words[termId] = pair.getKey();
+                        bestCounts[termId] = count;
+                    }
+                }
+            }
+            for (int termId = 0; termId < words.length; termId++) {
+                if (words[termId] == null) {
+                    words[termId] = terms.getTerm(termId);
+                }
+            }
+            return new SurfaceForms(words);
+        }
+    }
+}
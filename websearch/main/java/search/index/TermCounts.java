@@ -0,0 +1,63 @@
+package search.index;
+
+import datastructures.interfaces.IList;
+
+import java.util.Arrays;
+
+/**
+ * The distinct words of a document, sorted, along with how many times each one
+ * appears and the total number of words in the document.
+ */
+final class TermCounts {
+    final String[] words;
+    final int[] counts;
+    final int length;
+
+    TermCounts(String[] words, int[] counts, int length) {
+        this.words = words;
+        this.counts = counts;
+        this.length = length;
+    }
+
+    /**
+     * Counts the given words.
+     */
+    static TermCounts of(IList<String> words) {
+        String[] sorted = new String[words.size()];
+        int i = 0;
+        for (String word : words) {
+            sorted[i] = word;
+            i++;
+        }
+        Arrays.sort(sorted);
+
+        int numDistinct = 0;
+        int[] counts = new int[sorted.length];
+        for (i = 0; i < sorted.length; i++) {
+            if (i == 0 || !sorted[i].equals(sorted[i - 1])) {
+                sorted[numDistinct] = sorted[i];
+                numDistinct++;
+            }
+            counts[numDistinct - 1]++;
+        }
+        return new TermCounts(Arrays.copyOf(sorted, numDistinct), Arrays.copyOf(counts, numDistinct), sorted.length);
+    }
+
+    /**
+     * Adds every word to the given dictionary, then stores the term ids in 'ids' in
+     * ascending order, and the count of each of those terms in 'counts'. Both arrays
+     * must hold at least as many entries as there are distinct words.
+     */
+    void resolve(TermDictionary terms, int[] ids, int[] counts) {
+        // Pack every (term id, count) pair in a long so sorting them by term id is cheap.
+        long[] entries = new long[this.words.length];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = ((long) terms.add(this.words[i]) << 32) | this.counts[i];
+        }
+        Arrays.sort(entries);
+        for (int i = 0; i < entries.length; i++) {
+            ids[i] = (int) (entries[i] >>> 32);
+            counts[i] = (int) entries[i];
+        }
+    }
+}
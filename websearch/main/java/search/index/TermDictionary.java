@@ -0,0 +1,223 @@
+package search.index;
+
+/**
+ * Assigns every distinct term a dense integer id, starting from 0.
+ *
+ * This is an open-addressing hash table (with linear probing) specialized to map
+ * strings to ints, so we avoid allocating a node and a boxed Integer per term.
+ *
+ * Terms are never removed, and a slot never changes once filled until the table is
+ * rehashed into new arrays. A snapshot (see 'snapshot') can therefore share the
+ * arrays of its dictionary, ignoring the ids it does not know about.
+ */
+public class TermDictionary {
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Each slot holds (term id + 1), or 0 if the slot is empty.
+    private int[] slots;
+    private String[] terms;
+    private int size;
+
+    // Whether this dictionary is a snapshot, which shares the arrays of another one.
+    private final boolean readOnly;
+
+    /**
+     * Constructs a new, empty dictionary.
+     */
+    public TermDictionary() {
+        this.slots = new int[INITIAL_CAPACITY * 2];
+        this.terms = new String[INITIAL_CAPACITY];
+        this.size = 0;
+        this.readOnly = false;
+    }
+
+    /**
+     * Constructs a copy of the given dictionary, with the same term ids. Terms added
+     * to either dictionary afterwards are not added to the other one.
+     */
+    public TermDictionary(TermDictionary other) {
+        this.slots = other.slots.clone();
+        this.terms = other.terms.clone();
+        this.size = other.size;
+        this.readOnly = false;
+    }
+
+    private TermDictionary(int[] slots, String[] terms, int size) {
+        this.slots = slots;
+        this.terms = terms;
+        this.size = size;
+        this.readOnly = true;
+    }
+
+    /**
+     * Returns a read-only dictionary of the terms currently in this one, with the same
+     * term ids. It shares the arrays of this dictionary, so this takes constant time.
+     * Terms added to this dictionary afterwards are not visible through the snapshot.
+     *
+     * The snapshot may be read from any thread while terms are added to this
+     * dictionary, provided the snapshot is handed over to those threads safely (such
+     * as through a volatile field).
+     */
+    public TermDictionary snapshot() {
+        return new TermDictionary(this.slots, this.terms, this.size);
+    }
+
+    /**
+     * Returns the number of terms in this dictionary.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the id of the given term, or -1 if the term is not in this dictionary.
+     */
+    public int getId(String term) {
+        return this.toId(this.slots[this.findSlot(term)]);
+    }
+
+    /**
+     * Returns the id of the term made of the given characters, or -1 if the term is
+     * not in this dictionary. Unlike 'getId(String)', this never allocates anything.
+     */
+    public int getId(char[] chars, int offset, int length) {
+        return this.toId(this.slots[this.findSlot(chars, offset, length)]);
+    }
+
+    /**
+     * Returns the id held by a slot, or -1 if the slot is empty or holds a term added
+     * after this snapshot was taken.
+     */
+    private int toId(int entry) {
+        return entry == 0 || entry > this.size ? -1 : entry - 1;
+    }
+
+    /**
+     * Returns the id of the given term, adding it to this dictionary if necessary.
+     */
+    public int add(String term) {
+        this.checkWritable();
+        int slot = this.findSlot(term);
+        if (this.slots[slot] != 0) {
+            return this.slots[slot] - 1;
+        }
+        return this.insert(term, slot);
+    }
+
+    /**
+     * Returns the id of the term made of the given characters, adding it to this
+     * dictionary if necessary. A String is only allocated for new terms.
+     */
+    public int add(char[] chars, int offset, int length) {
+        this.checkWritable();
+        int slot = this.findSlot(chars, offset, length);
+        if (this.slots[slot] != 0) {
+            return this.slots[slot] - 1;
+        }
+        return this.insert(new String(chars, offset, length), slot);
+    }
+
+    private void checkWritable() {
+        if (this.readOnly) {
+            throw new IllegalStateException("Cannot add terms to a snapshot");
+        }
+    }
+
+    /**
+     * Adds the given term, which is not in this dictionary, at the given empty slot.
+     */
+    private int insert(String term, int slot) {
+        if (this.size == this.terms.length) {
+            String[] bigger = new String[this.terms.length * 2];
+            System.arraycopy(this.terms, 0, bigger, 0, this.size);
+            this.terms = bigger;
+        }
+        int id = this.size;
+        this.terms[id] = term;
+        this.slots[slot] = id + 1;
+        this.size++;
+
+        // Keep the load factor below 1/2 so probe sequences stay short.
+        if (this.size * 2 > this.slots.length) {
+            this.rehash(this.slots.length * 2);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the term with the given id.
+     *
+     * @throws IndexOutOfBoundsException  if no term has the given id
+     */
+    public String getTerm(int id) {
+        if (id < 0 || id >= this.size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return this.terms[id];
+    }
+
+    /**
+     * Returns the slot holding the given term, or the slot where it would be inserted.
+     * Terms added after a snapshot was taken count as empty slots: they all come after
+     * the terms of the snapshot in their probe sequences.
+     */
+    private int findSlot(String term) {
+        int mask = this.slots.length - 1;
+        int slot = mix(term.hashCode()) & mask;
+        int entry = this.slots[slot];
+        while (entry != 0 && entry <= this.size && !this.terms[entry - 1].equals(term)) {
+            slot = (slot + 1) & mask;
+            entry = this.slots[slot];
+        }
+        return slot;
+    }
+
+    private int findSlot(char[] chars, int offset, int length) {
+        // Same as String.hashCode, so both kinds of lookups agree on the slot.
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int mask = this.slots.length - 1;
+        int slot = mix(hash) & mask;
+        int entry = this.slots[slot];
+        while (entry != 0 && entry <= this.size && !matches(this.terms[entry - 1], chars, offset, length)) {
+            slot = (slot + 1) & mask;
+            entry = this.slots[slot];
+        }
+        return slot;
+    }
+
+    private static boolean matches(String term, char[] chars, int offset, int length) {
+        if (term.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (term.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        int[] newSlots = new int[capacity];
+        int mask = capacity - 1;
+        for (int id = 0; id < this.size; id++) {
+            int slot = mix(this.terms[id].hashCode()) & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = id + 1;
+        }
+        this.slots = newSlots;
+    }
+
+    /**
+     * Spreads the bits of a string hash code, since we only keep its lowest bits.
+     */
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,172 @@
+package search.index;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the k best (document id, score) pairs out of any number of them.
+ *
+ * This is a binary min-heap over two primitive arrays, whose root is the worst pair
+ * kept so far: collecting a pair never allocates anything, whatever the number of
+ * candidates. A pair is better than another if its score is higher or, for equal
+ * scores, if its document id is lower, so the pairs kept never depend on the order
+ * they were collected in. Collectors filled by different threads from different
+ * candidates can therefore be merged into the same top k as a single collector.
+ *
+ * This class is not thread-safe: use one collector per thread, then merge them.
+ */
+public class TopKCollector {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int k;
+    private int[] docIds;
+    private double[] scores;
+    private int size;
+
+    /**
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public TopKCollector(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.k = k;
+        // The heap grows as needed, so a huge k doesn't cost anything up front.
+        int capacity = Math.min(k, INITIAL_CAPACITY);
+        this.docIds = new int[capacity];
+        this.scores = new double[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Offers the given document to this collector.
+     *
+     * @return true if the document is among the k best so far
+     */
+    public boolean collect(int docId, double score) {
+        if (this.size < this.k) {
+            if (this.size == this.docIds.length) {
+                int capacity = (int) Math.min(this.k, this.size * 2L);
+                this.docIds = Arrays.copyOf(this.docIds, capacity);
+                this.scores = Arrays.copyOf(this.scores, capacity);
+            }
+            this.docIds[this.size] = docId;
+            this.scores[this.size] = score;
+            this.size++;
+            siftUp(this.docIds, this.scores, this.size - 1);
+            return true;
+        } else if (this.k > 0 && isWorse(this.docIds[0], this.scores[0], docId, score)) {
+            this.docIds[0] = docId;
+            this.scores[0] = score;
+            siftDown(this.docIds, this.scores, 0, this.size);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Collects every document kept by the given collector.
+     */
+    public void merge(TopKCollector other) {
+        for (int i = 0; i < other.size; i++) {
+            this.collect(other.docIds[i], other.scores[i]);
+        }
+    }
+
+    /**
+     * Returns the number of documents kept, which is at most k.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns true if k documents were kept: from then on, a document must score at
+     * least 'getThreshold()' to be kept.
+     */
+    public boolean isFull() {
+        return this.size == this.k;
+    }
+
+    /**
+     * Returns the lowest score kept if this collector is full, or negative infinity.
+     */
+    public double getThreshold() {
+        return this.isFull() && this.k > 0 ? this.scores[0] : Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Returns the ids of the documents kept, best first.
+     */
+    public int[] getDocIds() {
+        return this.sortedCopy().docIds;
+    }
+
+    /**
+     * Returns the scores of the documents kept, best first, in the same order as
+     * 'getDocIds()'.
+     */
+    public double[] getScores() {
+        return this.sortedCopy().scores;
+    }
+
+    /**
+     * Returns a copy of this collector whose arrays are sorted best first.
+     */
+    private TopKCollector sortedCopy() {
+        TopKCollector copy = new TopKCollector(this.size);
+        copy.docIds = Arrays.copyOf(this.docIds, this.size);
+        copy.scores = Arrays.copyOf(this.scores, this.size);
+        copy.size = this.size;
+
+        // Heap sort: moving the worst pair to the end over and over leaves the best first.
+        for (int end = copy.size - 1; end > 0; end--) {
+            swap(copy.docIds, copy.scores, 0, end);
+            siftDown(copy.docIds, copy.scores, 0, end);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns true if the first pair is worse than the second one.
+     */
+    private static boolean isWorse(int docId1, double score1, int docId2, double score2) {
+        int cmp = Double.compare(score1, score2);
+        return cmp < 0 || (cmp == 0 && docId1 > docId2);
+    }
+
+    private static void siftUp(int[] docIds, double[] scores, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isWorse(docIds[index], scores[index], docIds[parent], scores[parent])) {
+                return;
+            }
+            swap(docIds, scores, index, parent);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] docIds, double[] scores, int index, int size) {
+        while (true) {
+            int worst = index;
+            for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                if (isWorse(docIds[child], scores[child], docIds[worst], scores[worst])) {
+                    worst = child;
+                }
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(docIds, scores, index, worst);
+            index = worst;
+        }
+    }
+
+    private static void swap(int[] docIds, double[] scores, int i, int j) {
+        int docId = docIds[i];
+        docIds[i] = docIds[j];
+        docIds[j] = docId;
+        double score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+}
@@ -0,0 +1,177 @@
+package search.misc;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+
+/**
+ * Normalizes the words coming out of WordTokenizer before they are indexed or
+ * searched for, by running them through a series of filters: a filter may change a
+ * word (lowercasing, stemming) or drop it (stop words, words too short or too long).
+ *
+ * The same chain must be used for pages and for queries: a query word only matches
+ * the pages containing the same word after analysis. Since indexes computed with one
+ * chain are useless with another, every chain has a signature telling them apart.
+ */
+public class AnalysisChain {
+    /**
+     * The most common English words, which appear in nearly every page and so tell
+     * pages apart very poorly.
+     */
+    public static final String[] ENGLISH_STOP_WORDS = {
+        "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+        "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these",
+        "they", "this", "to", "was", "will", "with",
+    };
+
+    /**
+     * A chain keeping every word as it is.
+     */
+    public static final AnalysisChain NONE = new Builder().build();
+
+    /**
+     * Transforms a single word.
+     */
+    @FunctionalInterface
+    public interface TokenFilter {
+        /**
+         * Returns the given word transformed, or null to drop it.
+         */
+        String apply(String word);
+    }
+
+    private final TokenFilter[] filters;
+    private final long signature;
+
+    private AnalysisChain(TokenFilter[] filters, long signature) {
+        this.filters = filters;
+        this.signature = signature;
+    }
+
+    /**
+     * Returns a chain suited to English text: words are lowercased, words shorter than
+     * 2 or longer than 40 characters and stop words are dropped, then every word is
+     * reduced to its stem.
+     */
+    public static AnalysisChain english() {
+        return new Builder()
+                .lowercase()
+                .lengthBetween(2, 40)
+                .removeStopWords(ENGLISH_STOP_WORDS)
+                .stem()
+                .build();
+    }
+
+    /**
+     * Returns the given word analyzed, or null if it is dropped.
+     */
+    public String analyze(String word) {
+        for (TokenFilter filter : this.filters) {
+            word = filter.apply(word);
+            if (word == null) {
+                return null;
+            }
+        }
+        return word;
+    }
+
+    /**
+     * Returns the given words analyzed, in order, without the dropped ones.
+     */
+    public IList<String> analyze(IList<String> words) {
+        if (this.filters.length == 0) {
+            return words;
+        }
+        IList<String> output = new DoubleLinkedList<>();
+        for (String word : words) {
+            String analyzed = this.analyze(word);
+            if (analyzed != null) {
+                output.add(analyzed);
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Returns true if this chain keeps every word as it is.
+     */
+    public boolean isIdentity() {
+        return this.filters.length == 0;
+    }
+
+    /**
+     * Returns a number identifying the filters of this chain: chains with different
+     * filters almost certainly have different signatures. The signature of a chain
+     * without any filter is 0.
+     */
+    public long getSignature() {
+        return this.signature;
+    }
+
+    /**
+     * Creates chains, running their filters in the order they were added.
+     */
+    public static class Builder {
+        private final IList<TokenFilter> filters;
+        private long signature;
+
+        public Builder() {
+            this.filters = new DoubleLinkedList<>();
+            this.signature = 0;
+        }
+
+        public Builder lowercase() {
+            return this.add("lowercase", String::toLowerCase);
+        }
+
+        /**
+         * Adds a filter dropping the words with fewer than 'min' or more than 'max' characters.
+         *
+         * @throws IllegalArgumentException  if min > max
+         */
+        public Builder lengthBetween(int min, int max) {
+            if (min > max) {
+                throw new IllegalArgumentException("The minimum length must not exceed the maximum length");
+            }
+            return this.add("length " + min + " " + max,
+                    word -> word.length() >= min && word.length() <= max ? word : null);
+        }
+
+        public Builder removeStopWords(String... stopWords) {
+            ISet<String> words = new ChainedHashSet<>();
+            StringBuilder description = new StringBuilder("stop");
+            for (String word : stopWords) {
+                words.add(word);
+                description.append(' ').append(word);
+            }
+            return this.add(description.toString(), word -> words.contains(word) ? null : word);
+        }
+
+        public Builder stem() {
+            return this.add("porter", PorterStemmer::stem);
+        }
+
+        /**
+         * Adds the given filter. Its description must tell it apart from any other
+         * filter, since it is what the signature of the chain is computed from.
+         */
+        public Builder add(String description, TokenFilter filter) {
+            this.filters.add(filter);
+            // A hash of every description, each followed by a separator.
+            long hash = this.filters.size() == 1 ? BinaryFormat.FNV_OFFSET_BASIS : this.signature;
+            this.signature = BinaryFormat.hash(BinaryFormat.hash(hash, description), '\n');
+            return this;
+        }
+
+        public AnalysisChain build() {
+            TokenFilter[] array = new TokenFilter[this.filters.size()];
+            int i = 0;
+            for (TokenFilter filter : this.filters) {
+                array[i] = filter;
+                i++;
+            }
+            return new AnalysisChain(array, this.signature);
+        }
+    }
+}
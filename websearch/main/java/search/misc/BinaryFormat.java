@@ -0,0 +1,177 @@
+package search.misc;
+
+import search.misc.exceptions.DataExtractionException;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Helpers shared by every binary file the index is stored in: numbers in
+ * variable-byte encoding, 64-bit FNV-1a hashes, and files replaced atomically.
+ *
+ * A number in variable-byte encoding is written 7 bits at a time, starting with the
+ * lowest bits; the high bit of each byte is set if more bytes follow. Numbers are
+ * only ever read with absolute reads, so several threads can share a buffer.
+ */
+public class BinaryFormat {
+    /**
+     * The hash of nothing, to start a hash from.
+     */
+    public static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Writes the contents of a file.
+     */
+    @FunctionalInterface
+    public interface Contents {
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Returns the given hash extended with the given byte or character.
+     */
+    public static long hash(long hash, int value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    /**
+     * Returns the given hash extended with every character of the given string.
+     */
+    public static long hash(long hash, CharSequence str) {
+        for (int i = 0; i < str.length(); i++) {
+            hash = (hash ^ str.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the given hash extended with the given range of bytes.
+     */
+    public static long hash(long hash, byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ (bytes[i] & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Writes the given non-negative number in variable-byte encoding.
+     */
+    public static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Writes the given non-negative number in variable-byte encoding into the given
+     * array, which must have room for 5 bytes, and returns the offset following it.
+     */
+    public static int writeVarInt(byte[] bytes, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[offset] = (byte) ((value & 0x7F) | 0x80);
+            offset++;
+            value >>>= 7;
+        }
+        bytes[offset] = (byte) value;
+        return offset + 1;
+    }
+
+    /**
+     * Reads the number in variable-byte encoding starting at position[0], moving
+     * position[0] past it.
+     */
+    public static int readVarInt(ByteBuffer buffer, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(position[0]);
+            position[0]++;
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    /**
+     * Writes the given string as its length in variable-byte encoding, followed by
+     * its UTF-8 bytes.
+     */
+    public static void writeString(ByteArrayOutputStream out, String str) {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Reads the string written by 'writeString' starting at position[0], moving
+     * position[0] past it.
+     */
+    public static String readString(ByteBuffer buffer, int[] position) {
+        byte[] bytes = new byte[readVarInt(buffer, position)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(position[0] + i);
+        }
+        position[0] += bytes.length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Moves position[0] past the string written by 'writeString' starting there.
+     */
+    public static void skipString(ByteBuffer buffer, int[] position) {
+        int length = readVarInt(buffer, position);
+        position[0] += length;
+    }
+
+    /**
+     * Writes the given contents to a temporary file, then moves it over the given
+     * file, so a crash never leaves a partially written file behind.
+     *
+     * @throws DataExtractionException  if the file could not be written
+     */
+    public static void writeAtomically(Path file, Contents contents) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                contents.writeTo(out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new DataExtractionException("Could not write " + file, ex);
+        }
+    }
+
+    /**
+     * Writes the given buffer, from its start to its limit, to the given file, with
+     * its first bytes replaced by the given header. The file is replaced atomically.
+     *
+     * @throws DataExtractionException  if the file could not be written
+     */
+    public static void writeAtomically(Path file, ByteBuffer buffer, byte[] header) {
+        ByteBuffer data = buffer.duplicate();
+        data.clear();
+        data.position(header.length);
+        writeAtomically(file, out -> {
+            out.write(header);
+            byte[] chunk = new byte[1 << 16];
+            while (data.hasRemaining()) {
+                int length = Math.min(chunk.length, data.remaining());
+                data.get(chunk, 0, length);
+                out.write(chunk, 0, length);
+            }
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package search.misc;
+
+/**
+ * Estimates how many times each key was seen recently, in a fixed amount of memory.
+ *
+ * This is a count-min sketch: every key is hashed to DEPTH counters, all of which are
+ * incremented when the key is seen. Collisions can only inflate counters, so the
+ * smallest of the DEPTH counters is the best estimate. Counters saturate at
+ * MAX_COUNT, and every counter is halved after a fixed number of increments, so
+ * keys that were popular a long time ago are slowly forgotten.
+ */
+class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+
+    private final byte[] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param capacity  the number of keys we expect to tell apart; the counters are
+     *                  halved after 10 * capacity increments
+     */
+    FrequencySketch(int capacity) {
+        int width = 16;
+        while (width < capacity * 4) {
+            width *= 2;
+        }
+        this.counters = new byte[width];
+        this.mask = width - 1;
+        this.sampleSize = Math.max(capacity, 1) * 10;
+        this.additions = 0;
+    }
+
+    /**
+     * Returns the estimated number of times the given key was seen, at most MAX_COUNT.
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int min = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, this.counters[this.indexOf(hash, i)]);
+        }
+        return min;
+    }
+
+    /**
+     * Records that the given key was seen once more.
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = this.indexOf(hash, i);
+            if (this.counters[index] < MAX_COUNT) {
+                this.counters[index]++;
+                added = true;
+            }
+        }
+
+        if (added) {
+            this.additions++;
+            if (this.additions == this.sampleSize) {
+                for (int i = 0; i < this.counters.length; i++) {
+                    this.counters[i] >>= 1;
+                }
+                this.additions /= 2;
+            }
+        }
+    }
+
+    /**
+     * Returns the counter of the given row for a key with the given hash.
+     */
+    private int indexOf(int hash, int row) {
+        int h = (hash + row) * (0x9E3779B9 + 2 * row);
+        return (h ^ (h >>> 15)) & this.mask;
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x85EBCA6B;
+        return hash ^ (hash >>> 13);
+    }
+}
@@ -0,0 +1,403 @@
+package search.misc;
+
+/**
+ * Reduces English words to their stem, using the algorithm described in M.F. Porter,
+ * "An algorithm for suffix stripping", Program 14(3), 1980: "connected", "connecting"
+ * and "connection" all become "connect".
+ *
+ * Stems are not always words ("happy" becomes "happi"): they are only meant to be
+ * compared with each other. Words are expected in lower case; any character other
+ * than a to z is treated as a consonant.
+ */
+public class PorterStemmer {
+    private final char[] b;
+
+    // The word is b[0..k]; j marks the end of the stem while checking suffixes.
+    private int k;
+    private int j;
+
+    private PorterStemmer(String word) {
+        this.b = word.toCharArray();
+        this.k = this.b.length - 1;
+    }
+
+    /**
+     * Returns the stem of the given word.
+     */
+    public static String stem(String word) {
+        // Words of one or two letters are left alone.
+        if (word.length() <= 2) {
+            return word;
+        }
+        PorterStemmer stemmer = new PorterStemmer(word);
+        stemmer.step1();
+        stemmer.step2();
+        stemmer.step3();
+        stemmer.step4();
+        stemmer.step5();
+        stemmer.step6();
+        return new String(stemmer.b, 0, stemmer.k + 1);
+    }
+
+    /**
+     * Returns true if b[i] is a consonant.
+     */
+    private boolean cons(int i) {
+        switch (this.b[i]) {
+            case 'a':
+            case 'e':
+            case 'i':
+            case 'o':
+            case 'u':
+                return false;
+            case 'y':
+                return i == 0 || !this.cons(i - 1);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Returns the number of consonant sequences in b[0..j]. Writing c for a consonant
+     * sequence and v for a vowel sequence, every word is [c](vc){m}[v], and this is m.
+     */
+    private int m() {
+        int n = 0;
+        int i = 0;
+        while (true) {
+            if (i > this.j) {
+                return n;
+            }
+            if (!this.cons(i)) {
+                break;
+            }
+            i++;
+        }
+        i++;
+        while (true) {
+            while (true) {
+                if (i > this.j) {
+                    return n;
+                }
+                if (this.cons(i)) {
+                    break;
+                }
+                i++;
+            }
+            i++;
+            n++;
+            while (true) {
+                if (i > this.j) {
+                    return n;
+                }
+                if (!this.cons(i)) {
+                    break;
+                }
+                i++;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Returns true if b[0..j] contains a vowel.
+     */
+    private boolean vowelInStem() {
+        for (int i = 0; i <= this.j; i++) {
+            if (!this.cons(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if b[i - 1..i] is a double consonant.
+     */
+    private boolean doubleConsonant(int i) {
+        return i >= 1 && this.b[i] == this.b[i - 1] && this.cons(i);
+    }
+
+    /**
+     * Returns true if b[i - 2..i] is consonant-vowel-consonant, and the last consonant
+     * is not w, x or y. This is used to restore an e at the end of short words:
+     * cav(e), lov(e), hop(e), crim(e), but not snow, box or tray.
+     */
+    private boolean cvc(int i) {
+        if (i < 2 || !this.cons(i) || this.cons(i - 1) || !this.cons(i - 2)) {
+            return false;
+        }
+        char ch = this.b[i];
+        return ch != 'w' && ch != 'x' && ch != 'y';
+    }
+
+    /**
+     * Returns true if b[0..k] ends with the given suffix, setting j to the end of
+     * what comes before it.
+     */
+    private boolean ends(String suffix) {
+        int length = suffix.length();
+        int offset = this.k - length + 1;
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (this.b[offset + i] != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        this.j = this.k - length;
+        return true;
+    }
+
+    /**
+     * Replaces b[j + 1..k] with the given string. The replacement is never longer than
+     * what it replaces.
+     */
+    private void setTo(String replacement) {
+        int length = replacement.length();
+        for (int i = 0; i < length; i++) {
+            this.b[this.j + 1 + i] = replacement.charAt(i);
+        }
+        this.k = this.j + length;
+    }
+
+    private void replaceIfMeasured(String replacement) {
+        if (this.m() > 0) {
+            this.setTo(replacement);
+        }
+    }
+
+    /**
+     * Removes plurals, -ed and -ing: caresses to caress, ponies to poni, meetings to
+     * meet, agreed to agree.
+     */
+    private void step1() {
+        if (this.b[this.k] == 's') {
+            if (this.ends("sses")) {
+                this.k -= 2;
+            } else if (this.ends("ies")) {
+                this.setTo("i");
+            } else if (this.b[this.k - 1] != 's') {
+                this.k--;
+            }
+        }
+        if (this.ends("eed")) {
+            if (this.m() > 0) {
+                this.k--;
+            }
+        } else if ((this.ends("ed") || this.ends("ing")) && this.vowelInStem()) {
+            this.k = this.j;
+            if (this.ends("at")) {
+                this.setTo("ate");
+            } else if (this.ends("bl")) {
+                this.setTo("ble");
+            } else if (this.ends("iz")) {
+                this.setTo("ize");
+            } else if (this.doubleConsonant(this.k)) {
+                this.k--;
+                char ch = this.b[this.k];
+                if (ch == 'l' || ch == 's' || ch == 'z') {
+                    this.k++;
+                }
+            } else if (this.m() == 1 && this.cvc(this.k)) {
+                this.setTo("e");
+            }
+        }
+    }
+
+    /**
+     * Turns a final y into i when there is another vowel in the stem.
+     */
+    private void step2() {
+        if (this.ends("y") && this.vowelInStem()) {
+            this.b[this.k] = 'i';
+        }
+    }
+
+    /**
+     * Maps double suffixes to single ones: -ization to -ize, -ational to -ate...
+     */
+    private void step3() {
+        if (this.k == 0) {
+            return;
+        }
+        switch (this.b[this.k - 1]) {
+            case 'a':
+                if (this.ends("ational")) {
+                    this.replaceIfMeasured("ate");
+                } else if (this.ends("tional")) {
+                    this.replaceIfMeasured("tion");
+                }
+                break;
+            case 'c':
+                if (this.ends("enci")) {
+                    this.replaceIfMeasured("ence");
+                } else if (this.ends("anci")) {
+                    this.replaceIfMeasured("ance");
+                }
+                break;
+            case 'e':
+                if (this.ends("izer")) {
+                    this.replaceIfMeasured("ize");
+                }
+                break;
+            case 'l':
+                if (this.ends("bli")) {
+                    this.replaceIfMeasured("ble");
+                } else if (this.ends("alli")) {
+                    this.replaceIfMeasured("al");
+                } else if (this.ends("entli")) {
+                    this.replaceIfMeasured("ent");
+                } else if (this.ends("eli")) {
+                    this.replaceIfMeasured("e");
+                } else if (this.ends("ousli")) {
+                    this.replaceIfMeasured("ous");
+                }
+                break;
+            case 'o':
+                if (this.ends("ization")) {
+                    this.replaceIfMeasured("ize");
+                } else if (this.ends("ation")) {
+                    this.replaceIfMeasured("ate");
+                } else if (this.ends("ator")) {
+                    this.replaceIfMeasured("ate");
+                }
+                break;
+            case 's':
+                if (this.ends("alism")) {
+                    this.replaceIfMeasured("al");
+                } else if (this.ends("iveness")) {
+                    this.replaceIfMeasured("ive");
+                } else if (this.ends("fulness")) {
+                    this.replaceIfMeasured("ful");
+                } else if (this.ends("ousness")) {
+                    this.replaceIfMeasured("ous");
+                }
+                break;
+            case 't':
+                if (this.ends("aliti")) {
+                    this.replaceIfMeasured("al");
+                } else if (this.ends("iviti")) {
+                    this.replaceIfMeasured("ive");
+                } else if (this.ends("biliti")) {
+                    this.replaceIfMeasured("ble");
+                }
+                break;
+            case 'g':
+                if (this.ends("logi")) {
+                    this.replaceIfMeasured("log");
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Handles -ic-, -full, -ness and similar suffixes.
+     */
+    private void step4() {
+        switch (this.b[this.k]) {
+            case 'e':
+                if (this.ends("icate")) {
+                    this.replaceIfMeasured("ic");
+                } else if (this.ends("ative")) {
+                    this.replaceIfMeasured("");
+                } else if (this.ends("alize")) {
+                    this.replaceIfMeasured("al");
+                }
+                break;
+            case 'i':
+                if (this.ends("iciti")) {
+                    this.replaceIfMeasured("ic");
+                }
+                break;
+            case 'l':
+                if (this.ends("ical")) {
+                    this.replaceIfMeasured("ic");
+                } else if (this.ends("ful")) {
+                    this.replaceIfMeasured("");
+                }
+                break;
+            case 's':
+                if (this.ends("ness")) {
+                    this.replaceIfMeasured("");
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Removes -ant, -ence and similar suffixes, in words with a long enough stem.
+     */
+    private void step5() {
+        if (this.k == 0) {
+            return;
+        }
+        boolean found;
+        switch (this.b[this.k - 1]) {
+            case 'a':
+                found = this.ends("al");
+                break;
+            case 'c':
+                found = this.ends("ance") || this.ends("ence");
+                break;
+            case 'e':
+                found = this.ends("er");
+                break;
+            case 'i':
+                found = this.ends("ic");
+                break;
+            case 'l':
+                found = this.ends("able") || this.ends("ible");
+                break;
+            case 'n':
+                found = this.ends("ant") || this.ends("ement") || this.ends("ment") || this.ends("ent");
+                break;
+            case 'o':
+                found = (this.ends("ion") && this.j >= 0 && (this.b[this.j] == 's' || this.b[this.j] == 't'))
+                        || this.ends("ou");
+                break;
+            case 's':
+                found = this.ends("ism");
+                break;
+            case 't':
+                found = this.ends("ate") || this.ends("iti");
+                break;
+            case 'u':
+                found = this.ends("ous");
+                break;
+            case 'v':
+                found = this.ends("ive");
+                break;
+            case 'z':
+                found = this.ends("ize");
+                break;
+            default:
+                found = false;
+                break;
+        }
+        if (found && this.m() > 1) {
+            this.k = this.j;
+        }
+    }
+
+    /**
+     * Removes a final -e, and turns a final -ll into -l, in words with a long enough stem.
+     */
+    private void step6() {
+        this.j = this.k;
+        if (this.b[this.k] == 'e') {
+            int measure = this.m();
+            if (measure > 1 || (measure == 1 && !this.cvc(this.k - 1))) {
+                this.k--;
+            }
+        }
+        if (this.b[this.k] == 'l' && this.doubleConsonant(this.k) && this.m() > 1) {
+            this.k--;
+        }
+    }
+}
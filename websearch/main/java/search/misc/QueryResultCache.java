@@ -0,0 +1,264 @@
+package search.misc;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import search.models.Result;
+
+import java.util.Arrays;
+
+/**
+ * A bounded cache of search results, keyed by the terms of the query and the number
+ * of results asked for.
+ *
+ * The order of the query terms doesn't change the results, so the terms are sorted
+ * before being used as a key: "cat dog" and "dog cat" share an entry. Queries where
+ * the order matters, such as phrases, are cached under a key built by the caller.
+ *
+ * Entries are kept using the W-TinyLFU policy:
+ *
+ *     window:     a small LRU list where every new entry starts
+ *     probation:  entries that left the window, and protected entries that were demoted
+ *     protected:  entries that were hit again while on probation
+ *
+ * When the window overflows, its least recently used entry is only admitted into
+ * probation if it was queried more often than the entry it would evict, according to
+ * a FrequencySketch of recent queries. Otherwise, it is dropped. So a burst of queries
+ * seen only once never pushes out the popular queries, which is what matters when
+ * the query log is heavily skewed.
+ *
+ * Every entry belongs to a generation of the index. Asking for a different generation
+ * than the previous call clears the cache, since the results may have changed.
+ *
+ * This class is thread-safe. The cached lists are shared, so they must not be modified.
+ */
+public class QueryResultCache {
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final int capacity;
+    private final int maxWindowSize;
+    private final int maxProtectedSize;
+
+    private IDictionary<String, Entry> entries;
+    private final FrequencySketch sketch;
+
+    // The sentinel of each queue, indexed by queue id. The most recently used entry
+    // comes right after the sentinel, and the least recently used one right before it.
+    private final Entry[] queues;
+    private final int[] queueSizes;
+
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param capacity  the maximum number of cached queries
+     * @throws IllegalArgumentException  if capacity < 1
+     */
+    public QueryResultCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The cache must hold at least one query");
+        }
+        this.capacity = capacity;
+        this.maxWindowSize = Math.max(1, capacity / 100);
+        this.maxProtectedSize = (capacity - this.maxWindowSize) * 4 / 5;
+        this.entries = new ChainedHashDictionary<>();
+        this.sketch = new FrequencySketch(capacity);
+        this.queues = new Entry[3];
+        for (int i = 0; i < this.queues.length; i++) {
+            this.queues[i] = new Entry(null, null, i);
+            this.queues[i].prev = this.queues[i];
+            this.queues[i].next = this.queues[i];
+        }
+        this.queueSizes = new int[3];
+    }
+
+    /**
+     * Returns the cached results for the given query, or null if there are none.
+     *
+     * @param generation  the generation of the index the results must come from
+     */
+    public IList<Result> get(IList<String> query, int k, long generation) {
+        return this.get(makeKey(query, k), generation);
+    }
+
+    /**
+     * Returns the cached results for the given key, or null if there are none. The key
+     * must tell the query apart from any other query, including the number of results
+     * asked for, and must not start with a digit, which is how keys built out of
+     * regular queries start.
+     *
+     * @param generation  the generation of the index the results must come from
+     */
+    public synchronized IList<Result> get(String key, long generation) {
+        this.checkGeneration(generation);
+        this.sketch.increment(key);
+
+        if (!this.entries.containsKey(key)) {
+            this.misses++;
+            return null;
+        }
+        this.hits++;
+        Entry entry = this.entries.get(key);
+        if (entry.queue == PROBATION) {
+            this.moveToFront(entry, PROTECTED);
+            if (this.queueSizes[PROTECTED] > this.maxProtectedSize) {
+                this.moveToFront(this.queues[PROTECTED].prev, PROBATION);
+            }
+        } else {
+            this.moveToFront(entry, entry.queue);
+        }
+        return entry.results;
+    }
+
+    /**
+     * Caches the results of the given query, which may evict other entries (or not be
+     * cached at all, if the query is not popular enough).
+     *
+     * @param generation  the generation of the index the results come from
+     */
+    public void put(IList<String> query, int k, long generation, IList<Result> results) {
+        this.put(makeKey(query, k), generation, results);
+    }
+
+    /**
+     * Caches the results of the query with the given key (see 'get(key, generation)').
+     *
+     * @param generation  the generation of the index the results come from
+     */
+    public synchronized void put(String key, long generation, IList<Result> results) {
+        this.checkGeneration(generation);
+        if (this.entries.containsKey(key)) {
+            this.entries.get(key).results = results;
+            return;
+        }
+
+        Entry entry = new Entry(key, results, WINDOW);
+        this.entries.put(key, entry);
+        this.linkFirst(entry, WINDOW);
+        if (this.queueSizes[WINDOW] > this.maxWindowSize) {
+            this.evictFromWindow();
+        }
+    }
+
+    /**
+     * Moves the least recently used entry of the window to probation, if it is more
+     * popular than the entry it would replace there.
+     */
+    private void evictFromWindow() {
+        Entry candidate = this.queues[WINDOW].prev;
+        if (this.entries.size() <= this.capacity) {
+            this.moveToFront(candidate, PROBATION);
+            return;
+        }
+
+        Entry victim = this.queueSizes[PROBATION] > 0 ? this.queues[PROBATION].prev : this.queues[PROTECTED].prev;
+        if (victim == this.queues[PROTECTED]) {
+            // The whole cache is the window.
+            victim = candidate;
+        } else if (this.sketch.frequency(candidate.key) > this.sketch.frequency(victim.key)) {
+            this.moveToFront(candidate, PROBATION);
+        } else {
+            victim = candidate;
+        }
+        this.unlink(victim);
+        this.entries.remove(victim.key);
+        this.evictions++;
+    }
+
+    /**
+     * Returns how many calls to 'get' found cached results.
+     */
+    public synchronized long getHitCount() {
+        return this.hits;
+    }
+
+    /**
+     * Returns how many calls to 'get' found nothing.
+     */
+    public synchronized long getMissCount() {
+        return this.misses;
+    }
+
+    /**
+     * Returns how many entries were dropped to make room for others, not counting the
+     * ones dropped because the generation changed.
+     */
+    public synchronized long getEvictionCount() {
+        return this.evictions;
+    }
+
+    /**
+     * Returns the number of cached queries.
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    private void checkGeneration(long generation) {
+        if (generation != this.generation) {
+            this.generation = generation;
+            for (int i = 0; i < this.queues.length; i++) {
+                this.queues[i].prev = this.queues[i];
+                this.queues[i].next = this.queues[i];
+                this.queueSizes[i] = 0;
+            }
+            this.entries = new ChainedHashDictionary<>();
+        }
+    }
+
+    private void unlink(Entry entry) {
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+        this.queueSizes[entry.queue]--;
+    }
+
+    private void linkFirst(Entry entry, int queue) {
+        Entry sentinel = this.queues[queue];
+        entry.queue = queue;
+        entry.prev = sentinel;
+        entry.next = sentinel.next;
+        sentinel.next.prev = entry;
+        sentinel.next = entry;
+        this.queueSizes[queue]++;
+    }
+
+    private void moveToFront(Entry entry, int queue) {
+        this.unlink(entry);
+        this.linkFirst(entry, queue);
+    }
+
+    private static String makeKey(IList<String> query, int k) {
+        String[] terms = new String[query.size()];
+        int i = 0;
+        for (String term : query) {
+            terms[i] = term;
+            i++;
+        }
+        Arrays.sort(terms);
+
+        StringBuilder key = new StringBuilder();
+        key.append(k);
+        for (String term : terms) {
+            key.append(' ').append(term);
+        }
+        return key.toString();
+    }
+
+    private static class Entry {
+        private final String key;
+        private IList<Result> results;
+        private int queue;
+        private Entry prev;
+        private Entry next;
+
+        Entry(String key, IList<Result> results, int queue) {
+            this.key = key;
+            this.results = results;
+            this.queue = queue;
+        }
+    }
+}
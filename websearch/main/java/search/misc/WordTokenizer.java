@@ -1,17 +1,162 @@
-package search.misc;
-
-import datastructures.concrete.DoubleLinkedList;
-import datastructures.interfaces.IList;
-
-public class WordTokenizer {
-    public static IList<String> extract(String input) {
-        IList<String> out = new DoubleLinkedList<>();
-        for (String word : input.toLowerCase().split("\\s+")) {
-            word = word.replaceAll("\\p{Punct}", "");
-            if (!word.isEmpty()) {
-                out.add(word);
-            }
-        }
-        return out;
-    }
-}
+package search.misc;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import search.index.TermDictionary;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into words: the text is lowercased and split on whitespace, then ASCII
+ * punctuation is removed from every word, and words left empty are dropped.
+ *
+ * This scans the text once, character by character, building each word in a
+ * reusable buffer, rather than running regular expressions over the text and then
+ * over every word. Words containing anything but ASCII are rare, and lowercasing
+ * them depends on their other characters and on the default locale: they are
+ * handled exactly like before, by the String methods.
+ */
+public class WordTokenizer {
+    private static final Pattern PUNCTUATION = Pattern.compile("\\p{Punct}");
+
+    // False in the rare locales (such as Turkish) lowercasing some ASCII letters into
+    // something else, in which case words with upper case ASCII letters take the slow path.
+    private static final boolean ASCII_LOWERCASE =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZ".toLowerCase().equals("abcdefghijklmnopqrstuvwxyz");
+
+    /**
+     * Receives each word found by 'tokenize'. The buffer is reused for the next word,
+     * so its content is only valid during the call.
+     */
+    @FunctionalInterface
+    public interface WordHandler {
+        void handle(char[] buffer, int length);
+    }
+
+    /**
+     * Returns the words of the given text, in order.
+     */
+    public static IList<String> extract(String input) {
+        IList<String> out = new DoubleLinkedList<>();
+        tokenize(input, (buffer, length) -> out.add(new String(buffer, 0, length)));
+        return out;
+    }
+
+    /**
+     * Returns the term id of every word of the given text, in order. If 'addUnknown' is
+     * true, new words are added to the dictionary; otherwise, their id is -1. Known
+     * words never cause a String to be allocated.
+     */
+    public static int[] extractTermIds(CharSequence input, TermDictionary terms, boolean addUnknown) {
+        TermIdCollector collector = new TermIdCollector(terms, addUnknown);
+        tokenize(input, collector);
+        return Arrays.copyOf(collector.ids, collector.size);
+    }
+
+    private static class TermIdCollector implements WordHandler {
+        private final TermDictionary terms;
+        private final boolean addUnknown;
+        private int[] ids;
+        private int size;
+
+        TermIdCollector(TermDictionary terms, boolean addUnknown) {
+            this.terms = terms;
+            this.addUnknown = addUnknown;
+            this.ids = new int[16];
+            this.size = 0;
+        }
+
+        @Override
+        public void handle(char[] buffer, int length) {
+            if (this.size == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.size * 2);
+            }
+            this.ids[this.size] = this.addUnknown ? this.terms.add(buffer, 0, length) : this.terms.getId(buffer, 0, length);
+            this.size++;
+        }
+    }
+
+    /**
+     * Hands every word of the given text to the given handler, in order.
+     */
+    public static void tokenize(CharSequence input, WordHandler handler) {
+        char[] buffer = new char[32];
+        int length = 0;
+        int start = -1;
+        boolean ascii = true;
+
+        // One more iteration than there are characters, to end the last word.
+        for (int i = 0; i <= input.length(); i++) {
+            char c = i < input.length() ? input.charAt(i) : ' ';
+            if (!isWhitespace(c)) {
+                if (start < 0) {
+                    start = i;
+                }
+                if (c >= 0x80 || (!ASCII_LOWERCASE && c >= 'A' && c <= 'Z')) {
+                    ascii = false;
+                } else if (ascii && !isPunctuation(c)) {
+                    if (length == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, length * 2);
+                    }
+                    buffer[length] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+                    length++;
+                }
+                continue;
+            }
+            if (start < 0) {
+                continue;
+            }
+
+            if (!ascii) {
+                String word = input.subSequence(start, i).toString().toLowerCase();
+                word = PUNCTUATION.matcher(word).replaceAll("");
+                if (word.length() > buffer.length) {
+                    buffer = new char[word.length()];
+                }
+                word.getChars(0, word.length(), buffer, 0);
+                length = word.length();
+            }
+            if (length > 0) {
+                handler.handle(buffer, length);
+            }
+            length = 0;
+            start = -1;
+            ascii = true;
+        }
+    }
+
+    /**
+     * Returns the given text lowercased and without ASCII punctuation, the same way
+     * 'tokenize' normalizes each word. Unlike 'tokenize', whitespace is left as it is.
+     */
+    public static String normalize(String input) {
+        char[] buffer = new char[input.length()];
+        int length = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c >= 0x80 || (!ASCII_LOWERCASE && c >= 'A' && c <= 'Z')) {
+                return PUNCTUATION.matcher(input.toLowerCase()).replaceAll("");
+            }
+            if (!isPunctuation(c)) {
+                buffer[length] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+                length++;
+            }
+        }
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * Returns true for the characters matched by the regular expression '\s'.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Returns true for the characters matched by the regular expression '\p{Punct}'.
+     */
+    private static boolean isPunctuation(char c) {
+        return (c >= '!' && c <= '/') || (c >= ':' && c <= '@') || (c >= '[' && c <= '`') || (c >= '{' && c <= '~');
+    }
+}
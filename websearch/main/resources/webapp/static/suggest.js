@@ -0,0 +1,37 @@
+// Suggests completions for the last word typed in the search box, using the
+// '/suggest' route of the webapp.
+(function () {
+    var input = document.querySelector('.searchbar');
+    var list = document.getElementById('suggestions');
+    if (!input || !list) {
+        return;
+    }
+
+    var latest = 0;
+    input.addEventListener('input', function () {
+        var value = input.value;
+        var split = value.search(/\S*$/);
+        var head = value.substring(0, split);
+        var prefix = value.substring(split);
+        var request = ++latest;
+        if (prefix.length === 0) {
+            list.innerHTML = '';
+            return;
+        }
+
+        fetch('/suggest?prefix=' + encodeURIComponent(prefix))
+            .then(function (response) { return response.json(); })
+            .then(function (words) {
+                // Ignore answers to keystrokes that were since overtaken.
+                if (request !== latest) {
+                    return;
+                }
+                list.innerHTML = '';
+                words.forEach(function (word) {
+                    var option = document.createElement('option');
+                    option.value = head + word;
+                    list.appendChild(option);
+                });
+            });
+    });
+})();
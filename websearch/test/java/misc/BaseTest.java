@@ -1,104 +1,151 @@
-package misc;
-
-import org.junit.Assert;
-
-import java.lang.reflect.Field;
-import java.util.Objects;
-
-public class BaseTest {
-    protected static final int SECOND = 1000;
-
-    protected static void assertEquals(double expected, double actual, double delta) {
-        Assert.assertEquals(expected, actual, delta);
-    }
-
-    protected static void assertEquals(String message, double expected, double actual, double delta) {
-        Assert.assertEquals(message, expected, actual, delta);
-    }
-
-    /**
-     * A wrapper around JUnit's assertEquals method that requires that both parameters
-     * be of the same type.
-     */
-    protected static <T> void assertEquals(T expected, T actual) {
-        Assert.assertEquals(expected, actual);
-    }
-
-    /**
-     * A wrapper around JUnit's assertEquals method that requires that both parameters
-     * be of the same type.
-     */
-    protected static <T> void assertEquals(String message, T expected, T actual) {
-        Assert.assertEquals(message, expected, actual);
-    }
-
-    /**
-     * A helper method that can extract values from private fields of objects using a
-     * technique called reflection. This variant additionally provides a return type
-     * to cast the value to.
-     *
-     * You do not need to know how this method works, but you should be aware that you should
-     * not submit test code that uses this method, since it requires that you know the name
-     * of a field in order to extract it. (Our code may use different names than yours.)
-     */
-    protected static <T> T getField(Object obj, String fieldName, Class<T> expectedType) {
-        return expectedType.cast(getField(obj, fieldName));
-    }
-
-    /**
-     * A helper method that can extract values from private fields of objects using a
-     * technique called reflection.
-     *
-     * You do not need to know how this method works, but you should be aware that you should
-     * not submit test code that uses this method, since it requires that you know the name
-     * of a field in order to extract it. (Our code may use different names than yours.)
-     */
-    protected static Object getField(Object obj, String fieldName) {
-        try {
-            Field field = obj.getClass().getDeclaredField(fieldName);
-            field.setAccessible(true);
-            return field.get(obj);
-        } catch (IllegalAccessException | NoSuchFieldException ex) {
-            throw new RuntimeException(ex);
-        }
-    }
-
-    /**
-     * This is a wrapper class for arbitrary objects that additionally allows us to
-     * define a custom hash code.
-     *
-     * If no hash code is provided, the object's existing hash code is used instead.
-     *
-     * It is up to the user to make sure that the hash codes assigned are valid.
-     * (E.g., the user must ensure that two Wrapper objects with equal inner objects
-     * also have equal hash codes).
-     */
-    protected static class Wrapper<T> {
-        private T inner;
-        private int hashCode;
-
-        public Wrapper(T inner) {
-            this(inner, inner == null ? 0 : inner.hashCode());
-        }
-
-        public Wrapper(T inner, int hashCode) {
-            this.inner = inner;
-            this.hashCode = hashCode;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) { return true; }
-            if (o == null || getClass() != o.getClass()) { return false; }
-
-            Wrapper<?> wrapper = (Wrapper<?>) o;
-
-            return Objects.equals(inner, wrapper.inner);
-        }
-
-        @Override
-        public int hashCode() {
-            return this.hashCode;
-        }
-    }
-}
+package misc;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import org.junit.Assert;
+import search.models.Webpage;
+
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.util.Objects;
+import java.util.Random;
+
+public class BaseTest {
+    protected static final int SECOND = 1000;
+
+    protected static void assertEquals(double expected, double actual, double delta) {
+        Assert.assertEquals(expected, actual, delta);
+    }
+
+    protected static void assertEquals(String message, double expected, double actual, double delta) {
+        Assert.assertEquals(message, expected, actual, delta);
+    }
+
+    /**
+     * A wrapper around JUnit's assertEquals method that requires that both parameters
+     * be of the same type.
+     */
+    protected static <T> void assertEquals(T expected, T actual) {
+        Assert.assertEquals(expected, actual);
+    }
+
+    /**
+     * A wrapper around JUnit's assertEquals method that requires that both parameters
+     * be of the same type.
+     */
+    protected static <T> void assertEquals(String message, T expected, T actual) {
+        Assert.assertEquals(message, expected, actual);
+    }
+
+    /**
+     * Returns the words "word0", "word1", ... up to the given number of words.
+     */
+    protected static String[] makeVocabulary(int size) {
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            words[i] = "word" + i;
+        }
+        return words;
+    }
+
+    /**
+     * Returns 'numPages' random webpages generated from the given seed. Page i has
+     * the URI http://example.com/page<i>.html and links to up to 'maxLinks' random
+     * pages. It contains the first word of the vocabulary, followed by up to
+     * 'maxWords' random words from it: their distribution is skewed so the first few
+     * words are in most pages and the last ones in very few.
+     */
+    protected static ISet<Webpage> makeRandomPages(int numPages, String[] vocabulary,
+                                                   int maxWords, int maxLinks, long seed) {
+        Random random = new Random(seed);
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        for (int i = 0; i < numPages; i++) {
+            IList<String> words = new DoubleLinkedList<>();
+            words.add(vocabulary[0]);
+            int numWords = random.nextInt(maxWords + 1);
+            for (int j = 0; j < numWords; j++) {
+                words.add(vocabulary[(int) (vocabulary.length * Math.pow(random.nextDouble(), 3))]);
+            }
+            IList<URI> links = new DoubleLinkedList<>();
+            int numLinks = random.nextInt(maxLinks + 1);
+            for (int j = 0; j < numLinks; j++) {
+                links.add(URI.create("http://example.com/page" + random.nextInt(numPages) + ".html"));
+            }
+            URI uri = URI.create("http://example.com/page" + i + ".html");
+            pages.add(new Webpage(uri, links, words, "page" + i, ""));
+        }
+        return pages;
+    }
+
+    /**
+     * A helper method that can extract values from private fields of objects using a
+     * technique called reflection. This variant additionally provides a return type
+     * to cast the value to.
+     *
+     * You do not need to know how this method works, but you should be aware that you should
+     * not submit test code that uses this method, since it requires that you know the name
+     * of a field in order to extract it. (Our code may use different names than yours.)
+     */
+    protected static <T> T getField(Object obj, String fieldName, Class<T> expectedType) {
+        return expectedType.cast(getField(obj, fieldName));
+    }
+
+    /**
+     * A helper method that can extract values from private fields of objects using a
+     * technique called reflection.
+     *
+     * You do not need to know how this method works, but you should be aware that you should
+     * not submit test code that uses this method, since it requires that you know the name
+     * of a field in order to extract it. (Our code may use different names than yours.)
+     */
+    protected static Object getField(Object obj, String fieldName) {
+        try {
+            Field field = obj.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return field.get(obj);
+        } catch (IllegalAccessException | NoSuchFieldException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * This is a wrapper class for arbitrary objects that additionally allows us to
+     * define a custom hash code.
+     *
+     * If no hash code is provided, the object's existing hash code is used instead.
+     *
+     * It is up to the user to make sure that the hash codes assigned are valid.
+     * (E.g., the user must ensure that two Wrapper objects with equal inner objects
+     * also have equal hash codes).
+     */
+    protected static class Wrapper<T> {
+        private T inner;
+        private int hashCode;
+
+        public Wrapper(T inner) {
+            this(inner, inner == null ? 0 : inner.hashCode());
+        }
+
+        public Wrapper(T inner, int hashCode) {
+            this.inner = inner;
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (o == null || getClass() != o.getClass()) { return false; }
+
+            Wrapper<?> wrapper = (Wrapper<?>) o;
+
+            return Objects.equals(inner, wrapper.inner);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
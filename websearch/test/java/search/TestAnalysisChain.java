@@ -0,0 +1,84 @@
+package search;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import org.junit.Test;
+import search.misc.AnalysisChain;
+import search.misc.PorterStemmer;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestAnalysisChain extends BaseTest {
+    private IList<String> strToIList(String input) {
+        IList<String> out = new DoubleLinkedList<>();
+        for (String s : input.trim().split("\\s+")) {
+            out.add(s);
+        }
+        return out;
+    }
+
+    private String join(IList<String> words) {
+        StringBuilder output = new StringBuilder();
+        for (String word : words) {
+            if (output.length() > 0) {
+                output.append(' ');
+            }
+            output.append(word);
+        }
+        return output.toString();
+    }
+
+    @Test(timeout=SECOND)
+    public void testPorterStemmer() {
+        String[][] pairs = {
+            {"caresses", "caress"}, {"ponies", "poni"}, {"cats", "cat"}, {"agreed", "agre"},
+            {"plastered", "plaster"}, {"motoring", "motor"}, {"hopping", "hop"}, {"falling", "fall"},
+            {"filing", "file"}, {"happy", "happi"}, {"relational", "relat"}, {"conditional", "condit"},
+            {"generalization", "gener"}, {"hopeful", "hope"}, {"goodness", "good"},
+            {"adjustment", "adjust"}, {"communism", "commun"}, {"effective", "effect"},
+            {"controll", "control"}, {"connected", "connect"}, {"connecting", "connect"},
+            {"connection", "connect"}, {"running", "run"}, {"runs", "run"}, {"is", "is"},
+        };
+        for (String[] pair : pairs) {
+            assertEquals(pair[0], pair[1], PorterStemmer.stem(pair[0]));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testEnglishChain() {
+        AnalysisChain chain = AnalysisChain.english();
+        assertTrue(!chain.isIdentity());
+        assertEquals("cat", chain.analyze("Cats"));
+        assertNull(chain.analyze("the"));
+        assertNull(chain.analyze("x"));
+        assertNull(chain.analyze("abcdefghijabcdefghijabcdefghijabcdefghijk"));
+        assertEquals("cat sat mat", this.join(chain.analyze(this.strToIList("the cats sat on a mat"))));
+
+        IList<String> words = this.strToIList("the cats");
+        assertTrue(AnalysisChain.NONE.analyze(words) == words);
+        assertEquals("The", AnalysisChain.NONE.analyze("The"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testSignature() {
+        assertEquals(0L, AnalysisChain.NONE.getSignature());
+        assertEquals(AnalysisChain.english().getSignature(), AnalysisChain.english().getSignature());
+        AnalysisChain lowercase = new AnalysisChain.Builder().lowercase().build();
+        AnalysisChain stem = new AnalysisChain.Builder().lowercase().stem().build();
+        AnalysisChain shorter = new AnalysisChain.Builder().lowercase().lengthBetween(3, 40).stem().build();
+        assertTrue(lowercase.getSignature() != 0);
+        assertTrue(lowercase.getSignature() != stem.getSignature());
+        assertTrue(stem.getSignature() != shorter.getSignature());
+        assertTrue(shorter.getSignature() != AnalysisChain.english().getSignature());
+
+        try {
+            new AnalysisChain.Builder().lengthBetween(5, 2);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package search;
+
+import misc.BaseTest;
+import org.junit.Test;
+import search.misc.BinaryFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestBinaryFormat extends BaseTest {
+    private static final int[] NUMBERS = {0, 1, 127, 128, 300, 16383, 16384, 1 << 21, Integer.MAX_VALUE};
+
+    @Test(timeout=SECOND)
+    public void testVarIntsRoundTrip() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] array = new byte[NUMBERS.length * 5];
+        int offset = 0;
+        for (int number : NUMBERS) {
+            BinaryFormat.writeVarInt(out, number);
+            offset = BinaryFormat.writeVarInt(array, offset, number);
+        }
+        BinaryFormat.writeString(out, "caf\u00e9");
+        BinaryFormat.writeString(out, "");
+        assertEquals(out.size() - 7, offset);
+
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+        int[] position = {0};
+        for (int number : NUMBERS) {
+            assertEquals(number, BinaryFormat.readVarInt(buffer, position));
+        }
+        assertEquals(offset, position[0]);
+        assertEquals("caf\u00e9", BinaryFormat.readString(buffer, position));
+        BinaryFormat.skipString(buffer, position);
+        assertEquals(buffer.capacity(), position[0]);
+        assertEquals(0, buffer.position());
+    }
+
+    @Test(timeout=SECOND)
+    public void testHashesMatchFnv1a() {
+        assertEquals(0xcbf29ce484222325L, BinaryFormat.FNV_OFFSET_BASIS);
+        assertEquals(0xaf63dc4c8601ec8cL, BinaryFormat.hash(BinaryFormat.FNV_OFFSET_BASIS, "a"));
+        assertEquals(0x85944171f73967e8L, BinaryFormat.hash(BinaryFormat.FNV_OFFSET_BASIS, "foobar"));
+
+        byte[] bytes = "foobar".getBytes(StandardCharsets.US_ASCII);
+        long hash = BinaryFormat.hash(BinaryFormat.FNV_OFFSET_BASIS, bytes, 0, 3);
+        hash = BinaryFormat.hash(hash, bytes, 3, 3);
+        assertEquals(0x85944171f73967e8L, hash);
+    }
+
+    @Test(timeout=SECOND)
+    public void testWriteAtomicallyReplacesFile() throws IOException {
+        Path file = Files.createTempFile("binary", ".bin");
+        try {
+            BinaryFormat.writeAtomically(file, out -> out.writeInt(1));
+            BinaryFormat.writeAtomically(file, ByteBuffer.wrap(new byte[] {0, 0, 3, 4}), new byte[] {1, 2});
+            byte[] contents = Files.readAllBytes(file);
+            assertTrue(Arrays.equals(new byte[] {1, 2, 3, 4}, contents));
+            assertTrue(!Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
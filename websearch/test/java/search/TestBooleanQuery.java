@@ -0,0 +1,114 @@
+package search;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.BaseTest;
+import org.junit.Test;
+import search.analyzers.TfIdfAnalyzer;
+import search.index.BooleanQuery;
+import search.index.InvertedIndex;
+import search.models.Result;
+import search.models.Webpage;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestBooleanQuery extends BaseTest {
+    private static final String[] VOCABULARY = {"ant", "bee", "cat", "dog", "eel", "fox", "gnu", "hen"};
+
+    // "ant" is in every page, so it has no postings at all.
+    private ISet<Webpage> makeRandomPages(int numPages, long seed) {
+        return makeRandomPages(numPages, VOCABULARY, 5, 0, seed);
+    }
+
+    /**
+     * Checks that the given query matches exactly the pages whose words are accepted
+     * by the given predicate.
+     */
+    private void checkQuery(ISet<Webpage> pages, TfIdfAnalyzer analyzer, InvertedIndex index,
+                            String query, Predicate<IList<String>> expected) {
+        int[] docIds = BooleanQuery.parse(query).evaluate(
+                index, analyzer.getTermDictionary(), analyzer.getDocumentCount());
+        for (int i = 1; i < docIds.length; i++) {
+            assertTrue(docIds[i - 1] < docIds[i]);
+        }
+
+        int numExpected = 0;
+        for (Webpage page : pages) {
+            boolean matches = Arrays.binarySearch(docIds, analyzer.getDocumentId(page.getUri())) >= 0;
+            assertEquals(expected.test(page.getWords()), matches);
+            if (matches) {
+                numExpected++;
+            }
+        }
+        assertEquals(numExpected, docIds.length);
+    }
+
+    @Test(timeout=SECOND)
+    public void testMatchesBruteForce() {
+        ISet<Webpage> pages = this.makeRandomPages(500, 1);
+        TfIdfAnalyzer analyzer = new TfIdfAnalyzer(pages);
+        InvertedIndex index = new InvertedIndex(analyzer);
+
+        this.checkQuery(pages, analyzer, index, "bee AND cat",
+                words -> words.contains("bee") && words.contains("cat"));
+        this.checkQuery(pages, analyzer, index, "bee cat NOT dog",
+                words -> words.contains("bee") && words.contains("cat") && !words.contains("dog"));
+        this.checkQuery(pages, analyzer, index, "hen OR gnu",
+                words -> words.contains("hen") || words.contains("gnu"));
+        this.checkQuery(pages, analyzer, index, "bee AND (hen OR NOT cat)",
+                words -> words.contains("bee") && (words.contains("hen") || !words.contains("cat")));
+        this.checkQuery(pages, analyzer, index, "NOT bee",
+                words -> !words.contains("bee"));
+        this.checkQuery(pages, analyzer, index, "ant AND NOT (bee OR cat OR dog)",
+                words -> !words.contains("bee") && !words.contains("cat") && !words.contains("dog"));
+        this.checkQuery(pages, analyzer, index, "gnu OR bee AND NOT ant",
+                words -> words.contains("gnu"));
+        this.checkQuery(pages, analyzer, index, "(zebra OR eel) AND fox",
+                words -> words.contains("eel") && words.contains("fox"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testParsing() {
+        assertNull(BooleanQuery.parse("cat and dog"));
+        assertEquals("(cat AND (NOT dog))", BooleanQuery.parse("Cat NOT dog").toString());
+        assertEquals("((cat AND dog) OR eel)", BooleanQuery.parse("(cat AND dog) OR eel").toString());
+        assertEquals("(cat OR (dog AND eel))", BooleanQuery.parse("cat OR dog eel").toString());
+
+        IList<String> positive = BooleanQuery.parse("cat AND NOT (dog OR eel) OR fox").getPositiveTerms();
+        assertEquals(2, positive.size());
+        assertTrue(positive.contains("cat") && positive.contains("fox"));
+
+        for (String malformed : new String[] {"cat AND", "OR dog", "(cat dog", "cat)", "NOT", "cat AND !!"}) {
+            try {
+                BooleanQuery.parse(malformed);
+                fail("Expected IllegalArgumentException for '" + malformed + "'");
+            } catch (IllegalArgumentException ex) {
+                // All ok -- expected result
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testSearchEngineScoresPositiveTerms() {
+        ISet<Webpage> pages = this.makeRandomPages(200, 2);
+        SearchEngine engine = new SearchEngine(pages);
+        IList<Result> results = engine.getTopKResults(BooleanQuery.parse("cat AND NOT dog"), 10);
+
+        assertTrue(results.size() > 0);
+        for (Result result : results) {
+            assertEquals(engine.computeScore(this.toList("cat"), result.getUri()), result.getScore(), 1e-6);
+        }
+    }
+
+    private IList<String> toList(String word) {
+        IList<String> output = new DoubleLinkedList<>();
+        output.add(word);
+        return output;
+    }
+}
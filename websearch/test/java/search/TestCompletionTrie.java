@@ -0,0 +1,123 @@
+package search;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.BaseTest;
+import org.junit.Test;
+import search.index.CompletionTrie;
+import search.models.Webpage;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestCompletionTrie extends BaseTest {
+    /**
+     * Returns the indices of the given words sorted by decreasing weight, then by word.
+     */
+    private Integer[] sortByWeight(String[] words, int[] weights) {
+        Integer[] order = new Integer[words.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> weights[a] != weights[b] ? weights[b] - weights[a] : words[a].compareTo(words[b]));
+        return order;
+    }
+
+    /**
+     * Returns the 'limit' words with the given prefix with the highest weights, by
+     * scanning all of them in the given order from 'sortByWeight'.
+     */
+    private String[] bruteForceComplete(String[] words, Integer[] order, String prefix, int limit) {
+        String[] output = new String[limit];
+        int size = 0;
+        for (int i = 0; i < order.length && size < limit; i++) {
+            boolean duplicate = size > 0 && output[size - 1].equals(words[order[i]]);
+            if (words[order[i]].startsWith(prefix) && !duplicate) {
+                output[size] = words[order[i]];
+                size++;
+            }
+        }
+        return Arrays.copyOf(output, size);
+    }
+
+    private String[] toArray(IList<String> list) {
+        String[] output = new String[list.size()];
+        int i = 0;
+        for (String word : list) {
+            output[i] = word;
+            i++;
+        }
+        return output;
+    }
+
+    @Test(timeout=SECOND)
+    public void testMatchesBruteForce() {
+        Random random = new Random(1);
+        String[] words = new String[3000];
+        int[] weights = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            // Short words over a small alphabet, so prefixes are widely shared.
+            char[] letters = new char[1 + random.nextInt(7)];
+            for (int j = 0; j < letters.length; j++) {
+                letters[j] = (char) ('a' + random.nextInt(4));
+            }
+            words[i] = new String(letters);
+            weights[i] = random.nextInt(50);
+        }
+        // Duplicates keep their highest weight.
+        IDictionary<String, Integer> maxWeights = new ChainedHashDictionary<>();
+        for (int i = 0; i < words.length; i++) {
+            maxWeights.put(words[i], Math.max(weights[i], maxWeights.getOrDefault(words[i], 0)));
+        }
+        for (int i = 0; i < words.length; i++) {
+            weights[i] = maxWeights.get(words[i]);
+        }
+        CompletionTrie trie = new CompletionTrie(words, weights, 8);
+        Integer[] order = this.sortByWeight(words, weights);
+
+        for (int trial = 0; trial < 300; trial++) {
+            String prefix = words[random.nextInt(words.length)];
+            prefix = prefix.substring(0, random.nextInt(prefix.length() + 1));
+            int limit = random.nextInt(10);
+            String[] expected = this.bruteForceComplete(words, order, prefix, Math.min(limit, 8));
+            assertTrue(Arrays.equals(expected, this.toArray(trie.complete(prefix, limit))));
+        }
+        assertEquals(0, trie.complete("z", 8).size());
+        assertEquals(0, trie.complete("abcdabcdabcd", 8).size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testEmptyTrie() {
+        CompletionTrie trie = new CompletionTrie(new String[0], new int[0], 3);
+        assertEquals(0, trie.size());
+        assertEquals(0, trie.complete("", 3).size());
+        assertEquals(0, trie.complete("a", 3).size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testSearchEngineRanksByDocumentFrequency() {
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        String[] texts = {"cat catalog", "cat category", "cat catalog", "dog catalog", "catalog"};
+        for (int i = 0; i < texts.length; i++) {
+            IList<String> words = new DoubleLinkedList<>();
+            for (String word : texts[i].split(" ")) {
+                words.add(word);
+            }
+            pages.add(new Webpage(URI.create("http://example.com/" + i + ".html"),
+                    new DoubleLinkedList<>(), words, "page" + i, ""));
+        }
+        SearchEngine engine = new SearchEngine(pages);
+
+        String[] expected = {"catalog", "cat", "category"};
+        assertTrue(Arrays.equals(expected, this.toArray(engine.getCompletions("CAT", 10))));
+        assertTrue(Arrays.equals(new String[] {"catalog"}, this.toArray(engine.getCompletions("cat", 1))));
+        assertEquals(0, engine.getCompletions("x", 10).size());
+    }
+}
@@ -0,0 +1,57 @@
+package search;
+
+import misc.BaseTest;
+import org.junit.Test;
+import search.index.DocStore;
+import search.models.WebpageSummary;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestDocStore extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testSummariesMatchAfterReopening() throws IOException {
+        DocStore.Builder builder = new DocStore.Builder();
+        WebpageSummary[] summaries = new WebpageSummary[100];
+        StringBuilder longBlurb = new StringBuilder();
+        for (int i = 0; i < summaries.length; i++) {
+            longBlurb.append("word").append(i).append(' ');
+            summaries[i] = new WebpageSummary(
+                    URI.create("http://example.com/page" + i + ".html"),
+                    "Page \u00e9t\u00e9 " + i,
+                    i % 10 == 0 ? longBlurb.toString() : "");
+            builder.add(summaries[i]);
+        }
+
+        DocStore inMemory = builder.build();
+        assertEquals(summaries.length, inMemory.size());
+        Path file = Files.createTempFile("summaries", ".docs");
+        try {
+            inMemory.write(file, 7L);
+            assertNull(DocStore.open(file, 8L));
+            DocStore mapped = DocStore.open(file, 7L);
+            assertTrue(mapped != null);
+            assertEquals(inMemory.getSizeInBytes(), mapped.getSizeInBytes());
+            for (int i = summaries.length - 1; i >= 0; i--) {
+                assertEquals(summaries[i], inMemory.get(i));
+                assertEquals(summaries[i], mapped.get(i));
+            }
+
+            try {
+                mapped.get(summaries.length);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // All ok
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertEquals(0, new DocStore.Builder().build().size());
+    }
+}
@@ -0,0 +1,210 @@
+package search;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import org.junit.Test;
+import search.analyzers.TfIdfAnalyzer;
+import search.index.IndexSegment;
+import search.index.InvertedIndex;
+import search.index.MaxScoreEvaluator;
+import search.index.PostingCursor;
+import search.index.PostingList;
+import search.index.SparseVector;
+import search.index.TopKCollector;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestIndexSegment extends BaseTest {
+    private static final int VOCABULARY_SIZE = 200;
+
+    private TfIdfAnalyzer makeRandomAnalyzer(int numPages, long seed) {
+        return new TfIdfAnalyzer(makeRandomPages(numPages, makeVocabulary(VOCABULARY_SIZE), 44, 0, seed));
+    }
+
+    private IndexSegment writeAndOpen(InvertedIndex index, int numDocuments, Path file) {
+        IndexSegment.write(index, numDocuments, file, 42);
+        IndexSegment segment = IndexSegment.open(file, 42);
+        assertTrue(segment != null);
+        return segment;
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testCursorsMatchInMemoryPostings() throws IOException {
+        TfIdfAnalyzer analyzer = this.makeRandomAnalyzer(3000, 1);
+        InvertedIndex index = new InvertedIndex(analyzer);
+        Path file = Files.createTempFile("segment", ".postings");
+        try {
+            IndexSegment segment = this.writeAndOpen(index, analyzer.getDocumentCount(), file);
+            assertEquals(analyzer.getDocumentCount(), segment.size());
+            assertEquals(index.getTermCount(), segment.getTermCount());
+
+            int numPostings = 0;
+            for (int termId = 0; termId < index.getTermCount(); termId++) {
+                PostingList expected = index.getPostings(termId);
+                PostingCursor actual = segment.getCursor(termId);
+                if (expected == null) {
+                    assertNull(actual);
+                    continue;
+                }
+                assertEquals(expected.size(), actual.size());
+                float maxWeight = 0.0f;
+                for (int i = 0; i < expected.size(); i++) {
+                    maxWeight = Math.max(maxWeight, expected.getWeight(i));
+                }
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.getDocId(i), actual.docId());
+                    // Quantized weights are rounded up, by about one step.
+                    assertTrue(actual.weight() >= expected.getWeight(i));
+                    assertEquals(expected.getWeight(i), actual.weight(), 2 * maxWeight / 65535.0);
+                    actual.next();
+                }
+                assertEquals(PostingCursor.NO_MORE_DOCS, actual.docId());
+                assertEquals(PostingCursor.NO_MORE_DOCS, actual.next());
+                numPostings += expected.size();
+            }
+
+            // Most postings take 3 bytes instead of 8.
+            assertTrue(segment.getSizeInBytes() < numPostings * 4L);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testAdvanceMatchesInMemoryPostings() throws IOException {
+        TfIdfAnalyzer analyzer = this.makeRandomAnalyzer(3000, 2);
+        InvertedIndex index = new InvertedIndex(analyzer);
+        Path file = Files.createTempFile("segment", ".postings");
+        try {
+            IndexSegment segment = this.writeAndOpen(index, analyzer.getDocumentCount(), file);
+            Random random = new Random(3);
+            for (int termId = 0; termId < index.getTermCount(); termId++) {
+                PostingCursor expected = index.getCursor(termId);
+                PostingCursor actual = segment.getCursor(termId);
+                if (expected == null) {
+                    continue;
+                }
+                int target = 0;
+                while (expected.docId() != PostingCursor.NO_MORE_DOCS) {
+                    // Jump ahead by various amounts, sometimes to documents we are already past.
+                    target += random.nextInt(400) - 20;
+                    assertEquals(expected.advance(target), actual.advance(target));
+                    if (random.nextBoolean()) {
+                        assertEquals(expected.next(), actual.next());
+                    }
+                }
+                assertEquals(PostingCursor.NO_MORE_DOCS, actual.docId());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testUnionAndIntersection() throws IOException {
+        TfIdfAnalyzer analyzer = this.makeRandomAnalyzer(2000, 4);
+        InvertedIndex index = new InvertedIndex(analyzer);
+        Path file = Files.createTempFile("segment", ".postings");
+        try {
+            IndexSegment segment = this.writeAndOpen(index, analyzer.getDocumentCount(), file);
+            Random random = new Random(5);
+            for (int i = 0; i < 200; i++) {
+                int[] termIds = new int[1 + random.nextInt(4)];
+                for (int j = 0; j < termIds.length; j++) {
+                    termIds[j] = random.nextInt(10) == 0 ? -1 : random.nextInt(index.getTermCount());
+                }
+
+                // Compute the expected answers by brute force.
+                int[] union = new int[analyzer.getDocumentCount()];
+                int unionSize = 0;
+                int[] intersection = new int[analyzer.getDocumentCount()];
+                int intersectionSize = 0;
+                for (int docId = 0; docId < analyzer.getDocumentCount(); docId++) {
+                    SparseVector vector = analyzer.getTermFrequencyVector(docId);
+                    int matches = 0;
+                    for (int termId : termIds) {
+                        for (int t = 0; t < vector.size(); t++) {
+                            if (vector.getTermId(t) == termId && vector.getWeight(t) != 0.0f) {
+                                matches++;
+                                break;
+                            }
+                        }
+                    }
+                    if (matches > 0) {
+                        union[unionSize] = docId;
+                        unionSize++;
+                    }
+                    if (matches == termIds.length) {
+                        intersection[intersectionSize] = docId;
+                        intersectionSize++;
+                    }
+                }
+
+                int[] expectedUnion = Arrays.copyOf(union, unionSize);
+                int[] expectedIntersection = Arrays.copyOf(intersection, intersectionSize);
+                assertTrue(Arrays.equals(expectedUnion, index.getCandidates(termIds)));
+                assertTrue(Arrays.equals(expectedUnion, segment.getCandidates(termIds)));
+                assertTrue(Arrays.equals(expectedIntersection, index.getIntersection(termIds)));
+                assertTrue(Arrays.equals(expectedIntersection, segment.getIntersection(termIds)));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testMaxScoreOnSegmentMatchesInMemory() throws IOException {
+        TfIdfAnalyzer analyzer = this.makeRandomAnalyzer(2000, 6);
+        InvertedIndex index = new InvertedIndex(analyzer);
+        Random random = new Random(7);
+        double[] factors = new double[analyzer.getDocumentCount()];
+        for (int docId = 0; docId < factors.length; docId++) {
+            factors[docId] = random.nextDouble() / analyzer.computeDocumentNorm(docId);
+        }
+
+        Path file = Files.createTempFile("segment", ".postings");
+        try {
+            IndexSegment segment = this.writeAndOpen(index, analyzer.getDocumentCount(), file);
+            MaxScoreEvaluator expected = new MaxScoreEvaluator(index, factors);
+            MaxScoreEvaluator actual = new MaxScoreEvaluator(segment, factors);
+            for (int i = 0; i < 100; i++) {
+                IList<String> query = new DoubleLinkedList<>();
+                for (int j = random.nextInt(4); j >= 0; j--) {
+                    query.add("word" + random.nextInt(VOCABULARY_SIZE));
+                }
+                SparseVector queryVector = analyzer.computeQueryVector(query);
+                int k = 1 + random.nextInt(20);
+
+                TopKCollector expectedResults = expected.topK(queryVector, k,
+                        docId -> analyzer.getTermFrequencyVector(docId).dot(queryVector) * factors[docId]);
+                TopKCollector actualResults = actual.topK(queryVector, k,
+                        docId -> analyzer.getTermFrequencyVector(docId).dot(queryVector) * factors[docId]);
+                assertTrue(Arrays.equals(expectedResults.getDocIds(), actualResults.getDocIds()));
+                assertTrue(Arrays.equals(expectedResults.getScores(), actualResults.getScores()));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testOpenRejectsOtherFingerprint() throws IOException {
+        TfIdfAnalyzer analyzer = this.makeRandomAnalyzer(10, 8);
+        Path file = Files.createTempFile("segment", ".postings");
+        try {
+            IndexSegment.write(new InvertedIndex(analyzer), analyzer.getDocumentCount(), file, 42);
+            assertNull(IndexSegment.open(file, 43));
+            assertNull(IndexSegment.open(file.resolveSibling("missing.postings"), 42));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
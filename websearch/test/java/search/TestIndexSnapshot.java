@@ -0,0 +1,113 @@
+package search;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.BaseTest;
+import org.junit.Test;
+import search.analyzers.PageRankAnalyzer;
+import search.analyzers.TfIdfAnalyzer;
+import search.index.DocStore;
+import search.index.IndexSnapshot;
+import search.models.Webpage;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertNotNull;
+
+public class TestIndexSnapshot extends BaseTest {
+    public static final double DELTA = 0.000001;
+
+    private IList<String> strToIList(String input) {
+        IList<String> output = new DoubleLinkedList<>();
+        for (String word : input.split(" ")) {
+            output.add(word);
+        }
+        return output;
+    }
+
+    private ISet<Webpage> makeExamplePages() {
+        String[] texts = {
+            "the mouse played with the cat",
+            "the quick brown fox jumped over the lazy dog",
+            "dog 1 and dog 2 ate the hot dog",
+        };
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        for (int i = 0; i < texts.length; i++) {
+            IList<URI> links = new DoubleLinkedList<>();
+            links.add(URI.create("http://example.com/page" + ((i + 1) % texts.length) + ".html"));
+            pages.add(new Webpage(
+                    URI.create("http://example.com/page" + i + ".html"),
+                    links,
+                    strToIList(texts[i]),
+                    "Title " + i + " \u00e9t\u00e9",
+                    "Blurb " + i));
+        }
+        return pages;
+    }
+
+    @Test(timeout=SECOND)
+    public void testRoundTrip() throws IOException {
+        ISet<Webpage> pages = this.makeExamplePages();
+        TfIdfAnalyzer tfIdf = new TfIdfAnalyzer(pages);
+        PageRankAnalyzer pageRank = new PageRankAnalyzer(pages, 0.85, 0.00001, 100);
+
+        // Summaries are saved next to the snapshot, by document id.
+        Webpage[] byDocId = new Webpage[pages.size()];
+        for (Webpage page : pages) {
+            byDocId[tfIdf.getDocumentId(page.getUri())] = page;
+        }
+        DocStore.Builder summaries = new DocStore.Builder();
+        for (Webpage page : byDocId) {
+            summaries.add(page.getSummary());
+        }
+
+        Path file = Files.createTempFile("snapshot", ".index");
+        Path docsFile = Files.createTempFile("snapshot", ".docs");
+        try {
+            new IndexSnapshot(tfIdf, pageRank).write(file, 1234L);
+            summaries.build().write(docsFile, 1234L);
+
+            assertEquals(null, IndexSnapshot.load(file, 4321L));
+            IndexSnapshot loaded = IndexSnapshot.load(file, 1234L);
+            assertNotNull(loaded);
+            for (int termId = 0; termId < tfIdf.getTermDictionary().size(); termId++) {
+                assertEquals(tfIdf.getTermDictionary().getTerm(termId), loaded.getSurfaceForms().getWord(termId));
+                assertEquals(tfIdf.getDocumentFrequency(termId),
+                        loaded.getTfIdfAnalyzer().getDocumentFrequency(termId));
+            }
+            assertEquals(null, DocStore.open(docsFile, 4321L));
+            DocStore loadedSummaries = DocStore.open(docsFile, 1234L);
+            assertNotNull(loadedSummaries);
+            assertEquals(pages.size(), loadedSummaries.size());
+
+            IList<String> query = strToIList("the 1 cat dog");
+            for (Webpage page : pages) {
+                URI uri = page.getUri();
+                assertEquals(page.getSummary(),
+                        loadedSummaries.get(loaded.getTfIdfAnalyzer().getDocumentId(uri)));
+                assertEquals(pageRank.computePageRank(uri),
+                        loaded.getPageRankAnalyzer().computePageRank(uri), DELTA);
+                assertEquals(tfIdf.computeRelevance(query, uri),
+                        loaded.getTfIdfAnalyzer().computeRelevance(query, uri), DELTA);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(docsFile);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testMissingSnapshot() throws IOException {
+        Path folder = Files.createTempDirectory("snapshot");
+        try {
+            assertEquals(null, IndexSnapshot.load(folder.resolve("missing.index"), 0L));
+        } finally {
+            Files.delete(folder);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package search;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.BaseTest;
+import misc.Sorter;
+import org.junit.Test;
+import search.analyzers.PageRankAnalyzer;
+import search.analyzers.TfIdfAnalyzer;
+import search.index.DocStore;
+import search.index.IndexDelta;
+import search.index.IndexView;
+import search.index.IndexWriter;
+import search.index.InvertedIndex;
+import search.index.PostingSource;
+import search.index.SurfaceForms;
+import search.models.Result;
+import search.models.Webpage;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestIndexWriter extends BaseTest {
+    public static final double DELTA = 0.000001;
+
+    private static final String[] VOCABULARY = {
+        "the", "cat", "dog", "mouse", "fox", "quick", "lazy", "brown", "jumped", "over",
+    };
+
+    private static final String[] QUERIES = {
+        "the", "cat dog", "quick brown fox", "lazy lazy dog", "unknown cat", "mouse",
+    };
+
+    private IList<String> strToIList(String input) {
+        IList<String> output = new DoubleLinkedList<>();
+        for (String word : input.split(" ")) {
+            output.add(word);
+        }
+        return output;
+    }
+
+    private URI makeUri(int number) {
+        return URI.create("http://example.com/page-" + number + ".html");
+    }
+
+    private Webpage makeRandomPage(Random random, int number, int numPages) {
+        IList<String> words = new DoubleLinkedList<>();
+        for (int j = random.nextInt(15); j >= 0; j--) {
+            words.add(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+        }
+        IList<URI> links = new DoubleLinkedList<>();
+        links.add(this.makeUri(random.nextInt(numPages)));
+        return new Webpage(this.makeUri(number), links, words, "page" + number, "");
+    }
+
+    private IndexWriter makeWriter(int maxBufferedPages) {
+        return new IndexWriter(maxBufferedPages, 0.85, 0.0001, 200);
+    }
+
+    private ISet<Webpage> toSet(IDictionary<URI, Webpage> pages) {
+        ISet<Webpage> output = new ChainedHashSet<>();
+        for (KVPair<URI, Webpage> pair : pages) {
+            output.add(pair.getValue());
+        }
+        return output;
+    }
+
+    private void checkMatches(IDictionary<URI, Webpage> live, IndexView view) {
+        assertEquals(live.size(), view.size());
+        ISet<Webpage> pages = this.toSet(live);
+        TfIdfAnalyzer expected = new TfIdfAnalyzer(pages);
+        for (String query : QUERIES) {
+            for (Webpage page : pages) {
+                assertEquals(
+                        expected.computeRelevance(strToIList(query), page.getUri()),
+                        view.computeRelevance(strToIList(query), page.getUri()),
+                        DELTA);
+            }
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testMatchesTfIdfAnalyzerOfLivePages() throws InterruptedException {
+        Random random = new Random(1);
+        int numPages = 300;
+        IndexWriter writer = this.makeWriter(10);
+        IDictionary<URI, Webpage> live = new ChainedHashDictionary<>();
+
+        for (int i = 0; i < 2000; i++) {
+            int number = random.nextInt(numPages);
+            URI uri = this.makeUri(number);
+            if (random.nextInt(5) == 0) {
+                writer.delete(uri);
+                if (live.containsKey(uri)) {
+                    live.remove(uri);
+                }
+            } else {
+                Webpage page = this.makeRandomPage(random, number, numPages);
+                writer.addOrUpdate(page);
+                live.put(uri, page);
+            }
+        }
+        writer.flush();
+        writer.waitForMerges();
+        writer.waitForRefresh();
+
+        IndexView view = writer.getView();
+        this.checkMatches(live, view);
+
+        // Page ranks are updated incrementally, but end up like those of the live pages.
+        PageRankAnalyzer pageRanks = new PageRankAnalyzer(this.toSet(live), 0.85, 0.0001, 200);
+        for (KVPair<URI, Webpage> pair : live) {
+            assertEquals(pageRanks.computePageRank(pair.getKey()),
+                    view.getPageRank(view.getDocumentId(pair.getKey())), 0.001);
+        }
+        for (int number = 0; number < numPages; number++) {
+            assertEquals(live.containsKey(this.makeUri(number)), view.contains(this.makeUri(number)));
+        }
+
+        // Merges keep the number of segments logarithmic in the number of pages.
+        assertTrue(view.getSegmentCount() <= 3 * IndexWriter.MERGE_FACTOR);
+        writer.close();
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testTopKResults() throws InterruptedException {
+        Random random = new Random(2);
+        IndexWriter writer = this.makeWriter(7);
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        for (int i = 0; i < 100; i++) {
+            Webpage page = this.makeRandomPage(random, i, 100);
+            pages.add(page);
+            writer.addOrUpdate(page);
+        }
+        writer.close();
+
+        IndexView view = writer.getView();
+        for (String query : QUERIES) {
+            // Score every page containing a query term, then sort them.
+            IList<Result> scored = new DoubleLinkedList<>();
+            for (Webpage page : pages) {
+                double score = view.computeScore(strToIList(query), page.getUri());
+                if (score > 0.0) {
+                    scored.add(new Result(page.getSummary(), score));
+                }
+            }
+            IList<Result> expectedResults = Sorter.topKSort(10, scored);
+            IList<Result> actualResults = view.getTopKResults(strToIList(query), 10);
+            assertEquals(expectedResults.size(), actualResults.size());
+            for (int i = 0; i < expectedResults.size(); i++) {
+                Result expected = expectedResults.get(expectedResults.size() - 1 - i);
+                assertEquals(expected.getScore(), actualResults.get(i).getScore(), DELTA);
+            }
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testViewIsSnapshot() throws InterruptedException {
+        Random random = new Random(3);
+        IndexWriter writer = this.makeWriter(100);
+        IDictionary<URI, Webpage> live = new ChainedHashDictionary<>();
+        for (int i = 0; i < 20; i++) {
+            Webpage page = this.makeRandomPage(random, i, 20);
+            writer.addOrUpdate(page);
+            live.put(page.getUri(), page);
+        }
+
+        // Buffered pages are not visible until flushed.
+        assertEquals(0, writer.getView().size());
+        writer.flush();
+        assertEquals(1L, writer.getView().getGeneration());
+
+        // Refreshing the page ranks and norms publishes another view.
+        writer.waitForRefresh();
+        IndexView view = writer.getView();
+        assertEquals(2L, view.getGeneration());
+
+        writer.delete(this.makeUri(0));
+        writer.addOrUpdate(this.makeRandomPage(random, 1, 20));
+        writer.addOrUpdate(this.makeRandomPage(random, 20, 20));
+        writer.close();
+
+        this.checkMatches(live, view);
+        assertTrue(view.contains(this.makeUri(0)));
+        assertTrue(!view.contains(this.makeUri(20)));
+        assertTrue(!writer.getView().contains(this.makeUri(0)));
+        assertEquals(20, writer.getView().size());
+        assertEquals(4L, writer.getView().getGeneration());
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testDeltaBringsStartingIndexUpToDate() throws IOException, InterruptedException {
+        Random random = new Random(5);
+        IDictionary<URI, Webpage> live = new ChainedHashDictionary<>();
+        for (int i = 0; i < 40; i++) {
+            Webpage page = this.makeRandomPage(random, i, 40);
+            live.put(page.getUri(), page);
+        }
+        ISet<Webpage> startingPages = this.toSet(live);
+        TfIdfAnalyzer analyzer = new TfIdfAnalyzer(startingPages);
+        Webpage[] byDocId = new Webpage[startingPages.size()];
+        for (Webpage page : startingPages) {
+            byDocId[analyzer.getDocumentId(page.getUri())] = page;
+        }
+        DocStore.Builder summaries = new DocStore.Builder();
+        for (Webpage page : byDocId) {
+            summaries.add(page.getSummary());
+        }
+        DocStore docs = summaries.build();
+        PostingSource postings = new InvertedIndex(analyzer);
+
+        IndexWriter writer = new IndexWriter(analyzer, postings, null, docs,
+                new PageRankAnalyzer(startingPages, 0.85, 0.0001, 200, 1, true), 0, 4);
+        for (int i = 0; i < 10; i++) {
+            writer.delete(this.makeUri(i));
+            live.remove(this.makeUri(i));
+        }
+        for (int i = 10; i < 50; i += 3) {
+            Webpage page = this.makeRandomPage(random, i, 50);
+            writer.addOrUpdate(page);
+            live.put(page.getUri(), page);
+        }
+        IList<String> words = strToIList("zebra crossing");
+        Webpage zebra = new Webpage(this.makeUri(50), new DoubleLinkedList<>(), words, "page50", "");
+        writer.addOrUpdate(zebra);
+        live.put(zebra.getUri(), zebra);
+        writer.flush();
+        writer.waitForRefresh();
+        IndexView expected = writer.getView();
+        IndexDelta delta = writer.getDelta(7L, SurfaceForms.of(expected.getTermDictionary()));
+        writer.close();
+
+        Path file = Files.createTempFile("index", ".delta");
+        try {
+            delta.write(file, 11L);
+            assertEquals(null, IndexDelta.load(file, 12L));
+            delta = IndexDelta.load(file, 11L);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertEquals(7L, delta.getBaseFingerprint());
+        // 10 deleted and 10 replaced pages, 14 updated or new pages and the zebra page.
+        assertEquals(20 + 15, delta.getChangeCount());
+
+        // A writer starting from the same index gets the same pages, terms and page
+        // ranks, without indexing anything.
+        ISet<Webpage> livePages = this.toSet(live);
+        IndexWriter loaded = new IndexWriter(analyzer, postings, null, docs,
+                delta.getPageRankAnalyzer(analyzer).makeUpdatable(() -> livePages, 0.85, 0.0001, 200, 1),
+                0, 4);
+        loaded.apply(delta);
+        loaded.waitForRefresh();
+        IndexView view = loaded.getView();
+        this.checkMatches(live, view);
+        assertEquals(expected.getTermDictionary().size(), view.getTermDictionary().size());
+        for (KVPair<URI, Webpage> pair : live) {
+            assertEquals(expected.getPageRank(expected.getDocumentId(pair.getKey())),
+                    view.getPageRank(view.getDocumentId(pair.getKey())), DELTA);
+        }
+        SurfaceForms forms = delta.getSurfaceForms(SurfaceForms.of(analyzer.getTermDictionary()));
+        assertEquals(view.getTermDictionary().size(), forms.size());
+        assertEquals("zebra", forms.getWord(view.getTermDictionary().getId("zebra")));
+
+        // Later changes go on from there.
+        loaded.delete(zebra.getUri());
+        live.remove(zebra.getUri());
+        loaded.close();
+        this.checkMatches(live, loaded.getView());
+
+        try {
+            loaded.apply(delta);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testClosedWriterRejectsChanges() throws InterruptedException {
+        IndexWriter writer = this.makeWriter(10);
+        writer.close();
+        try {
+            writer.addOrUpdate(this.makeRandomPage(new Random(4), 0, 1));
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+        try {
+            this.makeWriter(0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package search;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.BaseTest;
+import org.junit.Test;
+import search.analyzers.TfIdfAnalyzer;
+import search.index.IndexingPipeline;
+import search.models.Webpage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.fail;
+
+public class TestIndexingPipeline extends BaseTest {
+    public static final double DELTA = 0.000001;
+
+    private static final String[] VOCABULARY = {
+        "the", "cat", "dog", "mouse", "fox", "quick", "lazy", "brown", "jumped", "over",
+    };
+
+    private IList<String> strToIList(String input) {
+        IList<String> output = new DoubleLinkedList<>();
+        for (String word : input.split(" ")) {
+            output.add(word);
+        }
+        return output;
+    }
+
+    /**
+     * Loads a page whose file holds its words, linking to the next page.
+     */
+    private Webpage loadPage(Path file) {
+        try {
+            String name = file.getFileName().toString();
+            int number = Integer.parseInt(name.substring(5, name.indexOf('.')));
+            IList<URI> links = new DoubleLinkedList<>();
+            links.add(URI.create("http://example.com/page-" + (number + 1) + ".html"));
+            String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            return new Webpage(URI.create("http://example.com/" + name), links, strToIList(text), name, text);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private Path makeFolder(int numPages) throws IOException {
+        Random random = new Random(numPages);
+        Path root = Files.createTempDirectory("pipeline");
+        for (int i = 0; i < numPages; i++) {
+            StringBuilder text = new StringBuilder("page");
+            for (int j = random.nextInt(20); j >= 0; j--) {
+                text.append(' ').append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+            }
+            Files.write(root.resolve("page-" + i + ".html"), text.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        Files.write(root.resolve("ignored.txt"), "not a webpage".getBytes(StandardCharsets.UTF_8));
+        return root;
+    }
+
+    private void deleteFolder(Path root) throws IOException {
+        try (Stream<Path> files = Files.list(root)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(root);
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testMatchesTfIdfAnalyzer() throws IOException {
+        Path root = this.makeFolder(500);
+        try {
+            // Use tiny queues so every stage has to wait for the others.
+            IndexingPipeline pipeline = new IndexingPipeline(root, this::loadPage, 3, 2);
+            pipeline.run();
+
+            ISet<Webpage> pages = new ChainedHashSet<>();
+            try (Stream<Path> files = Files.list(root)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    if (file.toString().endsWith(".html")) {
+                        pages.add(this.loadPage(file));
+                    }
+                }
+            }
+            TfIdfAnalyzer expected = new TfIdfAnalyzer(pages);
+            TfIdfAnalyzer actual = pipeline.getTfIdfAnalyzer();
+
+            assertEquals(pages.size(), pipeline.getPages().size());
+            assertEquals(pages.size(), actual.getDocumentCount());
+            for (Webpage page : pipeline.getPages()) {
+                assertEquals(0, page.getWords().size());
+                assertEquals(1, page.getLinks().size());
+            }
+
+            String[] queries = {"the", "cat dog", "quick brown fox", "page", "unknown", "lazy lazy dog"};
+            for (String query : queries) {
+                for (Webpage page : pages) {
+                    assertEquals(
+                            expected.computeRelevance(strToIList(query), page.getUri()),
+                            actual.computeRelevance(strToIList(query), page.getUri()),
+                            DELTA);
+                }
+            }
+        } finally {
+            this.deleteFolder(root);
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testIdsDoNotDependOnWhichPageIsParsedFirst() throws IOException {
+        Path root = this.makeFolder(60);
+        try {
+            // Every third page is slow, so the other parse threads finish pages after it first.
+            IndexingPipeline pipeline = new IndexingPipeline(root, file -> {
+                if (file.getFileName().toString().hashCode() % 3 == 0) {
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return this.loadPage(file);
+            }, 4, 8);
+            pipeline.run();
+
+            Path[] files;
+            try (Stream<Path> paths = Files.list(root)) {
+                files = paths.filter(file -> file.toString().endsWith(".html")).sorted().toArray(Path[]::new);
+            }
+            TfIdfAnalyzer analyzer = pipeline.getTfIdfAnalyzer();
+            assertEquals(files.length, analyzer.getDocumentCount());
+            for (int docId = 0; docId < files.length; docId++) {
+                assertEquals(this.loadPage(files[docId]).getUri(), analyzer.getUri(docId));
+            }
+        } finally {
+            this.deleteFolder(root);
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testEmptyFolder() throws IOException {
+        Path root = Files.createTempDirectory("pipeline");
+        try {
+            IndexingPipeline pipeline = new IndexingPipeline(root, this::loadPage, 2, 4);
+            pipeline.run();
+            assertEquals(0, pipeline.getPages().size());
+            assertEquals(0, pipeline.getTfIdfAnalyzer().getDocumentCount());
+        } finally {
+            Files.delete(root);
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testFailureStopsEveryStage() throws IOException {
+        Path root = this.makeFolder(200);
+        try {
+            IndexingPipeline pipeline = new IndexingPipeline(root, file -> {
+                if (file.getFileName().toString().equals("page-50.html")) {
+                    throw new IllegalStateException("Could not parse");
+                }
+                return this.loadPage(file);
+            }, 2, 1);
+            try {
+                pipeline.run();
+                fail("Expected IllegalStateException");
+            } catch (IllegalStateException ex) {
+                assertEquals("Could not parse", ex.getMessage());
+            }
+        } finally {
+            this.deleteFolder(root);
+        }
+    }
+}
@@ -1,95 +1,312 @@
-package search;
-
-import datastructures.concrete.ChainedHashSet;
-import datastructures.concrete.DoubleLinkedList;
-import datastructures.interfaces.IList;
-import datastructures.interfaces.ISet;
-import misc.BaseTest;
-import org.junit.Test;
-import search.analyzers.PageRankAnalyzer;
-import search.models.Webpage;
-
-import java.net.URI;
-
-public class TestPageRankAnalyzer extends BaseTest {
-    // We say two floating point numbers are equal if they're within
-    // this delta apart from each other.
-    public static final double DELTA = 0.00001;
-
-    private Webpage buildPage(URI currentPage, URI[] linksTo) {
-        IList<URI> links = new DoubleLinkedList<>();
-        for (URI uri : linksTo) {
-            links.add(uri);
-        }
-        return new Webpage(
-                currentPage,
-                links,
-                new DoubleLinkedList<>(),
-                "title",
-                "blurb");
-    }
-
-    @Test(timeout=SECOND)
-    public void testSpecExample1() {
-        URI pageAUri = URI.create("http://example.com/page-a.html");
-        URI pageBUri = URI.create("http://example.com/page-b.html");
-        URI pageCUri = URI.create("http://example.com/page-c.html");
-        URI pageDUri = URI.create("http://example.com/page-d.html");
-
-        ISet<Webpage> pages = new ChainedHashSet<>();
-        pages.add(this.buildPage(pageAUri, new URI[] {pageBUri, pageCUri, pageDUri}));
-        pages.add(this.buildPage(pageBUri, new URI[] {pageAUri}));
-        pages.add(this.buildPage(pageCUri, new URI[] {pageAUri}));
-        pages.add(this.buildPage(pageDUri, new URI[] {pageAUri}));
-
-        PageRankAnalyzer analyzer = new PageRankAnalyzer(pages, 0.85, 0.00001, 100);
-
-        assertEquals(0.47973, analyzer.computePageRank(pageAUri), DELTA);
-        assertEquals(0.17342, analyzer.computePageRank(pageBUri), DELTA);
-        assertEquals(0.17342, analyzer.computePageRank(pageCUri), DELTA);
-        assertEquals(0.17342, analyzer.computePageRank(pageDUri), DELTA);
-    }
-
-    @Test(timeout=SECOND)
-    public void testSpecExample2() {
-        URI pageAUri = URI.create("http://example.com/page-a.html");
-        URI pageBUri = URI.create("http://example.com/page-b.html");
-        URI pageCUri = URI.create("http://example.com/page-c.html");
-
-        ISet<Webpage> pages = new ChainedHashSet<>();
-        pages.add(this.buildPage(pageAUri, new URI[] {pageBUri}));
-        pages.add(this.buildPage(pageBUri, new URI[] {pageCUri}));
-        pages.add(this.buildPage(pageCUri, new URI[] {pageAUri}));
-
-        PageRankAnalyzer analyzer = new PageRankAnalyzer(pages, 0.85, 0.00001, 100);
-
-        assertEquals(0.33333, analyzer.computePageRank(pageAUri), DELTA);
-        assertEquals(0.33333, analyzer.computePageRank(pageBUri), DELTA);
-        assertEquals(0.33333, analyzer.computePageRank(pageCUri), DELTA);
-    }
-
-    @Test(timeout=SECOND)
-    public void testSpecExample3() {
-        URI pageAUri = URI.create("http://example.com/page-a.html");
-        URI pageBUri = URI.create("http://example.com/page-b.html");
-        URI pageCUri = URI.create("http://example.com/page-c.html");
-        URI pageDUri = URI.create("http://example.com/page-d.html");
-        URI pageEUri = URI.create("http://example.com/page-e.html");
-
-        ISet<Webpage> pages = new ChainedHashSet<>();
-        pages.add(this.buildPage(pageAUri, new URI[] {pageBUri, pageDUri}));
-        pages.add(this.buildPage(pageBUri, new URI[] {pageCUri, pageDUri}));
-        pages.add(this.buildPage(pageCUri, new URI[] {}));
-        pages.add(this.buildPage(pageDUri, new URI[] {pageAUri}));
-        pages.add(this.buildPage(pageEUri, new URI[] {pageDUri}));
-
-        PageRankAnalyzer analyzer = new PageRankAnalyzer(pages, 0.85, 0.00001, 100);
-
-        assertEquals(0.31706, analyzer.computePageRank(pageAUri), DELTA);
-        assertEquals(0.18719, analyzer.computePageRank(pageBUri), DELTA);
-        assertEquals(0.13199, analyzer.computePageRank(pageCUri), DELTA);
-        assertEquals(0.31132, analyzer.computePageRank(pageDUri), DELTA);
-        assertEquals(0.05244, analyzer.computePageRank(pageEUri), DELTA);
-    }
-
-}
+package search;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.BaseTest;
+import org.junit.Test;
+import search.analyzers.ExternalLinkGraph;
+import search.analyzers.PageRankAnalyzer;
+import search.models.Webpage;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestPageRankAnalyzer extends BaseTest {
+    // We say two floating point numbers are equal if they're within
+    // this delta apart from each other.
+    public static final double DELTA = 0.00001;
+
+    private Webpage buildPage(URI currentPage, URI[] linksTo) {
+        IList<URI> links = new DoubleLinkedList<>();
+        for (URI uri : linksTo) {
+            links.add(uri);
+        }
+        return new Webpage(
+                currentPage,
+                links,
+                new DoubleLinkedList<>(),
+                "title",
+                "blurb");
+    }
+
+    @Test(timeout=SECOND)
+    public void testSpecExample1() {
+        URI pageAUri = URI.create("http://example.com/page-a.html");
+        URI pageBUri = URI.create("http://example.com/page-b.html");
+        URI pageCUri = URI.create("http://example.com/page-c.html");
+        URI pageDUri = URI.create("http://example.com/page-d.html");
+
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        pages.add(this.buildPage(pageAUri, new URI[] {pageBUri, pageCUri, pageDUri}));
+        pages.add(this.buildPage(pageBUri, new URI[] {pageAUri}));
+        pages.add(this.buildPage(pageCUri, new URI[] {pageAUri}));
+        pages.add(this.buildPage(pageDUri, new URI[] {pageAUri}));
+
+        PageRankAnalyzer analyzer = new PageRankAnalyzer(pages, 0.85, 0.00001, 100);
+
+        assertEquals(0.47973, analyzer.computePageRank(pageAUri), DELTA);
+        assertEquals(0.17342, analyzer.computePageRank(pageBUri), DELTA);
+        assertEquals(0.17342, analyzer.computePageRank(pageCUri), DELTA);
+        assertEquals(0.17342, analyzer.computePageRank(pageDUri), DELTA);
+    }
+
+    @Test(timeout=SECOND)
+    public void testSpecExample2() {
+        URI pageAUri = URI.create("http://example.com/page-a.html");
+        URI pageBUri = URI.create("http://example.com/page-b.html");
+        URI pageCUri = URI.create("http://example.com/page-c.html");
+
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        pages.add(this.buildPage(pageAUri, new URI[] {pageBUri}));
+        pages.add(this.buildPage(pageBUri, new URI[] {pageCUri}));
+        pages.add(this.buildPage(pageCUri, new URI[] {pageAUri}));
+
+        PageRankAnalyzer analyzer = new PageRankAnalyzer(pages, 0.85, 0.00001, 100);
+
+        assertEquals(0.33333, analyzer.computePageRank(pageAUri), DELTA);
+        assertEquals(0.33333, analyzer.computePageRank(pageBUri), DELTA);
+        assertEquals(0.33333, analyzer.computePageRank(pageCUri), DELTA);
+    }
+
+    @Test(timeout=SECOND)
+    public void testSpecExample3() {
+        URI pageAUri = URI.create("http://example.com/page-a.html");
+        URI pageBUri = URI.create("http://example.com/page-b.html");
+        URI pageCUri = URI.create("http://example.com/page-c.html");
+        URI pageDUri = URI.create("http://example.com/page-d.html");
+        URI pageEUri = URI.create("http://example.com/page-e.html");
+
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        pages.add(this.buildPage(pageAUri, new URI[] {pageBUri, pageDUri}));
+        pages.add(this.buildPage(pageBUri, new URI[] {pageCUri, pageDUri}));
+        pages.add(this.buildPage(pageCUri, new URI[] {}));
+        pages.add(this.buildPage(pageDUri, new URI[] {pageAUri}));
+        pages.add(this.buildPage(pageEUri, new URI[] {pageDUri}));
+
+        PageRankAnalyzer analyzer = new PageRankAnalyzer(pages, 0.85, 0.00001, 100);
+
+        assertEquals(0.31706, analyzer.computePageRank(pageAUri), DELTA);
+        assertEquals(0.18719, analyzer.computePageRank(pageBUri), DELTA);
+        assertEquals(0.13199, analyzer.computePageRank(pageCUri), DELTA);
+        assertEquals(0.31132, analyzer.computePageRank(pageDUri), DELTA);
+        assertEquals(0.05244, analyzer.computePageRank(pageEUri), DELTA);
+    }
+
+    private ISet<Webpage> makeRandomPages(int numPages, long seed) {
+        Random random = new Random(seed);
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        for (int i = 0; i < numPages; i++) {
+            // Some pages are dangling, some link to themselves, to each other
+            // several times, or to pages that do not exist.
+            URI[] links = new URI[random.nextInt(6)];
+            for (int j = 0; j < links.length; j++) {
+                links[j] = URI.create("http://example.com/page-" + random.nextInt(numPages + 10) + ".html");
+            }
+            pages.add(this.buildPage(URI.create("http://example.com/page-" + i + ".html"), links));
+        }
+        return pages;
+    }
+
+    /**
+     * A straightforward, dictionary-based implementation of page rank, used as
+     * a reference for the optimized analyzer.
+     */
+    private IDictionary<URI, Double> computeReferenceRanks(ISet<Webpage> pages, double decay,
+                                                           double epsilon, int limit) {
+        IDictionary<URI, ISet<URI>> graph = new ChainedHashDictionary<>();
+        for (Webpage page : pages) {
+            graph.put(page.getUri(), new ChainedHashSet<>());
+        }
+        for (Webpage page : pages) {
+            for (URI link : page.getLinks()) {
+                if (graph.containsKey(link) && !link.equals(page.getUri())) {
+                    graph.get(page.getUri()).add(link);
+                }
+            }
+        }
+
+        IDictionary<URI, Double> ranks = new ChainedHashDictionary<>();
+        for (KVPair<URI, ISet<URI>> pair : graph) {
+            ranks.put(pair.getKey(), 1.0 / graph.size());
+        }
+        for (int i = 0; i < limit; i++) {
+            IDictionary<URI, Double> newRanks = new ChainedHashDictionary<>();
+            for (KVPair<URI, ISet<URI>> pair : graph) {
+                newRanks.put(pair.getKey(), (1 - decay) / graph.size());
+            }
+            for (KVPair<URI, ISet<URI>> pair : graph) {
+                double rank = ranks.get(pair.getKey());
+                if (pair.getValue().isEmpty()) {
+                    for (KVPair<URI, ISet<URI>> other : graph) {
+                        newRanks.put(other.getKey(), newRanks.get(other.getKey()) + decay * rank / graph.size());
+                    }
+                } else {
+                    for (URI link : pair.getValue()) {
+                        newRanks.put(link, newRanks.get(link) + decay * rank / pair.getValue().size());
+                    }
+                }
+            }
+
+            boolean converged = true;
+            for (KVPair<URI, Double> pair : newRanks) {
+                if (Math.abs(pair.getValue() - ranks.get(pair.getKey())) >= epsilon) {
+                    converged = false;
+                }
+            }
+            ranks = newRanks;
+            if (converged) {
+                break;
+            }
+        }
+        return ranks;
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testMatchesReferenceOnRandomGraph() {
+        ISet<Webpage> pages = this.makeRandomPages(300, 373);
+        int[] limits = {0, 1, 5, 100};
+        for (int limit : limits) {
+            IDictionary<URI, Double> expected = this.computeReferenceRanks(pages, 0.85, 0.0001, limit);
+            PageRankAnalyzer analyzer = new PageRankAnalyzer(pages, 0.85, 0.0001, limit);
+            for (KVPair<URI, Double> pair : expected) {
+                assertEquals(pair.getValue(), analyzer.computePageRank(pair.getKey()), DELTA);
+            }
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testParallelMatchesSequential() {
+        ISet<Webpage> pages = this.makeRandomPages(20000, 42);
+        PageRankAnalyzer sequential = new PageRankAnalyzer(pages, 0.85, 0.0001, 100);
+        PageRankAnalyzer parallel = new PageRankAnalyzer(pages, 0.85, 0.0001, 100, 4);
+
+        assertEquals(sequential.getIterationTimes().length, parallel.getIterationTimes().length);
+        for (Webpage page : pages) {
+            assertEquals(
+                    sequential.computePageRank(page.getUri()),
+                    parallel.computePageRank(page.getUri()),
+                    DELTA);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testParallelSpecExample3() {
+        URI pageAUri = URI.create("http://example.com/page-a.html");
+        URI pageBUri = URI.create("http://example.com/page-b.html");
+        URI pageCUri = URI.create("http://example.com/page-c.html");
+        URI pageDUri = URI.create("http://example.com/page-d.html");
+        URI pageEUri = URI.create("http://example.com/page-e.html");
+
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        pages.add(this.buildPage(pageAUri, new URI[] {pageBUri, pageDUri}));
+        pages.add(this.buildPage(pageBUri, new URI[] {pageCUri, pageDUri}));
+        pages.add(this.buildPage(pageCUri, new URI[] {}));
+        pages.add(this.buildPage(pageDUri, new URI[] {pageAUri}));
+        pages.add(this.buildPage(pageEUri, new URI[] {pageDUri}));
+
+        PageRankAnalyzer analyzer = new PageRankAnalyzer(pages, 0.85, 0.00001, 100, 3);
+
+        assertEquals(0.31706, analyzer.computePageRank(pageAUri), DELTA);
+        assertEquals(0.18719, analyzer.computePageRank(pageBUri), DELTA);
+        assertEquals(0.13199, analyzer.computePageRank(pageCUri), DELTA);
+        assertEquals(0.31132, analyzer.computePageRank(pageDUri), DELTA);
+        assertEquals(0.05244, analyzer.computePageRank(pageEUri), DELTA);
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testExternalGraphMatchesInMemory() throws IOException {
+        ISet<Webpage> pages = this.makeRandomPages(2000, 7);
+        PageRankAnalyzer expected = new PageRankAnalyzer(pages, 0.85, 0.0001, 100);
+
+        Path directory = Files.createTempDirectory("pagerank");
+        // Hold so few links in memory at once that the links get sorted in more runs
+        // than are merged at once.
+        try (ExternalLinkGraph graph = new ExternalLinkGraph(directory, 50)) {
+            for (Webpage page : pages) {
+                graph.addPage(page.getUri(), page.getLinks());
+            }
+            graph.finish();
+            PageRankAnalyzer actual = new PageRankAnalyzer(graph, 0.85, 0.0001, 100);
+
+            assertEquals(expected.getIterationTimes().length, actual.getIterationTimes().length);
+            for (Webpage page : pages) {
+                assertEquals(
+                        expected.computePageRank(page.getUri()),
+                        actual.computePageRank(page.getUri()),
+                        DELTA);
+            }
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testUpdateMatchesRecomputation() {
+        ISet<Webpage> pages = this.makeRandomPages(2000, 11);
+        PageRankAnalyzer analyzer = new PageRankAnalyzer(pages, 0.85, 1e-8, 200, 1, true);
+
+        // Remove pages 0-9, replace pages 10-19, and add pages 2000-2009: the random
+        // pages already link to those, so the update must resolve those links.
+        Random random = new Random(12);
+        ISet<URI> removed = new ChainedHashSet<>();
+        ISet<Webpage> upserted = new ChainedHashSet<>();
+        for (int i = 0; i < 30; i++) {
+            URI uri = URI.create("http://example.com/page-" + (i < 20 ? i : 1980 + i) + ".html");
+            if (i < 10) {
+                removed.add(uri);
+            } else {
+                URI[] links = new URI[random.nextInt(6)];
+                for (int j = 0; j < links.length; j++) {
+                    links[j] = URI.create("http://example.com/page-" + random.nextInt(2010) + ".html");
+                }
+                upserted.add(this.buildPage(uri, links));
+            }
+        }
+
+        ISet<Webpage> expectedPages = new ChainedHashSet<>();
+        for (Webpage page : pages) {
+            if (!removed.contains(page.getUri())) {
+                expectedPages.add(page);
+            }
+        }
+        for (Webpage page : upserted) {
+            if (expectedPages.contains(page)) {
+                expectedPages.remove(page);
+            }
+            expectedPages.add(page);
+        }
+
+        PageRankAnalyzer expected = new PageRankAnalyzer(expectedPages, 0.85, 1e-8, 200);
+        PageRankAnalyzer actual = analyzer.update(upserted, removed);
+        for (Webpage page : expectedPages) {
+            assertEquals(
+                    expected.computePageRank(page.getUri()),
+                    actual.computePageRank(page.getUri()),
+                    1e-6);
+        }
+        assertTrue(actual.getIterationTimes().length < expected.getIterationTimes().length);
+    }
+
+    @Test(timeout=SECOND)
+    public void testUpdateRequiresUpdatableAnalyzer() {
+        ISet<Webpage> pages = this.makeRandomPages(10, 3);
+        PageRankAnalyzer analyzer = new PageRankAnalyzer(pages, 0.85, 0.001, 100);
+        try {
+            analyzer.update(new ChainedHashSet<>(), new ChainedHashSet<>());
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package search;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import org.junit.Test;
+import search.index.FileFingerprint;
+import search.index.PageStore;
+import search.models.Webpage;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestPageStore extends BaseTest {
+    private Webpage makeRandomPage(int i, Random random) {
+        IList<String> words = new DoubleLinkedList<>();
+        int numWords = random.nextInt(30);
+        for (int j = 0; j < numWords; j++) {
+            words.add("word" + random.nextInt(500));
+        }
+        IList<URI> links = new DoubleLinkedList<>();
+        int numLinks = random.nextInt(10);
+        for (int j = 0; j < numLinks; j++) {
+            links.add(URI.create("http://example.com/page" + random.nextInt(200) + ".html"));
+        }
+        URI uri = URI.create("http://example.com/page" + i + ".html");
+        return new Webpage(uri, links, words, "Page \u00e9 " + i, "About page " + i);
+    }
+
+    private void assertSamePage(Webpage expected, Webpage actual) {
+        assertEquals(expected.getUri(), actual.getUri());
+        assertEquals(expected.getSummary().getTitle(), actual.getSummary().getTitle());
+        assertEquals(expected.getSummary().getBlurb(), actual.getSummary().getBlurb());
+        assertEquals(expected.getWords().size(), actual.getWords().size());
+        for (int i = 0; i < expected.getWords().size(); i++) {
+            assertEquals(expected.getWords().get(i), actual.getWords().get(i));
+        }
+        assertEquals(expected.getLinks().size(), actual.getLinks().size());
+        for (int i = 0; i < expected.getLinks().size(); i++) {
+            assertEquals(expected.getLinks().get(i), actual.getLinks().get(i));
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testPagesMatchAfterReopening() throws IOException {
+        Random random = new Random(3);
+        Webpage[] pages = new Webpage[300];
+        PageStore.Builder builder = new PageStore.Builder();
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = this.makeRandomPage(i, random);
+            builder.add("folder/page" + i + ".html", new FileFingerprint(i, 1000 + i, -i), pages[i]);
+        }
+        // Adding a page for the same path again replaces it.
+        pages[7] = this.makeRandomPage(7, random);
+        builder.add("folder/page7.html", new FileFingerprint(7, 1007, -7), pages[7]);
+        assertEquals(pages.length, builder.size());
+
+        Path file = Files.createTempFile("store", ".pages");
+        try {
+            builder.write(file);
+            PageStore store = PageStore.open(file);
+            assertTrue(store != null);
+            assertEquals(pages.length, store.size());
+            for (int i = pages.length - 1; i >= 0; i--) {
+                this.assertSamePage(pages[i], store.load("folder/page" + i + ".html"));
+                FileFingerprint fingerprint = store.getFileFingerprint(store.find("folder/page" + i + ".html"));
+                assertEquals((long) i, fingerprint.getSize());
+                assertEquals(1000L + i, fingerprint.getLastModified());
+                assertEquals((long) -i, fingerprint.getContentHash());
+            }
+            for (int i = 1; i < store.size(); i++) {
+                assertTrue(store.getPath(i - 1).compareTo(store.getPath(i)) < 0);
+            }
+            assertNull(store.load("folder/page300.html"));
+            assertEquals(-1, store.find(""));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testCopiedPagesMatchAfterReopening() throws IOException {
+        Random random = new Random(4);
+        Webpage[] pages = new Webpage[100];
+        PageStore.Builder builder = new PageStore.Builder();
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = this.makeRandomPage(i, random);
+            builder.add("page" + i + ".html", new FileFingerprint(i, 1000 + i, -i), pages[i]);
+        }
+
+        Path file = Files.createTempFile("store", ".pages");
+        Path copyFile = Files.createTempFile("store", ".pages");
+        try {
+            builder.write(file);
+            PageStore store = PageStore.open(file);
+            for (int i = 0; i < pages.length; i++) {
+                Webpage linkPage = store.getLinkPage(store.find("page" + i + ".html"));
+                assertEquals(pages[i].getUri(), linkPage.getUri());
+                assertEquals(0, linkPage.getWords().size());
+                assertEquals(pages[i].getLinks().size(), linkPage.getLinks().size());
+                for (int j = 0; j < pages[i].getLinks().size(); j++) {
+                    assertEquals(pages[i].getLinks().get(j), linkPage.getLinks().get(j));
+                }
+            }
+
+            // Copy every page but the last, with a new modification time, and replace
+            // the first one.
+            PageStore.Builder copy = PageStore.Builder.from(store);
+            for (int i = 1; i < pages.length - 1; i++) {
+                copy.copy(store, store.find("page" + i + ".html"), new FileFingerprint(i, 2000 + i, -i));
+            }
+            pages[0] = this.makeRandomPage(0, random);
+            copy.add("page0.html", new FileFingerprint(0, 3000, 1), pages[0]);
+            copy.write(copyFile);
+
+            PageStore copied = PageStore.open(copyFile);
+            assertEquals(pages.length - 1, copied.size());
+            assertNull(copied.load("page" + (pages.length - 1) + ".html"));
+            assertEquals(3000L, copied.getFileFingerprint(copied.find("page0.html")).getLastModified());
+            for (int i = 0; i < pages.length - 1; i++) {
+                this.assertSamePage(pages[i], copied.load("page" + i + ".html"));
+            }
+            for (int i = 1; i < pages.length - 1; i++) {
+                FileFingerprint fingerprint = copied.getFileFingerprint(copied.find("page" + i + ".html"));
+                assertEquals(2000L + i, fingerprint.getLastModified());
+                assertEquals((long) -i, fingerprint.getContentHash());
+            }
+
+            try {
+                new PageStore.Builder().copy(store, 0, new FileFingerprint(0, 0, 0));
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                // All ok -- expected result
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(copyFile);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testEmptyAndMissingStores() throws IOException {
+        PageStore.Builder builder = new PageStore.Builder();
+        Path file = Files.createTempFile("store", ".pages");
+        try {
+            builder.write(file);
+            PageStore store = PageStore.open(file);
+            assertTrue(store != null);
+            assertEquals(0, store.size());
+            assertNull(store.load("page.html"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertNull(PageStore.open(file));
+
+        // An empty file is not a store.
+        Path empty = Files.createTempFile("store", ".pages");
+        try {
+            assertNull(PageStore.open(empty));
+        } finally {
+            Files.deleteIfExists(empty);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package search;
+
+import misc.BaseTest;
+import org.junit.Test;
+import search.index.PositionalIndex;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestPositionalIndex extends BaseTest {
+    private static final int NUM_TERMS = 6;
+
+    private int[][] makeDocuments(Random random, int count) {
+        int[][] documents = new int[count][];
+        for (int i = 0; i < count; i++) {
+            // A tiny vocabulary, so phrases of a few words appear by chance.
+            documents[i] = new int[random.nextInt(30)];
+            for (int j = 0; j < documents[i].length; j++) {
+                documents[i][j] = random.nextInt(NUM_TERMS);
+            }
+        }
+        return documents;
+    }
+
+    private PositionalIndex build(int[][] documents) {
+        PositionalIndex.Builder builder = new PositionalIndex.Builder();
+        for (int docId = 0; docId < documents.length; docId++) {
+            builder.add(docId, documents[docId]);
+        }
+        return builder.build(NUM_TERMS, documents.length);
+    }
+
+    private boolean containsPhrase(int[] document, int[] phrase) {
+        for (int start = 0; start + phrase.length <= document.length; start++) {
+            boolean matches = true;
+            for (int i = 0; i < phrase.length && matches; i++) {
+                matches = document[start + i] == phrase[i];
+            }
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean containsNear(int[] document, int[] terms, int slop) {
+        int maxLength = terms.length + slop;
+        for (int start = 0; start < document.length; start++) {
+            int[] needed = new int[NUM_TERMS];
+            for (int term : terms) {
+                needed[term]++;
+            }
+            int missing = terms.length;
+            for (int end = start; end < document.length && end - start < maxLength; end++) {
+                if (needed[document[end]] > 0) {
+                    needed[document[end]]--;
+                    missing--;
+                }
+                if (missing == 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the ids of the documents accepted by the given filter, in ascending order.
+     */
+    private int[] bruteForce(int[][] documents, IntPredicate filter) {
+        return IntStream.range(0, documents.length).filter(filter).toArray();
+    }
+
+    private int[] randomTerms(Random random) {
+        int[] terms = new int[1 + random.nextInt(3)];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = random.nextInt(NUM_TERMS);
+        }
+        return terms;
+    }
+
+    @Test(timeout=SECOND)
+    public void testPhraseMatchesBruteForce() {
+        Random random = new Random(1);
+        int[][] documents = this.makeDocuments(random, 300);
+        PositionalIndex index = this.build(documents);
+
+        for (int trial = 0; trial < 200; trial++) {
+            int[] phrase = this.randomTerms(random);
+            int[] expected = this.bruteForce(documents, docId -> this.containsPhrase(documents[docId], phrase));
+            assertTrue(Arrays.equals(expected, index.findPhrase(phrase)));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testNearMatchesBruteForce() {
+        Random random = new Random(2);
+        int[][] documents = this.makeDocuments(random, 300);
+        PositionalIndex index = this.build(documents);
+
+        for (int trial = 0; trial < 200; trial++) {
+            int[] terms = this.randomTerms(random);
+            int slop = random.nextInt(4);
+            int[] expected = this.bruteForce(documents, docId -> this.containsNear(documents[docId], terms, slop));
+            assertTrue(Arrays.equals(expected, index.findNear(terms, slop)));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testUnknownTermsMatchNothing() {
+        PositionalIndex index = this.build(new int[][] {{0, 1, 2}, {}, {2, 1, 0}});
+        assertEquals(0, index.findPhrase(new int[] {0, -1}).length);
+        assertEquals(0, index.findPhrase(new int[] {NUM_TERMS + 1}).length);
+        assertEquals(0, index.findNear(new int[] {}, 3).length);
+        // Term 5 appears in no document.
+        assertEquals(0, index.findPhrase(new int[] {5}).length);
+        assertTrue(Arrays.equals(new int[] {0, 2}, index.findNear(new int[] {2, 0}, 1)));
+        assertTrue(Arrays.equals(new int[] {0}, index.findPhrase(new int[] {1, 2})));
+        try {
+            index.findNear(new int[] {0}, -1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testWriteAndOpen() throws IOException {
+        Random random = new Random(3);
+        int[][] documents = this.makeDocuments(random, 100);
+        PositionalIndex index = this.build(documents);
+
+        Path file = Files.createTempFile("positions", ".positions");
+        try {
+            index.write(file, 42);
+            assertNull(PositionalIndex.open(file, 43));
+            PositionalIndex opened = PositionalIndex.open(file, 42);
+            assertEquals(index.size(), opened.size());
+            assertEquals(index.getSizeInBytes(), opened.getSizeInBytes());
+            for (int trial = 0; trial < 50; trial++) {
+                int[] phrase = this.randomTerms(random);
+                assertTrue(Arrays.equals(index.findPhrase(phrase), opened.findPhrase(phrase)));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
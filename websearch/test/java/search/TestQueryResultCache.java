@@ -0,0 +1,108 @@
+package search;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import org.junit.Test;
+import search.misc.QueryResultCache;
+import search.models.Result;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestQueryResultCache extends BaseTest {
+    private IList<String> strToIList(String input) {
+        IList<String> output = new DoubleLinkedList<>();
+        for (String word : input.split(" ")) {
+            output.add(word);
+        }
+        return output;
+    }
+
+    @Test(timeout=SECOND)
+    public void testKeyedByTermsAndK() {
+        QueryResultCache cache = new QueryResultCache(100);
+        IList<Result> results = new DoubleLinkedList<>();
+        assertNull(cache.get(strToIList("cat dog"), 10, 0));
+        cache.put(strToIList("cat dog"), 10, 0, results);
+
+        // The order of the terms does not matter, but the number of results does.
+        assertTrue(cache.get(strToIList("dog cat"), 10, 0) == results);
+        assertTrue(cache.get(strToIList("cat dog"), 10, 0) == results);
+        assertNull(cache.get(strToIList("cat dog"), 20, 0));
+        assertNull(cache.get(strToIList("cat dog dog"), 10, 0));
+
+        assertEquals(2L, cache.getHitCount());
+        assertEquals(3L, cache.getMissCount());
+    }
+
+    @Test(timeout=SECOND)
+    public void testClearedWhenGenerationChanges() {
+        QueryResultCache cache = new QueryResultCache(100);
+        for (int i = 0; i < 50; i++) {
+            cache.put(strToIList("word" + i), 10, 1, new DoubleLinkedList<>());
+        }
+        assertEquals(50, cache.size());
+        assertNull(cache.get(strToIList("word0"), 10, 2));
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.getEvictionCount());
+    }
+
+    @Test(timeout=SECOND)
+    public void testNeverExceedsCapacity() {
+        QueryResultCache cache = new QueryResultCache(10);
+        for (int i = 0; i < 1000; i++) {
+            IList<String> query = strToIList("word" + (i % 37));
+            if (cache.get(query, 10, 0) == null) {
+                cache.put(query, 10, 0, new DoubleLinkedList<>());
+            }
+            assertTrue(cache.size() <= 10);
+        }
+        assertEquals(cache.getMissCount() - cache.size(), cache.getEvictionCount());
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testPopularQueriesSurviveScans() {
+        QueryResultCache cache = new QueryResultCache(200);
+        Random random = new Random(1);
+        int scanned = 0;
+        for (int i = 0; i < 100000; i++) {
+            // Half the traffic goes to 50 popular queries; the rest is never repeated.
+            IList<String> query;
+            if (random.nextBoolean()) {
+                query = strToIList("popular" + random.nextInt(50));
+            } else {
+                query = strToIList("rare" + scanned);
+                scanned++;
+            }
+            if (cache.get(query, 10, 0) == null) {
+                cache.put(query, 10, 0, new DoubleLinkedList<>());
+            }
+        }
+
+        // A plain LRU cache would keep losing the popular queries to the rare ones, and
+        // would miss about as often as it hits. Here, nearly only the rare queries miss.
+        double hitRate = (double) cache.getHitCount() / (cache.getHitCount() + cache.getMissCount());
+        assertTrue(hitRate > 0.49);
+        int popularCached = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.get(strToIList("popular" + i), 10, 0) != null) {
+                popularCached++;
+            }
+        }
+        assertEquals(50, popularCached);
+    }
+
+    @Test(timeout=SECOND)
+    public void testRejectsEmptyCapacity() {
+        try {
+            new QueryResultCache(0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+}
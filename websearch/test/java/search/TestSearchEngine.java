@@ -0,0 +1,308 @@
+package search;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.BaseTest;
+import org.junit.Test;
+import search.SearchEngine.RetrievalMode;
+import search.index.BooleanQuery;
+import search.misc.AnalysisChain;
+import search.models.Result;
+import search.models.Webpage;
+
+import java.net.URI;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestSearchEngine extends BaseTest {
+    // We say two floating point numbers are equal if they're within
+    // this delta apart from each other.
+    public static final double DELTA = 0.000001;
+
+    private IList<String> strToIList(String input) {
+        IList<String> output = new DoubleLinkedList<>();
+        for (String word : input.split(" ")) {
+            output.add(word);
+        }
+        return output;
+    }
+
+    private Webpage buildPage(String name, String words, String... linksTo) {
+        IList<URI> links = new DoubleLinkedList<>();
+        for (String link : linksTo) {
+            links.add(URI.create("http://example.com/" + link + ".html"));
+        }
+        return new Webpage(
+                URI.create("http://example.com/" + name + ".html"),
+                links,
+                strToIList(words),
+                name + " title",
+                name + " blurb");
+    }
+
+    private SearchEngine makeExampleEngine() {
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        pages.add(this.buildPage("a", "the mouse played with the cat", "b", "c"));
+        pages.add(this.buildPage("b", "the quick brown fox jumped over the lazy dog", "a"));
+        pages.add(this.buildPage("c", "dog 1 and dog 2 ate the hot dog", "a", "b"));
+        pages.add(this.buildPage("d", "the cat sat on the mat", "c"));
+        pages.add(this.buildPage("e", "nothing to see here"));
+        return new SearchEngine(pages);
+    }
+
+    @Test(timeout=SECOND)
+    public void testOnlyMatchingPagesAreReturned() {
+        SearchEngine engine = this.makeExampleEngine();
+        IList<Result> results = engine.getTopKResults(strToIList("cat"), 10);
+
+        assertEquals(2, results.size());
+        ISet<URI> uris = new ChainedHashSet<>();
+        for (Result result : results) {
+            uris.add(result.getUri());
+        }
+        assertTrue(uris.contains(URI.create("http://example.com/a.html")));
+        assertTrue(uris.contains(URI.create("http://example.com/d.html")));
+    }
+
+    @Test(timeout=SECOND)
+    public void testResultsAreSortedAndScoredLikeComputeScore() {
+        SearchEngine engine = this.makeExampleEngine();
+        IList<String> query = strToIList("the hot dog and cat");
+        IList<Result> results = engine.getTopKResults(query, 3);
+
+        assertEquals(3, results.size());
+        double previous = Double.POSITIVE_INFINITY;
+        for (Result result : results) {
+            assertTrue(result.getScore() <= previous);
+            assertEquals(engine.computeScore(query, result.getUri()), result.getScore(), DELTA);
+            previous = result.getScore();
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testUnknownTermsMatchNothing() {
+        SearchEngine engine = this.makeExampleEngine();
+        assertEquals(0, engine.getTopKResults(strToIList("zebra"), 10).size());
+    }
+
+    private SearchEngine makeRandomEngine(int numPages, int vocabularySize, long seed) {
+        return new SearchEngine(makeRandomPages(numPages, makeVocabulary(vocabularySize), 44, 4, seed));
+    }
+
+    private IList<String> makeRandomQuery(Random random, int vocabularySize) {
+        IList<String> query = new DoubleLinkedList<>();
+        int numTerms = 1 + random.nextInt(4);
+        for (int i = 0; i < numTerms; i++) {
+            query.add("word" + random.nextInt(vocabularySize + 5));
+        }
+        return query;
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testMaxScoreMatchesExhaustive() {
+        SearchEngine engine = this.makeRandomEngine(300, 80, 373);
+        Random random = new Random(42);
+        int[] ks = {0, 1, 3, 10, 50, 1000};
+        for (int i = 0; i < 200; i++) {
+            IList<String> query = this.makeRandomQuery(random, 80);
+            int k = ks[i % ks.length];
+            IList<Result> expected = engine.getTopKResults(query, k, RetrievalMode.EXHAUSTIVE);
+            IList<Result> actual = engine.getTopKResults(query, k, RetrievalMode.MAX_SCORE);
+
+            assertEquals(expected.size(), actual.size());
+            for (int j = 0; j < expected.size(); j++) {
+                assertEquals(expected.get(j), actual.get(j));
+            }
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testParallelMatchesExhaustive() {
+        SearchEngine engine = this.makeRandomEngine(2000, 80, 374);
+        Random random = new Random(43);
+        int[] ks = {0, 1, 3, 10, 50, 3000};
+        for (int i = 0; i < 100; i++) {
+            // Alternate between scoring on the calling thread and splitting every query.
+            if (i % 2 == 0) {
+                engine.setParallelScoring(Integer.MAX_VALUE, 1);
+            } else {
+                engine.setParallelScoring(0, 1 + random.nextInt(100));
+            }
+            IList<String> query = this.makeRandomQuery(random, 80);
+            int k = ks[i % ks.length];
+            IList<Result> expected = engine.getTopKResults(query, k, RetrievalMode.EXHAUSTIVE);
+            IList<Result> actual = engine.getTopKResults(query, k, RetrievalMode.PARALLEL);
+
+            assertEquals(expected.size(), actual.size());
+            for (int j = 0; j < expected.size(); j++) {
+                assertEquals(expected.get(j), actual.get(j));
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testPhraseAndNearResults() {
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        pages.add(this.buildPage("a", "the mouse played with the cat", "b"));
+        pages.add(this.buildPage("b", "the cat sat on the mat", "a"));
+        pages.add(this.buildPage("c", "a cat and a dog sat together", "a"));
+        SearchEngine engine = new SearchEngine(pages, true);
+        assertTrue(engine.hasPositions());
+
+        IList<Result> results = engine.getTopKPhraseResults(strToIList("the cat"), 10);
+        assertEquals(2, results.size());
+        for (Result result : results) {
+            assertTrue(!result.getUri().equals(URI.create("http://example.com/c.html")));
+            assertEquals(engine.computeScore(strToIList("the cat"), result.getUri()), result.getScore(), DELTA);
+        }
+        assertEquals(0, engine.getTopKPhraseResults(strToIList("cat the"), 10).size());
+
+        // "cat ... sat": right next to each other in b, three words apart in c.
+        assertEquals(1, engine.getTopKNearResults(strToIList("sat cat"), 0, 10).size());
+        assertEquals(1, engine.getTopKNearResults(strToIList("sat cat"), 2, 10).size());
+        assertEquals(2, engine.getTopKNearResults(strToIList("sat cat"), 3, 10).size());
+
+        assertTrue(!this.makeExampleEngine().hasPositions());
+    }
+
+    @Test(timeout=SECOND)
+    public void testAnalysisChain() {
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        pages.add(this.buildPage("a", "the dog runs in the park", "b"));
+        pages.add(this.buildPage("b", "the cat sleeps on the mat", "a"));
+        SearchEngine engine = new SearchEngine(pages, true, AnalysisChain.english());
+
+        IList<Result> results = engine.getTopKResults(strToIList("running dogs"), 10);
+        assertEquals(1, results.size());
+        assertEquals(URI.create("http://example.com/a.html"), results.get(0).getUri());
+        assertEquals(engine.computeScore(strToIList("running dogs"), results.get(0).getUri()),
+                results.get(0).getScore(), DELTA);
+
+        // Stop words are dropped from queries just as they were from pages.
+        assertEquals(1, engine.getTopKPhraseResults(strToIList("the cat sleeping"), 10).size());
+        assertEquals(0, engine.getTopKResults(strToIList("the"), 10).size());
+        assertEquals(1, engine.getTopKResults(BooleanQuery.parse("sleeping AND NOT the"), 10).size());
+
+        IList<String> corrected = engine.correctQuery(strToIList("sleeps cet"));
+        assertEquals("sleeps", corrected.get(0));
+        assertEquals("cat", corrected.get(1));
+    }
+
+    @Test(timeout=SECOND)
+    public void testSuggestionsAreWordsRatherThanStems() {
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        pages.add(this.buildPage("a", "a connection is connected to another connection", "b"));
+        pages.add(this.buildPage("b", "dogs are running and running in the park", "a"));
+        SearchEngine engine = new SearchEngine(pages, false, AnalysisChain.english());
+
+        IList<String> completions = engine.getCompletions("conn", 10);
+        assertEquals(1, completions.size());
+        assertEquals("connection", completions.get(0));
+        completions = engine.getCompletions("runn", 10);
+        assertEquals(1, completions.size());
+        assertEquals("running", completions.get(0));
+
+        IList<String> corrected = engine.correctQuery(strToIList("conection runing"));
+        assertEquals("connection", corrected.get(0));
+        assertEquals("running", corrected.get(1));
+        IList<Result> results = engine.getTopKResults(corrected, 10);
+        assertEquals(2, results.size());
+    }
+
+    /**
+     * Checks that the given engine returns the same pages as a new engine built from
+     * the given live pages, scored like 'computeScore' in every retrieval mode.
+     */
+    private void checkMatchesNewEngine(SearchEngine engine, IDictionary<URI, Webpage> live, Random random) {
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        for (KVPair<URI, Webpage> pair : live) {
+            pages.add(pair.getValue());
+        }
+        SearchEngine expected = new SearchEngine(pages);
+        for (int i = 0; i < 10; i++) {
+            IList<String> query = this.makeRandomQuery(random, 60);
+            ISet<URI> expectedUris = new ChainedHashSet<>();
+            for (Result result : expected.getTopKResults(query, 1000, RetrievalMode.EXHAUSTIVE)) {
+                expectedUris.add(result.getUri());
+            }
+            IList<Result> results = engine.getTopKResults(query, 1000, RetrievalMode.EXHAUSTIVE);
+            assertEquals(expectedUris.size(), results.size());
+            for (Result result : results) {
+                assertTrue(expectedUris.contains(result.getUri()));
+                assertEquals(engine.computeScore(query, result.getUri()), result.getScore(), DELTA);
+            }
+
+            IList<Result> top = engine.getTopKResults(query, 10, RetrievalMode.EXHAUSTIVE);
+            IList<Result> maxScore = engine.getTopKResults(query, 10, RetrievalMode.MAX_SCORE);
+            IList<Result> parallel = engine.getTopKResults(query, 10, RetrievalMode.PARALLEL);
+            assertEquals(top.size(), maxScore.size());
+            assertEquals(top.size(), parallel.size());
+            for (int j = 0; j < top.size(); j++) {
+                assertEquals(top.get(j), maxScore.get(j));
+                assertEquals(top.get(j), parallel.get(j));
+            }
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testAddedAndDeletedPagesShowUpAfterFlush() throws InterruptedException {
+        String[] vocabulary = makeVocabulary(60);
+        ISet<Webpage> pages = makeRandomPages(200, vocabulary, 44, 4, 375);
+        SearchEngine engine = new SearchEngine(pages, true);
+        engine.setParallelScoring(0, 7);
+        IDictionary<URI, Webpage> live = new ChainedHashDictionary<>();
+        for (Webpage page : pages) {
+            live.put(page.getUri(), page);
+        }
+
+        // Other versions of the same pages, plus 60 new ones.
+        Random random = new Random(44);
+        long generation = engine.getGeneration();
+        int numChanges = 0;
+        for (Webpage page : makeRandomPages(260, vocabulary, 44, 4, 376)) {
+            if (numChanges % 4 == 3) {
+                engine.delete(page.getUri());
+                if (live.containsKey(page.getUri())) {
+                    live.remove(page.getUri());
+                }
+            } else {
+                engine.addOrUpdate(page);
+                live.put(page.getUri(), page);
+            }
+            numChanges++;
+
+            if (numChanges % 20 == 0) {
+                // Changes only show up once flushed.
+                assertEquals(generation, engine.getGeneration());
+                engine.flush();
+                assertTrue(engine.getGeneration() != generation);
+                engine.waitForRefresh();
+                generation = engine.getGeneration();
+                this.checkMatchesNewEngine(engine, live, random);
+            }
+        }
+        engine.flush();
+        engine.waitForRefresh();
+        assertEquals(generation, engine.getGeneration());
+
+        engine.addOrUpdate(this.buildPage("zebra", "the zebra crossing"));
+        engine.flush();
+        engine.waitForRefresh();
+        assertEquals(1, engine.getTopKPhraseResults(strToIList("zebra crossing"), 10).size());
+        assertEquals("zebra", engine.getCompletions("zeb", 10).get(0));
+        assertEquals("zebra", engine.correctQuery(strToIList("zebre")).get(0));
+
+        engine.delete(URI.create("http://example.com/zebra.html"));
+        engine.flush();
+        engine.waitForRefresh();
+        assertEquals(0, engine.getTopKResults(strToIList("zebra"), 10).size());
+        assertEquals(0, engine.getCompletions("zeb", 10).size());
+        assertEquals("zebre", engine.correctQuery(strToIList("zebre")).get(0));
+    }
+}
@@ -0,0 +1,128 @@
+package search;
+
+import datastructures.concrete.DoubleLinkedList;
+import misc.BaseTest;
+import org.junit.Test;
+import search.index.FileFingerprint;
+import search.index.PageStore;
+import search.index.SourceManifest;
+import search.models.Webpage;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestSourceManifest extends BaseTest {
+    private void writePage(Path root, String path, String content) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes("UTF-8"));
+    }
+
+    /**
+     * Stores a page for every file of the given manifest, as SearchEngine would.
+     */
+    private PageStore store(SourceManifest manifest, Path file) {
+        PageStore.Builder builder = new PageStore.Builder();
+        for (int i = 0; i < manifest.size(); i++) {
+            URI uri = URI.create("http://example.com/" + manifest.getPath(i));
+            builder.add(manifest.getPath(i), manifest.getFileFingerprint(i),
+                    new Webpage(uri, new DoubleLinkedList<>(), new DoubleLinkedList<>(), "", ""));
+        }
+        builder.write(file);
+        return PageStore.open(file);
+    }
+
+    private void deleteAll(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testFingerprints() throws IOException {
+        Path root = Files.createTempDirectory("manifest");
+        try {
+            this.writePage(root, "a.html", "hello");
+            FileFingerprint first = FileFingerprint.of(root.resolve("a.html"));
+            assertEquals(5L, first.getSize());
+            assertTrue(FileFingerprint.of(root.resolve("a.html"), first) == first);
+
+            // Same content, new modification time.
+            Files.setLastModifiedTime(root.resolve("a.html"), FileTime.fromMillis(first.getLastModified() + 5000));
+            FileFingerprint touched = FileFingerprint.of(root.resolve("a.html"), first);
+            assertTrue(touched != first);
+            assertTrue(touched.hasSameContent(first));
+
+            this.writePage(root, "a.html", "hellO");
+            assertTrue(!FileFingerprint.of(root.resolve("a.html")).hasSameContent(first));
+        } finally {
+            this.deleteAll(root);
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testOnlyChangedFilesNeedParsing() throws IOException {
+        Path root = Files.createTempDirectory("manifest");
+        Path storeFile = Files.createTempFile("manifest", ".pages");
+        try {
+            for (int i = 0; i < 10; i++) {
+                this.writePage(root, "pages/page" + i + ".html", "page " + i);
+            }
+            this.writePage(root, "notes.txt", "not a page");
+
+            SourceManifest manifest = SourceManifest.scan(root, null);
+            assertEquals(10, manifest.size());
+            assertEquals(10, manifest.getChangedCount());
+            assertTrue(manifest.isStoreOutOfDate());
+            PageStore store = this.store(manifest, storeFile);
+            long fingerprint = manifest.getFingerprint();
+
+            manifest = SourceManifest.scan(root, store);
+            assertEquals(0, manifest.getChangedCount());
+            assertEquals(0, manifest.getRemovedCount());
+            assertTrue(!manifest.isStoreOutOfDate());
+            assertEquals(fingerprint, manifest.getFingerprint());
+            assertEquals(fingerprint, store.getFingerprint());
+            for (int i = 0; i < manifest.size(); i++) {
+                assertEquals(manifest.getPath(i), store.getPath(manifest.getStoredPage(i)));
+            }
+
+            // Rewriting a page with the same content changes nothing but the store.
+            Path touched = root.resolve("pages/page3.html");
+            Files.setLastModifiedTime(touched, FileTime.fromMillis(Files.getLastModifiedTime(touched).toMillis() + 5000));
+            manifest = SourceManifest.scan(root, store);
+            assertEquals(0, manifest.getChangedCount());
+            assertTrue(manifest.isStoreOutOfDate());
+            assertEquals(fingerprint, manifest.getFingerprint());
+            store = this.store(manifest, storeFile);
+
+            this.writePage(root, "pages/page5.html", "page five");
+            this.writePage(root, "pages/page10.html", "page 10");
+            Files.delete(root.resolve("pages/page7.html"));
+            manifest = SourceManifest.scan(root, store);
+            assertEquals(10, manifest.size());
+            assertEquals(2, manifest.getChangedCount());
+            assertEquals(1, manifest.getRemovedCount());
+            assertTrue(manifest.isStoreOutOfDate());
+            assertTrue(manifest.getFingerprint() != fingerprint);
+            // The store still holds the pages as they were.
+            assertEquals(fingerprint, store.getFingerprint());
+            assertEquals(-1, manifest.getStoredPage(manifest.find("pages/page5.html")));
+            assertEquals(-1, manifest.getStoredPage(manifest.find("pages/page10.html")));
+            assertTrue(manifest.getStoredPage(manifest.find("pages/page3.html")) >= 0);
+            assertEquals(-1, manifest.find("pages/page7.html"));
+        } finally {
+            this.deleteAll(root);
+            Files.deleteIfExists(storeFile);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package search;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.BaseTest;
+import org.junit.Test;
+import search.index.SpellingCorrector;
+import search.models.Webpage;
+
+import java.net.URI;
+import java.util.Random;
+
+import static org.junit.Assert.assertNull;
+
+public class TestSpellingCorrector extends BaseTest {
+    /**
+     * Returns the edit distance between the given words, counting swaps of adjacent
+     * characters as one edit, using the full dynamic programming table.
+     */
+    private int bruteForceDistance(String a, String b) {
+        int[][] table = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    table[i][j] = i + j;
+                    continue;
+                }
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                table[i][j] = Math.min(Math.min(table[i - 1][j] + 1, table[i][j - 1] + 1), table[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    table[i][j] = Math.min(table[i][j], table[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return table[a.length()][b.length()];
+    }
+
+    private String bruteForceCorrect(String[] words, int[] weights, String word, int maxDistance) {
+        String best = null;
+        int bestDistance = maxDistance + 1;
+        int bestWeight = 0;
+        for (int i = 0; i < words.length; i++) {
+            int distance = this.bruteForceDistance(word, words[i]);
+            if (distance < bestDistance || (distance == bestDistance && distance <= maxDistance
+                    && (weights[i] > bestWeight || (weights[i] == bestWeight && words[i].compareTo(best) < 0)))) {
+                best = words[i];
+                bestDistance = distance;
+                bestWeight = weights[i];
+            }
+        }
+        return best;
+    }
+
+    private String randomWord(Random random, int maxLength) {
+        char[] letters = new char[1 + random.nextInt(maxLength)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(6));
+        }
+        return new String(letters);
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testMatchesBruteForce() {
+        Random random = new Random(1);
+        ISet<String> distinct = new ChainedHashSet<>();
+        while (distinct.size() < 1000) {
+            // Long enough words to go past the indexed prefix.
+            distinct.add(this.randomWord(random, 11));
+        }
+        String[] words = new String[distinct.size()];
+        int[] weights = new int[words.length];
+        int index = 0;
+        for (String word : distinct) {
+            words[index] = word;
+            weights[index] = random.nextInt(5);
+            index++;
+        }
+
+        for (int maxDistance = 0; maxDistance <= 2; maxDistance++) {
+            SpellingCorrector corrector = new SpellingCorrector(words, weights, maxDistance);
+            for (int trial = 0; trial < 300; trial++) {
+                String word = trial % 2 == 0 ? this.randomWord(random, 11) : this.mutate(random, words[trial]);
+                assertEquals(this.bruteForceCorrect(words, weights, word, maxDistance), corrector.correct(word));
+            }
+        }
+    }
+
+    /**
+     * Returns the given word with one or two random edits.
+     */
+    private String mutate(Random random, String word) {
+        StringBuilder output = new StringBuilder(word);
+        int numEdits = 1 + random.nextInt(2);
+        for (int i = 0; i < numEdits; i++) {
+            int position = random.nextInt(output.length() + 1);
+            int edit = random.nextInt(4);
+            if (edit == 0 || output.length() < 2) {
+                output.insert(position, (char) ('a' + random.nextInt(6)));
+            } else if (position == output.length()) {
+                output.deleteCharAt(position - 1);
+            } else if (edit == 1) {
+                output.deleteCharAt(position);
+            } else if (edit == 2) {
+                output.setCharAt(position, (char) ('a' + random.nextInt(6)));
+            } else if (position + 1 < output.length()) {
+                char swapped = output.charAt(position);
+                output.setCharAt(position, output.charAt(position + 1));
+                output.setCharAt(position + 1, swapped);
+            }
+        }
+        return output.toString();
+    }
+
+    @Test(timeout=SECOND)
+    public void testPrefersCommonWords() {
+        SpellingCorrector corrector = new SpellingCorrector(
+                new String[] {"cat", "car", "cart", "dog"}, new int[] {5, 9, 1, 3}, 2);
+        assertEquals("cat", corrector.correct("cat"));
+        assertEquals("car", corrector.correct("cax"));
+        assertEquals("car", corrector.correct("catr"));
+        assertEquals("cart", corrector.correct("carts"));
+        assertEquals("dog", corrector.correct("dgo"));
+        assertNull(corrector.correct("elephant"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testSearchEngineCorrectsUnknownWordsOnly() {
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        String[] texts = {"the quick brown fox", "the lazy dog", "a brown dog"};
+        for (int i = 0; i < texts.length; i++) {
+            IList<String> words = new DoubleLinkedList<>();
+            for (String word : texts[i].split(" ")) {
+                words.add(word);
+            }
+            pages.add(new Webpage(URI.create("http://example.com/" + i + ".html"),
+                    new DoubleLinkedList<>(), words, "page" + i, ""));
+        }
+        SearchEngine engine = new SearchEngine(pages);
+
+        IList<String> query = new DoubleLinkedList<>();
+        query.add("quikc");
+        query.add("brown");
+        query.add("zzzzzzzz");
+        query.add("dgo");
+        IList<String> corrected = engine.correctQuery(query);
+        assertEquals("quick brown zzzzzzzz dog", String.join(" ", corrected));
+    }
+}
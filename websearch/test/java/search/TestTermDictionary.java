@@ -0,0 +1,31 @@
+package search;
+
+import misc.BaseTest;
+import org.junit.Test;
+import search.index.TermDictionary;
+
+public class TestTermDictionary extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testAssignsDenseIds() {
+        TermDictionary terms = new TermDictionary();
+        assertEquals(0, terms.add("cat"));
+        assertEquals(1, terms.add("dog"));
+        assertEquals(0, terms.add("cat"));
+        assertEquals(2, terms.size());
+        assertEquals("dog", terms.getTerm(1));
+        assertEquals(-1, terms.getId("mouse"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testManyTerms() {
+        TermDictionary terms = new TermDictionary();
+        for (int i = 0; i < 50000; i++) {
+            assertEquals(i, terms.add("word" + i));
+        }
+        for (int i = 0; i < 50000; i++) {
+            assertEquals(i, terms.getId("word" + i));
+            assertEquals("word" + i, terms.getTerm(i));
+        }
+        assertEquals(50000, terms.size());
+    }
+}
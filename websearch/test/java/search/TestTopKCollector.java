@@ -0,0 +1,106 @@
+package search;
+
+import misc.BaseTest;
+import org.junit.Test;
+import search.index.TopKCollector;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestTopKCollector extends BaseTest {
+    /**
+     * Returns the ids of the k best documents, scores[docId] being the score of each
+     * document, by sorting all of them.
+     */
+    private int[] bruteForceTopK(double[] scores, int k) {
+        Integer[] docIds = new Integer[scores.length];
+        for (int i = 0; i < docIds.length; i++) {
+            docIds[i] = i;
+        }
+        Arrays.sort(docIds, (a, b) -> scores[a] != scores[b] ? Double.compare(scores[b], scores[a]) : a - b);
+        int[] output = new int[Math.min(k, scores.length)];
+        for (int i = 0; i < output.length; i++) {
+            output[i] = docIds[i];
+        }
+        return output;
+    }
+
+    @Test(timeout=SECOND)
+    public void testMatchesSorting() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 50; trial++) {
+            double[] scores = new double[random.nextInt(500)];
+            for (int i = 0; i < scores.length; i++) {
+                // Use few distinct scores, so there are plenty of ties.
+                scores[i] = random.nextInt(20);
+            }
+            int k = random.nextInt(40);
+
+            // Collect the documents in any order.
+            TopKCollector collector = new TopKCollector(k);
+            for (int i = scores.length - 1; i >= 0; i--) {
+                collector.collect(i, scores[i]);
+            }
+
+            int[] expected = this.bruteForceTopK(scores, k);
+            assertTrue(Arrays.equals(expected, collector.getDocIds()));
+            double[] actualScores = collector.getScores();
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(scores[expected[i]], actualScores[i], 0.0);
+            }
+            if (expected.length == k && k > 0) {
+                assertTrue(collector.isFull());
+                assertEquals(scores[expected[k - 1]], collector.getThreshold(), 0.0);
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testMergeMatchesSingleCollector() {
+        Random random = new Random(2);
+        double[] scores = new double[10000];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextDouble();
+        }
+
+        TopKCollector[] parts = new TopKCollector[7];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = new TopKCollector(25);
+        }
+        for (int i = 0; i < scores.length; i++) {
+            parts[random.nextInt(parts.length)].collect(i, scores[i]);
+        }
+        TopKCollector merged = new TopKCollector(25);
+        for (TopKCollector part : parts) {
+            merged.merge(part);
+        }
+        assertTrue(Arrays.equals(this.bruteForceTopK(scores, 25), merged.getDocIds()));
+    }
+
+    @Test(timeout=SECOND)
+    public void testEmptyAndZero() {
+        TopKCollector collector = new TopKCollector(0);
+        assertTrue(!collector.collect(1, 1.0));
+        assertEquals(0, collector.getDocIds().length);
+        assertEquals(Double.NEGATIVE_INFINITY, new TopKCollector(5).getThreshold(), 0.0);
+        try {
+            new TopKCollector(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testHugeKDoesNotAllocateUpFront() {
+        TopKCollector collector = new TopKCollector(Integer.MAX_VALUE);
+        for (int i = 0; i < 100; i++) {
+            collector.collect(i, i);
+        }
+        assertEquals(100, collector.size());
+        assertEquals(99, collector.getDocIds()[0]);
+    }
+}
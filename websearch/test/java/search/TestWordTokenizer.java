@@ -0,0 +1,84 @@
+package search;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import org.junit.Test;
+import search.index.TermDictionary;
+import search.misc.WordTokenizer;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+public class TestWordTokenizer extends BaseTest {
+    /**
+     * The original, regex-based implementation, which the tokenizer must match.
+     */
+    private IList<String> referenceExtract(String input) {
+        IList<String> out = new DoubleLinkedList<>();
+        for (String word : input.toLowerCase().split("\\s+")) {
+            word = word.replaceAll("\\p{Punct}", "");
+            if (!word.isEmpty()) {
+                out.add(word);
+            }
+        }
+        return out;
+    }
+
+    private String toString(IList<String> words) {
+        return String.join("|", words);
+    }
+
+    @Test(timeout=SECOND)
+    public void testMatchesReference() {
+        String alphabet = "aZz09 \t\n\r\f\u000B.,'!-_~()[]\u00E9\u00C9\u00DF\u03A3\u0130\u2019\u00A0\u4E2D";
+        Random random = new Random(1);
+        for (int trial = 0; trial < 2000; trial++) {
+            char[] text = new char[random.nextInt(40)];
+            for (int i = 0; i < text.length; i++) {
+                text[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+            String input = new String(text);
+            assertEquals(this.toString(this.referenceExtract(input)), this.toString(WordTokenizer.extract(input)));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testNormalizeMatchesReference() {
+        String alphabet = "aZz09 \t.,'!-_~()[]\u00E9\u00C9\u00DF\u03A3\u0130\u2019\u4E2D";
+        Random random = new Random(2);
+        for (int trial = 0; trial < 2000; trial++) {
+            char[] text = new char[random.nextInt(20)];
+            for (int i = 0; i < text.length; i++) {
+                text[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+            String input = new String(text);
+            assertEquals(input.toLowerCase().replaceAll("\\p{Punct}", ""), WordTokenizer.normalize(input));
+        }
+        assertEquals("dont", WordTokenizer.normalize("Don't"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testExamples() {
+        assertEquals("hello|world|dont|stop", this.toString(WordTokenizer.extract("  Hello, WORLD!\n\tdon't -- stop ")));
+        assertEquals("", this.toString(WordTokenizer.extract("")));
+        assertEquals("", this.toString(WordTokenizer.extract(" ... \n ")));
+        assertEquals("caf\u00E9|\u03B1\u03C2", this.toString(WordTokenizer.extract("CAF\u00C9 \u0391\u03A3")));
+    }
+
+    @Test(timeout=SECOND)
+    public void testExtractTermIds() {
+        TermDictionary terms = new TermDictionary();
+        int[] ids = WordTokenizer.extractTermIds("The cat, the DOG. the cat?", terms, true);
+        assertTrue(Arrays.equals(new int[] {0, 1, 0, 2, 0, 1}, ids));
+        assertEquals(3, terms.size());
+        assertEquals("dog", terms.getTerm(2));
+
+        ids = WordTokenizer.extractTermIds("cat mouse dog", terms, false);
+        assertTrue(Arrays.equals(new int[] {1, -1, 2}, ids));
+        assertEquals(3, terms.size());
+        assertEquals(terms.getId("cat"), terms.getId("a cat".toCharArray(), 2, 3));
+    }
+}